@@ -0,0 +1,88 @@
+package org.informatics.integration;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.*;
+import org.informatics.dto.ConnectionPoolStatsDto;
+import org.informatics.entity.TransportCompany;
+import org.informatics.exception.EntityNotFoundException;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test of the virtual-thread DAO facade: 10k requests in flight at once must all complete, without more
+ * DAO calls running than the pool has connections and without connection timeouts.
+ */
+class AsyncDaoLoadIntegrationTest {
+
+    private static final int IN_FLIGHT = 10_000;
+
+    private static TransportCompany company;
+
+    @BeforeAll
+    static void setup() {
+        company = new TransportCompany();
+        company.setName("AsyncCo - " + System.nanoTime());
+        TransportCompanyDao.create(company);
+    }
+
+    @Test
+    void facades_shouldReturnSameResultsAsBlockingDaos() throws Exception {
+        assertEquals(company.getName(), AsyncTransportCompanyDao.get(company.getId()).get().getName());
+        assertEquals(TransportCompanyDao.count(), AsyncTransportCompanyDao.count().get());
+        assertEquals(DriverDao.count(), AsyncDriverDao.count().get());
+        assertEquals(TransportDao.count(), AsyncTransportDao.count().get());
+        assertEquals(ReportDao.getTotalTransportsCount(), AsyncReportDao.getTotalTransportsCount().get());
+    }
+
+    @Test
+    void failures_shouldCompleteFutureExceptionally() {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> AsyncTransportCompanyDao.delete(-1).get());
+        assertInstanceOf(EntityNotFoundException.class, e.getCause());
+    }
+
+    @Test
+    void tenThousandInFlightRequests_shouldStayWithinPoolSize() throws Exception {
+        ConnectionPoolStatsDto poolBefore = SessionFactoryUtil.getConnectionPoolStats();
+        long expectedCompanies = TransportCompanyDao.count();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Long>> requests = new ArrayList<>(IN_FLIGHT);
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            requests.add(AsyncDao.supply(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    return TransportCompanyDao.count();
+                } finally {
+                    running.decrementAndGet();
+                }
+            }));
+        }
+        CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (CompletableFuture<Long> request : requests) {
+            assertEquals(expectedCompanies, request.join());
+        }
+        System.out.printf("AsyncDao: %d requests in %.2f s (%.0f requests/s), peak %d running of %d allowed%n",
+                IN_FLIGHT, seconds, IN_FLIGHT / seconds, peak.get(), AsyncDao.getMaxConcurrentCalls());
+
+        ConnectionPoolStatsDto poolAfter = SessionFactoryUtil.getConnectionPoolStats();
+        assertTrue(peak.get() <= AsyncDao.getMaxConcurrentCalls(), "More DAO calls ran than the pool has connections");
+        assertEquals(poolBefore.getMaxConnections(), AsyncDao.getMaxConcurrentCalls());
+        assertEquals(poolBefore.getTimeoutCount(), poolAfter.getTimeoutCount());
+        assertEquals(0, AsyncDao.getRunningCalls());
+        assertEquals(0, AsyncDao.getWaitingCalls());
+        assertEquals(0, poolAfter.getActiveConnections(), "All connections should be returned to the pool");
+    }
+}
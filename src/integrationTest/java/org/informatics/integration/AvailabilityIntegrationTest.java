@@ -0,0 +1,203 @@
+package org.informatics.integration;
+
+import org.informatics.dao.*;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.InvalidTimeWindowException;
+import org.informatics.exception.SchedulingConflictException;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests double-booking detection for drivers and vehicles, including concurrent bookings.
+ */
+class AvailabilityIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2027, 3, 15);
+
+    private static TransportCompany company;
+    private static Client client;
+
+    @BeforeAll
+    static void setup() {
+        company = new TransportCompany();
+        company.setName("AvailabilityCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        client = new Client();
+        client.setFirstName("Availability");
+        client.setLastName("Client");
+        client.setPhone("0855" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+    }
+
+    @Test
+    void overlappingWindow_shouldBeRejectedForSameDriverOrVehicle() {
+        Driver driver = newDriver();
+        Truck truck = newTruck();
+        TransportService.createTransport(timed(driver, truck, DAY.atTime(8, 0), DAY.atTime(12, 0)));
+
+        assertThrows(SchedulingConflictException.class, () ->
+                TransportService.createTransport(timed(driver, newTruck(), DAY.atTime(10, 0), DAY.atTime(14, 0))));
+        assertThrows(SchedulingConflictException.class, () ->
+                TransportService.createTransport(timed(newDriver(), truck, DAY.atTime(6, 0), DAY.atTime(8, 30))));
+        assertThrows(SchedulingConflictException.class, () ->
+                TransportService.createTransport(timed(driver, truck, DAY.atTime(9, 0), DAY.atTime(10, 0))));
+
+        // Back-to-back windows and transports without a window do not conflict
+        TransportService.createTransport(timed(driver, truck, DAY.atTime(12, 0), DAY.atTime(15, 0)));
+        TransportService.createTransport(timed(driver, truck, DAY.atTime(6, 0), DAY.atTime(8, 0)));
+        TransportService.createTransport(transport(driver, truck, DAY));
+
+        assertFalse(AvailabilityDao.isDriverAvailable(driver.getId(), DAY.atTime(14, 59), DAY.atTime(16, 0)));
+        assertTrue(AvailabilityDao.isDriverAvailable(driver.getId(), DAY.atTime(15, 0), DAY.atTime(16, 0)));
+        assertFalse(AvailabilityDao.isVehicleAvailable(truck.getId(), DAY.atTime(5, 0), DAY.atTime(6, 1)));
+        assertTrue(AvailabilityDao.isVehicleAvailable(truck.getId(), DAY.atTime(5, 0), DAY.atTime(6, 0)));
+    }
+
+    @Test
+    void windowOverMidnight_shouldBlockTheNextDay() {
+        Driver driver = newDriver();
+        Truck truck = newTruck();
+        TransportService.createTransport(timed(driver, truck, DAY.atTime(22, 0), DAY.plusDays(1).atTime(4, 0)));
+
+        assertThrows(SchedulingConflictException.class, () -> TransportService.createTransport(
+                timed(driver, newTruck(), DAY.plusDays(1).atTime(2, 0), DAY.plusDays(1).atTime(5, 0))));
+        assertTrue(AvailabilityDao.isDriverAvailable(driver.getId(), DAY.plusDays(1).atTime(4, 0),
+                DAY.plusDays(1).atTime(5, 0)));
+    }
+
+    @Test
+    void invalidWindow_shouldBeRejected() {
+        Driver driver = newDriver();
+        Truck truck = newTruck();
+
+        CargoTransport departureOnly = transport(driver, truck, DAY);
+        departureOnly.setDepartureAt(DAY.atTime(8, 0));
+        assertThrows(InvalidTimeWindowException.class, () -> TransportService.createTransport(departureOnly));
+
+        assertThrows(InvalidTimeWindowException.class, () ->
+                TransportService.createTransport(timed(driver, truck, DAY.atTime(8, 0), DAY.atTime(8, 0))));
+
+        CargoTransport otherDay = timed(driver, truck, DAY.plusDays(1).atTime(8, 0), DAY.plusDays(1).atTime(9, 0));
+        otherDay.setTransportDate(DAY);
+        assertThrows(InvalidTimeWindowException.class, () -> TransportService.createTransport(otherDay));
+
+        assertThrows(InvalidTimeWindowException.class, () ->
+                AvailabilityDao.isDriverAvailable(driver.getId(), DAY.atTime(9, 0), DAY.atTime(8, 0)));
+    }
+
+    @Test
+    void batchWithOverlappingWindows_shouldPersistNothing() {
+        Driver driver = newDriver();
+        Truck truck = newTruck();
+        long before = ReportDao.getTotalTransportsCount();
+
+        List<CargoTransport> batch = new ArrayList<>();
+        for (int hour = 0; hour < 20; hour += 2) {
+            batch.add(timed(driver, truck, DAY.atTime(hour, 0), DAY.atTime(hour + 2, 0)));
+        }
+        batch.add(timed(driver, newTruck(), DAY.atTime(19, 0), DAY.atTime(21, 0)));
+
+        assertThrows(SchedulingConflictException.class, () -> TransportService.createTransports(batch, 4));
+        assertEquals(before, ReportDao.getTotalTransportsCount());
+
+        batch.remove(batch.size() - 1);
+        assertEquals(10, TransportService.createTransports(batch, 4).getPersistedCount());
+    }
+
+    @Test
+    void concurrentBookings_shouldLetOnlyOneSucceed() throws Exception {
+        Driver driver = newDriver();
+        int threads = 8;
+        List<Truck> trucks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            trucks.add(newTruck());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                Truck truck = trucks.get(i);
+                int minute = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        TransportService.createTransport(
+                                timed(driver, truck, DAY.atTime(7, minute), DAY.atTime(11, minute)));
+                        booked.incrementAndGet();
+                    } catch (SchedulingConflictException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, booked.get());
+        assertEquals(threads - 1, rejected.get());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static Driver newDriver() {
+        Driver driver = new Driver();
+        driver.setFirstName("Availability");
+        driver.setLastName("Driver");
+        driver.setSalary(2200);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+        return driver;
+    }
+
+    private static Truck newTruck() {
+        Truck truck = new Truck();
+        truck.setRegistrationNumber("AV-" + System.nanoTime());
+        truck.setBrand("Volvo");
+        truck.setModel("FH");
+        truck.setMaxLoadKg(18000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+        return truck;
+    }
+
+    private static CargoTransport transport(Driver driver, Truck truck, LocalDate date) {
+        CargoTransport ct = new CargoTransport();
+        ct.setCompany(company);
+        ct.setClient(client);
+        ct.setDriver(driver);
+        ct.setVehicle(truck);
+        ct.setDestination("Lovech");
+        ct.setTransportDate(date);
+        ct.setPrice(250);
+        ct.setPaymentStatus(PaymentStatus.UNPAID);
+        ct.setCargoWeightKg(2000);
+        return ct;
+    }
+
+    private static CargoTransport timed(Driver driver, Truck truck, LocalDateTime departure, LocalDateTime arrival) {
+        CargoTransport ct = transport(driver, truck, departure.toLocalDate());
+        ct.setDepartureAt(departure);
+        ct.setArrivalAt(arrival);
+        return ct;
+    }
+}
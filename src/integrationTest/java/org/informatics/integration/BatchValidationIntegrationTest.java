@@ -0,0 +1,158 @@
+package org.informatics.integration;
+
+import org.informatics.dao.*;
+import org.informatics.dto.TransportViolationDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.DriverQualification;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.VehicleCapacityExceededException;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.informatics.integration.QueryCountAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the capacity rules and the batch validation of candidate transports that reference drivers and
+ * vehicles by ID only.
+ */
+class BatchValidationIntegrationTest {
+
+    private static TransportCompany company;
+    private static Client client;
+    private static Driver plainDriver;
+    private static Driver passengerDriver;
+    private static Bus bus;
+    private static Truck truck;
+
+    @BeforeAll
+    static void setup() {
+        company = new TransportCompany();
+        company.setName("ValidationCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        client = new Client();
+        client.setFirstName("Validation");
+        client.setLastName("Client");
+        client.setPhone("0877" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+
+        plainDriver = new Driver();
+        plainDriver.setFirstName("Plain");
+        plainDriver.setLastName("Driver");
+        plainDriver.setSalary(2000);
+        plainDriver.setCompany(company);
+        EmployeeDao.create(plainDriver);
+
+        passengerDriver = new Driver();
+        passengerDriver.setFirstName("Passenger");
+        passengerDriver.setLastName("Driver");
+        passengerDriver.setSalary(2300);
+        passengerDriver.setCompany(company);
+        passengerDriver.getQualifications().add(DriverQualification.PASSENGERS_OVER_12);
+        EmployeeDao.create(passengerDriver);
+
+        bus = new Bus();
+        bus.setRegistrationNumber("VB-" + System.nanoTime());
+        bus.setBrand("Iveco");
+        bus.setModel("Crossway");
+        bus.setSeats(50);
+        bus.setCompany(company);
+        VehicleDao.create(bus);
+
+        truck = new Truck();
+        truck.setRegistrationNumber("VT-" + System.nanoTime());
+        truck.setBrand("Renault");
+        truck.setModel("T");
+        truck.setMaxLoadKg(18000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+    }
+
+    @Test
+    void createTransport_overCapacity_shouldNotBePersisted() {
+        long before = ReportDao.getTotalTransportsCount();
+
+        PassengerTransport crowded = passenger(passengerDriver, bus, 80);
+        assertThrows(VehicleCapacityExceededException.class, () -> TransportService.createTransport(crowded));
+        CargoTransport heavy = cargo(plainDriver, truck, 18001);
+        assertThrows(VehicleCapacityExceededException.class, () -> TransportService.createTransport(heavy));
+
+        assertEquals(before, ReportDao.getTotalTransportsCount());
+    }
+
+    @Test
+    void validateTransports_shouldReportEveryViolationWithTwoQueries() {
+        List<Transport> candidates = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            candidates.add(i % 2 == 0
+                    ? passenger(reference(new Driver(), passengerDriver), reference(new Bus(), bus), 1 + i % 50)
+                    : cargo(reference(new Driver(), plainDriver), reference(new Truck(), truck), 10 * i));
+        }
+        // The stubs carry no qualifications or capacity: the stored drivers and vehicles decide
+        candidates.set(10, passenger(reference(new Driver(), plainDriver), reference(new Bus(), bus), 30));
+        candidates.set(20, passenger(reference(new Driver(), passengerDriver), reference(new Bus(), bus), 51));
+        Driver unknown = new Driver();
+        unknown.setId(Long.MAX_VALUE);
+        candidates.set(30, passenger(unknown, reference(new Bus(), bus), 5));
+        candidates.set(40, cargo(reference(new Driver(), plainDriver), reference(new Bus(), bus), 100));
+
+        TransportService.validateTransports(candidates.subList(0, 1)); // loads the company rules
+        List<TransportViolationDto> violations =
+                assertStatementCount(2, () -> TransportService.validateTransports(candidates));
+
+        // Cargo above 18000 kg: odd indexes from 1801 on
+        List<Integer> expected = new ArrayList<>(List.of(10, 20, 30, 40));
+        for (int i = 1801; i < 2000; i += 2) {
+            expected.add(i);
+        }
+        assertEquals(expected, violations.stream().map(TransportViolationDto::getIndex).toList());
+        assertEquals(List.of("passengers-over-12", "bus-seats", "required-data", "vehicle-type", "truck-max-load"),
+                violations.stream().limit(5).map(TransportViolationDto::getRule).toList());
+        assertTrue(violations.get(0).getErrorMessage().contains("PASSENGERS_OVER_12"));
+        assertTrue(violations.get(1).getErrorMessage().contains("seats"));
+        assertTrue(violations.get(2).getErrorMessage().contains("not found"));
+        assertTrue(violations.get(3).getErrorMessage().contains("Truck or a Tanker"));
+    }
+
+    @Test
+    void validateTransports_emptyBatch_shouldNotQuery() {
+        assertEquals(List.of(), assertStatementCount(0, () -> TransportService.validateTransports(List.of())));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static <T extends BaseEntity> T reference(T stub, BaseEntity stored) {
+        stub.setId(stored.getId());
+        return stub;
+    }
+
+    private static PassengerTransport passenger(Driver driver, Vehicle vehicle, int passengers) {
+        PassengerTransport pt = new PassengerTransport();
+        fill(pt, driver, vehicle);
+        pt.setPassengerCount(passengers);
+        return pt;
+    }
+
+    private static CargoTransport cargo(Driver driver, Vehicle vehicle, double weightKg) {
+        CargoTransport ct = new CargoTransport();
+        fill(ct, driver, vehicle);
+        ct.setCargoWeightKg(weightKg);
+        return ct;
+    }
+
+    private static void fill(Transport transport, Driver driver, Vehicle vehicle) {
+        transport.setCompany(company);
+        transport.setClient(client);
+        transport.setDriver(driver);
+        transport.setVehicle(vehicle);
+        transport.setDestination("Shumen");
+        transport.setTransportDate(LocalDate.of(2027, 6, 1));
+        transport.setPrice(150);
+        transport.setPaymentStatus(PaymentStatus.UNPAID);
+    }
+}
@@ -0,0 +1,157 @@
+package org.informatics.integration;
+
+import org.informatics.dao.*;
+import org.informatics.dto.BulkInsertReportDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.InvalidVehicleForTransportException;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BulkInsertIntegrationTest {
+
+    private static final int ROWS = 1000;
+
+    private static TransportCompany company;
+    private static Client client;
+    private static Driver driver;
+    private static Truck truck;
+    private static Bus bus;
+
+    @BeforeAll
+    static void setup() {
+        company = new TransportCompany();
+        company.setName("BulkCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        client = new Client();
+        client.setFirstName("Bulk");
+        client.setLastName("Client");
+        client.setPhone("0877" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+
+        driver = new Driver();
+        driver.setFirstName("Bulk");
+        driver.setLastName("Driver");
+        driver.setSalary(2000);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+
+        truck = new Truck();
+        truck.setRegistrationNumber("BULK-TRK-" + System.currentTimeMillis() % 10000);
+        truck.setBrand("Volvo");
+        truck.setModel("FH");
+        truck.setMaxLoadKg(20000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+
+        bus = new Bus();
+        bus.setRegistrationNumber("BULK-BUS-" + System.currentTimeMillis() % 10000);
+        bus.setBrand("Setra");
+        bus.setModel("S 516");
+        bus.setSeats(50);
+        bus.setCompany(company);
+        VehicleDao.create(bus);
+    }
+
+    @Test
+    @Order(1)
+    void createTransports_shouldPersistAllChunks_andBeFasterThanSingleInserts() {
+        long countBefore = ReportDao.getTotalTransportsCount();
+
+        // Single-insert path: one session and transaction per transport
+        List<CargoTransport> single = cargoTransports(ROWS, "Single");
+        long singleStart = System.nanoTime();
+        single.forEach(TransportService::createTransport);
+        long singleNanos = System.nanoTime() - singleStart;
+
+        // Bulk path: chunked transactions with JDBC batching
+        List<CargoTransport> bulk = cargoTransports(ROWS, "Bulk");
+        long bulkStart = System.nanoTime();
+        BulkInsertReportDto report = TransportService.createTransports(bulk, 250);
+        long bulkNanos = System.nanoTime() - bulkStart;
+
+        assertTrue(report.isSuccessful(), "Bulk insert should not report failed chunks");
+        assertEquals(ROWS, report.getPersistedCount());
+        assertEquals(4, report.getChunkCount());
+        assertEquals(countBefore + 2L * ROWS, ReportDao.getTotalTransportsCount());
+
+        System.out.printf("Single-insert path: %d rows in %d ms (%.0f rows/s)%n",
+                ROWS, singleNanos / 1_000_000, ROWS / (singleNanos / 1e9));
+        System.out.printf("Bulk path:          %d rows in %d ms (%.0f rows/s)%n",
+                ROWS, bulkNanos / 1_000_000, ROWS / (bulkNanos / 1e9));
+    }
+
+    @Test
+    @Order(2)
+    void createTransports_invalidTransport_shouldRejectWholeBatch() {
+        long countBefore = ReportDao.getTotalTransportsCount();
+
+        List<Transport> batch = new ArrayList<>(cargoTransports(10, "Rejected"));
+        CargoTransport onBus = cargoTransports(1, "Rejected").get(0);
+        onBus.setVehicle(bus);
+        batch.add(onBus);
+
+        assertThrows(InvalidVehicleForTransportException.class,
+                () -> TransportService.createTransports(batch, 5));
+        assertEquals(countBefore, ReportDao.getTotalTransportsCount(),
+                "Nothing should be persisted when validation fails");
+    }
+
+    @Test
+    @Order(3)
+    void createTransports_failingChunk_shouldBeReportedAndOthersCommitted() {
+        long countBefore = ReportDao.getTotalTransportsCount();
+
+        List<CargoTransport> batch = cargoTransports(30, "Chunked");
+        batch.get(12).setDestination(null); // violates NOT NULL, breaks the second chunk
+
+        BulkInsertReportDto report = TransportService.createTransports(batch, 10);
+
+        assertFalse(report.isSuccessful());
+        assertEquals(1, report.getFailures().size());
+        assertEquals(1, report.getFailures().get(0).getChunkIndex());
+        assertEquals(10, report.getFailures().get(0).getFromIndex());
+        assertEquals(20, report.getFailures().get(0).getToIndex());
+        assertEquals(20, report.getPersistedCount());
+        assertEquals(countBefore + 20, ReportDao.getTotalTransportsCount());
+        assertTrue(batch.subList(10, 20).stream().allMatch(t -> t.getId() == 0));
+
+        batch.get(12).setDestination("Chunked retry");
+        BulkInsertReportDto retry = TransportService.createTransports(batch.subList(10, 20), 10);
+
+        assertTrue(retry.isSuccessful());
+        assertEquals(10, retry.getPersistedCount());
+        assertEquals(countBefore + 30, ReportDao.getTotalTransportsCount());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    /**
+     * Builds unsaved cargo transports that pass business rule validation.
+     */
+    private static List<CargoTransport> cargoTransports(int count, String destinationPrefix) {
+        List<CargoTransport> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CargoTransport ct = new CargoTransport();
+            ct.setCompany(company);
+            ct.setClient(client);
+            ct.setDriver(driver);
+            ct.setVehicle(truck);
+            ct.setDestination(destinationPrefix + " " + i);
+            ct.setTransportDate(LocalDate.now().minusDays(i % 30));
+            ct.setPrice(100 + i);
+            ct.setPaymentStatus(i % 2 == 0 ? PaymentStatus.PAID : PaymentStatus.UNPAID);
+            ct.setCargoWeightKg(1000);
+            result.add(ct);
+        }
+        return result;
+    }
+}
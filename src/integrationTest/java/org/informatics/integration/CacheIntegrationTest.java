@@ -0,0 +1,132 @@
+package org.informatics.integration;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.*;
+import org.informatics.dto.CacheStatsDto;
+import org.informatics.entity.Driver;
+import org.informatics.entity.TransportCompany;
+import org.informatics.entity.enums.DriverQualification;
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.informatics.integration.QueryCountAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the second-level and query caches. They are off in the test properties (as in production), so the
+ * SessionFactory is rebuilt with the cache settings of ehcache.xml; the previous settings are restored afterwards.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CacheIntegrationTest {
+
+    private static final Map<String, String> previousSettings = new HashMap<>();
+
+    private static long companyId;
+
+    @BeforeAll
+    static void setup() {
+        configure("hibernate.cache.use_second_level_cache", "true");
+        configure("hibernate.cache.use_query_cache", "true");
+        configure("hibernate.cache.region.factory_class", "jcache");
+        configure("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+        configure("hibernate.javax.cache.uri", "ehcache.xml");
+        configure("hibernate.javax.cache.missing_cache_strategy", "fail");
+        SessionFactoryUtil.closeSessionFactory();
+        SessionFactoryUtil.init();
+
+        TransportCompany company = new TransportCompany();
+        company.setName("CacheCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+        companyId = company.getId();
+    }
+
+    @AfterAll
+    static void restoreSettings() {
+        previousSettings.forEach((name, value) -> {
+            if (value == null) {
+                System.clearProperty(name);
+            } else {
+                System.setProperty(name, value);
+            }
+        });
+        previousSettings.clear();
+        SessionFactoryUtil.closeSessionFactory();
+        SessionFactoryUtil.init();
+    }
+
+    @Test
+    @Order(1)
+    void entityLookup_shouldBeServedFromSecondLevelCache() {
+        TransportCompanyDao.get(companyId);
+        CacheStatsDto before = SessionFactoryUtil.getCacheStats();
+
+        TransportCompany cached = assertStatementCount(0, () -> TransportCompanyDao.get(companyId));
+
+        assertNotNull(cached);
+        CacheStatsDto after = SessionFactoryUtil.getCacheStats();
+        assertTrue(after.getSecondLevelCacheHits() > before.getSecondLevelCacheHits(),
+                "Second lookup should be a cache hit");
+    }
+
+    @Test
+    @Order(2)
+    void updateName_shouldRefreshCachedEntityAndQuery() {
+        TransportCompanyDao.getAllSortedByName();
+        assertStatementCount(0, TransportCompanyDao::getAllSortedByName);
+
+        String newName = "CacheCo Renamed - " + System.currentTimeMillis();
+        TransportCompanyDao.updateName(companyId, newName);
+
+        assertEquals(newName, TransportCompanyDao.get(companyId).getName());
+        assertTrue(TransportCompanyDao.getAllSortedByName().stream()
+                        .anyMatch(c -> c.getName().equals(newName)),
+                "Cached query must be invalidated by the update");
+    }
+
+    @Test
+    @Order(3)
+    void create_shouldInvalidateCachedQueries() {
+        TransportCompany company = TransportCompanyDao.get(companyId);
+        DriverDao.getDriversWithQualification(DriverQualification.SPECIAL_CARGO);
+        CacheStatsDto before = SessionFactoryUtil.getCacheStats();
+        DriverDao.getDriversWithQualification(DriverQualification.SPECIAL_CARGO);
+        assertTrue(SessionFactoryUtil.getCacheStats().getQueryCacheHits() > before.getQueryCacheHits());
+
+        Driver driver = new Driver();
+        driver.setFirstName("Cached");
+        driver.setLastName("Driver " + System.currentTimeMillis());
+        driver.setSalary(2200);
+        driver.setCompany(company);
+        driver.getQualifications().add(DriverQualification.SPECIAL_CARGO);
+        EmployeeDao.create(driver);
+
+        List<Driver> drivers = DriverDao.getDriversWithQualification(DriverQualification.SPECIAL_CARGO);
+        assertTrue(drivers.stream().anyMatch(d -> d.getId() == driver.getId()),
+                "Cached query must include the newly created driver");
+    }
+
+    @Test
+    @Order(4)
+    void delete_shouldEvictCachedEntity() {
+        TransportCompany company = new TransportCompany();
+        company.setName("CacheCo Deleted - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+        assertNotNull(TransportCompanyDao.get(company.getId()));
+
+        TransportCompanyDao.delete(company.getId());
+
+        assertNull(TransportCompanyDao.get(company.getId()));
+        assertTrue(TransportCompanyDao.getAllSortedByName().stream()
+                .noneMatch(c -> c.getId() == company.getId()));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static void configure(String name, String value) {
+        previousSettings.put(name, System.getProperty(name));
+        System.setProperty(name, value);
+    }
+}
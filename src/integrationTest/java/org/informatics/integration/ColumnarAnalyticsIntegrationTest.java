@@ -0,0 +1,189 @@
+package org.informatics.integration;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.*;
+import org.informatics.dto.CompanyRevenueDto;
+import org.informatics.dto.DriverRevenueDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the per-driver and per-company period rankings with sums over the loaded transports,
+ * before and after changes that the columnar snapshot has to pick up incrementally.
+ * Run with the columnar snapshot enabled (ColumnarSnapshotEnabledIntegrationTest) and disabled
+ * (ColumnarSnapshotDisabledIntegrationTest, GROUP BY queries): each subclass rebuilds the SessionFactory
+ * with analytics.columnar_snapshot set before creating the fixtures.
+ */
+abstract class ColumnarAnalyticsIntegrationTest {
+
+    private static final String COLUMNAR_SETTING = "analytics.columnar_snapshot";
+    private static final LocalDate BASE = LocalDate.of(2019, 3, 1);
+
+    private static String previousSetting;
+
+    private static TransportCompany company;
+    private static Client client;
+    private static Driver firstDriver;
+    private static Driver secondDriver;
+    private static Truck truck;
+    private static List<CargoTransport> transports;
+
+    /**
+     * Rebuilds the SessionFactory with the columnar snapshot enabled or disabled and creates the fixtures.
+     */
+    static void setup(boolean columnarSnapshot) {
+        previousSetting = System.getProperty(COLUMNAR_SETTING);
+        System.setProperty(COLUMNAR_SETTING, String.valueOf(columnarSnapshot));
+        SessionFactoryUtil.closeSessionFactory();
+        SessionFactoryUtil.init();
+        assertEquals(String.valueOf(columnarSnapshot),
+                SessionFactoryUtil.getSessionFactory().getProperties().get(COLUMNAR_SETTING));
+
+        company = new TransportCompany();
+        company.setName("ColumnarCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        client = new Client();
+        client.setFirstName("Columnar");
+        client.setLastName("Client");
+        client.setPhone("0833" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+
+        firstDriver = driver("First");
+        secondDriver = driver("Second");
+
+        truck = new Truck();
+        truck.setRegistrationNumber("COL-TRK-" + System.currentTimeMillis() % 10000);
+        truck.setBrand("DAF");
+        truck.setModel("XF");
+        truck.setMaxLoadKg(18000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+
+        Random random = new Random(7);
+        transports = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            transports.add(transport(i % 2 == 0 ? firstDriver : secondDriver,
+                    BASE.plusDays(random.nextInt(200)),
+                    random.nextInt(100_000) / 100.0,
+                    random.nextBoolean() ? PaymentStatus.PAID : PaymentStatus.UNPAID));
+        }
+        TransportService.createTransports(transports, 16);
+    }
+
+    @AfterAll
+    static void restoreSetting() {
+        if (previousSetting == null) {
+            System.clearProperty(COLUMNAR_SETTING);
+        } else {
+            System.setProperty(COLUMNAR_SETTING, previousSetting);
+        }
+        SessionFactoryUtil.closeSessionFactory();
+        SessionFactoryUtil.init();
+    }
+
+    @Test
+    void periodRankings_shouldMatchSumsOverTransports() {
+        for (int[] range : new int[][]{{0, 199}, {0, 0}, {15, 60}, {100, 250}, {-30, -1}}) {
+            assertRankingsMatch(BASE.plusDays(range[0]), BASE.plusDays(range[1]));
+        }
+    }
+
+    @Test
+    void periodRankings_shouldFollowCreatesUpdatesAndDeletes() {
+        LocalDate from = BASE;
+        LocalDate to = BASE.plusDays(199);
+        double before = driverRevenue(secondDriver, from, to);
+
+        CargoTransport added = transport(secondDriver, BASE.plusDays(50), 1234.56, PaymentStatus.PAID);
+        TransportDao.create(added);
+        assertEquals(before + 1234.56, driverRevenue(secondDriver, from, to), 0.001);
+
+        TransportDao.setPaymentStatus(added.getId(), PaymentStatus.UNPAID);
+        assertEquals(before, driverRevenue(secondDriver, from, to), 0.001);
+
+        TransportDao.setPaymentStatus(added.getId(), PaymentStatus.PAID);
+        TransportDao.delete(added.getId());
+        assertEquals(before, driverRevenue(secondDriver, from, to), 0.001);
+
+        TransportDao.setPaymentStatus(List.of(transports.get(0).getId(), transports.get(1).getId()), PaymentStatus.UNPAID);
+        assertRankingsMatch(from, to);
+    }
+
+    @Test
+    void periodRankings_shouldBeSortedByRevenueDescending() {
+        List<DriverRevenueDto> drivers = ReportDao.getRevenueByDriverForPeriod(BASE, BASE.plusDays(199));
+        for (int i = 1; i < drivers.size(); i++) {
+            assertTrue(drivers.get(i - 1).getRevenue() >= drivers.get(i).getRevenue());
+        }
+        List<CompanyRevenueDto> companies = ReportDao.getRevenueByCompanyForPeriod(BASE, BASE.plusDays(199));
+        for (int i = 1; i < companies.size(); i++) {
+            assertTrue(companies.get(i - 1).getRevenue() >= companies.get(i).getRevenue());
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static Driver driver(String firstName) {
+        Driver driver = new Driver();
+        driver.setFirstName(firstName);
+        driver.setLastName("Columnar");
+        driver.setSalary(1900);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+        return driver;
+    }
+
+    private static CargoTransport transport(Driver driver, LocalDate date, double price, PaymentStatus status) {
+        CargoTransport ct = new CargoTransport();
+        ct.setCompany(company);
+        ct.setClient(client);
+        ct.setDriver(driver);
+        ct.setVehicle(truck);
+        ct.setDestination("Pleven");
+        ct.setTransportDate(date);
+        ct.setPrice(price);
+        ct.setPaymentStatus(status);
+        ct.setCargoWeightKg(1000);
+        return ct;
+    }
+
+    private static double driverRevenue(Driver driver, LocalDate from, LocalDate to) {
+        return ReportDao.getRevenueByDriverForPeriod(from, to).stream()
+                .filter(dto -> dto.getDriverId() == driver.getId())
+                .findFirst()
+                .orElseThrow()
+                .getRevenue();
+    }
+
+    private static void assertRankingsMatch(LocalDate from, LocalDate to) {
+        List<Transport> paid = TransportDao.getAll().stream()
+                .filter(t -> t.getPaymentStatus() == PaymentStatus.PAID)
+                .filter(t -> !t.getTransportDate().isBefore(from) && !t.getTransportDate().isAfter(to))
+                .toList();
+        Map<Long, Double> byDriver = paid.stream()
+                .collect(Collectors.groupingBy(t -> t.getDriver().getId(), Collectors.summingDouble(Transport::getPrice)));
+        Map<Long, Double> byCompany = paid.stream()
+                .collect(Collectors.groupingBy(t -> t.getCompany().getId(), Collectors.summingDouble(Transport::getPrice)));
+
+        for (DriverRevenueDto dto : ReportDao.getRevenueByDriverForPeriod(from, to)) {
+            assertEquals(byDriver.getOrDefault(dto.getDriverId(), 0.0), dto.getRevenue(), 0.001,
+                    "driver " + dto.getDriverId() + " in " + from + ".." + to);
+        }
+        for (CompanyRevenueDto dto : ReportDao.getRevenueByCompanyForPeriod(from, to)) {
+            assertEquals(byCompany.getOrDefault(dto.getCompanyId(), 0.0), dto.getRevenue(), 0.001,
+                    "company " + dto.getCompanyId() + " in " + from + ".." + to);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.informatics.integration;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Runs the period ranking tests against the GROUP BY queries (analytics.columnar_snapshot=false).
+ */
+class ColumnarSnapshotDisabledIntegrationTest extends ColumnarAnalyticsIntegrationTest {
+
+    @BeforeAll
+    static void setup() {
+        setup(false);
+    }
+}
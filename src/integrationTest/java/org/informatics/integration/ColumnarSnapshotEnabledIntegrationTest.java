@@ -0,0 +1,14 @@
+package org.informatics.integration;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Runs the period ranking tests against the in-memory columnar snapshot (analytics.columnar_snapshot=true).
+ */
+class ColumnarSnapshotEnabledIntegrationTest extends ColumnarAnalyticsIntegrationTest {
+
+    @BeforeAll
+    static void setup() {
+        setup(true);
+    }
+}
@@ -0,0 +1,56 @@
+package org.informatics.integration;
+
+import org.hibernate.SessionFactory;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.ReportDao;
+import org.informatics.dto.ConnectionPoolStatsDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolIntegrationTest {
+
+    private static final int THREADS = 32;
+
+    @Test
+    void concurrentAccess_shouldShareOneSessionFactory_andStayWithinPoolSize() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<SessionFactory> factories = ConcurrentHashMap.newKeySet();
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    factories.add(SessionFactoryUtil.getSessionFactory());
+                    long total = 0;
+                    for (int j = 0; j < 10; j++) {
+                        total += ReportDao.getTotalTransportsCount();
+                    }
+                    return total;
+                }));
+            }
+            start.countDown();
+            for (Future<Long> result : results) {
+                assertTrue(result.get(60, TimeUnit.SECONDS) >= 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, factories.size(), "All threads must see the same SessionFactory");
+
+        ConnectionPoolStatsDto stats = SessionFactoryUtil.getConnectionPoolStats();
+        assertNotNull(stats);
+        assertTrue(stats.getAcquireCount() >= THREADS * 10L, "Every query should borrow a pooled connection");
+        assertTrue(stats.getTotalConnections() <= stats.getMaxConnections());
+        assertEquals(0, stats.getActiveConnections(), "All connections should be returned to the pool");
+        assertEquals(0, stats.getTimeoutCount());
+        assertTrue(stats.getMaxWaitMillis() >= stats.getAverageWaitMillis());
+    }
+}
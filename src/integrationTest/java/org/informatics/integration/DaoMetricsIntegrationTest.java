@@ -0,0 +1,106 @@
+package org.informatics.integration;
+
+import org.informatics.configuration.DaoMetrics;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.ClientDao;
+import org.informatics.dao.TransportCompanyDao;
+import org.informatics.dto.DaoMethodStatsDto;
+import org.informatics.entity.Client;
+import org.informatics.entity.TransportCompany;
+import org.junit.jupiter.api.*;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the per DAO method metrics and their JMX view.
+ */
+class DaoMetricsIntegrationTest {
+
+    @BeforeEach
+    void enable() {
+        SessionFactoryUtil.getSessionFactory();
+        DaoMetrics.setEnabled(true);
+        DaoMetrics.reset();
+    }
+
+    @AfterEach
+    void disable() {
+        DaoMetrics.setEnabled(false);
+        DaoMetrics.reset();
+    }
+
+    @Test
+    void daoCalls_shouldBeRecordedPerMethod() {
+        Client client = newClient();
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(ClientDao.get(client.getId()));
+        }
+
+        DaoMethodStatsDto create = DaoMetrics.getMethodStats("ClientDao.create");
+        assertEquals(1, create.getCalls());
+        assertEquals(1, create.getTransactions());
+        assertTrue(create.getStatements() >= 1);
+        assertTrue(create.getTotalTransactionMillis() > 0);
+
+        DaoMethodStatsDto get = DaoMetrics.getMethodStats("ClientDao.get");
+        assertEquals(10, get.getCalls());
+        assertEquals(0, get.getTransactions());
+        assertTrue(get.getEntitiesLoaded() <= 10);
+        assertTrue(get.getP50Millis() <= get.getP99Millis());
+        assertTrue(get.getP99Millis() <= get.getMaxMillis());
+        assertTrue(get.getMaxMillis() <= get.getTotalMillis());
+    }
+
+    @Test
+    void entitiesLoaded_shouldCountEveryHydratedEntity() {
+        TransportCompany company = new TransportCompany();
+        company.setName("MetricsCo - " + System.nanoTime());
+        TransportCompanyDao.create(company);
+        int companies = TransportCompanyDao.getAll().size();
+
+        DaoMethodStatsDto getAll = DaoMetrics.getMethodStats("TransportCompanyDao.getAll");
+        assertEquals(1, getAll.getCalls());
+        assertEquals(1, getAll.getStatements());
+        assertEquals(companies, getAll.getEntitiesLoaded());
+    }
+
+    @Test
+    void disabled_shouldRecordNothing() {
+        DaoMetrics.setEnabled(false);
+        newClient();
+        assertNull(DaoMetrics.getMethodStats("ClientDao.create"));
+        assertTrue(DaoMetrics.getMethodStats().isEmpty());
+    }
+
+    @Test
+    void mxBean_shouldExposeMethodAndHibernateStatistics() throws Exception {
+        newClient();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(DaoMetrics.OBJECT_NAME);
+
+        assertEquals(true, server.getAttribute(name, "Enabled"));
+        CompositeData[] methods = (CompositeData[]) server.getAttribute(name, "MethodStats");
+        assertTrue(Arrays.stream(methods).anyMatch(m -> m.get("method").equals("ClientDao.create")));
+        assertTrue((Long) server.getAttribute(name, "PrepareStatementCount") > 0);
+
+        server.setAttribute(name, new javax.management.Attribute("Enabled", false));
+        assertFalse(DaoMetrics.isEnabled());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static Client newClient() {
+        Client client = new Client();
+        client.setFirstName("Metrics");
+        client.setLastName("Client");
+        client.setPhone("0899" + System.nanoTime() % 1000000);
+        ClientDao.create(client);
+        return client;
+    }
+}
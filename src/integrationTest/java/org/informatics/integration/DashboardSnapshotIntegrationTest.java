@@ -0,0 +1,135 @@
+package org.informatics.integration;
+
+import org.informatics.dao.*;
+import org.informatics.dto.DashboardSnapshotDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests ReportDao.getDashboardSnapshot(): its figures match the individual reports, it is cached,
+ * and concurrent callers share one computation.
+ */
+class DashboardSnapshotIntegrationTest {
+
+    private static TransportCompany company;
+
+    @BeforeAll
+    static void setup() {
+        company = new TransportCompany();
+        company.setName("DashCo - " + System.nanoTime());
+        TransportCompanyDao.create(company);
+
+        Client client = new Client();
+        client.setFirstName("Dash");
+        client.setLastName("Client");
+        client.setPhone("0896" + System.nanoTime() % 1000000);
+        ClientDao.create(client);
+
+        Driver driver = new Driver();
+        driver.setFirstName("Dash");
+        driver.setLastName("Driver");
+        driver.setSalary(2000);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+
+        Truck truck = new Truck();
+        truck.setRegistrationNumber("DT-" + System.nanoTime());
+        truck.setBrand("Volvo");
+        truck.setModel("FH");
+        truck.setMaxLoadKg(10000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+
+        createTransport(client, driver, truck, LocalDate.now().minusDays(2), 300, PaymentStatus.PAID);
+        createTransport(client, driver, truck, LocalDate.now().minusDays(1), 200, PaymentStatus.UNPAID);
+        createTransport(client, driver, truck, LocalDate.now().minusDays(90), 500, PaymentStatus.PAID);
+    }
+
+    @BeforeEach
+    void discardCachedSnapshot() {
+        RevenueAggregateDao.rebuild();
+    }
+
+    @Test
+    void snapshot_shouldMatchIndividualReports() {
+        DashboardSnapshotDto snapshot = ReportDao.getDashboardSnapshot();
+
+        assertEquals(ReportDao.getTotalTransportsCount(), snapshot.getTransportCount());
+        assertEquals(ReportDao.getTotalTransportsRevenue(), snapshot.getTotalRevenue(), 0.001);
+        assertEquals(ReportDao.getTotalTransportsValue(), snapshot.getTotalValue(), 0.001);
+        assertEquals(snapshot.getTotalRevenue() / snapshot.getTotalValue() * 100, snapshot.getPaymentRate(), 0.001);
+        assertEquals(LocalDate.now(), snapshot.getPeriodTo());
+        assertEquals(LocalDate.now().minusDays(30), snapshot.getPeriodFrom());
+        assertEquals(ReportDao.getRevenueForPeriod(snapshot.getPeriodFrom(), snapshot.getPeriodTo()),
+                snapshot.getPeriodRevenue(), 0.001);
+
+        assertEquals(ReportDao.getRevenueByDriverForPeriod(snapshot.getPeriodFrom(), snapshot.getPeriodTo()).size(),
+                snapshot.getDriverRanking().size());
+        assertEquals(300.0, snapshot.getCompanyRanking().stream()
+                .filter(c -> c.getCompanyId() == company.getId())
+                .findFirst().orElseThrow().getRevenue(), 0.001);
+    }
+
+    @Test
+    void snapshot_shouldBeCachedUntilInvalidated() {
+        DashboardSnapshotDto first = ReportDao.getDashboardSnapshot();
+        assertSame(first, ReportDao.getDashboardSnapshot());
+
+        RevenueAggregateDao.rebuild();
+
+        assertNotSame(first, ReportDao.getDashboardSnapshot());
+    }
+
+    @Test
+    void concurrentViewers_shouldShareOneComputation() throws Exception {
+        int viewers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(viewers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<DashboardSnapshotDto>> results = new ArrayList<>();
+            for (int i = 0; i < viewers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return ReportDao.getDashboardSnapshot();
+                }));
+            }
+            start.countDown();
+
+            DashboardSnapshotDto first = results.get(0).get();
+            for (Future<DashboardSnapshotDto> result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static void createTransport(Client client, Driver driver, Truck truck, LocalDate date,
+                                        double price, PaymentStatus status) {
+        CargoTransport ct = new CargoTransport();
+        ct.setCompany(company);
+        ct.setClient(client);
+        ct.setDriver(driver);
+        ct.setVehicle(truck);
+        ct.setDestination("Burgas");
+        ct.setTransportDate(date);
+        ct.setPrice(price);
+        ct.setPaymentStatus(status);
+        ct.setCargoWeightKg(1000);
+        TransportService.createTransport(ct);
+    }
+}
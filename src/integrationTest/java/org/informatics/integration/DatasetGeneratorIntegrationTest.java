@@ -0,0 +1,84 @@
+package org.informatics.integration;
+
+import org.informatics.dao.ClientDao;
+import org.informatics.dao.RevenueAggregateDao;
+import org.informatics.dao.TransportDao;
+import org.informatics.entity.Transport;
+import org.informatics.service.TransportService;
+import org.informatics.tools.DatasetGenerator;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorIntegrationTest {
+
+    @Test
+    void generate_shouldLoadRequestedRowsThatSatisfyBusinessRules() {
+        String label = "it-" + System.currentTimeMillis();
+        int clientsBefore = ClientDao.getAll().size();
+
+        DatasetGenerator.generate(42, new DatasetGenerator.Sizes(3, 7, 8, 25, 500), label,
+                DatasetGenerator.DEFAULT_END_DATE);
+
+        assertEquals(clientsBefore + 25, ClientDao.getAll().size());
+
+        List<Transport> generated = generatedTransports(label);
+        assertEquals(500, generated.size());
+        generated.forEach(t -> {
+            assertDoesNotThrow(() -> TransportService.validateTransport(t));
+            assertEquals(t.getCompany().getId(), t.getDriver().getCompany().getId());
+            assertEquals(t.getCompany().getId(), t.getVehicle().getCompany().getId());
+            assertFalse(t.getTransportDate().isAfter(DatasetGenerator.DEFAULT_END_DATE));
+        });
+
+        assertTrue(RevenueAggregateDao.verify().isEmpty());
+    }
+
+    @Test
+    void generate_sameSeedTwice_shouldProduceSameTransports() {
+        long seed = 7;
+        String run = "repro-" + System.currentTimeMillis();
+        DatasetGenerator.Sizes sizes = new DatasetGenerator.Sizes(2, 4, 6, 10, 200);
+        LocalDate endDate = LocalDate.of(2024, 6, 30);
+
+        DatasetGenerator.generate(seed, sizes, run + "-a", endDate);
+        DatasetGenerator.generate(seed, sizes, run + "-b", endDate);
+
+        List<String> first = describe(generatedTransports(run + "-a"));
+        List<String> second = describe(generatedTransports(run + "-b"));
+        assertEquals(200, first.size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void generate_tooFewDriversOrVehicles_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DatasetGenerator.generate(1, new DatasetGenerator.Sizes(5, 4, 10, 10, 10)));
+        assertThrows(IllegalArgumentException.class,
+                () -> DatasetGenerator.generate(1, new DatasetGenerator.Sizes(5, 5, 9, 10, 10)));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    /**
+     * Transports of the companies created by the run with the given label, in insertion order.
+     */
+    private List<Transport> generatedTransports(String label) {
+        String companyPrefix = "Generated Logistics " + label + "-";
+        return TransportDao.getAll().stream()
+                .filter(t -> t.getCompany().getName().startsWith(companyPrefix))
+                .sorted(Comparator.comparing(Transport::getId))
+                .toList();
+    }
+
+    private List<String> describe(List<Transport> transports) {
+        return transports.stream()
+                .map(t -> t.getTransportDate() + "|" + t.getPrice() + "|" + t.getPaymentStatus()
+                        + "|" + t.getClass().getSimpleName())
+                .toList();
+    }
+}
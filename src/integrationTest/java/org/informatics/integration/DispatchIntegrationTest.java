@@ -0,0 +1,251 @@
+package org.informatics.integration;
+
+import org.informatics.dao.*;
+import org.informatics.dto.DispatchReportDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.DriverQualification;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.NoAvailableResourceException;
+import org.informatics.service.DispatchService;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the automatic assignment of qualified, free drivers and fitting vehicles to transport requests.
+ * Every test uses its own company, so the fleets do not interfere.
+ */
+class DispatchIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2027, 5, 10);
+
+    private static Client client;
+
+    @BeforeAll
+    static void setup() {
+        client = new Client();
+        client.setFirstName("Dispatch");
+        client.setLastName("Client");
+        client.setPhone("0866" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+    }
+
+    @Test
+    void dispatch_shouldPickSmallestFittingVehicleAndLeastQualifiedDriver() {
+        TransportCompany company = newCompany();
+        Driver plain = newDriver(company);
+        Driver passengers = newDriver(company, DriverQualification.PASSENGERS_OVER_12);
+        newDriver(company, DriverQualification.PASSENGERS_OVER_12, DriverQualification.SPECIAL_CARGO);
+        newBus(company, 12);
+        Bus midi = newBus(company, 30);
+        newBus(company, 50);
+
+        PassengerTransport small = passengerRequest(company, DAY, 10);
+        DispatchService.dispatch(small);
+        assertEquals(plain.getId(), small.getDriver().getId());
+        assertEquals(12, ((Bus) small.getVehicle()).getSeats());
+
+        PassengerTransport large = passengerRequest(company, DAY, 25);
+        DispatchService.dispatch(large);
+        assertEquals(passengers.getId(), large.getDriver().getId());
+        assertEquals(midi.getId(), large.getVehicle().getId());
+    }
+
+    @Test
+    void dispatch_shouldSkipDriversAndVehiclesBusyThatDay() {
+        TransportCompany company = newCompany();
+        Driver busyDriver = newDriver(company);
+        Driver freeDriver = newDriver(company);
+        Truck busyTruck = newTruck(company, 10000);
+        Truck freeTruck = newTruck(company, 20000);
+        CargoTransport existing = cargoRequest(company, DAY, 1000);
+        existing.setDriver(busyDriver);
+        existing.setVehicle(busyTruck);
+        TransportService.createTransport(existing);
+
+        CargoTransport request = cargoRequest(company, DAY, 5000);
+        DispatchService.dispatch(request);
+        assertEquals(freeDriver.getId(), request.getDriver().getId());
+        assertEquals(freeTruck.getId(), request.getVehicle().getId());
+
+        // The next day everybody is free again
+        CargoTransport nextDay = cargoRequest(company, DAY.plusDays(1), 5000);
+        DispatchService.dispatch(nextDay);
+        assertEquals(busyTruck.getId(), nextDay.getVehicle().getId());
+
+        assertThrows(NoAvailableResourceException.class, () ->
+                DispatchService.dispatch(cargoRequest(company, DAY, 500)));
+        assertThrows(NoAvailableResourceException.class, () ->
+                DispatchService.dispatch(cargoRequest(company, DAY.plusDays(2), 25000)));
+    }
+
+    @Test
+    void flammableTanker_shouldRequireSpecialCargoDriver() {
+        TransportCompany company = newCompany();
+        newDriver(company);
+        Tanker flammable = newTanker(company, 10000, true);
+        Tanker water = newTanker(company, 30000, false);
+
+        CargoTransport liquid = cargoRequest(company, DAY, 8000);
+        liquid.setCargoVolumeLiters(8000.0);
+        DispatchService.dispatch(liquid);
+        // The smaller tanker is flammable and nobody may drive it
+        assertEquals(water.getId(), liquid.getVehicle().getId());
+
+        Driver special = newDriver(company, DriverQualification.SPECIAL_CARGO);
+        CargoTransport fuel = cargoRequest(company, DAY.plusDays(1), 8000);
+        fuel.setCargoVolumeLiters(8000.0);
+        DispatchService.dispatch(fuel);
+        assertEquals(flammable.getId(), fuel.getVehicle().getId());
+        assertEquals(special.getId(), fuel.getDriver().getId());
+    }
+
+    @Test
+    void dispatchAll_shouldAssignEachDriverAndVehicleOncePerDay() {
+        TransportCompany company = newCompany();
+        for (int i = 0; i < 4; i++) {
+            newDriver(company);
+        }
+        newDriver(company, DriverQualification.PASSENGERS_OVER_12);
+        for (int i = 0; i < 3; i++) {
+            newBus(company, 50);
+        }
+        for (int i = 0; i < 3; i++) {
+            newTruck(company, 10000 * (i + 1));
+        }
+        long before = ReportDao.getTotalTransportsCount();
+
+        List<Transport> requests = new ArrayList<>();
+        requests.add(passengerRequest(company, DAY, 10));
+        requests.add(passengerRequest(company, DAY, 40));
+        requests.add(cargoRequest(company, DAY, 25000));
+        requests.add(cargoRequest(company, DAY, 15000));
+        requests.add(cargoRequest(company, DAY, 5000));
+        requests.add(cargoRequest(company, DAY, 5000));
+
+        DispatchReportDto report = DispatchService.dispatchAll(requests);
+
+        assertEquals(6, report.getRequestedCount());
+        assertEquals(5, report.getAssignedCount());
+        assertEquals(List.of(requests.get(5)), report.getUnassigned());
+        assertTrue(report.getInsertReport().isSuccessful());
+        assertEquals(before + 5, ReportDao.getTotalTransportsCount());
+        assertNotNull(requests.get(1).getDriver());
+        assertTrue(requests.get(1).getDriver().getQualifications().contains(DriverQualification.PASSENGERS_OVER_12));
+        assertNotNull(requests.get(2).getVehicle());
+        assertEquals(30000, ((Truck) requests.get(2).getVehicle()).getMaxLoadKg());
+
+        Set<Long> drivers = new HashSet<>();
+        Set<Long> vehicles = new HashSet<>();
+        for (Transport request : requests) {
+            if (!report.getUnassigned().contains(request)) {
+                assertTrue(drivers.add(request.getDriver().getId()));
+                assertTrue(vehicles.add(request.getVehicle().getId()));
+            }
+        }
+    }
+
+    @Test
+    void newDriversAndVehicles_shouldBeDispatchedImmediately() {
+        TransportCompany company = newCompany();
+        assertThrows(NoAvailableResourceException.class, () ->
+                DispatchService.dispatch(passengerRequest(company, DAY, 5)));
+
+        Driver driver = newDriver(company);
+        Bus bus = newBus(company, 20);
+        PassengerTransport request = passengerRequest(company, DAY, 5);
+        DispatchService.dispatch(request);
+        assertEquals(driver.getId(), request.getDriver().getId());
+        assertEquals(bus.getId(), request.getVehicle().getId());
+
+        Bus smaller = newBus(company, 10);
+        VehicleDao.delete(smaller.getId());
+        PassengerTransport nextDay = passengerRequest(company, DAY.plusDays(1), 5);
+        DispatchService.dispatch(nextDay);
+        assertEquals(bus.getId(), nextDay.getVehicle().getId());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static TransportCompany newCompany() {
+        TransportCompany company = new TransportCompany();
+        company.setName("DispatchCo - " + System.nanoTime());
+        TransportCompanyDao.create(company);
+        return company;
+    }
+
+    private static Driver newDriver(TransportCompany company, DriverQualification... qualifications) {
+        Driver driver = new Driver();
+        driver.setFirstName("Dispatch");
+        driver.setLastName("Driver");
+        driver.setSalary(2100);
+        driver.setCompany(company);
+        driver.getQualifications().addAll(List.of(qualifications));
+        EmployeeDao.create(driver);
+        return driver;
+    }
+
+    private static Bus newBus(TransportCompany company, int seats) {
+        Bus bus = new Bus();
+        bus.setRegistrationNumber("DB-" + System.nanoTime());
+        bus.setBrand("Setra");
+        bus.setModel("S 515");
+        bus.setSeats(seats);
+        bus.setCompany(company);
+        VehicleDao.create(bus);
+        return bus;
+    }
+
+    private static Truck newTruck(TransportCompany company, double maxLoadKg) {
+        Truck truck = new Truck();
+        truck.setRegistrationNumber("DT-" + System.nanoTime());
+        truck.setBrand("MAN");
+        truck.setModel("TGX");
+        truck.setMaxLoadKg(maxLoadKg);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+        return truck;
+    }
+
+    private static Tanker newTanker(TransportCompany company, double maxLiters, boolean flammable) {
+        Tanker tanker = new Tanker();
+        tanker.setRegistrationNumber("DK-" + System.nanoTime());
+        tanker.setBrand("DAF");
+        tanker.setModel("XF");
+        tanker.setMaxLiters(maxLiters);
+        tanker.setFlammable(flammable);
+        tanker.setCompany(company);
+        VehicleDao.create(tanker);
+        return tanker;
+    }
+
+    private static PassengerTransport passengerRequest(TransportCompany company, LocalDate date, int passengers) {
+        PassengerTransport pt = new PassengerTransport();
+        fill(pt, company, date);
+        pt.setPassengerCount(passengers);
+        return pt;
+    }
+
+    private static CargoTransport cargoRequest(TransportCompany company, LocalDate date, double weightKg) {
+        CargoTransport ct = new CargoTransport();
+        fill(ct, company, date);
+        ct.setCargoWeightKg(weightKg);
+        return ct;
+    }
+
+    private static void fill(Transport transport, TransportCompany company, LocalDate date) {
+        transport.setCompany(company);
+        transport.setClient(client);
+        transport.setDestination("Ruse");
+        transport.setTransportDate(date);
+        transport.setPrice(300);
+        transport.setPaymentStatus(PaymentStatus.UNPAID);
+    }
+}
@@ -0,0 +1,146 @@
+package org.informatics.integration;
+
+import org.informatics.dao.*;
+import org.informatics.dto.EntityCountsDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.DriverQualification;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the COUNT-based statistics: the count methods of every DAO and ReportDao.getEntityCounts().
+ */
+class EntityCountsIntegrationTest {
+
+    private static TransportCompany company;
+
+    @BeforeAll
+    static void setup() {
+        company = new TransportCompany();
+        company.setName("CountCo - " + System.nanoTime());
+        TransportCompanyDao.create(company);
+
+        Client client = new Client();
+        client.setFirstName("Count");
+        client.setLastName("Client");
+        client.setPhone("0895" + System.nanoTime() % 1000000);
+        ClientDao.create(client);
+
+        Employee dispatcher = new Employee();
+        dispatcher.setFirstName("Count");
+        dispatcher.setLastName("Dispatcher");
+        dispatcher.setSalary(1500);
+        dispatcher.setCompany(company);
+        EmployeeDao.create(dispatcher);
+
+        Driver driver = new Driver();
+        driver.setFirstName("Count");
+        driver.setLastName("Driver");
+        driver.setSalary(2000);
+        driver.setCompany(company);
+        driver.getQualifications().add(DriverQualification.PASSENGERS_OVER_12);
+        EmployeeDao.create(driver);
+
+        Bus bus = new Bus();
+        bus.setRegistrationNumber("CB-" + System.nanoTime());
+        bus.setBrand("Setra");
+        bus.setModel("S 515");
+        bus.setSeats(49);
+        bus.setCompany(company);
+        VehicleDao.create(bus);
+
+        Truck truck = new Truck();
+        truck.setRegistrationNumber("CT-" + System.nanoTime());
+        truck.setBrand("MAN");
+        truck.setModel("TGX");
+        truck.setMaxLoadKg(10000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+
+        PassengerTransport pt = new PassengerTransport();
+        pt.setCompany(company);
+        pt.setClient(client);
+        pt.setDriver(driver);
+        pt.setVehicle(bus);
+        pt.setDestination("Ruse");
+        pt.setTransportDate(LocalDate.now());
+        pt.setPrice(150);
+        pt.setPaymentStatus(PaymentStatus.PAID);
+        pt.setPassengerCount(30);
+        TransportService.createTransport(pt);
+
+        for (int i = 0; i < 2; i++) {
+            CargoTransport ct = new CargoTransport();
+            ct.setCompany(company);
+            ct.setClient(client);
+            ct.setDriver(driver);
+            ct.setVehicle(truck);
+            ct.setDestination("Pleven");
+            ct.setTransportDate(LocalDate.now().minusDays(i));
+            ct.setPrice(250);
+            ct.setPaymentStatus(PaymentStatus.UNPAID);
+            ct.setCargoWeightKg(4000);
+            TransportService.createTransport(ct);
+        }
+    }
+
+    @Test
+    void counts_shouldMatchLoadedEntities() {
+        assertEquals(TransportCompanyDao.getAll().size(), TransportCompanyDao.count());
+        assertEquals(ClientDao.getAll().size(), ClientDao.count());
+        assertEquals(EmployeeDao.getAll().size(), EmployeeDao.count());
+        assertEquals(DriverDao.getAllDrivers().size(), DriverDao.count());
+        assertEquals(VehicleDao.getAll().size(), VehicleDao.count());
+        assertEquals(TransportDao.getAll().size(), TransportDao.count());
+    }
+
+    @Test
+    void countsByType_shouldMatchLoadedEntities() {
+        assertEquals(VehicleDao.getAll().stream().filter(v -> v instanceof Bus).count(),
+                VehicleDao.countByType(Bus.class));
+        assertEquals(VehicleDao.getAll().stream().filter(v -> v instanceof Tanker).count(),
+                VehicleDao.countByType(Tanker.class));
+        assertEquals(TransportDao.getAll().stream().filter(t -> t instanceof CargoTransport).count(),
+                TransportDao.countByType(CargoTransport.class));
+    }
+
+    @Test
+    void countsByCompany_shouldOnlyCountThatCompany() {
+        assertEquals(2, EmployeeDao.countByCompany(company.getId()));
+        assertEquals(1, DriverDao.countByCompany(company.getId()));
+        assertEquals(2, VehicleDao.countByCompany(company.getId()));
+        assertEquals(1, VehicleDao.countByCompanyAndType(company.getId(), Truck.class));
+        assertEquals(0, VehicleDao.countByCompanyAndType(company.getId(), Tanker.class));
+        assertEquals(3, TransportDao.countByCompany(company.getId()));
+        assertEquals(1, TransportDao.countByCompanyAndType(company.getId(), PassengerTransport.class));
+        assertEquals(2, TransportDao.countByCompanyAndType(company.getId(), CargoTransport.class));
+    }
+
+    @Test
+    void entityCounts_shouldMatchIndividualCounts() {
+        EntityCountsDto counts = ReportDao.getEntityCounts();
+
+        assertEquals(TransportCompanyDao.count(), counts.getCompanies());
+        assertEquals(ClientDao.count(), counts.getClients());
+        assertEquals(EmployeeDao.count(), counts.getEmployees());
+        assertEquals(DriverDao.count(), counts.getDrivers());
+        assertEquals(VehicleDao.count(), counts.getVehicles());
+        assertEquals(VehicleDao.countByType(Bus.class), counts.getBuses());
+        assertEquals(VehicleDao.countByType(Truck.class), counts.getTrucks());
+        assertEquals(VehicleDao.countByType(Tanker.class), counts.getTankers());
+        assertEquals(counts.getVehicles(), counts.getBuses() + counts.getTrucks() + counts.getTankers());
+        assertEquals(TransportDao.count(), counts.getTransports());
+        assertEquals(TransportDao.countByType(PassengerTransport.class), counts.getPassengerTransports());
+        assertEquals(TransportDao.countByType(CargoTransport.class), counts.getCargoTransports());
+    }
+
+    @Test
+    void entityCounts_shouldUseOneStatement() {
+        QueryCountAssertions.assertStatementCount(1, ReportDao::getEntityCounts);
+    }
+}
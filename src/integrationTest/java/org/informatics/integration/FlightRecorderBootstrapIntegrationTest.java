@@ -0,0 +1,59 @@
+package org.informatics.integration;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the JFR bootstrap event. Kept apart from FlightRecorderEventsIntegrationTest because rebuilding
+ * the SessionFactory may recreate the schema and drop the fixtures of other tests in the same class.
+ */
+class FlightRecorderBootstrapIntegrationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void bootstrap_shouldRecordPhasesAndEntityCount() throws Exception {
+        List<RecordedEvent> events = record(() -> {
+            SessionFactoryUtil.closeSessionFactory();
+            SessionFactoryUtil.init();
+        });
+
+        assertEquals(1, events.size());
+        assertEquals(SessionFactoryUtil.getSessionFactory().getMetamodel().getEntities().size(),
+                events.get(0).getInt("entityCount"));
+        assertTrue(events.get(0).getDuration("buildTime").toNanos() > 0);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private List<RecordedEvent> record(Runnable action) throws Exception {
+        Configuration settings;
+        try (Reader jfc = new InputStreamReader(
+                getClass().getClassLoader().getResourceAsStream("jfr/transport-company.jfc"))) {
+            settings = Configuration.create(jfc);
+        }
+        try (Recording recording = new Recording(settings)) {
+            recording.start();
+            action.run();
+            recording.stop();
+            Path dump = tempDir.resolve("bootstrap.jfr");
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(e -> e.getEventType().getName().equals("org.informatics.Bootstrap"))
+                    .toList();
+        }
+    }
+}
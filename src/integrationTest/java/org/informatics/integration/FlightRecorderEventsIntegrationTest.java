@@ -0,0 +1,191 @@
+package org.informatics.integration;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.informatics.dao.*;
+import org.informatics.dto.DashboardSnapshotDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.VehicleCapacityExceededException;
+import org.informatics.service.TransportJsonService;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the custom JFR events: they are disabled by default and carry the business data when enabled
+ * with the bundled jfr/transport-company.jfc settings. The bootstrap event is tested in
+ * FlightRecorderBootstrapIntegrationTest.
+ */
+class FlightRecorderEventsIntegrationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static TransportCompany company;
+    private static Client client;
+    private static Driver driver;
+    private static Truck truck;
+
+    @BeforeAll
+    static void setup() {
+        company = new TransportCompany();
+        company.setName("JfrCo - " + System.nanoTime());
+        TransportCompanyDao.create(company);
+
+        client = new Client();
+        client.setFirstName("Jfr");
+        client.setLastName("Client");
+        client.setPhone("0897" + System.nanoTime() % 1000000);
+        ClientDao.create(client);
+
+        driver = new Driver();
+        driver.setFirstName("Jfr");
+        driver.setLastName("Driver");
+        driver.setSalary(2000);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+
+        truck = new Truck();
+        truck.setRegistrationNumber("JT-" + System.nanoTime());
+        truck.setBrand("Scania");
+        truck.setModel("R");
+        truck.setMaxLoadKg(10000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+    }
+
+    @Test
+    void createTransport_shouldRecordBothPhases() throws Exception {
+        CargoTransport valid = cargo(5000);
+        CargoTransport tooHeavy = cargo(20000);
+
+        List<RecordedEvent> events = record(() -> {
+            TransportService.createTransport(valid);
+            assertThrows(VehicleCapacityExceededException.class, () -> TransportService.createTransport(tooHeavy));
+        }, "org.informatics.TransportCreate");
+
+        assertEquals(2, events.size());
+        RecordedEvent created = events.get(0);
+        assertEquals("CargoTransport", created.getString("transportType"));
+        assertEquals(company.getId(), created.getLong("companyId"));
+        assertEquals(valid.getId(), created.getLong("transportId"));
+        assertTrue(created.getBoolean("persisted"));
+        assertTrue(created.getDuration("validationTime").toNanos() > 0);
+        assertTrue(created.getDuration("persistTime").toNanos() > 0);
+
+        RecordedEvent rejected = events.get(1);
+        assertFalse(rejected.getBoolean("persisted"));
+        assertEquals(Duration.ZERO, rejected.getDuration("persistTime"));
+    }
+
+    @Test
+    void reports_shouldRecordNameCompanyAndRows() throws Exception {
+        List<RecordedEvent> events = record(() -> {
+            ReportDao.getDriversWithTransportsCount();
+            ReportDao.getCompanyRevenueForPeriod(company.getId(), LocalDate.of(2027, 1, 1), LocalDate.of(2027, 12, 31));
+        }, "org.informatics.Report");
+
+        assertEquals(2, events.size());
+        assertEquals("getDriversWithTransportsCount", events.get(0).getString("report"));
+        assertEquals(DriverDao.getAllDrivers().size(), events.get(0).getLong("rows"));
+        assertEquals("getCompanyRevenueForPeriod", events.get(1).getString("report"));
+        assertEquals(company.getId(), events.get(1).getLong("companyId"));
+        assertEquals(1, events.get(1).getLong("rows"));
+    }
+
+    @Test
+    void dashboardSnapshot_shouldRecordRankingRows() throws Exception {
+        DashboardSnapshotDto[] snapshot = new DashboardSnapshotDto[1];
+
+        List<RecordedEvent> events = record(() -> snapshot[0] = ReportDao.getDashboardSnapshot(),
+                "org.informatics.Report").stream()
+                .filter(e -> e.getString("report").equals("getDashboardSnapshot"))
+                .toList();
+
+        assertEquals(1, events.size());
+        assertEquals(snapshot[0].getDriverRanking().size() + snapshot[0].getCompanyRanking().size(),
+                events.get(0).getLong("rows"));
+    }
+
+    @Test
+    void jsonExport_shouldRecordRowsAndBytes() throws Exception {
+        Path file = tempDir.resolve("transports.json");
+        StringWriter writer = new StringWriter();
+        long[] exported = new long[2];
+
+        List<RecordedEvent> events = record(() -> {
+            exported[0] = TransportJsonService.exportToJson(file.toString());
+            exported[1] = TransportJsonService.exportToJson(writer);
+        }, "org.informatics.JsonExport");
+
+        assertEquals(2, events.size());
+        assertEquals(file.toString(), events.get(0).getString("file"));
+        assertEquals(exported[0], events.get(0).getLong("rows"));
+        assertEquals(Files.size(file), events.get(0).getLong("bytesWritten"));
+        assertNull(events.get(1).getString("file"));
+        assertEquals(exported[1], events.get(1).getLong("rows"));
+        assertEquals(writer.toString().length(), events.get(1).getLong("charactersWritten"));
+    }
+
+    @Test
+    void events_shouldBeDisabledByDefault() throws Exception {
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+            recording.start();
+            ReportDao.getTotalTransportsCount();
+            recording.stop();
+            Path dump = tempDir.resolve("default.jfr");
+            recording.dump(dump);
+            assertTrue(RecordingFile.readAllEvents(dump).stream()
+                    .noneMatch(e -> e.getEventType().getName().startsWith("org.informatics.")));
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private List<RecordedEvent> record(Runnable action, String eventName) throws Exception {
+        Configuration settings;
+        try (Reader jfc = new InputStreamReader(
+                getClass().getClassLoader().getResourceAsStream("jfr/transport-company.jfc"))) {
+            settings = Configuration.create(jfc);
+        }
+        try (Recording recording = new Recording(settings)) {
+            recording.start();
+            action.run();
+            recording.stop();
+            Path dump = tempDir.resolve(eventName + ".jfr");
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(e -> e.getEventType().getName().equals(eventName))
+                    .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                    .toList();
+        }
+    }
+
+    private static CargoTransport cargo(double weightKg) {
+        CargoTransport ct = new CargoTransport();
+        ct.setCompany(company);
+        ct.setClient(client);
+        ct.setDriver(driver);
+        ct.setVehicle(truck);
+        ct.setDestination("Varna");
+        ct.setTransportDate(LocalDate.of(2027, 8, 2));
+        ct.setPrice(220);
+        ct.setPaymentStatus(PaymentStatus.UNPAID);
+        ct.setCargoWeightKg(weightKg);
+        return ct;
+    }
+}
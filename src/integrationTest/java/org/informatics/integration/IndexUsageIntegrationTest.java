@@ -0,0 +1,247 @@
+package org.informatics.integration;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.*;
+import org.informatics.dto.PageDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.DriverQualification;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with EXPLAIN that the hot queries are answered through the indexes created by the migrations
+ * (H2 and MySQL plans both name the index they use).
+ *
+ * The explained statements are the ones the DAO methods actually send: a statement inspector records the SQL
+ * Hibernate generates, and the test explains it with the parameters the method bound.
+ */
+class IndexUsageIntegrationTest {
+
+    private static final String STATEMENT_INSPECTOR = "hibernate.session_factory.statement_inspector";
+    private static final List<String> recorded = Collections.synchronizedList(new ArrayList<>());
+    private static final Map<String, String> previousSettings = new HashMap<>();
+    private static volatile boolean recording;
+
+    private static Driver driver;
+    private static Truck truck;
+    private static Client client;
+    private static TransportCompany company;
+
+    /**
+     * Records the SQL of every statement prepared while recording is on.
+     */
+    public static class RecordingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            if (recording) {
+                recorded.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @BeforeAll
+    static void setup() {
+        configure(STATEMENT_INSPECTOR, RecordingInspector.class.getName());
+        // The period reports below are the GROUP BY queries, not the columnar snapshot
+        configure("analytics.columnar_snapshot", "false");
+        SessionFactoryUtil.closeSessionFactory();
+        SessionFactoryUtil.init();
+
+        company = new TransportCompany();
+        company.setName("IndexCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        client = new Client();
+        client.setFirstName("Index");
+        client.setLastName("Client");
+        client.setPhone("0866" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+
+        driver = new Driver();
+        driver.setFirstName("Index");
+        driver.setLastName("Driver");
+        driver.setSalary(2100);
+        driver.setCompany(company);
+        driver.getQualifications().add(DriverQualification.SPECIAL_CARGO);
+        EmployeeDao.create(driver);
+
+        // A second driver, so that the salary listing has a second page
+        Driver spare = new Driver();
+        spare.setFirstName("Index");
+        spare.setLastName("Spare");
+        spare.setSalary(2200);
+        spare.setCompany(company);
+        EmployeeDao.create(spare);
+
+        truck = new Truck();
+        truck.setRegistrationNumber("IDX-TRK-" + System.currentTimeMillis() % 100000);
+        truck.setBrand("Volvo");
+        truck.setModel("FH");
+        truck.setMaxLoadKg(20000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+
+        List<CargoTransport> transports = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            CargoTransport ct = new CargoTransport();
+            ct.setCompany(company);
+            ct.setClient(client);
+            ct.setDriver(driver);
+            ct.setVehicle(truck);
+            ct.setDestination("Destination " + i % 20);
+            ct.setTransportDate(LocalDate.now().minusDays(i));
+            ct.setPrice(100 + i);
+            ct.setPaymentStatus(i % 3 == 0 ? PaymentStatus.UNPAID : PaymentStatus.PAID);
+            ct.setCargoWeightKg(1000);
+            transports.add(ct);
+        }
+        TransportService.createTransports(transports);
+    }
+
+    @AfterAll
+    static void restoreSettings() {
+        previousSettings.forEach((name, value) -> {
+            if (value == null) {
+                System.clearProperty(name);
+            } else {
+                System.setProperty(name, value);
+            }
+        });
+        previousSettings.clear();
+        SessionFactoryUtil.closeSessionFactory();
+        SessionFactoryUtil.init();
+    }
+
+    /**
+     * The join may be driven by the driver or by the status and period, depending on the database's estimates.
+     */
+    @Test
+    void driverRevenueReport_shouldUseDriverOrPeriodIndex() {
+        LocalDate from = LocalDate.now().minusDays(30);
+        LocalDate to = LocalDate.now();
+        String sql = recordSelect(() -> ReportDao.getRevenueByDriverForPeriod(from, to), "group by");
+        String plan = explain(sql, PaymentStatus.PAID.name(), from, to).toLowerCase(Locale.ROOT);
+        assertTrue(plan.contains("idx_transports_driver_status_price") || plan.contains("idx_transports_status_date_price"),
+                "Expected a transports index in plan of\n" + sql + "\n" + plan);
+    }
+
+    @Test
+    void companyRevenueReport_shouldUseCompanyDateIndex() {
+        LocalDate from = LocalDate.now().minusDays(30);
+        LocalDate to = LocalDate.now();
+        String sql = recordSelect(() -> ReportDao.getRevenueByCompanyForPeriod(from, to), "group by");
+        assertUsesIndex("idx_transports_company_date_status_price", sql, PaymentStatus.PAID.name(), from, to);
+    }
+
+    @Test
+    void clientPaymentStatusUpdate_shouldUseClientStatusIndex() {
+        // Moves nothing: no transport of the client is dated before the epoch
+        LocalDate epoch = LocalDate.EPOCH;
+        String sql = recordSelect(() -> TransportDao.setPaymentStatusForClient(
+                client.getId(), epoch, PaymentStatus.UNPAID, PaymentStatus.PAID), "client_id");
+        assertUsesIndex("idx_transports_client_status_date", sql,
+                client.getId(), epoch, PaymentStatus.UNPAID.name(), 0L, 1000);
+    }
+
+    @Test
+    void availabilityChecks_shouldUseDriverAndVehicleDepartureIndexes() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusHours(2);
+
+        String sql = recordSelect(() -> AvailabilityDao.isDriverAvailable(driver.getId(), from, to), "departure");
+        assertUsesIndex("idx_transports_driver_departure", sql, driver.getId(), to, 1);
+
+        sql = recordSelect(() -> AvailabilityDao.isVehicleAvailable(truck.getId(), from, to), "departure");
+        assertUsesIndex("idx_transports_vehicle_departure", sql, truck.getId(), to, 1);
+    }
+
+    @Test
+    void destinationPages_shouldUseDestinationIndex() {
+        PageDto<Transport> first = TransportDao.getPageSortedByDestination(null, 10);
+        assertNotNull(first.getNextPageToken());
+        String sql = recordSelect(() -> TransportDao.getPageSortedByDestination(first.getNextPageToken(), 10),
+                "destination");
+        Transport last = first.getItems().get(first.getItems().size() - 1);
+        assertUsesIndex("idx_transports_destination_id", sql,
+                last.getDestination(), last.getDestination(), last.getId(), 11);
+    }
+
+    @Test
+    void salaryPages_shouldUseSalaryIndex() {
+        PageDto<Driver> first = DriverDao.getDriversSortedBySalaryAscPage(null, 1);
+        assertNotNull(first.getNextPageToken());
+        String sql = recordSelect(() -> DriverDao.getDriversSortedBySalaryAscPage(first.getNextPageToken(), 1),
+                "salary");
+        Driver last = first.getItems().get(0);
+        assertUsesIndex("idx_employees_salary_id", sql, last.getSalary(), last.getSalary(), last.getId(), 2);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static void configure(String name, String value) {
+        previousSettings.put(name, System.getProperty(name));
+        System.setProperty(name, value);
+    }
+
+    /**
+     * Runs the action and returns the first select it sent that mentions the given text, or null if none did.
+     */
+    private static String recordSelect(Runnable action, String text) {
+        recorded.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        synchronized (recorded) {
+            return recorded.stream()
+                    .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+                    .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(text))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    private static void assertUsesIndex(String index, String sql, Object... parameters) {
+        assertNotNull(sql, "No matching statement was recorded");
+        String plan = explain(sql, parameters);
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(index), "Expected " + index + " in plan of\n" + sql + "\n" + plan);
+    }
+
+    /**
+     * Returns the execution plan of the statement with the given parameters bound (tree format on MySQL).
+     */
+    private static String explain(String sql, Object... parameters) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.doReturningWork(connection -> {
+                boolean mysql = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("MySQL");
+                StringBuilder plan = new StringBuilder();
+                try (PreparedStatement statement = connection.prepareStatement(
+                        (mysql ? "EXPLAIN FORMAT=TREE " : "EXPLAIN ") + sql)) {
+                    for (int i = 0; i < parameters.length; i++) {
+                        statement.setObject(i + 1, parameters[i]);
+                    }
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                }
+                return plan.toString();
+            });
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.informatics.integration;
+
+import org.informatics.dao.*;
+import org.informatics.dto.PageDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.InvalidPageTokenException;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+
+import static org.informatics.integration.QueryCountAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginationIntegrationTest {
+
+    @BeforeAll
+    static void setup() {
+        TransportCompany company = new TransportCompany();
+        company.setName("PageCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        Client client = new Client();
+        client.setFirstName("Page");
+        client.setLastName("Client");
+        client.setPhone("0844" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+
+        Truck truck = new Truck();
+        truck.setRegistrationNumber("PAGE-TRK-" + System.currentTimeMillis() % 10000);
+        truck.setBrand("Iveco");
+        truck.setModel("S-Way");
+        truck.setMaxLoadKg(18000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+
+        // Equal salaries and destinations make sure ties are broken by ID across page boundaries
+        List<Driver> drivers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Driver driver = new Driver();
+            driver.setFirstName("Page");
+            driver.setLastName("Driver " + i);
+            driver.setSalary(i < 3 ? 1500 : 1600);
+            driver.setCompany(company);
+            EmployeeDao.create(driver);
+            drivers.add(driver);
+        }
+
+        List<CargoTransport> transports = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            CargoTransport ct = new CargoTransport();
+            ct.setCompany(company);
+            ct.setClient(client);
+            ct.setDriver(drivers.get(i % drivers.size()));
+            ct.setVehicle(truck);
+            ct.setDestination(i % 2 == 0 ? "Gabrovo" : "Lovech");
+            ct.setTransportDate(LocalDate.now());
+            ct.setPrice(100);
+            ct.setPaymentStatus(PaymentStatus.UNPAID);
+            ct.setCargoWeightKg(1000);
+            transports.add(ct);
+        }
+        TransportService.createTransports(transports);
+    }
+
+    @Test
+    void transportsByDestination_pagesShouldMatchFullListing() {
+        List<Long> expected = TransportDao.getAllSortedByDestination().stream().map(Transport::getId).toList();
+
+        List<Long> paged = collectIds(TransportDao::getPageSortedByDestination, 7, Transport::getId);
+
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    void transportsById_pagesShouldCoverAllTransportsInOrder() {
+        List<Long> expected = TransportDao.getAll().stream().map(Transport::getId).sorted().toList();
+
+        assertEquals(expected, collectIds(TransportDao::getPage, 50, Transport::getId));
+    }
+
+    @Test
+    void driversBySalary_pagesShouldMatchFullListing() {
+        List<Driver> all = DriverDao.getDriversSortedBySalaryAsc();
+        List<Long> paged = collectIds(DriverDao::getDriversSortedBySalaryAscPage, 2, Driver::getId);
+
+        assertEquals(all.size(), paged.size());
+        for (int i = 1; i < paged.size(); i++) {
+            Driver previous = findDriver(all, paged.get(i - 1));
+            Driver current = findDriver(all, paged.get(i));
+            assertTrue(previous.getSalary() < current.getSalary()
+                    || (previous.getSalary() == current.getSalary() && previous.getId() < current.getId()));
+        }
+    }
+
+    @Test
+    void companiesClientsAndVehicles_pagesShouldCoverEveryRow() {
+        assertEquals(TransportCompanyDao.getAllSortedByName().stream().map(TransportCompany::getId).toList(),
+                collectIds(TransportCompanyDao::getAllSortedByNamePage, 3, TransportCompany::getId));
+        assertEquals(ClientDao.getAll().stream().map(Client::getId).sorted().toList(),
+                collectIds(ClientDao::getPage, 3, Client::getId));
+        assertEquals(VehicleDao.getAll().stream().map(Vehicle::getId).sorted().toList(),
+                collectIds(VehicleDao::getPage, 3, Vehicle::getId));
+    }
+
+    @Test
+    void companyWithEmptyName_shouldBeOnFirstPage() {
+        // names are unique, so a database kept from an earlier run may already have the company
+        TransportCompany unnamed = TransportCompanyDao.getAllSortedByName().stream()
+                .filter(c -> c.getName().isEmpty())
+                .findFirst()
+                .orElseGet(() -> {
+                    TransportCompany c = new TransportCompany();
+                    c.setName("");
+                    TransportCompanyDao.create(c);
+                    return c;
+                });
+
+        assertEquals(unnamed.getId(), TransportCompanyDao.getAllSortedByNamePage(null, 1).getItems().get(0).getId());
+        assertEquals(TransportCompanyDao.getAllSortedByName().stream().map(TransportCompany::getId).toList(),
+                collectIds(TransportCompanyDao::getAllSortedByNamePage, 1, TransportCompany::getId));
+    }
+
+    @Test
+    void page_shouldUseConstantNumberOfStatements() {
+        PageDto<Transport> first = TransportDao.getPageSortedByDestination(null, 10);
+        assertTrue(first.hasNextPage());
+
+        // one keyset query for the IDs, one fetch query for the entities
+        assertStatementCount(2, () -> TransportDao.getPageSortedByDestination(first.getNextPageToken(), 10));
+    }
+
+    @Test
+    void invalidTokenOrPageSize_shouldThrow() {
+        assertThrows(InvalidPageTokenException.class, () -> TransportDao.getPageSortedByDestination("not-a-token", 10));
+        assertThrows(InvalidPageTokenException.class, () -> DriverDao.getDriversSortedBySalaryAscPage("???.???", 10));
+        assertThrows(IllegalArgumentException.class, () -> ClientDao.getPage(null, 0));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    /**
+     * Walks all pages of a paginated listing and returns the IDs in page order.
+     */
+    private static <T> List<Long> collectIds(BiFunction<String, Integer, PageDto<T>> pageFetcher, int pageSize,
+                                             ToLongFunction<T> idOf) {
+        List<Long> ids = new ArrayList<>();
+        String token = null;
+        do {
+            PageDto<T> page = pageFetcher.apply(token, pageSize);
+            assertTrue(page.getItems().size() <= pageSize);
+            page.getItems().forEach(item -> ids.add(idOf.applyAsLong(item)));
+            token = page.getNextPageToken();
+        } while (token != null);
+        return ids;
+    }
+
+    private static Driver findDriver(List<Driver> drivers, long id) {
+        return drivers.stream().filter(d -> d.getId() == id).findFirst().orElseThrow();
+    }
+}
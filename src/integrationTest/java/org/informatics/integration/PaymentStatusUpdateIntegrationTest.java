@@ -0,0 +1,142 @@
+package org.informatics.integration;
+
+import org.hibernate.stat.Statistics;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.*;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.EntityNotFoundException;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentStatusUpdateIntegrationTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2025, 3, 1);
+
+    private static Client client;
+    private static Client otherClient;
+    private static List<CargoTransport> transports;
+
+    @BeforeAll
+    static void setup() {
+        TransportCompany company = new TransportCompany();
+        company.setName("PaymentCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        client = newClient("1");
+        otherClient = newClient("2");
+
+        Driver driver = new Driver();
+        driver.setFirstName("Payment");
+        driver.setLastName("Driver");
+        driver.setSalary(1700);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+
+        Truck truck = new Truck();
+        truck.setRegistrationNumber("PAY-TRK-" + System.currentTimeMillis() % 10000);
+        truck.setBrand("Volvo");
+        truck.setModel("FH");
+        truck.setMaxLoadKg(20000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+
+        // More than one update batch, dates on both sides of the cutoff, both statuses
+        transports = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            CargoTransport ct = new CargoTransport();
+            ct.setCompany(company);
+            ct.setClient(i % 10 == 0 ? otherClient : client);
+            ct.setDriver(driver);
+            ct.setVehicle(truck);
+            ct.setDestination("Kardzhali");
+            ct.setTransportDate(CUTOFF.minusDays(200).plusDays(i % 300));
+            ct.setPrice(10 + i % 7);
+            ct.setPaymentStatus(i % 3 == 0 ? PaymentStatus.PAID : PaymentStatus.UNPAID);
+            ct.setCargoWeightKg(500);
+            transports.add(ct);
+        }
+        TransportService.createTransports(transports);
+    }
+
+    @Test
+    void setPaymentStatusForClient_shouldUpdateOnlyMatchingTransports() {
+        List<CargoTransport> expected = transports.stream()
+                .filter(t -> t.getClient() == client)
+                .filter(t -> t.getTransportDate().isBefore(CUTOFF))
+                .filter(t -> TransportDao.get(t.getId()).getPaymentStatus() == PaymentStatus.UNPAID)
+                .toList();
+        double revenueBefore = ReportDao.getTotalTransportsRevenue();
+        Statistics statistics = SessionFactoryUtil.getSessionFactory().getStatistics();
+        boolean statisticsWereEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        long loadsBefore = statistics.getEntityLoadCount();
+
+        int affected;
+        try {
+            affected = TransportDao.setPaymentStatusForClient(client.getId(), CUTOFF,
+                    PaymentStatus.UNPAID, PaymentStatus.PAID);
+            assertEquals(0, statistics.getEntityLoadCount() - loadsBefore, "Bulk update must not load entities");
+        } finally {
+            statistics.setStatisticsEnabled(statisticsWereEnabled);
+        }
+        assertEquals(expected.size(), affected);
+        assertTrue(affected > 1000, "Test data should span more than one batch");
+        assertEquals(revenueBefore + expected.stream().mapToDouble(Transport::getPrice).sum(),
+                ReportDao.getTotalTransportsRevenue(), 0.001);
+
+        for (CargoTransport t : transports) {
+            PaymentStatus status = TransportDao.get(t.getId()).getPaymentStatus();
+            if (t.getClient() == client && t.getTransportDate().isBefore(CUTOFF)) {
+                assertEquals(PaymentStatus.PAID, status);
+            }
+        }
+        assertTrue(transports.stream()
+                .filter(t -> t.getClient() == otherClient && t.getPaymentStatus() == PaymentStatus.UNPAID)
+                .allMatch(t -> TransportDao.get(t.getId()).getPaymentStatus() == PaymentStatus.UNPAID));
+        assertEquals(0, TransportDao.setPaymentStatusForClient(client.getId(), CUTOFF,
+                PaymentStatus.UNPAID, PaymentStatus.PAID));
+        assertEquals(List.of(), RevenueAggregateDao.verify());
+    }
+
+    @Test
+    void setPaymentStatusByIds_shouldCountOnlyChangedTransports() {
+        List<CargoTransport> others = transports.stream().filter(t -> t.getClient() == otherClient).toList();
+        List<Long> ids = new ArrayList<>(others.stream().map(Transport::getId).toList());
+        long alreadyUnpaid = others.stream()
+                .filter(t -> TransportDao.get(t.getId()).getPaymentStatus() == PaymentStatus.UNPAID)
+                .count();
+        ids.add(ids.get(0));
+        ids.add(Long.MAX_VALUE);
+
+        int affected = TransportDao.setPaymentStatus(ids, PaymentStatus.UNPAID);
+
+        assertEquals(others.size() - alreadyUnpaid, affected);
+        assertTrue(others.stream()
+                .allMatch(t -> TransportDao.get(t.getId()).getPaymentStatus() == PaymentStatus.UNPAID));
+        assertEquals(List.of(), RevenueAggregateDao.verify());
+    }
+
+    @Test
+    void setPaymentStatus_unknownId_shouldThrow() {
+        assertThrows(EntityNotFoundException.class,
+                () -> TransportDao.setPaymentStatus(Long.MAX_VALUE, PaymentStatus.PAID));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static Client newClient(String suffix) {
+        Client c = new Client();
+        c.setFirstName("Payment");
+        c.setLastName("Client " + suffix);
+        c.setPhone("081" + suffix + System.currentTimeMillis() % 1000000);
+        ClientDao.create(c);
+        return c;
+    }
+}
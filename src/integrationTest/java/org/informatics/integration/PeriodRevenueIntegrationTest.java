@@ -0,0 +1,173 @@
+package org.informatics.integration;
+
+import org.hibernate.Session;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.*;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the rollup-backed period revenue with a direct scan of the transports table.
+ * Run with the in-memory revenue index enabled (RevenueIndexEnabledIntegrationTest) and disabled
+ * (RevenueIndexDisabledIntegrationTest, SUM over the rollup): each subclass rebuilds the SessionFactory
+ * with analytics.revenue_index set before creating the fixtures.
+ */
+abstract class PeriodRevenueIntegrationTest {
+
+    private static final String INDEX_SETTING = "analytics.revenue_index";
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+
+    private static String previousSetting;
+
+    private static TransportCompany company;
+    private static List<CargoTransport> transports;
+
+    /**
+     * Rebuilds the SessionFactory with the revenue index enabled or disabled and creates the fixtures.
+     */
+    static void setup(boolean revenueIndex) {
+        previousSetting = System.getProperty(INDEX_SETTING);
+        System.setProperty(INDEX_SETTING, String.valueOf(revenueIndex));
+        SessionFactoryUtil.closeSessionFactory();
+        SessionFactoryUtil.init();
+        assertEquals(String.valueOf(revenueIndex), SessionFactoryUtil.getSessionFactory().getProperties().get(INDEX_SETTING));
+
+        company = new TransportCompany();
+        company.setName("PeriodCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        Client client = new Client();
+        client.setFirstName("Period");
+        client.setLastName("Client");
+        client.setPhone("0822" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+
+        Driver driver = new Driver();
+        driver.setFirstName("Period");
+        driver.setLastName("Driver");
+        driver.setSalary(1800);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+
+        Truck truck = new Truck();
+        truck.setRegistrationNumber("PER-TRK-" + System.currentTimeMillis() % 10000);
+        truck.setBrand("MAN");
+        truck.setModel("TGX");
+        truck.setMaxLoadKg(19000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+
+        Random random = new Random(42);
+        transports = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            CargoTransport ct = new CargoTransport();
+            ct.setCompany(company);
+            ct.setClient(client);
+            ct.setDriver(driver);
+            ct.setVehicle(truck);
+            ct.setDestination("Vidin");
+            ct.setTransportDate(BASE.plusDays(random.nextInt(400)));
+            ct.setPrice(random.nextInt(100_000) / 100.0);
+            ct.setPaymentStatus(random.nextBoolean() ? PaymentStatus.PAID : PaymentStatus.UNPAID);
+            ct.setCargoWeightKg(1000);
+            transports.add(ct);
+        }
+        TransportService.createTransports(transports, 16);
+    }
+
+    @AfterAll
+    static void restoreSetting() {
+        if (previousSetting == null) {
+            System.clearProperty(INDEX_SETTING);
+        } else {
+            System.setProperty(INDEX_SETTING, previousSetting);
+        }
+        SessionFactoryUtil.closeSessionFactory();
+        SessionFactoryUtil.init();
+    }
+
+    @Test
+    void periodRevenue_shouldMatchScanForArbitraryRanges() {
+        // Load the index, then change data so the incremental updates are exercised too
+        ReportDao.getRevenueForPeriod(BASE, BASE.plusDays(10));
+        TransportDao.setPaymentStatus(transports.get(0).getId(), PaymentStatus.PAID);
+        TransportDao.setPaymentStatus(transports.get(1).getId(), PaymentStatus.UNPAID);
+        TransportDao.delete(transports.get(2).getId());
+
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = BASE.plusDays(random.nextInt(500) - 50);
+            LocalDate to = from.plusDays(random.nextInt(200));
+            assertEquals(scanRevenue(from, to), ReportDao.getRevenueForPeriod(from, to), 0.001,
+                    "Revenue for " + from + ".." + to);
+        }
+        assertEquals(0.0, ReportDao.getRevenueForPeriod(BASE.plusDays(5), BASE), 0.001);
+        LocalDate first = LocalDate.of(1900, 1, 1);
+        LocalDate last = LocalDate.of(9999, 12, 31);
+        assertEquals(scanRevenue(first, last), ReportDao.getRevenueForPeriod(first, last), 0.001);
+    }
+
+    @Test
+    void companyPeriodRevenue_shouldMatchScan() {
+        LocalDate from = BASE.plusDays(30);
+        LocalDate to = BASE.plusDays(250);
+        double expected = transports.stream()
+                .map(t -> TransportDao.get(t.getId()))
+                .filter(t -> t != null)
+                .filter(t -> t.getPaymentStatus() == PaymentStatus.PAID)
+                .filter(t -> !t.getTransportDate().isBefore(from) && !t.getTransportDate().isAfter(to))
+                .mapToDouble(Transport::getPrice)
+                .sum();
+
+        assertEquals(expected, ReportDao.getCompanyRevenueForPeriod(company.getId(), from, to), 0.001);
+    }
+
+    @Test
+    void transportOutsideIndexedRange_shouldStillBeCounted() {
+        ReportDao.getRevenueForPeriod(BASE, BASE);
+        CargoTransport farFuture = transports.get(3);
+        CargoTransport copy = new CargoTransport();
+        copy.setCompany(farFuture.getCompany());
+        copy.setClient(farFuture.getClient());
+        copy.setDriver(farFuture.getDriver());
+        copy.setVehicle(farFuture.getVehicle());
+        copy.setDestination("Vidin");
+        copy.setTransportDate(LocalDate.now().plusYears(5));
+        copy.setPrice(123.45);
+        copy.setPaymentStatus(PaymentStatus.PAID);
+        copy.setCargoWeightKg(1000);
+        TransportService.createTransport(copy);
+
+        LocalDate day = copy.getTransportDate();
+        assertEquals(scanRevenue(day, day), ReportDao.getRevenueForPeriod(day, day), 0.001);
+        assertEquals(List.of(), RevenueAggregateDao.verify());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    /**
+     * The period query as it was before the rollup: a scan of the transports table.
+     */
+    private static double scanRevenue(LocalDate from, LocalDate to) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            Double result = session.createQuery(
+                            "SELECT SUM(t.price) FROM Transport t " +
+                                    "WHERE t.transportDate BETWEEN :from AND :to AND t.paymentStatus = :paid",
+                            Double.class)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .setParameter("paid", PaymentStatus.PAID)
+                    .getSingleResult();
+            return result == null ? 0.0 : result;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.informatics.integration;
+
+import org.hibernate.stat.Statistics;
+import org.informatics.configuration.SessionFactoryUtil;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test helper that counts the JDBC statements Hibernate prepares while an action runs.
+ * Used to make N+1 select regressions fail the build instead of silently slowing it down.
+ */
+final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    /**
+     * Runs the action and asserts that exactly the expected number of statements was prepared.
+     *
+     * @param expected expected number of SQL statements
+     * @param action the DAO call to measure
+     * @return the action's result
+     */
+    static <T> T assertStatementCount(long expected, Supplier<T> action) {
+        Statistics statistics = SessionFactoryUtil.getSessionFactory().getStatistics();
+        boolean wasEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        long before = statistics.getPrepareStatementCount();
+        try {
+            T result = action.get();
+            assertEquals(expected, statistics.getPrepareStatementCount() - before,
+                    "Unexpected number of SQL statements");
+            return result;
+        } finally {
+            statistics.setStatisticsEnabled(wasEnabled);
+        }
+    }
+}
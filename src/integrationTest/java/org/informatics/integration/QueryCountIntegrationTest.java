@@ -0,0 +1,125 @@
+package org.informatics.integration;
+
+import org.informatics.dao.*;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.DriverQualification;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.service.TransportJsonService;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.informatics.integration.QueryCountAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the export and listing paths against N+1 selects: each call must issue a single statement,
+ * no matter how many transports, drivers or vehicles are in the database.
+ */
+class QueryCountIntegrationTest {
+
+    @BeforeAll
+    static void setup() {
+        for (int i = 0; i < 3; i++) {
+            String suffix = i + "-" + System.currentTimeMillis();
+
+            TransportCompany company = new TransportCompany();
+            company.setName("QueryCountCo " + suffix);
+            TransportCompanyDao.create(company);
+
+            Client client = new Client();
+            client.setFirstName("Query");
+            client.setLastName("Client " + i);
+            client.setPhone("0855" + i + System.currentTimeMillis() % 100000);
+            ClientDao.create(client);
+
+            Driver driver = new Driver();
+            driver.setFirstName("Query");
+            driver.setLastName("Driver " + i);
+            driver.setSalary(2000 + i);
+            driver.setCompany(company);
+            driver.getQualifications().add(DriverQualification.PASSENGERS_OVER_12);
+            driver.getQualifications().add(DriverQualification.SPECIAL_CARGO);
+            EmployeeDao.create(driver);
+
+            Bus bus = new Bus();
+            bus.setRegistrationNumber("QC-BUS-" + suffix);
+            bus.setBrand("Setra");
+            bus.setModel("S 515");
+            bus.setSeats(50);
+            bus.setCompany(company);
+            VehicleDao.create(bus);
+
+            Tanker tanker = new Tanker();
+            tanker.setRegistrationNumber("QC-TNK-" + suffix);
+            tanker.setBrand("Scania");
+            tanker.setModel("R 450");
+            tanker.setMaxLiters(20000);
+            tanker.setFlammable(true);
+            tanker.setCompany(company);
+            VehicleDao.create(tanker);
+
+            PassengerTransport pt = new PassengerTransport();
+            pt.setCompany(company);
+            pt.setClient(client);
+            pt.setDriver(driver);
+            pt.setVehicle(bus);
+            pt.setDestination("Pleven");
+            pt.setTransportDate(LocalDate.now());
+            pt.setPrice(300);
+            pt.setPaymentStatus(PaymentStatus.PAID);
+            pt.setPassengerCount(30);
+            TransportService.createTransport(pt);
+
+            CargoTransport ct = new CargoTransport();
+            ct.setCompany(company);
+            ct.setClient(client);
+            ct.setDriver(driver);
+            ct.setVehicle(tanker);
+            ct.setDestination("Shumen");
+            ct.setTransportDate(LocalDate.now());
+            ct.setPrice(900);
+            ct.setPaymentStatus(PaymentStatus.UNPAID);
+            ct.setCargoWeightKg(7000);
+            TransportService.createTransport(ct);
+        }
+    }
+
+    @Test
+    void transportListings_shouldUseSingleStatement() {
+        List<Transport> all = assertStatementCount(1, TransportDao::getAll);
+        assertTrue(all.size() >= 6);
+        assertTrue(all.stream()
+                .filter(t -> t.getDriver().getFirstName().equals("Query"))
+                .allMatch(t -> t.getDriver().getQualifications().size() == 2));
+
+        assertStatementCount(1, TransportDao::getAllSortedByDestination);
+
+        var listing = assertStatementCount(1, TransportDao::getListingSortedByDestination);
+        assertEquals(all.size(), listing.size());
+        assertTrue(listing.stream().anyMatch(t -> t.getType().equals("PassengerTransport")));
+    }
+
+    @Test
+    void jsonExport_shouldUseSingleStatement() {
+        long exported = assertStatementCount(1, () -> TransportJsonService.exportToJson(new StringWriter()));
+        assertTrue(exported >= 6);
+    }
+
+    @Test
+    void driverAndVehicleListings_shouldUseSingleStatement() {
+        assertStatementCount(1, DriverDao::getAllDrivers);
+        assertStatementCount(1, DriverDao::getDriversSortedBySalaryAsc);
+        assertStatementCount(1, VehicleDao::getAll);
+
+        List<Driver> special = assertStatementCount(1,
+                () -> DriverDao.getDriversWithQualification(DriverQualification.SPECIAL_CARGO));
+        assertTrue(special.stream()
+                .filter(d -> d.getFirstName().equals("Query"))
+                .allMatch(d -> d.getQualifications().size() == 2),
+                "Qualification filter must not truncate the fetched qualification set");
+    }
+}
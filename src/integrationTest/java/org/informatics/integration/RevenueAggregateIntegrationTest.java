@@ -0,0 +1,192 @@
+package org.informatics.integration;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.*;
+import org.informatics.dto.AggregateDriftDto;
+import org.informatics.dto.CompanyRevenueDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.AggregateScope;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RevenueAggregateIntegrationTest {
+
+    private static final double DELTA = 0.001;
+
+    private static TransportCompany company;
+    private static Client client;
+    private static Driver driver;
+    private static Truck truck;
+
+    @BeforeAll
+    static void setup() {
+        company = new TransportCompany();
+        company.setName("AggregateCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        client = new Client();
+        client.setFirstName("Aggregate");
+        client.setLastName("Client");
+        client.setPhone("0833" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+
+        driver = new Driver();
+        driver.setFirstName("Aggregate");
+        driver.setLastName("Driver");
+        driver.setSalary(1900);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+
+        truck = new Truck();
+        truck.setRegistrationNumber("AGG-TRK-" + System.currentTimeMillis() % 10000);
+        truck.setBrand("DAF");
+        truck.setModel("XF");
+        truck.setMaxLoadKg(20000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+    }
+
+    @Test
+    @Order(1)
+    void newDriverAndCompany_shouldReportZero() {
+        assertEquals(0.0, companyRevenue(), DELTA);
+        assertEquals(0, ReportDao.getDriversWithTransportsCount().stream()
+                .filter(d -> d.getDriverId() == driver.getId())
+                .findFirst().orElseThrow().getTransportsCount());
+    }
+
+    @Test
+    @Order(2)
+    void writes_shouldKeepReportsInSync() {
+        long countBefore = ReportDao.getTotalTransportsCount();
+        double revenueBefore = ReportDao.getTotalTransportsRevenue();
+        double valueBefore = ReportDao.getTotalTransportsValue();
+
+        CargoTransport paid = newTransport(400, PaymentStatus.PAID);
+        TransportService.createTransport(paid);
+        CargoTransport unpaid = newTransport(250, PaymentStatus.UNPAID);
+        TransportService.createTransport(unpaid);
+
+        List<CargoTransport> bulk = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bulk.add(newTransport(100, PaymentStatus.UNPAID));
+        }
+        TransportService.createTransports(bulk, 2);
+
+        assertEquals(countBefore + 7, ReportDao.getTotalTransportsCount());
+        assertEquals(revenueBefore + 400, ReportDao.getTotalTransportsRevenue(), DELTA);
+        assertEquals(valueBefore + 1150, ReportDao.getTotalTransportsValue(), DELTA);
+
+        TransportDao.setPaymentStatus(unpaid.getId(), PaymentStatus.PAID);
+        TransportDao.setPaymentStatus(unpaid.getId(), PaymentStatus.PAID);
+        TransportDao.delete(paid.getId());
+
+        assertEquals(countBefore + 6, ReportDao.getTotalTransportsCount());
+        assertEquals(revenueBefore + 250, ReportDao.getTotalTransportsRevenue(), DELTA);
+        assertEquals(valueBefore + 750, ReportDao.getTotalTransportsValue(), DELTA);
+
+        assertEquals(250.0, companyRevenue(), DELTA);
+        assertEquals(250.0, ReportDao.getRevenueByDriver().stream()
+                .filter(d -> d.getDriverId() == driver.getId())
+                .findFirst().orElseThrow().getRevenue(), DELTA);
+        assertEquals(1, ReportDao.getDriversWithPaidTransportsCount().stream()
+                .filter(d -> d.getDriverId() == driver.getId())
+                .findFirst().orElseThrow().getPaidTransportsCount());
+
+        assertEquals(List.of(), RevenueAggregateDao.verify());
+    }
+
+    @Test
+    @Order(3)
+    void rebuild_shouldRepairDriftCausedByDirectWrites() {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createMutationQuery("UPDATE RevenueTotal r SET r.paidRevenue = r.paidRevenue + 1000 " +
+                            "WHERE r.scope = :scope AND r.ownerId = :ownerId")
+                    .setParameter("scope", AggregateScope.COMPANY)
+                    .setParameter("ownerId", company.getId())
+                    .executeUpdate();
+            transaction.commit();
+        }
+
+        List<AggregateDriftDto> drift = RevenueAggregateDao.verify();
+        assertEquals(1, drift.size());
+        assertEquals(AggregateScope.COMPANY, drift.get(0).getScope());
+        assertEquals(company.getId(), drift.get(0).getOwnerId());
+        assertEquals(1250.0, drift.get(0).getStoredPaidRevenue(), DELTA);
+        assertEquals(250.0, drift.get(0).getActualPaidRevenue(), DELTA);
+
+        assertEquals(1, RevenueAggregateDao.rebuild().size());
+
+        assertEquals(List.of(), RevenueAggregateDao.verify());
+        assertEquals(250.0, companyRevenue(), DELTA);
+    }
+
+    @Test
+    @Order(4)
+    void concurrentDeleteAndStatusChange_shouldNotDeadlockOrDrift() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 100; round++) {
+                CargoTransport transport = newTransport(10, PaymentStatus.UNPAID);
+                TransportDao.create(transport);
+                long id = transport.getId();
+
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> statusChange = executor.submit(() -> {
+                    start.await();
+                    return TransportDao.setPaymentStatus(List.of(id), PaymentStatus.PAID);
+                });
+                Future<?> delete = executor.submit(() -> {
+                    start.await();
+                    TransportDao.delete(id);
+                    return null;
+                });
+                start.countDown();
+                statusChange.get();
+                delete.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of(), RevenueAggregateDao.verify());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static CargoTransport newTransport(double price, PaymentStatus status) {
+        CargoTransport transport = new CargoTransport();
+        transport.setCompany(company);
+        transport.setClient(client);
+        transport.setDriver(driver);
+        transport.setVehicle(truck);
+        transport.setDestination("Haskovo");
+        transport.setTransportDate(LocalDate.now());
+        transport.setPrice(price);
+        transport.setPaymentStatus(status);
+        transport.setCargoWeightKg(5000);
+        return transport;
+    }
+
+    private static double companyRevenue() {
+        return TransportCompanyDao.getAllSortedByRevenueDesc().stream()
+                .filter(c -> c.getCompanyId() == company.getId())
+                .map(CompanyRevenueDto::getRevenue)
+                .findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,14 @@
+package org.informatics.integration;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Runs the period revenue tests against the SUM over the daily revenue rollup (analytics.revenue_index=false).
+ */
+class RevenueIndexDisabledIntegrationTest extends PeriodRevenueIntegrationTest {
+
+    @BeforeAll
+    static void setup() {
+        setup(false);
+    }
+}
@@ -0,0 +1,14 @@
+package org.informatics.integration;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Runs the period revenue tests against the in-memory revenue index (analytics.revenue_index=true).
+ */
+class RevenueIndexEnabledIntegrationTest extends PeriodRevenueIntegrationTest {
+
+    @BeforeAll
+    static void setup() {
+        setup(true);
+    }
+}
@@ -0,0 +1,152 @@
+package org.informatics.integration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the H2 migrations on separate in-memory databases: a database created before the migrations existed
+ * is baselined at V1 and gets every later object, and the data of the old JOINED layout survives the move
+ * to SINGLE_TABLE (V3).
+ */
+class SchemaMigrationIntegrationTest {
+
+    private static final String URL = "jdbc:h2:mem:migration_test;DB_CLOSE_DELAY=-1";
+    private static final String BASELINE_URL = "jdbc:h2:mem:migration_baseline_test;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void baselinedDatabase_shouldGetEveryObjectAddedAfterV1() throws SQLException {
+        // a database of the release before the migrations: the V1 schema without a schema history
+        flyway(BASELINE_URL, "1").migrate();
+        try (Connection connection = DriverManager.getConnection(BASELINE_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop table \"flyway_schema_history\"");
+            statement.execute("insert into transport_companies (id, name) values (1234, 'Old Co')");
+            statement.execute("insert into clients (firstName, lastName, phone) values ('Old', 'Client', '0888')");
+        }
+
+        Flyway.configure()
+                .dataSource(BASELINE_URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(BASELINE_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery("select count(*) from information_schema.tables " +
+                    "where lower(table_name) in ('revenue_totals', 'daily_revenue_totals', 'company_rules')")) {
+                assertTrue(rows.next());
+                assertEquals(3, rows.getInt(1));
+            }
+            try (ResultSet rows = statement.executeQuery("select count(*) from information_schema.sequences " +
+                    "where lower(sequence_name) like '%\\_seq' escape '\\'")) {
+                assertTrue(rows.next());
+                assertEquals(6, rows.getInt(1));
+            }
+            try (ResultSet rows = statement.executeQuery("select count(*) from information_schema.indexes " +
+                    "where lower(index_name) in ('idx_employees_salary_id', 'idx_transports_destination_id')")) {
+                assertTrue(rows.next());
+                assertEquals(2, rows.getInt(1));
+            }
+            // the pooled optimizer hands out next value - 49 .. next value: the whole block is above MAX(id)
+            assertEquals(1234 + 50, nextValue(statement, "transport_companies_SEQ"));
+            assertEquals(1 + 50, nextValue(statement, "clients_SEQ"));
+            assertEquals(50, nextValue(statement, "vehicles_SEQ"));
+        }
+    }
+
+    @Test
+    void singleTableMigration_shouldMoveSubclassRowsIntoBaseTables() throws SQLException {
+        flyway(URL, "2").migrate();
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("insert into transport_companies (id, name) values (1, 'MigrationCo')");
+            statement.execute("insert into clients (id, firstName, lastName, phone) values (1, 'Migration', 'Client', '0800')");
+            statement.execute("insert into employees (id, firstName, lastName, salary, company_id) " +
+                    "values (1, 'Migration', 'Driver', 2000, 1)");
+            statement.execute("insert into drivers (id) values (1)");
+
+            statement.execute("insert into vehicles (id, brand, model, registrationNumber, company_id) " +
+                    "values (1, 'Setra', 'S 515', 'MIG-1', 1), (2, 'Volvo', 'FH', 'MIG-2', 1), (3, 'Scania', 'R 450', 'MIG-3', 1)");
+            statement.execute("insert into buses (id, seats) values (1, 50)");
+            statement.execute("insert into trucks (id, maxLoadKg) values (2, 18000)");
+            statement.execute("insert into tankers (id, maxLiters, flammable) values (3, 30000, true)");
+
+            statement.execute("insert into transports (id, destination, paymentStatus, price, transportDate, " +
+                    "client_id, company_id, driver_id, vehicle_id) values " +
+                    "(1, 'Varna', 'PAID', 300, DATE '2025-05-01', 1, 1, 1, 1), " +
+                    "(2, 'Ruse', 'UNPAID', 900, DATE '2025-05-02', 1, 1, 1, 3)");
+            statement.execute("insert into passenger_transports (id, passengerCount) values (1, 40)");
+            statement.execute("insert into cargo_transports (id, cargoWeightKg) values (2, 12000)");
+        }
+
+        flyway(URL, null).migrate();
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery(
+                    "select transport_type, passengerCount, cargoWeightKg, price from transports order by id")) {
+                assertTrue(rows.next());
+                assertEquals("PASSENGER", rows.getString(1));
+                assertEquals(40, rows.getInt(2));
+                assertEquals(300, rows.getDouble(4));
+                assertTrue(rows.next());
+                assertEquals("CARGO", rows.getString(1));
+                assertEquals(12000, rows.getDouble(3));
+                assertFalse(rows.next());
+            }
+            try (ResultSet rows = statement.executeQuery(
+                    "select vehicle_type, seats, maxLoadKg, maxLiters, flammable from vehicles order by id")) {
+                assertTrue(rows.next());
+                assertEquals("BUS", rows.getString(1));
+                assertEquals(50, rows.getInt(2));
+                assertTrue(rows.next());
+                assertEquals("TRUCK", rows.getString(1));
+                assertEquals(18000, rows.getDouble(3));
+                assertTrue(rows.next());
+                assertEquals("TANKER", rows.getString(1));
+                assertEquals(30000, rows.getDouble(4));
+                assertTrue(rows.getBoolean(5));
+            }
+            try (ResultSet rows = statement.executeQuery("select count(*) from information_schema.tables " +
+                    "where lower(table_name) in ('buses', 'trucks', 'tankers', 'cargo_transports', 'passenger_transports')")) {
+                assertTrue(rows.next());
+                assertEquals(0, rows.getInt(1));
+            }
+
+            // the per-type checks reject a cargo transport without a weight
+            assertThrows(SQLException.class, () -> statement.execute(
+                    "insert into transports (id, transport_type, destination, paymentStatus, price, transportDate, " +
+                            "client_id, company_id, driver_id, vehicle_id) " +
+                            "values (3, 'CARGO', 'Burgas', 'PAID', 100, DATE '2025-05-03', 1, 1, 1, 2)"));
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static long nextValue(Statement statement, String sequence) throws SQLException {
+        try (ResultSet rows = statement.executeQuery("select next value for " + sequence)) {
+            assertTrue(rows.next());
+            return rows.getLong(1);
+        }
+    }
+
+    private static Flyway flyway(String url, String target) {
+        var configuration = Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/h2");
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+}
@@ -0,0 +1,145 @@
+package org.informatics.integration;
+
+import org.hibernate.Session;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.configuration.SqlDiagnostics;
+import org.informatics.dao.ClientDao;
+import org.informatics.dao.DriverDao;
+import org.informatics.dao.EmployeeDao;
+import org.informatics.dao.TransportCompanyDao;
+import org.informatics.dto.SqlStatementStatsDto;
+import org.informatics.entity.Client;
+import org.informatics.entity.Driver;
+import org.informatics.entity.TransportCompany;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the SQL diagnostic mode: per statement timing, the slow query log and the N+1 detection.
+ */
+class SqlDiagnosticsIntegrationTest {
+
+    private static Client client;
+    private static List<Driver> drivers;
+
+    @BeforeAll
+    static void setup() {
+        client = new Client();
+        client.setFirstName("Diagnostics");
+        client.setLastName("Client");
+        client.setPhone("0898" + System.nanoTime() % 1000000);
+        ClientDao.create(client);
+
+        TransportCompany company = new TransportCompany();
+        company.setName("DiagnosticsCo - " + System.nanoTime());
+        TransportCompanyDao.create(company);
+        drivers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Driver driver = new Driver();
+            driver.setFirstName("Diagnostics");
+            driver.setLastName("Driver " + i);
+            driver.setSalary(2000);
+            driver.setCompany(company);
+            EmployeeDao.create(driver);
+            drivers.add(driver);
+        }
+    }
+
+    @BeforeEach
+    void enable() {
+        SessionFactoryUtil.getSessionFactory();
+        SqlDiagnostics.setEnabled(true);
+        SqlDiagnostics.setNPlusOneThreshold(5);
+        SqlDiagnostics.reset();
+    }
+
+    @AfterEach
+    void disable() {
+        SqlDiagnostics.setEnabled(false);
+        SqlDiagnostics.setSlowQueryMillis(200);
+        SqlDiagnostics.setNPlusOneThreshold(10);
+        SqlDiagnostics.reset();
+    }
+
+    @Test
+    void repeatedSelectInOneSession_shouldBeReportedAsNPlusOne() {
+        loadClientOneByOne(6);
+        loadClientOneByOne(2);
+
+        List<SqlStatementStatsDto> suspects = SqlDiagnostics.getNPlusOneSuspects();
+        assertEquals(1, suspects.size());
+        SqlStatementStatsDto suspect = suspects.get(0);
+        assertEquals("SqlDiagnosticsIntegrationTest.loadClientOneByOne", suspect.getMethod());
+        assertEquals(8, suspect.getExecutions());
+        assertEquals(6, suspect.getMaxRepetitionsPerSession());
+        assertEquals(1, suspect.getNPlusOneSessions());
+        assertTrue(suspect.getSql().toLowerCase().startsWith("select"));
+    }
+
+    @Test
+    void separateDaoCalls_shouldNotBeReportedAsNPlusOne() {
+        for (int i = 0; i < 6; i++) {
+            ClientDao.getPage(null, 10);
+        }
+        assertTrue(SqlDiagnostics.getNPlusOneSuspects().isEmpty());
+        SqlStatementStatsDto page = statement("ClientDao.getPage");
+        assertEquals(6, page.getExecutions());
+        assertEquals(0, page.getMaxRepetitionsPerSession());
+    }
+
+    @Test
+    void inListsOfDifferentSizes_shouldHaveOneShape() {
+        DriverDao.getByIds(List.of(drivers.get(0).getId(), drivers.get(1).getId()));
+        DriverDao.getByIds(List.of(drivers.get(0).getId(), drivers.get(1).getId(), drivers.get(2).getId()));
+
+        List<SqlStatementStatsDto> statements = SqlDiagnostics.getStatementStats().stream()
+                .filter(s -> s.getMethod().equals("DriverDao.getByIds"))
+                .toList();
+        assertEquals(1, statements.size());
+        assertEquals(2, statements.get(0).getExecutions());
+        assertFalse(statements.get(0).getSql().matches(".*\\?\\s*,\\s*\\?.*"));
+    }
+
+    @Test
+    void statementsOverThreshold_shouldCountAsSlow() {
+        SqlDiagnostics.setSlowQueryMillis(0);
+        ClientDao.getPage(null, 5);
+        SqlStatementStatsDto page = statement("ClientDao.getPage");
+        assertEquals(1, page.getSlowExecutions());
+        assertTrue(page.getMaxMillis() > 0);
+
+        SqlDiagnostics.setSlowQueryMillis(60_000);
+        ClientDao.getPage(null, 5);
+        assertEquals(1, statement("ClientDao.getPage").getSlowExecutions());
+    }
+
+    @Test
+    void disabled_shouldRecordNothing() {
+        SqlDiagnostics.setEnabled(false);
+        loadClientOneByOne(6);
+        assertTrue(SqlDiagnostics.getStatementStats().isEmpty());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static void loadClientOneByOne(int times) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            for (int i = 0; i < times; i++) {
+                session.createQuery("SELECT c FROM Client c WHERE c.id = :id", Client.class)
+                        .setParameter("id", client.getId())
+                        .getSingleResult();
+            }
+        }
+    }
+
+    private static SqlStatementStatsDto statement(String method) {
+        return SqlDiagnostics.getStatementStats().stream()
+                .filter(s -> s.getMethod().equals(method))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,94 @@
+package org.informatics.integration;
+
+import org.informatics.dao.*;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.service.TransportJsonService;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransportJsonServiceIntegrationTest {
+
+    private static String destination;
+
+    @BeforeAll
+    static void setup() {
+        TransportCompany company = new TransportCompany();
+        company.setName("JsonCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        Client client = new Client();
+        client.setFirstName("Json");
+        client.setLastName("Client");
+        client.setPhone("0866" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+
+        Driver driver = new Driver();
+        driver.setFirstName("Json");
+        driver.setLastName("Driver");
+        driver.setSalary(1800);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+
+        Truck truck = new Truck();
+        truck.setRegistrationNumber("JSON-TRK-" + System.currentTimeMillis() % 10000);
+        truck.setBrand("DAF");
+        truck.setModel("XF");
+        truck.setMaxLoadKg(16000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+
+        destination = "JsonCity-" + System.currentTimeMillis();
+        CargoTransport ct = new CargoTransport();
+        ct.setCompany(company);
+        ct.setClient(client);
+        ct.setDriver(driver);
+        ct.setVehicle(truck);
+        ct.setDestination(destination);
+        ct.setTransportDate(LocalDate.now());
+        ct.setPrice(750);
+        ct.setPaymentStatus(PaymentStatus.PAID);
+        ct.setCargoWeightKg(4000);
+        TransportService.createTransport(ct);
+    }
+
+    @Test
+    void exportToJson_shouldStreamEveryTransport() {
+        StringWriter writer = new StringWriter();
+
+        long exported = TransportJsonService.exportToJson(writer);
+        String json = writer.toString();
+
+        assertEquals(ReportDao.getTotalTransportsCount(), exported,
+                "Every transport should be exported");
+        assertEquals(exported, json.split("\"type\":", -1).length - 1,
+                "JSON should contain one object per exported transport");
+        assertTrue(json.startsWith("[\n") && json.endsWith("\n]"), "Output should be a JSON array");
+        assertTrue(json.contains("\"destination\": \"" + destination + "\""));
+        assertTrue(json.contains("\"type\": \"CargoTransport\""));
+        assertTrue(json.contains("\"name\": \"Json Driver\""));
+    }
+
+    @Test
+    void exportToJson_file_shouldMatchWriterOutput() throws IOException {
+        Path file = Files.createTempFile("transports", ".json");
+        try {
+            StringWriter writer = new StringWriter();
+            TransportJsonService.exportToJson(writer);
+
+            TransportJsonService.exportToJson(file.toString());
+
+            assertEquals(writer.toString(), TransportJsonService.readJson(file.toString()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package org.informatics.integration;
+
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.*;
+import org.informatics.dto.RuleStatsDto;
+import org.informatics.dto.TransportViolationDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.CompanyRuleType;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.CompanyRuleViolationException;
+import org.informatics.exception.MissingRequiredDataException;
+import org.informatics.service.TransportRuleEngine;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests company-specific rules, rules registered at runtime, parallel batch validation and the rule statistics.
+ */
+class TransportRuleEngineIntegrationTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2027, 7, 5);
+
+    private static TransportCompany company;
+    private static TransportCompany otherCompany;
+    private static Client client;
+    private static Driver driver;
+    private static Truck truck;
+    private static Truck otherTruck;
+
+    @BeforeAll
+    static void setup() {
+        company = newCompany();
+        otherCompany = newCompany();
+
+        client = new Client();
+        client.setFirstName("Rules");
+        client.setLastName("Client");
+        client.setPhone("0878" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+
+        driver = new Driver();
+        driver.setFirstName("Rules");
+        driver.setLastName("Driver");
+        driver.setSalary(2500);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+
+        truck = newTruck(company);
+        otherTruck = newTruck(otherCompany);
+    }
+
+    @Test
+    void companyRules_shouldApplyToTheirCompanyOnly() {
+        CompanyRule forbidden = rule(CompanyRuleType.FORBIDDEN_DESTINATION, null, "Vidin");
+        CompanyRule maxWeight = rule(CompanyRuleType.MAX_CARGO_WEIGHT_KG, 5000.0, null);
+        try {
+            assertThrows(CompanyRuleViolationException.class,
+                    () -> TransportService.validateTransport(cargo(truck, "vidin", 1000, MONDAY)));
+            assertThrows(CompanyRuleViolationException.class,
+                    () -> TransportService.validateTransport(cargo(truck, "Ruse", 6000, MONDAY)));
+            assertDoesNotThrow(() -> TransportService.validateTransport(cargo(truck, "Ruse", 5000, MONDAY)));
+
+            CargoTransport other = cargo(otherTruck, "Vidin", 6000, MONDAY);
+            other.setCompany(otherCompany);
+            assertDoesNotThrow(() -> TransportService.validateTransport(other));
+        } finally {
+            CompanyRuleDao.delete(forbidden.getId());
+            CompanyRuleDao.delete(maxWeight.getId());
+        }
+        assertDoesNotThrow(() -> TransportService.validateTransport(cargo(truck, "Vidin", 6000, MONDAY)));
+    }
+
+    @Test
+    void salaryBand_shouldRejectDriversOutsideIt() {
+        CompanyRule min = rule(CompanyRuleType.MIN_DRIVER_SALARY, 2600.0, null);
+        try {
+            CompanyRuleViolationException e = assertThrows(CompanyRuleViolationException.class,
+                    () -> TransportService.validateTransport(cargo(truck, "Ruse", 1000, MONDAY)));
+            assertTrue(e.getMessage().contains("at least"));
+        } finally {
+            CompanyRuleDao.delete(min.getId());
+        }
+        CompanyRule max = rule(CompanyRuleType.MAX_DRIVER_SALARY, 2500.0, null);
+        try {
+            assertDoesNotThrow(() -> TransportService.validateTransport(cargo(truck, "Ruse", 1000, MONDAY)));
+        } finally {
+            CompanyRuleDao.delete(max.getId());
+        }
+    }
+
+    @Test
+    void registeredRule_shouldRunUntilUnregistered() {
+        TransportRuleEngine.register("no-sunday-cargo", CargoTransport.class, Truck.class, (ct, d, v, q) -> {
+            if (ct.getTransportDate().getDayOfWeek() == DayOfWeek.SUNDAY) {
+                throw new CompanyRuleViolationException("No cargo on Sundays.");
+            }
+        });
+        try {
+            assertThrows(IllegalArgumentException.class, () ->
+                    TransportRuleEngine.register("no-sunday-cargo", Transport.class, Vehicle.class, (t, d, v, q) -> {
+                    }));
+            assertThrows(CompanyRuleViolationException.class,
+                    () -> TransportService.validateTransport(cargo(truck, "Ruse", 1000, MONDAY.plusDays(6))));
+            assertDoesNotThrow(() -> TransportService.validateTransport(cargo(truck, "Ruse", 1000, MONDAY)));
+        } finally {
+            assertTrue(TransportRuleEngine.unregister("no-sunday-cargo"));
+        }
+        assertDoesNotThrow(() -> TransportService.validateTransport(cargo(truck, "Ruse", 1000, MONDAY.plusDays(6))));
+    }
+
+    @Test
+    void parallelBatchValidation_shouldReportEveryBrokenRuleInOrder() {
+        CompanyRule maxWeight = rule(CompanyRuleType.MAX_CARGO_WEIGHT_KG, 15000.0, null);
+        try {
+            int size = TransportService.PARALLEL_VALIDATION_THRESHOLD * 5;
+            List<Transport> candidates = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                candidates.add(cargo(truck, "Ruse", i % 20 * 1000, MONDAY));
+            }
+            candidates.get(7).setClient(null);
+
+            TransportRuleEngine.resetRuleStats();
+            List<TransportViolationDto> violations = TransportService.validateTransports(candidates);
+
+            List<TransportViolationDto> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                double weight = i % 20 * 1000;
+                if (i == 7) {
+                    expected.add(new TransportViolationDto(i, "required-data", null));
+                    continue;
+                }
+                if (weight > 18000) {
+                    expected.add(new TransportViolationDto(i, "truck-max-load", null));
+                }
+                if (weight > 15000) {
+                    expected.add(new TransportViolationDto(i, "company-max-cargo-weight", null));
+                }
+            }
+            assertEquals(expected.stream().map(v -> v.getIndex() + ":" + v.getRule()).toList(),
+                    violations.stream().map(v -> v.getIndex() + ":" + v.getRule()).toList());
+
+            Map<String, RuleStatsDto> stats = TransportRuleEngine.getRuleStats().stream()
+                    .collect(Collectors.toMap(RuleStatsDto::getRule, Function.identity()));
+            assertEquals(1, stats.get("required-data").getEvaluations());
+            assertEquals(size - 1, stats.get("truck-max-load").getEvaluations());
+            assertEquals(expected.stream().filter(v -> v.getRule().equals("truck-max-load")).count(),
+                    stats.get("truck-max-load").getFailures());
+            assertEquals(0, stats.get("bus-seats").getEvaluations());
+            assertTrue(stats.get("company-max-cargo-weight").getTotalNanos() > 0);
+        } finally {
+            CompanyRuleDao.delete(maxWeight.getId());
+        }
+    }
+
+    @Test
+    void missingRequiredData_shouldStillBeReportedFirst() {
+        CargoTransport noDriver = cargo(truck, "Ruse", 1000, MONDAY);
+        noDriver.setDriver(null);
+        assertThrows(MissingRequiredDataException.class, () -> TransportService.validateTransport(noDriver));
+    }
+
+    @Test
+    void companyRulesWithoutTheirValue_shouldBeRejected() {
+        int before = CompanyRuleDao.getByCompany(company.getId()).size();
+
+        assertThrows(MissingRequiredDataException.class, () -> rule(CompanyRuleType.MAX_CARGO_WEIGHT_KG, null, "5000"));
+        assertThrows(MissingRequiredDataException.class, () -> rule(CompanyRuleType.MIN_DRIVER_SALARY, null, null));
+        assertThrows(MissingRequiredDataException.class, () -> rule(CompanyRuleType.FORBIDDEN_DESTINATION, 1.0, null));
+        assertThrows(MissingRequiredDataException.class, () -> rule(CompanyRuleType.FORBIDDEN_DESTINATION, null, " "));
+        assertEquals(before, CompanyRuleDao.getByCompany(company.getId()).size());
+    }
+
+    @Test
+    void companyRulesTable_shouldRejectRowsWithoutTheirValue() {
+        assertThrows(PersistenceException.class, () -> insertRule("MAX_DRIVER_SALARY", null, "3000"));
+        assertThrows(PersistenceException.class, () -> insertRule("FORBIDDEN_DESTINATION", 1.0, null));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static TransportCompany newCompany() {
+        TransportCompany c = new TransportCompany();
+        c.setName("RulesCo - " + System.nanoTime());
+        TransportCompanyDao.create(c);
+        return c;
+    }
+
+    private static Truck newTruck(TransportCompany owner) {
+        Truck t = new Truck();
+        t.setRegistrationNumber("RT-" + System.nanoTime());
+        t.setBrand("Iveco");
+        t.setModel("S-Way");
+        t.setMaxLoadKg(18000);
+        t.setCompany(owner);
+        VehicleDao.create(t);
+        return t;
+    }
+
+    /**
+     * Inserts a rule with plain SQL, bypassing the validation in CompanyRuleDao.
+     */
+    private static void insertRule(String type, Double number, String text) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                session.createNativeMutationQuery("INSERT INTO company_rules (id, type, numberValue, textValue, company_id) " +
+                                "VALUES (-1, :type, :number, :text, :company)")
+                        .setParameter("type", type)
+                        .setParameter("number", number, Double.class)
+                        .setParameter("text", text, String.class)
+                        .setParameter("company", company.getId())
+                        .executeUpdate();
+                transaction.commit();
+            } finally {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+            }
+        }
+    }
+
+    private static CompanyRule rule(CompanyRuleType type, Double number, String text) {
+        CompanyRule rule = new CompanyRule();
+        rule.setCompany(company);
+        rule.setType(type);
+        rule.setNumberValue(number);
+        rule.setTextValue(text);
+        CompanyRuleDao.create(rule);
+        return rule;
+    }
+
+    private static CargoTransport cargo(Truck vehicle, String destination, double weightKg, LocalDate date) {
+        CargoTransport ct = new CargoTransport();
+        ct.setCompany(company);
+        ct.setClient(client);
+        ct.setDriver(driver);
+        ct.setVehicle(vehicle);
+        ct.setDestination(destination);
+        ct.setTransportDate(date);
+        ct.setPrice(180);
+        ct.setPaymentStatus(PaymentStatus.UNPAID);
+        ct.setCargoWeightKg(weightKg);
+        return ct;
+    }
+}
@@ -0,0 +1,211 @@
+package org.informatics.integration;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.*;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.InvalidSnapshotFileException;
+import org.informatics.service.TransportService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports the transports to a snapshot file, reads them back from the mapping, and checks that the columnar
+ * snapshot is loaded from the file when it is consistent with the database (and from the database otherwise).
+ * The SessionFactory is rebuilt with the columnar snapshot enabled and analytics.snapshot_file pointing into a
+ * temporary directory; the previous settings are restored afterwards.
+ */
+class TransportSnapshotFileIntegrationTest {
+
+    private static final LocalDate BASE = LocalDate.of(2018, 6, 1);
+
+    @TempDir
+    static Path configuredDirectory;
+
+    private static final Map<String, String> previousSettings = new HashMap<>();
+
+    private static TransportCompany company;
+    private static Client client;
+    private static Driver driver;
+    private static Truck truck;
+    private static List<CargoTransport> transports;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void setup() {
+        configure("analytics.columnar_snapshot", "true");
+        configure(TransportSnapshotFile.FILE_SETTING, configuredDirectory.resolve("transports.snapshot").toString());
+        SessionFactoryUtil.closeSessionFactory();
+        SessionFactoryUtil.init();
+
+        company = new TransportCompany();
+        company.setName("SnapshotCo - " + System.currentTimeMillis());
+        TransportCompanyDao.create(company);
+
+        client = new Client();
+        client.setFirstName("Snapshot");
+        client.setLastName("Client");
+        client.setPhone("0844" + System.currentTimeMillis() % 1000000);
+        ClientDao.create(client);
+
+        driver = new Driver();
+        driver.setFirstName("Snapshot");
+        driver.setLastName("Driver");
+        driver.setSalary(2000);
+        driver.setCompany(company);
+        EmployeeDao.create(driver);
+
+        truck = new Truck();
+        truck.setRegistrationNumber("SNP-TRK-" + System.currentTimeMillis() % 10000);
+        truck.setBrand("Scania");
+        truck.setModel("R 450");
+        truck.setMaxLoadKg(20000);
+        truck.setCompany(company);
+        VehicleDao.create(truck);
+
+        transports = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            transports.add(transport(BASE.plusDays(i), 100 + i * 10.25,
+                    i % 3 == 0 ? PaymentStatus.UNPAID : PaymentStatus.PAID, "Snapshot City " + i % 4));
+        }
+        TransportService.createTransports(transports);
+    }
+
+    @AfterAll
+    static void restoreSettings() {
+        previousSettings.forEach((name, value) -> {
+            if (value == null) {
+                System.clearProperty(name);
+            } else {
+                System.setProperty(name, value);
+            }
+        });
+        previousSettings.clear();
+        SessionFactoryUtil.closeSessionFactory();
+        SessionFactoryUtil.init();
+    }
+
+    @Test
+    void export_shouldWriteEveryTransport() {
+        TransportSnapshotFile snapshot = TransportSnapshotFile.export(directory.resolve("transports.snapshot"));
+        List<Transport> all = TransportDao.getAll();
+
+        assertEquals(all.size(), snapshot.size());
+        assertEquals(all.stream().mapToLong(Transport::getId).max().orElse(0), snapshot.highWaterMark());
+        for (Transport transport : all) {
+            int position = snapshot.indexOf(transport.getId());
+            assertTrue(position >= 0, "missing transport " + transport.getId());
+            assertEquals(Math.round(transport.getPrice() * 100), snapshot.priceCents(position));
+            assertEquals(transport.getTransportDate(), snapshot.transportDate(position));
+            assertEquals(transport.getPaymentStatus() == PaymentStatus.PAID, snapshot.isPaid(position));
+            assertEquals(transport instanceof PassengerTransport, snapshot.isPassengerTransport(position));
+            assertEquals(transport.getDriver().getId(), snapshot.driverId(position));
+            assertEquals(transport.getCompany().getId(), snapshot.companyId(position));
+            assertEquals(transport.getClient().getId(), snapshot.clientId(position));
+            assertEquals(transport.getVehicle().getId(), snapshot.vehicleId(position));
+            assertEquals(transport.getDestination(), snapshot.destination(position));
+        }
+        assertTrue(snapshot.indexOf(snapshot.highWaterMark() + 1) < 0);
+    }
+
+    @Test
+    void open_shouldRejectDamagedFiles() throws IOException {
+        Path file = directory.resolve("transports.snapshot");
+        TransportSnapshotFile.export(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path corrupted = directory.resolve("corrupted.snapshot");
+        byte[] flipped = bytes.clone();
+        flipped[flipped.length / 2] ^= 1;
+        Files.write(corrupted, flipped);
+        assertThrows(InvalidSnapshotFileException.class, () -> TransportSnapshotFile.open(corrupted));
+
+        Path truncated = directory.resolve("truncated.snapshot");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 100));
+        assertThrows(InvalidSnapshotFileException.class, () -> TransportSnapshotFile.open(truncated));
+
+        Path foreign = directory.resolve("foreign.snapshot");
+        Files.writeString(foreign, "not a snapshot, but long enough to contain a header of sixty-four bytes");
+        assertThrows(InvalidSnapshotFileException.class, () -> TransportSnapshotFile.open(foreign));
+    }
+
+    @Test
+    void columnarSnapshot_shouldLoadFromFileAndCatchUp() {
+        assertEquals(configuredDirectory.resolve("transports.snapshot"), TransportSnapshotFile.configuredFile());
+        TransportSnapshotFile.export(TransportSnapshotFile.configuredFile());
+        double exported = driverRevenue();
+
+        CargoTransport added = transport(BASE.plusDays(3), 500, PaymentStatus.PAID, "Snapshot City 0");
+        TransportDao.create(added);
+        CargoTransport paid = transports.get(1);
+        // Bypasses the DAOs, so neither the aggregates nor the file see it: only a load from the database would
+        addToPrice(paid.getId(), 1000);
+        try {
+            SessionFactoryUtil.closeSessionFactory();
+            assertEquals(exported + 500, driverRevenue(), 0.001);
+        } finally {
+            addToPrice(paid.getId(), -1000);
+        }
+
+        // A status change after the export makes the file disagree with the aggregates: loaded from the database
+        TransportDao.setPaymentStatus(paid.getId(), PaymentStatus.UNPAID);
+        SessionFactoryUtil.closeSessionFactory();
+        assertEquals(exported + 500 - paid.getPrice(), driverRevenue(), 0.001);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static void configure(String name, String value) {
+        previousSettings.put(name, System.getProperty(name));
+        System.setProperty(name, value);
+    }
+
+    private static CargoTransport transport(LocalDate date, double price, PaymentStatus status, String destination) {
+        CargoTransport ct = new CargoTransport();
+        ct.setCompany(company);
+        ct.setClient(client);
+        ct.setDriver(driver);
+        ct.setVehicle(truck);
+        ct.setDestination(destination);
+        ct.setTransportDate(date);
+        ct.setPrice(price);
+        ct.setPaymentStatus(status);
+        ct.setCargoWeightKg(1500);
+        return ct;
+    }
+
+    private static double driverRevenue() {
+        return ReportDao.getRevenueByDriverForPeriod(BASE, BASE.plusDays(60)).stream()
+                .filter(dto -> dto.getDriverId() == driver.getId())
+                .findFirst()
+                .orElseThrow()
+                .getRevenue();
+    }
+
+    private static void addToPrice(long transportId, double amount) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeMutationQuery("UPDATE transports SET price = price + :amount WHERE id = :id")
+                    .setParameter("amount", amount)
+                    .setParameter("id", transportId)
+                    .executeUpdate();
+            transaction.commit();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.informatics.benchmark;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.*;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.DriverQualification;
+import org.informatics.entity.enums.PaymentStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the in-memory benchmark database with reference data and a given number of valid transports.
+ * Transports are inserted through a StatelessSession in large JDBC batches (much faster than the
+ * business API for millions of rows); the revenue aggregates are rebuilt afterwards.
+ */
+final class BenchmarkData {
+
+    static final LocalDate FIRST_DATE = LocalDate.of(2023, 1, 1);
+    static final int DAYS = 730;
+
+    private static final int COMPANIES = 5;
+    private static final int CLIENTS_PER_COMPANY = 40;
+    private static final int DRIVERS_PER_COMPANY = 20;
+    private static final int VEHICLES_PER_COMPANY = 10;
+    private static final int INSERTS_PER_TRANSACTION = 10_000;
+    private static final String[] DESTINATIONS = {
+            "Sofia", "Plovdiv", "Varna", "Burgas", "Ruse", "Stara Zagora", "Pleven", "Sliven", "Dobrich", "Shumen"};
+
+    final List<TransportCompany> companies = new ArrayList<>();
+    final List<Client> clients = new ArrayList<>();
+    final List<Driver> drivers = new ArrayList<>();
+    final List<Bus> buses = new ArrayList<>();
+    final List<Truck> trucks = new ArrayList<>();
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates companies, clients, qualified drivers and vehicles, then inserts the given number of transports.
+     */
+    static BenchmarkData seed(int transports) {
+        BenchmarkData data = new BenchmarkData();
+        data.createReferenceData();
+        data.insertTransports(transports, new Random(42));
+        RevenueAggregateDao.rebuild();
+        return data;
+    }
+
+    /**
+     * Returns a new, valid and not yet persisted passenger transport.
+     */
+    PassengerTransport newPassengerTransport(int i) {
+        PassengerTransport pt = new PassengerTransport();
+        int company = i % COMPANIES;
+        pt.setCompany(companies.get(company));
+        pt.setClient(clients.get(i % clients.size()));
+        pt.setDriver(drivers.get(company * DRIVERS_PER_COMPANY + i % DRIVERS_PER_COMPANY));
+        pt.setVehicle(buses.get(company * VEHICLES_PER_COMPANY / 2 + i % (VEHICLES_PER_COMPANY / 2)));
+        pt.setDestination(DESTINATIONS[i % DESTINATIONS.length]);
+        pt.setTransportDate(FIRST_DATE.plusDays(i % DAYS));
+        pt.setPrice(50 + i % 500);
+        pt.setPaymentStatus(i % 3 == 0 ? PaymentStatus.UNPAID : PaymentStatus.PAID);
+        pt.setPassengerCount(1 + i % 40);
+        return pt;
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private void createReferenceData() {
+        for (int c = 0; c < COMPANIES; c++) {
+            TransportCompany company = new TransportCompany();
+            company.setName("Benchmark Co " + c);
+            TransportCompanyDao.create(company);
+            companies.add(company);
+
+            for (int i = 0; i < CLIENTS_PER_COMPANY; i++) {
+                Client client = new Client();
+                client.setFirstName("Client");
+                client.setLastName(c + "-" + i);
+                client.setPhone(String.format("08%02d%06d", c, i));
+                ClientDao.create(client);
+                clients.add(client);
+            }
+
+            for (int i = 0; i < DRIVERS_PER_COMPANY; i++) {
+                Driver driver = new Driver();
+                driver.setFirstName("Driver");
+                driver.setLastName(c + "-" + i);
+                driver.setSalary(1500 + 25 * i);
+                driver.setCompany(company);
+                driver.getQualifications().add(DriverQualification.PASSENGERS_OVER_12);
+                driver.getQualifications().add(DriverQualification.SPECIAL_CARGO);
+                EmployeeDao.create(driver);
+                drivers.add(driver);
+            }
+
+            for (int i = 0; i < VEHICLES_PER_COMPANY / 2; i++) {
+                Bus bus = new Bus();
+                bus.setRegistrationNumber(String.format("BM%d%04dBS", c, i));
+                bus.setBrand("Setra");
+                bus.setModel("S 516");
+                bus.setSeats(50);
+                bus.setCompany(company);
+                VehicleDao.create(bus);
+                buses.add(bus);
+
+                Truck truck = new Truck();
+                truck.setRegistrationNumber(String.format("BM%d%04dTR", c, i));
+                truck.setBrand("Scania");
+                truck.setModel("R 500");
+                truck.setMaxLoadKg(24000);
+                truck.setCompany(company);
+                VehicleDao.create(truck);
+                trucks.add(truck);
+            }
+        }
+    }
+
+    private void insertTransports(int count, Random random) {
+        try (StatelessSession session = SessionFactoryUtil.getSessionFactory().openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < count; i++) {
+                session.insert(i % 2 == 0 ? newPassengerTransport(i) : newCargoTransport(i, random));
+                if ((i + 1) % INSERTS_PER_TRANSACTION == 0) {
+                    transaction.commit();
+                    transaction = session.beginTransaction();
+                }
+            }
+            transaction.commit();
+        }
+    }
+
+    private CargoTransport newCargoTransport(int i, Random random) {
+        CargoTransport ct = new CargoTransport();
+        int company = i % COMPANIES;
+        ct.setCompany(companies.get(company));
+        ct.setClient(clients.get(random.nextInt(clients.size())));
+        ct.setDriver(drivers.get(company * DRIVERS_PER_COMPANY + random.nextInt(DRIVERS_PER_COMPANY)));
+        ct.setVehicle(trucks.get(company * VEHICLES_PER_COMPANY / 2 + random.nextInt(VEHICLES_PER_COMPANY / 2)));
+        ct.setDestination(DESTINATIONS[random.nextInt(DESTINATIONS.length)]);
+        ct.setTransportDate(FIRST_DATE.plusDays(random.nextInt(DAYS)));
+        ct.setPrice(100 + random.nextInt(2000));
+        ct.setPaymentStatus(random.nextBoolean() ? PaymentStatus.PAID : PaymentStatus.UNPAID);
+        ct.setCargoWeightKg(1000 + random.nextInt(20000));
+        return ct;
+    }
+}
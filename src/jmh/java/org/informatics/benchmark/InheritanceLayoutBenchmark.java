@@ -0,0 +1,69 @@
+package org.informatics.benchmark;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.TransportDao;
+import org.informatics.dao.VehicleDao;
+import org.informatics.entity.PassengerTransport;
+import org.informatics.entity.Transport;
+import org.informatics.entity.Vehicle;
+import org.informatics.service.TransportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert and polymorphic read latency of the SINGLE_TABLE mapping of the Transport and Vehicle hierarchies
+ * compared with the former JOINED layout (hibernate-jmh-joined.properties).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InheritanceLayoutBenchmark {
+
+    @Param({"SINGLE_TABLE", "JOINED"})
+    public String layout;
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private BenchmarkData data;
+    private long transportId;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty("hibernate.props",
+                layout.equals("JOINED") ? "hibernate-jmh-joined.properties" : "hibernate-jmh.properties");
+        data = BenchmarkData.seed(rows);
+        transportId = TransportDao.getPage(null, 1).getItems().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SessionFactoryUtil.closeSessionFactory();
+    }
+
+    @Benchmark
+    public PassengerTransport insertTransport() {
+        PassengerTransport transport = data.newPassengerTransport(next++);
+        TransportService.createTransport(transport);
+        return transport;
+    }
+
+    @Benchmark
+    public Transport getTransport() {
+        return TransportDao.get(transportId);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Transport> getAllTransports() {
+        return TransportDao.getAll();
+    }
+
+    @Benchmark
+    public List<Vehicle> getAllVehicles() {
+        return VehicleDao.getAll();
+    }
+}
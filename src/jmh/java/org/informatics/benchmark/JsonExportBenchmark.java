@@ -0,0 +1,35 @@
+package org.informatics.benchmark;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.service.TransportJsonService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransportJsonService.exportToJson, writing to a discarding writer so only query and serialization are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonExportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkData.seed(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SessionFactoryUtil.closeSessionFactory();
+    }
+
+    @Benchmark
+    public long exportToJson() {
+        return TransportJsonService.exportToJson(Writer.nullWriter());
+    }
+}
@@ -0,0 +1,66 @@
+package org.informatics.benchmark;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.ReportDao;
+import org.informatics.dto.CompanyRevenueDto;
+import org.informatics.dto.DriverRevenueDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-driver and per-company period revenue rankings, computed from the columnar snapshot
+ * compared with the GROUP BY over the transports table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PeriodRankingBenchmark {
+
+    private static final LocalDate PERIOD_FROM = BenchmarkData.FIRST_DATE.plusDays(90);
+    private static final int PERIOD_DAYS = 365;
+
+    @Param({"true", "false"})
+    public String columnarSnapshot;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private int shift;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty("analytics.columnar_snapshot", columnarSnapshot);
+        BenchmarkData.seed(rows);
+        // load the snapshot outside the measurement
+        ReportDao.getRevenueByDriverForPeriod(PERIOD_FROM, PERIOD_FROM.plusDays(PERIOD_DAYS));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SessionFactoryUtil.closeSessionFactory();
+        System.clearProperty("analytics.columnar_snapshot");
+    }
+
+    @Benchmark
+    public List<DriverRevenueDto> getRevenueByDriverForPeriod() {
+        LocalDate from = nextFrom();
+        return ReportDao.getRevenueByDriverForPeriod(from, from.plusDays(PERIOD_DAYS));
+    }
+
+    @Benchmark
+    public List<CompanyRevenueDto> getRevenueByCompanyForPeriod() {
+        LocalDate from = nextFrom();
+        return ReportDao.getRevenueByCompanyForPeriod(from, from.plusDays(PERIOD_DAYS));
+    }
+
+    /**
+     * Moves the period by a day on every call, so that H2 cannot answer a repeated query from its result cache.
+     */
+    private LocalDate nextFrom() {
+        shift = (shift + 1) % 30;
+        return PERIOD_FROM.plusDays(shift);
+    }
+}
@@ -0,0 +1,96 @@
+package org.informatics.benchmark;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.ReportDao;
+import org.informatics.dto.DashboardSnapshotDto;
+import org.informatics.dto.DriverPaidTransportCountDto;
+import org.informatics.dto.DriverRevenueDto;
+import org.informatics.dto.DriverTransportCountDto;
+import org.informatics.dto.EntityCountsDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ReportDao queries, except the period rankings (getRevenueByDriverForPeriod, getRevenueByCompanyForPeriod),
+ * which PeriodRankingBenchmark measures with and without the columnar snapshot.
+ * getDashboardSnapshot runs with analytics.dashboard_ttl_millis=0, so every call computes a snapshot
+ * instead of returning the cached one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportBenchmark {
+
+    private static final LocalDate PERIOD_FROM = BenchmarkData.FIRST_DATE.plusDays(90);
+    private static final LocalDate PERIOD_TO = BenchmarkData.FIRST_DATE.plusDays(455);
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private long companyId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty("analytics.dashboard_ttl_millis", "0");
+        companyId = BenchmarkData.seed(rows).companies.get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SessionFactoryUtil.closeSessionFactory();
+        System.clearProperty("analytics.dashboard_ttl_millis");
+    }
+
+    @Benchmark
+    public long getTotalTransportsCount() {
+        return ReportDao.getTotalTransportsCount();
+    }
+
+    @Benchmark
+    public double getTotalTransportsRevenue() {
+        return ReportDao.getTotalTransportsRevenue();
+    }
+
+    @Benchmark
+    public double getTotalTransportsValue() {
+        return ReportDao.getTotalTransportsValue();
+    }
+
+    @Benchmark
+    public DashboardSnapshotDto getDashboardSnapshot() {
+        return ReportDao.getDashboardSnapshot();
+    }
+
+    @Benchmark
+    public EntityCountsDto getEntityCounts() {
+        return ReportDao.getEntityCounts();
+    }
+
+    @Benchmark
+    public List<DriverTransportCountDto> getDriversWithTransportsCount() {
+        return ReportDao.getDriversWithTransportsCount();
+    }
+
+    @Benchmark
+    public List<DriverPaidTransportCountDto> getDriversWithPaidTransportsCount() {
+        return ReportDao.getDriversWithPaidTransportsCount();
+    }
+
+    @Benchmark
+    public double getRevenueForPeriod() {
+        return ReportDao.getRevenueForPeriod(PERIOD_FROM, PERIOD_TO);
+    }
+
+    @Benchmark
+    public double getCompanyRevenueForPeriod() {
+        return ReportDao.getCompanyRevenueForPeriod(companyId, PERIOD_FROM, PERIOD_TO);
+    }
+
+    @Benchmark
+    public List<DriverRevenueDto> getRevenueByDriver() {
+        return ReportDao.getRevenueByDriver();
+    }
+}
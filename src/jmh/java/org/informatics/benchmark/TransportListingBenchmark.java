@@ -0,0 +1,41 @@
+package org.informatics.benchmark;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.TransportDao;
+import org.informatics.entity.Transport;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full transport listings with all associations. The 1M-row case needs a large heap (e.g. -Xmx8g).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransportListingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkData.seed(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SessionFactoryUtil.closeSessionFactory();
+    }
+
+    @Benchmark
+    public List<Transport> getAll() {
+        return TransportDao.getAll();
+    }
+
+    @Benchmark
+    public List<Transport> getAllSortedByDestination() {
+        return TransportDao.getAllSortedByDestination();
+    }
+}
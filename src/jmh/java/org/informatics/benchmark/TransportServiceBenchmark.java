@@ -0,0 +1,45 @@
+package org.informatics.benchmark;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.entity.PassengerTransport;
+import org.informatics.service.TransportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransportService.createTransport: business rule validation alone, and validation plus persistence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransportServiceBenchmark {
+
+    private BenchmarkData data;
+    private PassengerTransport validTransport;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = BenchmarkData.seed(0);
+        validTransport = data.newPassengerTransport(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SessionFactoryUtil.closeSessionFactory();
+    }
+
+    @Benchmark
+    public PassengerTransport validateOnly() {
+        TransportService.validateTransport(validTransport);
+        return validTransport;
+    }
+
+    @Benchmark
+    public PassengerTransport createTransport() {
+        PassengerTransport transport = data.newPassengerTransport(next++);
+        TransportService.createTransport(transport);
+        return transport;
+    }
+}
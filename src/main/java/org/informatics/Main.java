@@ -1,9 +1,12 @@
 package org.informatics;
 
 import org.informatics.dao.*;
+import org.informatics.dto.DashboardSnapshotDto;
+import org.informatics.dto.EntityCountsDto;
 import org.informatics.entity.*;
 import org.informatics.entity.enums.DriverQualification;
 import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.service.DispatchService;
 import org.informatics.service.TransportJsonService;
 import org.informatics.service.TransportService;
 
@@ -160,8 +163,9 @@ public class Main {
         aCtUnpaid.setPrice(2500);
         aCtUnpaid.setPaymentStatus(PaymentStatus.UNPAID);
         aCtUnpaid.setCargoWeightKg(12000);
+        aCtUnpaid.setCargoVolumeLiters(15000.0);
         TransportService.createTransport(aCtUnpaid);
-        System.out.println("Transport created: CargoTransport to Varna (12000 kg, UNPAID, 2500 BGN)");
+        System.out.println("Transport created: CargoTransport to Varna (12000 kg, 15000 l, UNPAID, 2500 BGN)");
 
         System.out.println();
 
@@ -296,8 +300,24 @@ public class Main {
         cPtUnpaid.setPrice(450);
         cPtUnpaid.setPaymentStatus(PaymentStatus.UNPAID);
         cPtUnpaid.setPassengerCount(20);
+        cPtUnpaid.setDepartureAt(cPtUnpaid.getTransportDate().atTime(8, 0));
+        cPtUnpaid.setArrivalAt(cPtUnpaid.getTransportDate().atTime(12, 0));
         TransportService.createTransport(cPtUnpaid);
-        System.out.println("Transport created: PassengerTransport to Plovdiv (20 passengers, UNPAID, 450 BGN)");
+        System.out.println("Transport created: PassengerTransport to Plovdiv (20 passengers, UNPAID, 450 BGN, 08:00-12:00)");
+
+        // Transport C2: PassengerTransport with driver and bus chosen by the dispatcher (UNPAID)
+        PassengerTransport cPtDispatched = new PassengerTransport();
+        cPtDispatched.setCompany(companyC);
+        cPtDispatched.setClient(cClient);
+        cPtDispatched.setDestination("Burgas");
+        cPtDispatched.setTransportDate(LocalDate.now().minusDays(4));
+        cPtDispatched.setPrice(520);
+        cPtDispatched.setPaymentStatus(PaymentStatus.UNPAID);
+        cPtDispatched.setPassengerCount(30);
+        DispatchService.dispatch(cPtDispatched);
+        System.out.println("Transport dispatched: PassengerTransport to Burgas (30 passengers, UNPAID, 520 BGN) -> "
+                + cPtDispatched.getDriver().getFirstName() + " " + cPtDispatched.getDriver().getLastName()
+                + ", " + cPtDispatched.getVehicle().getRegistrationNumber());
 
         System.out.println();
 
@@ -324,6 +344,49 @@ public class Main {
             System.out.println("-> Transport was NOT persisted to database (business rule enforced)");
         }
 
+        System.out.println("Attempting to seat more passengers than the bus has seats...");
+
+        try {
+            PassengerTransport overbooked = new PassengerTransport();
+            overbooked.setCompany(companyC);
+            overbooked.setClient(cClient);
+            overbooked.setDriver(cDriverPassengers);
+            overbooked.setVehicle(cBus);    // 49 seats
+            overbooked.setDestination("Pleven");
+            overbooked.setTransportDate(LocalDate.now());
+            overbooked.setPrice(700);
+            overbooked.setPaymentStatus(PaymentStatus.UNPAID);
+            overbooked.setPassengerCount(60);
+
+            TransportService.createTransport(overbooked);
+            System.out.println("UNEXPECTED: Transport was created (should have failed!)");
+        } catch (Exception ex) {
+            System.out.println("EXPECTED: " + ex.getMessage());
+            System.out.println("-> Transport was NOT persisted to database (capacity enforced)");
+        }
+
+        System.out.println("Attempting to book the same bus and driver for an overlapping time window...");
+
+        try {
+            PassengerTransport overlapping = new PassengerTransport();
+            overlapping.setCompany(companyC);
+            overlapping.setClient(cClient);
+            overlapping.setDriver(cDriverPassengers);
+            overlapping.setVehicle(cBus);
+            overlapping.setDestination("Stara Zagora");
+            overlapping.setTransportDate(cPtUnpaid.getTransportDate());
+            overlapping.setDepartureAt(cPtUnpaid.getTransportDate().atTime(10, 0));
+            overlapping.setArrivalAt(cPtUnpaid.getTransportDate().atTime(14, 0));
+            overlapping.setPrice(300);
+            overlapping.setPassengerCount(10);
+
+            TransportService.createTransport(overlapping);
+            System.out.println("UNEXPECTED: Transport was created (should have failed!)");
+        } catch (Exception ex) {
+            System.out.println("EXPECTED: " + ex.getMessage());
+            System.out.println("-> Transport was NOT persisted to database (double booking prevented)");
+        }
+
         System.out.println("\nSeed completed successfully!\n");
     }
 
@@ -366,9 +429,9 @@ public class Main {
 
         System.out.println("Transports sorted by DESTINATION (alphabetically):");
         System.out.println("   " + "─".repeat(60));
-        TransportDao.getAllSortedByDestination()
+        TransportDao.getListingSortedByDestination()
                 .forEach(t -> System.out.printf("   ID: %d | %-15s | Type: %-20s | Status: %-6s | Price: %.2f BGN%n",
-                        t.getId(), t.getDestination(), t.getClass().getSimpleName(),
+                        t.getId(), t.getDestination(), t.getType(),
                         t.getPaymentStatus(), t.getPrice()));
         System.out.println();
     }
@@ -380,9 +443,10 @@ public class Main {
 
         System.out.println("General Statistics:");
         System.out.println("   " + "─".repeat(60));
-        System.out.println("Total transports count: " + ReportDao.getTotalTransportsCount());
-        System.out.printf("Total revenue (PAID only): %.2f BGN%n", ReportDao.getTotalTransportsRevenue());
-        System.out.printf("Total services value (PAID + UNPAID): %.2f BGN%n", ReportDao.getTotalTransportsValue());
+        DashboardSnapshotDto dashboard = ReportDao.getDashboardSnapshot();
+        System.out.println("Total transports count: " + dashboard.getTransportCount());
+        System.out.printf("Total revenue (PAID only): %.2f BGN%n", dashboard.getTotalRevenue());
+        System.out.printf("Total services value (PAID + UNPAID): %.2f BGN%n", dashboard.getTotalValue());
         System.out.println();
 
         System.out.println("Drivers with transport counts:");
@@ -399,10 +463,8 @@ public class Main {
                         x.getDriverId(), x.getFirstName() + " " + x.getLastName(), x.getPaidTransportsCount()));
         System.out.println();
 
-        LocalDate from = LocalDate.now().minusDays(30);
-        LocalDate to = LocalDate.now();
         System.out.printf("Revenue for period (%s to %s, PAID only): %.2f BGN%n",
-                from, to, ReportDao.getRevenueForPeriod(from, to));
+                dashboard.getPeriodFrom(), dashboard.getPeriodTo(), dashboard.getPeriodRevenue());
         System.out.println();
 
         System.out.println("Revenue by driver (PAID transports only):");
@@ -422,9 +484,9 @@ public class Main {
         System.out.println("Exporting all transports to JSON file...");
         System.out.println("File path: " + jsonPath);
 
-        TransportJsonService.exportToJson(jsonPath);
+        long exported = TransportJsonService.exportToJson(jsonPath);
 
-        System.out.println("JSON export completed successfully!");
+        System.out.println("JSON export completed successfully! Transports exported: " + exported);
         System.out.println("You can open the file to see all transport data.");
         System.out.println();
     }
@@ -436,20 +498,23 @@ public class Main {
 
         System.out.println("Database Summary:");
         System.out.println("   " + "─".repeat(60));
-        System.out.println("Total Companies: " + TransportCompanyDao.getAll().size());
-        System.out.println("Total Clients: " + ClientDao.getAll().size());
-        System.out.println("Total Employees: " + EmployeeDao.getAll().size());
-        System.out.println("Total Drivers: " + DriverDao.getAllDrivers().size());
-        System.out.println("Total Vehicles: " + VehicleDao.getAll().size());
-        System.out.println("Total Transports: " + TransportDao.getAll().size());
+        EntityCountsDto counts = ReportDao.getEntityCounts();
+        System.out.println("Total Companies: " + counts.getCompanies());
+        System.out.println("Total Clients: " + counts.getClients());
+        System.out.println("Total Employees: " + counts.getEmployees());
+        System.out.println("Total Drivers: " + counts.getDrivers());
+        System.out.printf("Total Vehicles: %d (buses: %d, trucks: %d, tankers: %d)%n",
+                counts.getVehicles(), counts.getBuses(), counts.getTrucks(), counts.getTankers());
+        System.out.printf("Total Transports: %d (passenger: %d, cargo: %d)%n",
+                counts.getTransports(), counts.getPassengerTransports(), counts.getCargoTransports());
         System.out.println();
 
         System.out.println("Business Metrics:");
         System.out.println("   " + "─".repeat(60));
-        System.out.printf("Total Revenue (PAID): %.2f BGN%n", ReportDao.getTotalTransportsRevenue());
-        System.out.printf("Total Value (ALL): %.2f BGN%n", ReportDao.getTotalTransportsValue());
-        System.out.printf("Payment Rate: %.1f%%%n",
-                (ReportDao.getTotalTransportsRevenue() / ReportDao.getTotalTransportsValue() * 100));
+        DashboardSnapshotDto dashboard = ReportDao.getDashboardSnapshot();
+        System.out.printf("Total Revenue (PAID): %.2f BGN%n", dashboard.getTotalRevenue());
+        System.out.printf("Total Value (ALL): %.2f BGN%n", dashboard.getTotalValue());
+        System.out.printf("Payment Rate: %.1f%%%n", dashboard.getPaymentRate());
         System.out.println();
     }
 
@@ -0,0 +1,54 @@
+package org.informatics.configuration;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects connection wait-time metrics from the HikariCP pool.
+ * Hikari reports how long each borrower waited for a connection; this class keeps
+ * the count, total and maximum of those waits plus the number of acquisition timeouts.
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireCount.increment();
+                totalWaitNanos.add(elapsedAcquiredNanos);
+                maxWaitNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeoutCount.increment();
+            }
+        };
+    }
+
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    public double getAverageWaitMillis() {
+        long count = acquireCount.sum();
+        return count == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+}
@@ -0,0 +1,385 @@
+package org.informatics.configuration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Interceptor;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.hibernate.type.Type;
+import org.informatics.dto.DaoMethodStatsDto;
+import org.informatics.dto.SqlStatementStatsDto;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per DAO method metrics: call count, latency percentiles, SQL statements, loaded entities and transaction time.
+ *
+ * Every Hibernate session is attributed to the method that opened it, i.e. the first org.informatics frame
+ * outside this package on the stack (e.g. ClientDao.create), and measured from opening to closing.
+ * Recording is off unless metrics.dao.enabled=true or it is switched on through JMX; while off, a session
+ * costs one volatile read. The metrics and the Hibernate statistics are exposed through the
+ * org.informatics:type=DaoMetrics MXBean, and with metrics.report_interval_seconds above 0 the slowest
+ * methods are logged periodically. SqlDiagnostics adds per statement timing and N+1 detection.
+ */
+public final class DaoMetrics {
+    public static final String ENABLED_PROPERTY = "metrics.dao.enabled";
+    public static final String REPORT_INTERVAL_PROPERTY = "metrics.report_interval_seconds";
+    public static final String OBJECT_NAME = "org.informatics:type=DaoMetrics";
+    private static final int REPORTED_METHODS = 20;
+
+    private static final Logger LOG = LogManager.getLogger(DaoMetrics.class);
+    private static final String OWN_PACKAGE = DaoMetrics.class.getPackageName() + ".";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final ThreadLocal<DaoMetricsListener> CURRENT = new ThreadLocal<>();
+    private static final Map<String, MethodStats> METHODS = new ConcurrentHashMap<>();
+
+    /**
+     * Forwards entity loads and transaction boundaries to the innermost measured session of the thread.
+     */
+    private static final Interceptor INTERCEPTOR = new Interceptor() {
+        @Override
+        public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+            DaoMetricsListener call = current();
+            if (call != null) {
+                call.entityLoaded();
+            }
+            return false;
+        }
+
+        @Override
+        public void afterTransactionBegin(Transaction transaction) {
+            DaoMetricsListener call = current();
+            if (call != null) {
+                call.transactionBegun();
+            }
+        }
+
+        @Override
+        public void afterTransactionCompletion(Transaction transaction) {
+            DaoMetricsListener call = current();
+            if (call != null) {
+                call.transactionCompleted();
+            }
+        }
+    };
+
+    private static volatile boolean enabled;
+    private static ScheduledExecutorService reporter;
+
+    private DaoMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches recording on or off at runtime. Hibernate statistics are switched on together with it.
+     */
+    public static void setEnabled(boolean enabled) {
+        if (enabled) {
+            SessionFactoryUtil.getSessionFactory().getStatistics().setStatisticsEnabled(true);
+        }
+        DaoMetrics.enabled = enabled;
+    }
+
+    /**
+     * Returns the metrics of every DAO method called since startup (or the last reset), slowest total time first.
+     *
+     * @return one entry per method
+     */
+    public static List<DaoMethodStatsDto> getMethodStats() {
+        return METHODS.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparingDouble(DaoMethodStatsDto::getTotalMillis).reversed())
+                .toList();
+    }
+
+    /**
+     * Returns the metrics of one DAO method.
+     *
+     * @param method simple class name and method name, e.g. "ClientDao.create"
+     * @return the metrics, or null if the method was not called since startup (or the last reset)
+     */
+    public static DaoMethodStatsDto getMethodStats(String method) {
+        MethodStats stats = METHODS.get(method);
+        return stats == null ? null : stats.toDto(method);
+    }
+
+    /**
+     * Forgets all recorded DAO metrics.
+     */
+    public static void reset() {
+        METHODS.clear();
+    }
+
+    // ===================== PACKAGE-PRIVATE (called by SessionFactoryUtil and DaoMetricsListener) =====================
+
+    /**
+     * Adds the session listener, interceptor and statement inspector to the Hibernate properties and reads the
+     * metrics.* properties.
+     */
+    static void configure(Properties props) {
+        SqlDiagnostics.configure(props);
+        enabled = Boolean.parseBoolean(props.getProperty(ENABLED_PROPERTY, "false"));
+        if (enabled) {
+            props.setProperty(AvailableSettings.GENERATE_STATISTICS, "true");
+        }
+        String listeners = props.getProperty(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER);
+        props.setProperty(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, listeners == null
+                ? DaoMetricsListener.class.getName()
+                : listeners + "," + DaoMetricsListener.class.getName());
+        props.putIfAbsent(AvailableSettings.INTERCEPTOR, INTERCEPTOR);
+    }
+
+    /**
+     * Registers the MXBean and starts the periodic log reporter for the new SessionFactory.
+     */
+    static synchronized void start(SessionFactory factory, Properties props) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new MXBean(factory), name);
+        } catch (JMException e) {
+            throw new RuntimeException("Failed to register the " + OBJECT_NAME + " MXBean.", e);
+        }
+
+        long interval = Long.parseLong(props.getProperty(REPORT_INTERVAL_PROPERTY, "0"));
+        if (interval > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dao-metrics-reporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(DaoMetrics::report, interval, interval, TimeUnit.SECONDS);
+        }
+        SqlDiagnostics.start();
+    }
+
+    /**
+     * Stops the log reporter and unregisters the MXBean when the SessionFactory is closed.
+     */
+    static synchronized void stop() {
+        SqlDiagnostics.stop();
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new RuntimeException("Failed to unregister the " + OBJECT_NAME + " MXBean.", e);
+        }
+    }
+
+    /**
+     * Returns the method that opens the session being created, e.g. "TransportDao.createAll".
+     */
+    static String callerMethod() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("org.informatics.")
+                        && !frame.getClassName().startsWith(OWN_PACKAGE))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+                .orElse("other"));
+    }
+
+    /**
+     * Returns whether new sessions are measured, for the DAO metrics or for SqlDiagnostics.
+     */
+    static boolean isMeasuring() {
+        return enabled || SqlDiagnostics.isEnabled();
+    }
+
+    /**
+     * Returns the innermost measured session of the thread, or null.
+     */
+    static DaoMetricsListener current() {
+        return isMeasuring() ? CURRENT.get() : null;
+    }
+
+    static DaoMetricsListener enter(DaoMetricsListener call) {
+        DaoMetricsListener outer = CURRENT.get();
+        CURRENT.set(call);
+        return outer;
+    }
+
+    static void exit(DaoMetricsListener call, DaoMetricsListener outer) {
+        if (CURRENT.get() == call) {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    static void record(String method, long nanos, int statements, int entities) {
+        if (!enabled) {
+            return;
+        }
+        MethodStats stats = METHODS.computeIfAbsent(method, m -> new MethodStats());
+        stats.latency.record(nanos);
+        stats.calls.increment();
+        stats.nanos.add(nanos);
+        stats.statements.add(statements);
+        stats.entities.add(entities);
+    }
+
+    static void recordTransaction(String method, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        MethodStats stats = METHODS.computeIfAbsent(method, m -> new MethodStats());
+        stats.transactions.increment();
+        stats.transactionNanos.add(nanos);
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private static void report() {
+        List<DaoMethodStatsDto> stats = getMethodStats();
+        LOG.info("DAO metrics ({} methods, slowest total time first):", stats.size());
+        for (DaoMethodStatsDto method : stats.subList(0, Math.min(REPORTED_METHODS, stats.size()))) {
+            LOG.info(String.format(
+                    "  %-40s calls=%d p50=%.2fms p99=%.2fms max=%.2fms statements/call=%.1f entities/call=%.1f "
+                            + "transactions=%d avgTransaction=%.2fms",
+                    method.getMethod(), method.getCalls(), method.getP50Millis(), method.getP99Millis(),
+                    method.getMaxMillis(), method.getStatementsPerCall(), method.getEntitiesPerCall(),
+                    method.getTransactions(), method.getAverageTransactionMillis()));
+        }
+    }
+
+    private static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int nested = name.indexOf('$');
+        return nested < 0 ? name : name.substring(0, nested);
+    }
+
+    /**
+     * Reports lambdas under their enclosing method ("lambda$createAll$0" becomes "createAll").
+     */
+    private static String methodName(String name) {
+        if (name.startsWith("lambda$")) {
+            int end = name.lastIndexOf('$');
+            return end > "lambda$".length() ? name.substring("lambda$".length(), end) : name;
+        }
+        return name;
+    }
+
+    private static final class MethodStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder entities = new LongAdder();
+        private final LongAdder transactions = new LongAdder();
+        private final LongAdder transactionNanos = new LongAdder();
+
+        private DaoMethodStatsDto toDto(String method) {
+            return new DaoMethodStatsDto(method, calls.sum(), latency.percentileMillis(0.5),
+                    latency.percentileMillis(0.99), latency.maxMillis(), nanos.sum() / 1_000_000.0,
+                    statements.sum(), entities.sum(), transactions.sum(), transactionNanos.sum() / 1_000_000.0);
+        }
+    }
+
+    private static final class MXBean implements DaoMetricsMXBean {
+        private final SessionFactory factory;
+
+        private MXBean(SessionFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return DaoMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            DaoMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public List<DaoMethodStatsDto> getMethodStats() {
+            return DaoMetrics.getMethodStats();
+        }
+
+        @Override
+        public boolean isSqlDiagnosticsEnabled() {
+            return SqlDiagnostics.isEnabled();
+        }
+
+        @Override
+        public void setSqlDiagnosticsEnabled(boolean enabled) {
+            SqlDiagnostics.setEnabled(enabled);
+        }
+
+        @Override
+        public List<SqlStatementStatsDto> getNPlusOneSuspects() {
+            return SqlDiagnostics.getNPlusOneSuspects();
+        }
+
+        @Override
+        public long getPrepareStatementCount() {
+            return statistics().getPrepareStatementCount();
+        }
+
+        @Override
+        public long getEntityLoadCount() {
+            return statistics().getEntityLoadCount();
+        }
+
+        @Override
+        public long getQueryExecutionCount() {
+            return statistics().getQueryExecutionCount();
+        }
+
+        @Override
+        public long getQueryExecutionMaxTimeMillis() {
+            return statistics().getQueryExecutionMaxTime();
+        }
+
+        @Override
+        public String getSlowestQuery() {
+            return statistics().getQueryExecutionMaxTimeQueryString();
+        }
+
+        @Override
+        public long getTransactionCount() {
+            return statistics().getTransactionCount();
+        }
+
+        @Override
+        public void reset() {
+            DaoMetrics.reset();
+            SqlDiagnostics.reset();
+            statistics().clear();
+        }
+
+        private Statistics statistics() {
+            return factory.getStatistics();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.informatics.configuration;
+
+import org.hibernate.SessionEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures one Hibernate session for {@link DaoMetrics} and {@link SqlDiagnostics}.
+ * Hibernate creates an instance for every session (hibernate.session.events.auto); while both are
+ * disabled the instance does nothing.
+ */
+public class DaoMetricsListener implements SessionEventListener {
+    private final String method;
+    private final long openedAt;
+    private DaoMetricsListener outer;
+    private int statements;
+    private int entities;
+    private long transactionStart;
+    private String sql;
+    private String shape;
+    private long executeStart;
+    private Map<String, Integer> selectRepetitions;
+
+    public DaoMetricsListener() {
+        if (DaoMetrics.isMeasuring()) {
+            method = DaoMetrics.callerMethod();
+            openedAt = System.nanoTime();
+            outer = DaoMetrics.enter(this);
+        } else {
+            method = null;
+            openedAt = 0;
+        }
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        statements++;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    @Override
+    public void end() {
+        if (method != null) {
+            DaoMetrics.exit(this, outer);
+            DaoMetrics.record(method, System.nanoTime() - openedAt, statements, entities);
+            if (selectRepetitions != null) {
+                SqlDiagnostics.sessionEnded(method, selectRepetitions);
+            }
+        }
+    }
+
+    // ===================== PACKAGE-PRIVATE (called by DaoMetrics and SqlDiagnostics) =====================
+
+    void entityLoaded() {
+        entities++;
+    }
+
+    void transactionBegun() {
+        transactionStart = System.nanoTime();
+    }
+
+    void transactionCompleted() {
+        if (transactionStart != 0) {
+            DaoMetrics.recordTransaction(method, System.nanoTime() - transactionStart);
+            transactionStart = 0;
+        }
+    }
+
+    /**
+     * Remembers the statement Hibernate is about to execute; called by the statement inspector.
+     */
+    void statementPrepared(String sql, String shape) {
+        if (method == null) {
+            return;
+        }
+        this.sql = sql;
+        this.shape = shape;
+        if (SqlDiagnostics.isSelect(shape)) {
+            if (selectRepetitions == null) {
+                selectRepetitions = new HashMap<>();
+            }
+            selectRepetitions.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private void executed() {
+        if (shape != null && executeStart != 0 && SqlDiagnostics.isEnabled()) {
+            SqlDiagnostics.executed(method, shape, sql, System.nanoTime() - executeStart);
+        }
+        executeStart = 0;
+    }
+}
@@ -0,0 +1,39 @@
+package org.informatics.configuration;
+
+import org.informatics.dto.DaoMethodStatsDto;
+import org.informatics.dto.SqlStatementStatsDto;
+
+import java.util.List;
+
+/**
+ * JMX view of the DAO metrics, the SQL diagnostics and the Hibernate statistics,
+ * registered as org.informatics:type=DaoMetrics.
+ */
+public interface DaoMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    List<DaoMethodStatsDto> getMethodStats();
+
+    boolean isSqlDiagnosticsEnabled();
+
+    void setSqlDiagnosticsEnabled(boolean enabled);
+
+    List<SqlStatementStatsDto> getNPlusOneSuspects();
+
+    long getPrepareStatementCount();
+
+    long getEntityLoadCount();
+
+    long getQueryExecutionCount();
+
+    long getQueryExecutionMaxTimeMillis();
+
+    String getSlowestQuery();
+
+    long getTransactionCount();
+
+    void reset();
+}
@@ -0,0 +1,76 @@
+package org.informatics.configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with microsecond resolution.
+ * Values below 16 µs get one bucket each; above that every power of two is split into 8 buckets,
+ * so a percentile is off by at most 12.5 %. Memory is fixed (about 4 KB) regardless of the number of samples.
+ */
+class LatencyHistogram {
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = LINEAR_BUCKETS + (Long.SIZE - 4) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(bucket(micros));
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Returns the value (in milliseconds) that the given fraction of the samples does not exceed.
+     *
+     * @param fraction e.g. 0.99 for the 99th percentile
+     * @return the percentile, or 0 if nothing was recorded
+     */
+    double percentileMillis(double fraction) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    double maxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private static int bucket(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+        int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + subBucket) * width + width - 1;
+    }
+}
@@ -0,0 +1,52 @@
+package org.informatics.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hibernate ConnectionProvider that hands out connections from the application's HikariCP pool.
+ * The pool is created and closed by {@link SessionFactoryUtil}.
+ */
+public class PooledConnectionProvider implements ConnectionProvider {
+    private final HikariDataSource dataSource;
+
+    public PooledConnectionProvider(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isAssignableFrom(PooledConnectionProvider.class)
+                || unwrapType.isAssignableFrom(HikariDataSource.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isAssignableFrom(PooledConnectionProvider.class)) {
+            return (T) this;
+        }
+        if (unwrapType.isAssignableFrom(HikariDataSource.class)) {
+            return (T) dataSource;
+        }
+        throw new IllegalArgumentException("Cannot unwrap to " + unwrapType.getName());
+    }
+}
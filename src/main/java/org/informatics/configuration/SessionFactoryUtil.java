@@ -1,12 +1,25 @@
 package org.informatics.configuration;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.flywaydb.core.Flyway;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.service.ServiceRegistry;
+import org.hibernate.stat.Statistics;
+import org.informatics.dto.CacheStatsDto;
+import org.informatics.dto.ConnectionPoolStatsDto;
 import org.informatics.entity.*;
+import org.informatics.jfr.BootstrapEvent;
 
 import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
 
 /**
@@ -17,66 +30,285 @@ import java.util.Properties;
  * - hibernate.properties (default for main application)
  * - hibernate-unit.properties (for unit tests)
  * - hibernate-integration.properties (for integration tests)
+ *
+ * Connections come from a HikariCP pool. The JDBC url, user, password and driver are taken from the
+ * jakarta.persistence.jdbc.* keys, or the legacy hibernate.connection.* keys if those are not set; every key
+ * starting with hibernate.hikari. is passed to HikariConfig
+ * with the prefix removed (e.g. hibernate.hikari.maximumPoolSize=20).
+ *
+ * If flyway.locations is set, Flyway applies the versioned migrations (db/migration/{vendor}/V*.sql) before
+ * the SessionFactory is built; every key starting with flyway. is passed to Flyway as is. The migrations then
+ * own the schema and hibernate.hbm2ddl.auto should be validate (or none).
+ *
+ * orm.xml files listed in hibernate.orm_xml_files (comma-separated classpath resources) override the annotations.
+ * Per DAO method metrics (see DaoMetrics) are recorded when metrics.dao.enabled=true.
+ * Any hibernate.*, jakarta.persistence.*, flyway.*, analytics.* or metrics.* key can also be set as a system property,
+ * which wins over the file.
  */
 public class SessionFactoryUtil {
-    private static SessionFactory sessionFactory;
+    private static final String PROPS_FILE_PROPERTY = "hibernate.props";
+    private static final List<String> OVERRIDE_PREFIXES = List.of("hibernate.", "jakarta.persistence.", "flyway.", "analytics.", "metrics.");
+    private static final String HIKARI_PREFIX = "hibernate.hikari.";
+    private static final String LEGACY_CONNECTION_PREFIX = "hibernate.connection.";
+    private static final String FLYWAY_PREFIX = "flyway.";
+    private static final String FLYWAY_LOCATIONS = FLYWAY_PREFIX + "locations";
+    private static final String VENDOR_PLACEHOLDER = "{vendor}";
+
+    private static volatile SessionFactory sessionFactory;
+    private static HikariDataSource dataSource;
+    private static ConnectionPoolMetrics poolMetrics;
 
     /**
      * Returns the singleton SessionFactory instance.
      * Creates the SessionFactory on first access using the configured properties file.
+     * Safe to call from multiple threads: only one factory is ever built.
      *
      * @return the Hibernate SessionFactory
      * @throws RuntimeException if properties file cannot be loaded
      */
     public static SessionFactory getSessionFactory() {
-        if (sessionFactory == null) {
-            Configuration configuration = new Configuration();
-
-            // Load properties file based on system property (for test configuration)
-            String propsFile = System.getProperty("hibernate.props", "hibernate.properties");
-
-            Properties props = new Properties();
-            try (InputStream is = SessionFactoryUtil.class.getClassLoader().getResourceAsStream(propsFile)) {
-                if (is == null) {
-                    throw new RuntimeException("Cannot find " + propsFile + " in classpath.");
-                }
-                props.load(is);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to load Hibernate properties file: " + propsFile, e);
-            }
+        SessionFactory factory = sessionFactory;
+        if (factory == null) {
+            factory = init();
+        }
+        return factory;
+    }
+
+    /**
+     * Builds the connection pool and SessionFactory if they do not exist yet.
+     * Can be called eagerly at application startup so the first request does not pay the bootstrap cost.
+     *
+     * @return the Hibernate SessionFactory
+     * @throws RuntimeException if properties file cannot be loaded
+     */
+    public static synchronized SessionFactory init() {
+        if (sessionFactory != null) {
+            return sessionFactory;
+        }
+
+        BootstrapEvent event = BootstrapEvent.start();
+        Configuration configuration = new Configuration();
+        Properties props = loadProperties();
+
+        ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+        HikariDataSource pool = createDataSource(props, metrics);
+        props.put(AvailableSettings.CONNECTION_PROVIDER, new PooledConnectionProvider(pool));
+        event.poolCreated();
+
+        try {
+            event.migrated(migrateSchema(props, pool));
+        } catch (RuntimeException e) {
+            pool.close();
+            throw e;
+        }
+
+        DaoMetrics.configure(props);
+        configuration.setProperties(props);
 
-            configuration.setProperties(props);
-
-            // Register all entity classes
-            configuration.addAnnotatedClass(TransportCompany.class);
-            configuration.addAnnotatedClass(Client.class);
-            configuration.addAnnotatedClass(Employee.class);
-            configuration.addAnnotatedClass(Driver.class);
-            configuration.addAnnotatedClass(Vehicle.class);
-            configuration.addAnnotatedClass(Bus.class);
-            configuration.addAnnotatedClass(Truck.class);
-            configuration.addAnnotatedClass(Tanker.class);
-            configuration.addAnnotatedClass(Transport.class);
-            configuration.addAnnotatedClass(CargoTransport.class);
-            configuration.addAnnotatedClass(PassengerTransport.class);
+        // Register all entity classes
+        configuration.addAnnotatedClass(TransportCompany.class);
+        configuration.addAnnotatedClass(Client.class);
+        configuration.addAnnotatedClass(Employee.class);
+        configuration.addAnnotatedClass(Driver.class);
+        configuration.addAnnotatedClass(Vehicle.class);
+        configuration.addAnnotatedClass(Bus.class);
+        configuration.addAnnotatedClass(Truck.class);
+        configuration.addAnnotatedClass(Tanker.class);
+        configuration.addAnnotatedClass(Transport.class);
+        configuration.addAnnotatedClass(CargoTransport.class);
+        configuration.addAnnotatedClass(PassengerTransport.class);
+        configuration.addAnnotatedClass(RevenueTotal.class);
+        configuration.addAnnotatedClass(DailyRevenueTotal.class);
+        configuration.addAnnotatedClass(CompanyRule.class);
 
+        // Optional orm.xml overrides of the annotations, e.g. the JOINED layout used by the benchmarks
+        String ormXmlFiles = props.getProperty(AvailableSettings.ORM_XML_FILES);
+        if (ormXmlFiles != null) {
+            for (String file : ormXmlFiles.split(",")) {
+                configuration.addResource(file.trim());
+            }
+        }
+
+        try {
             ServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
                     .applySettings(configuration.getProperties())
                     .build();
 
             sessionFactory = configuration.buildSessionFactory(serviceRegistry);
+        } catch (RuntimeException e) {
+            pool.close();
+            throw e;
         }
+        dataSource = pool;
+        poolMetrics = metrics;
+        DaoMetrics.start(sessionFactory, props);
+        event.finish(sessionFactory.getMetamodel().getEntities().size());
         return sessionFactory;
     }
 
+    /**
+     * Returns current connection pool usage: active/idle connections, waiting threads and wait times.
+     *
+     * @return pool statistics, or null if the SessionFactory has not been initialized
+     */
+    public static synchronized ConnectionPoolStatsDto getConnectionPoolStats() {
+        if (dataSource == null) {
+            return null;
+        }
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return new ConnectionPoolStatsDto(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                dataSource.getMaximumPoolSize(),
+                pool.getThreadsAwaitingConnection(),
+                poolMetrics.getAcquireCount(),
+                poolMetrics.getAverageWaitMillis(),
+                poolMetrics.getMaxWaitMillis(),
+                poolMetrics.getTimeoutCount()
+        );
+    }
+
+    /**
+     * Returns hit/miss counters of the second-level and query caches.
+     * Hibernate statistics are switched on by the first call (unless hibernate.generate_statistics already did),
+     * so the counters cover the time since then (or since the last statistics reset).
+     *
+     * @return cache statistics
+     */
+    public static CacheStatsDto getCacheStats() {
+        Statistics statistics = getSessionFactory().getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            statistics.setStatisticsEnabled(true);
+        }
+        return new CacheStatsDto(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()
+        );
+    }
+
+    /**
+     * Evicts all entity, collection and query cache regions.
+     * Needed only when the database is modified outside of Hibernate (e.g. manual SQL or imports).
+     */
+    public static void evictAllCaches() {
+        getSessionFactory().getCache().evictAllRegions();
+    }
+
     /**
      * Closes the SessionFactory and releases all resources.
      * Used primarily for cleanup in test environments.
      */
-    public static void closeSessionFactory() {
+    public static synchronized void closeSessionFactory() {
+        DaoMetrics.stop();
         if (sessionFactory != null && !sessionFactory.isClosed()) {
             sessionFactory.close();
-            sessionFactory = null;
         }
+        sessionFactory = null;
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+            poolMetrics = null;
+        }
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    /**
+     * Loads the properties file selected by the "hibernate.props" system property.
+     * System properties with one of the OVERRIDE_PREFIXES take precedence over the file
+     * (e.g. -Danalytics.columnar_snapshot=true).
+     */
+    private static Properties loadProperties() {
+        // Load properties file based on system property (for test configuration)
+        String propsFile = System.getProperty(PROPS_FILE_PROPERTY, "hibernate.properties");
+
+        Properties props = new Properties();
+        try (InputStream is = SessionFactoryUtil.class.getClassLoader().getResourceAsStream(propsFile)) {
+            if (is == null) {
+                throw new RuntimeException("Cannot find " + propsFile + " in classpath.");
+            }
+            props.load(is);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load Hibernate properties file: " + propsFile, e);
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (!name.equals(PROPS_FILE_PROPERTY) && OVERRIDE_PREFIXES.stream().anyMatch(name::startsWith)) {
+                props.setProperty(name, System.getProperty(name));
+            }
+        }
+        return props;
+    }
+
+    /**
+     * Runs the pending Flyway migrations if flyway.locations is configured.
+     * A {vendor} placeholder in the locations is replaced by the database product name (h2, mysql).
+     *
+     * @return number of migrations applied
+     */
+    private static int migrateSchema(Properties props, HikariDataSource pool) {
+        Properties flywayProps = new Properties();
+        for (String name : props.stringPropertyNames()) {
+            if (name.startsWith(FLYWAY_PREFIX)) {
+                flywayProps.setProperty(name, props.getProperty(name));
+            }
+        }
+        String locations = flywayProps.getProperty(FLYWAY_LOCATIONS);
+        if (locations == null) {
+            return 0;
+        }
+        if (locations.contains(VENDOR_PLACEHOLDER)) {
+            try (Connection connection = pool.getConnection()) {
+                String vendor = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+                flywayProps.setProperty(FLYWAY_LOCATIONS, locations.replace(VENDOR_PLACEHOLDER, vendor));
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to determine the database vendor for the migrations.", e);
+            }
+        }
+
+        return Flyway.configure()
+                .configuration(flywayProps)
+                .dataSource(pool)
+                .load()
+                .migrate()
+                .migrationsExecuted;
+    }
+
+    /**
+     * Creates the HikariCP pool from the jakarta.persistence.jdbc.* (or legacy hibernate.connection.*)
+     * and hibernate.hikari.* properties.
+     */
+    private static HikariDataSource createDataSource(Properties props, ConnectionPoolMetrics metrics) {
+        Properties hikariProps = new Properties();
+        for (String name : props.stringPropertyNames()) {
+            if (name.startsWith(HIKARI_PREFIX)) {
+                hikariProps.setProperty(name.substring(HIKARI_PREFIX.length()), props.getProperty(name));
+            }
+        }
+
+        HikariConfig config = new HikariConfig(hikariProps);
+        config.setJdbcUrl(connectionSetting(props, AvailableSettings.JAKARTA_JDBC_URL, "url"));
+        config.setUsername(connectionSetting(props, AvailableSettings.JAKARTA_JDBC_USER, "username"));
+        config.setPassword(connectionSetting(props, AvailableSettings.JAKARTA_JDBC_PASSWORD, "password"));
+        config.setDriverClassName(connectionSetting(props, AvailableSettings.JAKARTA_JDBC_DRIVER, "driver_class"));
+        if (config.getPoolName() == null) {
+            config.setPoolName("transport-company-pool");
+        }
+        config.setMetricsTrackerFactory(metrics);
+
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Returns a jakarta.persistence.jdbc.* connection property, falling back to the legacy
+     * hibernate.connection.* name (e.g. hibernate.connection.url) used by the bundled properties files.
+     */
+    private static String connectionSetting(Properties props, String name, String legacySuffix) {
+        String value = props.getProperty(name);
+        return value != null ? value : props.getProperty(LEGACY_CONNECTION_PREFIX + legacySuffix);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,250 @@
+package org.informatics.configuration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.informatics.dto.SqlStatementStatsDto;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Diagnostic mode for the SQL issued by the DAO methods.
+ *
+ * Every statement is recorded with its execution time under the DAO method whose session issued it (see
+ * DaoMetrics) and its shape: the SQL with whitespace and IN lists collapsed, so "IN (?, ?)" and "IN (?, ?, ?)"
+ * count as one statement. Statements slower than metrics.sql.slow_query_millis are logged as they happen.
+ * A select whose shape is repeated metrics.sql.n_plus_one_threshold times within one session is an N+1
+ * suspect; the suspects are logged when the SessionFactory is closed or the JVM exits.
+ *
+ * Enabled with metrics.sql.enabled=true; the cost is a map update per statement and per session close,
+ * so it can stay on in staging.
+ */
+public final class SqlDiagnostics {
+    public static final String ENABLED_PROPERTY = "metrics.sql.enabled";
+    public static final String SLOW_QUERY_MILLIS_PROPERTY = "metrics.sql.slow_query_millis";
+    public static final String N_PLUS_ONE_THRESHOLD_PROPERTY = "metrics.sql.n_plus_one_threshold";
+    private static final int MAX_CACHED_SHAPES = 10_000;
+    private static final int SUMMARIZED_STATEMENTS = 10;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    private static final Logger LOG = LogManager.getLogger(SqlDiagnostics.class);
+    private static final Map<String, String> SHAPES = new ConcurrentHashMap<>();
+    private static final Map<String, StatementStats> STATEMENTS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+    private static volatile long slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(200);
+    private static volatile int nPlusOneThreshold = 10;
+    private static Thread shutdownHook;
+
+    /**
+     * Hands every statement Hibernate prepares to the innermost measured session of the thread.
+     */
+    static final StatementInspector INSPECTOR = sql -> {
+        if (enabled) {
+            DaoMetricsListener call = DaoMetrics.current();
+            if (call != null) {
+                call.statementPrepared(sql, shape(sql));
+            }
+        }
+        return sql;
+    };
+
+    private SqlDiagnostics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        SqlDiagnostics.enabled = enabled;
+    }
+
+    public static void setSlowQueryMillis(long millis) {
+        slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public static void setNPlusOneThreshold(int repetitions) {
+        if (repetitions < 2) {
+            throw new IllegalArgumentException("N+1 threshold must be at least 2, was " + repetitions);
+        }
+        nPlusOneThreshold = repetitions;
+    }
+
+    /**
+     * Returns every recorded statement shape per DAO method, slowest total time first.
+     *
+     * @return one entry per method and statement shape
+     */
+    public static List<SqlStatementStatsDto> getStatementStats() {
+        return STATEMENTS.values().stream()
+                .map(StatementStats::toDto)
+                .sorted(Comparator.comparingDouble(SqlStatementStatsDto::getTotalMillis).reversed())
+                .toList();
+    }
+
+    /**
+     * Returns the selects that some session repeated at least n_plus_one_threshold times, most affected
+     * sessions first.
+     *
+     * @return the N+1 suspects
+     */
+    public static List<SqlStatementStatsDto> getNPlusOneSuspects() {
+        return STATEMENTS.values().stream()
+                .filter(stats -> stats.nPlusOneSessions.sum() > 0)
+                .map(StatementStats::toDto)
+                .sorted(Comparator.comparingLong(SqlStatementStatsDto::getNPlusOneSessions).reversed())
+                .toList();
+    }
+
+    /**
+     * Forgets all recorded statements.
+     */
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Logs the N+1 suspects and the slowest statements.
+     */
+    public static void logSummary() {
+        List<SqlStatementStatsDto> suspects = getNPlusOneSuspects();
+        if (suspects.isEmpty()) {
+            LOG.info("SQL diagnostics: no N+1 suspects.");
+        } else {
+            LOG.warn("SQL diagnostics: {} N+1 suspects (selects repeated at least {} times in one session):",
+                    suspects.size(), nPlusOneThreshold);
+            for (SqlStatementStatsDto suspect : suspects) {
+                LOG.warn(String.format("  %s: %d sessions, up to %d repetitions: %s", suspect.getMethod(),
+                        suspect.getNPlusOneSessions(), suspect.getMaxRepetitionsPerSession(), suspect.getSql()));
+            }
+        }
+        List<SqlStatementStatsDto> statements = getStatementStats();
+        LOG.info("SQL diagnostics: slowest statements by total time:");
+        for (SqlStatementStatsDto statement : statements.subList(0, Math.min(SUMMARIZED_STATEMENTS, statements.size()))) {
+            LOG.info(String.format("  %s: %d executions, %.1f ms total, %.1f ms max, %d slow: %s",
+                    statement.getMethod(), statement.getExecutions(), statement.getTotalMillis(),
+                    statement.getMaxMillis(), statement.getSlowExecutions(), statement.getSql()));
+        }
+    }
+
+    // ===================== PACKAGE-PRIVATE (called by DaoMetrics and DaoMetricsListener) =====================
+
+    /**
+     * Reads the metrics.sql.* properties and installs the statement inspector.
+     */
+    static void configure(Properties props) {
+        enabled = Boolean.parseBoolean(props.getProperty(ENABLED_PROPERTY, "false"));
+        setSlowQueryMillis(Long.parseLong(props.getProperty(SLOW_QUERY_MILLIS_PROPERTY, "200")));
+        setNPlusOneThreshold(Integer.parseInt(props.getProperty(N_PLUS_ONE_THRESHOLD_PROPERTY, "10")));
+        props.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, INSPECTOR);
+    }
+
+    static synchronized void start() {
+        shutdownHook = new Thread(() -> {
+            if (enabled) {
+                logSummary();
+            }
+        }, "sql-diagnostics-summary");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    static synchronized void stop() {
+        if (shutdownHook == null) {
+            return;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            return; // the JVM is exiting and the hook logs the summary
+        }
+        shutdownHook = null;
+        if (enabled) {
+            logSummary();
+        }
+    }
+
+    static void executed(String method, String shape, String sql, long nanos) {
+        StatementStats stats = stats(method, shape);
+        stats.executions.increment();
+        stats.nanos.add(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        if (nanos >= slowQueryNanos) {
+            stats.slowExecutions.increment();
+            LOG.warn(String.format("Slow SQL (%.1f ms) in %s: %s", nanos / 1_000_000.0, method, sql));
+        }
+    }
+
+    /**
+     * Records how often each select shape was repeated in a closed session.
+     */
+    static void sessionEnded(String method, Map<String, Integer> selectRepetitions) {
+        int threshold = nPlusOneThreshold;
+        for (Map.Entry<String, Integer> entry : selectRepetitions.entrySet()) {
+            int repetitions = entry.getValue();
+            if (repetitions > 1) {
+                StatementStats stats = stats(method, entry.getKey());
+                stats.maxRepetitions.accumulateAndGet(repetitions, Math::max);
+                if (repetitions >= threshold) {
+                    stats.nPlusOneSessions.increment();
+                }
+            }
+        }
+    }
+
+    static boolean isSelect(String shape) {
+        return shape.regionMatches(true, 0, "select", 0, 6) || shape.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    /**
+     * Normalizes the SQL; Hibernate issues a small, fixed set of statements, so the results are cached.
+     */
+    private static String shape(String sql) {
+        String shape = SHAPES.get(sql);
+        if (shape == null) {
+            shape = PARAMETER_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("?");
+            if (SHAPES.size() < MAX_CACHED_SHAPES) {
+                SHAPES.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    private static StatementStats stats(String method, String shape) {
+        return STATEMENTS.computeIfAbsent(method + '\n' + shape, key -> new StatementStats(method, shape));
+    }
+
+    private static final class StatementStats {
+        private final String method;
+        private final String shape;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder slowExecutions = new LongAdder();
+        private final AtomicInteger maxRepetitions = new AtomicInteger();
+        private final LongAdder nPlusOneSessions = new LongAdder();
+
+        private StatementStats(String method, String shape) {
+            this.method = method;
+            this.shape = shape;
+        }
+
+        private SqlStatementStatsDto toDto() {
+            return new SqlStatementStatsDto(method, shape, executions.sum(), nanos.sum() / 1_000_000.0,
+                    maxNanos.get() / 1_000_000.0, slowExecutions.sum(), maxRepetitions.get(), nPlusOneSessions.sum());
+        }
+    }
+}
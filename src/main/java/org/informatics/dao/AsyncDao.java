@@ -0,0 +1,122 @@
+package org.informatics.dao;
+
+import org.hibernate.SessionFactory;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dto.ConnectionPoolStatsDto;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking DAO calls on virtual threads, for callers that must not tie up a platform thread per query.
+ * Used by AsyncTransportDao, AsyncReportDao, AsyncDriverDao and AsyncTransportCompanyDao.
+ *
+ * Every call gets its own virtual thread, but only as many calls as the connection pool has connections
+ * (hibernate.hikari.maximumPoolSize) run at once. The rest wait on a fair semaphore, which costs a parked
+ * virtual thread rather than a HikariCP connection request, so any number of requests can be in flight
+ * without connection timeouts. The limit is taken from the pool of the SessionFactory current at the time
+ * of the call.
+ *
+ * The returned futures complete with the DAO method's result, or exceptionally with the exception it threw
+ * (e.g. EntityNotFoundException, wrapped in a CompletionException by join()).
+ */
+public final class AsyncDao {
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-dao-", 0).factory());
+
+    private static volatile Limiter limiter;
+
+    private AsyncDao() {
+    }
+
+    /**
+     * Runs a DAO call asynchronously.
+     *
+     * @param call the blocking call, e.g. () -> TransportDao.get(id)
+     * @return future completed with the call's result
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        Semaphore permits = limiter().permits;
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return call.get();
+            } finally {
+                permits.release();
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Runs a DAO call without result asynchronously.
+     *
+     * @param call the blocking call, e.g. () -> TransportDao.delete(id)
+     * @return future completed when the call has finished
+     */
+    public static CompletableFuture<Void> run(Runnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the maximum number of DAO calls that run at the same time (the connection pool size).
+     */
+    public static int getMaxConcurrentCalls() {
+        return limiter().maxConcurrent;
+    }
+
+    /**
+     * Returns the number of DAO calls running right now.
+     */
+    public static int getRunningCalls() {
+        Limiter current = limiter();
+        return current.maxConcurrent - current.permits.availablePermits();
+    }
+
+    /**
+     * Returns the (estimated) number of DAO calls waiting for one of the running calls to finish.
+     */
+    public static int getWaitingCalls() {
+        return limiter().permits.getQueueLength();
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private static Limiter limiter() {
+        SessionFactory factory = SessionFactoryUtil.getSessionFactory();
+        Limiter current = limiter;
+        if (current != null && current.factory == factory) {
+            return current;
+        }
+        synchronized (AsyncDao.class) {
+            current = limiter;
+            if (current == null || current.factory != factory) {
+                ConnectionPoolStatsDto pool = SessionFactoryUtil.getConnectionPoolStats();
+                current = new Limiter(factory, pool == null ? 1 : Math.max(1, pool.getMaxConnections()));
+                limiter = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Concurrency limit for one SessionFactory; calls release the permits of the limiter they acquired from.
+     */
+    private static final class Limiter {
+        final SessionFactory factory;
+        final int maxConcurrent;
+        final Semaphore permits;
+
+        Limiter(SessionFactory factory, int maxConcurrent) {
+            this.factory = factory;
+            this.maxConcurrent = maxConcurrent;
+            this.permits = new Semaphore(maxConcurrent, true);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.informatics.dao;
+
+import org.informatics.dto.PageDto;
+import org.informatics.entity.Driver;
+import org.informatics.entity.enums.DriverQualification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade over DriverDao: every method runs the DriverDao method of the same name
+ * through AsyncDao, on a virtual thread and within the connection pool's concurrency limit.
+ */
+public final class AsyncDriverDao {
+
+    private AsyncDriverDao() {
+    }
+
+    /**
+     * Runs {@link DriverDao#getAllDrivers()} asynchronously.
+     */
+    public static CompletableFuture<List<Driver>> getAllDrivers() {
+        return AsyncDao.supply(() -> DriverDao.getAllDrivers());
+    }
+
+    /**
+     * Runs {@link DriverDao#count()} asynchronously.
+     */
+    public static CompletableFuture<Long> count() {
+        return AsyncDao.supply(() -> DriverDao.count());
+    }
+
+    /**
+     * Runs {@link DriverDao#countByCompany(long)} asynchronously.
+     */
+    public static CompletableFuture<Long> countByCompany(long companyId) {
+        return AsyncDao.supply(() -> DriverDao.countByCompany(companyId));
+    }
+
+    /**
+     * Runs {@link DriverDao#getDriversSortedBySalaryAsc()} asynchronously.
+     */
+    public static CompletableFuture<List<Driver>> getDriversSortedBySalaryAsc() {
+        return AsyncDao.supply(() -> DriverDao.getDriversSortedBySalaryAsc());
+    }
+
+    /**
+     * Runs {@link DriverDao#getDriversSortedBySalaryAscPage(String, int)} asynchronously.
+     */
+    public static CompletableFuture<PageDto<Driver>> getDriversSortedBySalaryAscPage(String pageToken, int pageSize) {
+        return AsyncDao.supply(() -> DriverDao.getDriversSortedBySalaryAscPage(pageToken, pageSize));
+    }
+
+    /**
+     * Runs {@link DriverDao#getDriversWithQualification(DriverQualification)} asynchronously.
+     */
+    public static CompletableFuture<List<Driver>> getDriversWithQualification(DriverQualification qualification) {
+        return AsyncDao.supply(() -> DriverDao.getDriversWithQualification(qualification));
+    }
+
+    /**
+     * Runs {@link DriverDao#getByIds(Collection)} asynchronously.
+     */
+    public static CompletableFuture<List<Driver>> getByIds(Collection<Long> ids) {
+        return AsyncDao.supply(() -> DriverDao.getByIds(ids));
+    }
+}
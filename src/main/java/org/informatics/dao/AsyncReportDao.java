@@ -0,0 +1,107 @@
+package org.informatics.dao;
+
+import org.informatics.dto.CompanyRevenueDto;
+import org.informatics.dto.DashboardSnapshotDto;
+import org.informatics.dto.DriverPaidTransportCountDto;
+import org.informatics.dto.DriverRevenueDto;
+import org.informatics.dto.DriverTransportCountDto;
+import org.informatics.dto.EntityCountsDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade over ReportDao: every method runs the ReportDao method of the same name
+ * through AsyncDao, on a virtual thread and within the connection pool's concurrency limit.
+ */
+public final class AsyncReportDao {
+
+    private AsyncReportDao() {
+    }
+
+    /**
+     * Runs {@link ReportDao#getTotalTransportsCount()} asynchronously.
+     */
+    public static CompletableFuture<Long> getTotalTransportsCount() {
+        return AsyncDao.supply(() -> ReportDao.getTotalTransportsCount());
+    }
+
+    /**
+     * Runs {@link ReportDao#getTotalTransportsRevenue()} asynchronously.
+     */
+    public static CompletableFuture<Double> getTotalTransportsRevenue() {
+        return AsyncDao.supply(() -> ReportDao.getTotalTransportsRevenue());
+    }
+
+    /**
+     * Runs {@link ReportDao#getTotalTransportsValue()} asynchronously.
+     */
+    public static CompletableFuture<Double> getTotalTransportsValue() {
+        return AsyncDao.supply(() -> ReportDao.getTotalTransportsValue());
+    }
+
+    /**
+     * Runs {@link ReportDao#getDashboardSnapshot()} asynchronously.
+     */
+    public static CompletableFuture<DashboardSnapshotDto> getDashboardSnapshot() {
+        return AsyncDao.supply(() -> ReportDao.getDashboardSnapshot());
+    }
+
+    /**
+     * Runs {@link ReportDao#getEntityCounts()} asynchronously.
+     */
+    public static CompletableFuture<EntityCountsDto> getEntityCounts() {
+        return AsyncDao.supply(() -> ReportDao.getEntityCounts());
+    }
+
+    /**
+     * Runs {@link ReportDao#getDriversWithTransportsCount()} asynchronously.
+     */
+    public static CompletableFuture<List<DriverTransportCountDto>> getDriversWithTransportsCount() {
+        return AsyncDao.supply(() -> ReportDao.getDriversWithTransportsCount());
+    }
+
+    /**
+     * Runs {@link ReportDao#getDriversWithPaidTransportsCount()} asynchronously.
+     */
+    public static CompletableFuture<List<DriverPaidTransportCountDto>> getDriversWithPaidTransportsCount() {
+        return AsyncDao.supply(() -> ReportDao.getDriversWithPaidTransportsCount());
+    }
+
+    /**
+     * Runs {@link ReportDao#getRevenueForPeriod(LocalDate, LocalDate)} asynchronously.
+     */
+    public static CompletableFuture<Double> getRevenueForPeriod(LocalDate from, LocalDate to) {
+        return AsyncDao.supply(() -> ReportDao.getRevenueForPeriod(from, to));
+    }
+
+    /**
+     * Runs {@link ReportDao#getCompanyRevenueForPeriod(long, LocalDate, LocalDate)} asynchronously.
+     */
+    public static CompletableFuture<Double> getCompanyRevenueForPeriod(long companyId, LocalDate from, LocalDate to) {
+        return AsyncDao.supply(() -> ReportDao.getCompanyRevenueForPeriod(companyId, from, to));
+    }
+
+    /**
+     * Runs {@link ReportDao#getRevenueByDriverForPeriod(LocalDate, LocalDate)} asynchronously.
+     */
+    public static CompletableFuture<List<DriverRevenueDto>> getRevenueByDriverForPeriod(LocalDate from, LocalDate to) {
+        return AsyncDao.supply(() -> ReportDao.getRevenueByDriverForPeriod(from, to));
+    }
+
+    /**
+     * Runs {@link ReportDao#getRevenueByCompanyForPeriod(LocalDate, LocalDate)} asynchronously.
+     */
+    public static CompletableFuture<List<CompanyRevenueDto>> getRevenueByCompanyForPeriod(LocalDate from,
+                                                                                          LocalDate to) {
+        return AsyncDao.supply(() -> ReportDao.getRevenueByCompanyForPeriod(from, to));
+    }
+
+    /**
+     * Runs {@link ReportDao#getRevenueByDriver()} asynchronously.
+     */
+    public static CompletableFuture<List<DriverRevenueDto>> getRevenueByDriver() {
+        return AsyncDao.supply(() -> ReportDao.getRevenueByDriver());
+    }
+}
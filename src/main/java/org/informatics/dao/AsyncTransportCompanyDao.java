@@ -0,0 +1,81 @@
+package org.informatics.dao;
+
+import org.informatics.dto.CompanyRevenueDto;
+import org.informatics.dto.PageDto;
+import org.informatics.entity.TransportCompany;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous facade over TransportCompanyDao: every method runs the TransportCompanyDao method of the same name
+ * through AsyncDao, on a virtual thread and within the connection pool's concurrency limit.
+ */
+public final class AsyncTransportCompanyDao {
+
+    private AsyncTransportCompanyDao() {
+    }
+
+    /**
+     * Runs {@link TransportCompanyDao#create(TransportCompany)} asynchronously.
+     */
+    public static CompletableFuture<Void> create(TransportCompany transportCompany) {
+        return AsyncDao.run(() -> TransportCompanyDao.create(transportCompany));
+    }
+
+    /**
+     * Runs {@link TransportCompanyDao#get(long)} asynchronously.
+     */
+    public static CompletableFuture<TransportCompany> get(long id) {
+        return AsyncDao.supply(() -> TransportCompanyDao.get(id));
+    }
+
+    /**
+     * Runs {@link TransportCompanyDao#getAll()} asynchronously.
+     */
+    public static CompletableFuture<List<TransportCompany>> getAll() {
+        return AsyncDao.supply(() -> TransportCompanyDao.getAll());
+    }
+
+    /**
+     * Runs {@link TransportCompanyDao#count()} asynchronously.
+     */
+    public static CompletableFuture<Long> count() {
+        return AsyncDao.supply(() -> TransportCompanyDao.count());
+    }
+
+    /**
+     * Runs {@link TransportCompanyDao#updateName(long, String)} asynchronously.
+     */
+    public static CompletableFuture<Void> updateName(long id, String newName) {
+        return AsyncDao.run(() -> TransportCompanyDao.updateName(id, newName));
+    }
+
+    /**
+     * Runs {@link TransportCompanyDao#delete(long)} asynchronously.
+     */
+    public static CompletableFuture<Void> delete(long id) {
+        return AsyncDao.run(() -> TransportCompanyDao.delete(id));
+    }
+
+    /**
+     * Runs {@link TransportCompanyDao#getAllSortedByName()} asynchronously.
+     */
+    public static CompletableFuture<List<TransportCompany>> getAllSortedByName() {
+        return AsyncDao.supply(() -> TransportCompanyDao.getAllSortedByName());
+    }
+
+    /**
+     * Runs {@link TransportCompanyDao#getAllSortedByNamePage(String, int)} asynchronously.
+     */
+    public static CompletableFuture<PageDto<TransportCompany>> getAllSortedByNamePage(String pageToken, int pageSize) {
+        return AsyncDao.supply(() -> TransportCompanyDao.getAllSortedByNamePage(pageToken, pageSize));
+    }
+
+    /**
+     * Runs {@link TransportCompanyDao#getAllSortedByRevenueDesc()} asynchronously.
+     */
+    public static CompletableFuture<List<CompanyRevenueDto>> getAllSortedByRevenueDesc() {
+        return AsyncDao.supply(() -> TransportCompanyDao.getAllSortedByRevenueDesc());
+    }
+}
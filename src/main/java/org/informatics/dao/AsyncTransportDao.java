@@ -0,0 +1,148 @@
+package org.informatics.dao;
+
+import org.informatics.dto.BulkInsertReportDto;
+import org.informatics.dto.PageDto;
+import org.informatics.dto.TransportJsonDto;
+import org.informatics.dto.TransportListingDto;
+import org.informatics.entity.Transport;
+import org.informatics.entity.enums.PaymentStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous facade over TransportDao: every method runs the TransportDao method of the same name
+ * through AsyncDao, on a virtual thread and within the connection pool's concurrency limit.
+ */
+public final class AsyncTransportDao {
+
+    private AsyncTransportDao() {
+    }
+
+    /**
+     * Runs {@link TransportDao#create(Transport)} asynchronously.
+     */
+    public static CompletableFuture<Void> create(Transport transport) {
+        return AsyncDao.run(() -> TransportDao.create(transport));
+    }
+
+    /**
+     * Runs {@link TransportDao#createAll(List, int)} asynchronously.
+     */
+    public static CompletableFuture<BulkInsertReportDto> createAll(List<? extends Transport> transports,
+                                                                   int chunkSize) {
+        return AsyncDao.supply(() -> TransportDao.createAll(transports, chunkSize));
+    }
+
+    /**
+     * Runs {@link TransportDao#get(long)} asynchronously.
+     */
+    public static CompletableFuture<Transport> get(long id) {
+        return AsyncDao.supply(() -> TransportDao.get(id));
+    }
+
+    /**
+     * Runs {@link TransportDao#getAll()} asynchronously.
+     */
+    public static CompletableFuture<List<Transport>> getAll() {
+        return AsyncDao.supply(() -> TransportDao.getAll());
+    }
+
+    /**
+     * Runs {@link TransportDao#count()} asynchronously.
+     */
+    public static CompletableFuture<Long> count() {
+        return AsyncDao.supply(() -> TransportDao.count());
+    }
+
+    /**
+     * Runs {@link TransportDao#countByType(Class)} asynchronously.
+     */
+    public static CompletableFuture<Long> countByType(Class<? extends Transport> type) {
+        return AsyncDao.supply(() -> TransportDao.countByType(type));
+    }
+
+    /**
+     * Runs {@link TransportDao#countByCompany(long)} asynchronously.
+     */
+    public static CompletableFuture<Long> countByCompany(long companyId) {
+        return AsyncDao.supply(() -> TransportDao.countByCompany(companyId));
+    }
+
+    /**
+     * Runs {@link TransportDao#countByCompanyAndType(long, Class)} asynchronously.
+     */
+    public static CompletableFuture<Long> countByCompanyAndType(long companyId, Class<? extends Transport> type) {
+        return AsyncDao.supply(() -> TransportDao.countByCompanyAndType(companyId, type));
+    }
+
+    /**
+     * Runs {@link TransportDao#streamAllAsJsonDto(Consumer)} asynchronously.
+     */
+    public static CompletableFuture<Long> streamAllAsJsonDto(Consumer<TransportJsonDto> consumer) {
+        return AsyncDao.supply(() -> TransportDao.streamAllAsJsonDto(consumer));
+    }
+
+    /**
+     * Runs {@link TransportDao#getAllSortedByDestination()} asynchronously.
+     */
+    public static CompletableFuture<List<Transport>> getAllSortedByDestination() {
+        return AsyncDao.supply(() -> TransportDao.getAllSortedByDestination());
+    }
+
+    /**
+     * Runs {@link TransportDao#getPage(String, int)} asynchronously.
+     */
+    public static CompletableFuture<PageDto<Transport>> getPage(String pageToken, int pageSize) {
+        return AsyncDao.supply(() -> TransportDao.getPage(pageToken, pageSize));
+    }
+
+    /**
+     * Runs {@link TransportDao#getPageSortedByDestination(String, int)} asynchronously.
+     */
+    public static CompletableFuture<PageDto<Transport>> getPageSortedByDestination(String pageToken, int pageSize) {
+        return AsyncDao.supply(() -> TransportDao.getPageSortedByDestination(pageToken, pageSize));
+    }
+
+    /**
+     * Runs {@link TransportDao#getListingSortedByDestination()} asynchronously.
+     */
+    public static CompletableFuture<List<TransportListingDto>> getListingSortedByDestination() {
+        return AsyncDao.supply(() -> TransportDao.getListingSortedByDestination());
+    }
+
+    /**
+     * Runs {@link TransportDao#setPaymentStatus(long, PaymentStatus)} asynchronously.
+     */
+    public static CompletableFuture<Void> setPaymentStatus(long transportId, PaymentStatus status) {
+        return AsyncDao.run(() -> TransportDao.setPaymentStatus(transportId, status));
+    }
+
+    /**
+     * Runs {@link TransportDao#setPaymentStatus(Collection, PaymentStatus)} asynchronously.
+     */
+    public static CompletableFuture<Integer> setPaymentStatus(Collection<Long> transportIds, PaymentStatus status) {
+        return AsyncDao.supply(() -> TransportDao.setPaymentStatus(transportIds, status));
+    }
+
+    /**
+     * Runs {@link TransportDao#setPaymentStatusForClient(long, LocalDate, PaymentStatus, PaymentStatus)}
+     * asynchronously.
+     */
+    public static CompletableFuture<Integer> setPaymentStatusForClient(long clientId, LocalDate before,
+                                                                       PaymentStatus currentStatus,
+                                                                       PaymentStatus newStatus) {
+        return AsyncDao.supply(() ->
+                TransportDao.setPaymentStatusForClient(clientId, before, currentStatus, newStatus));
+    }
+
+    /**
+     * Runs {@link TransportDao#delete(long)} asynchronously.
+     */
+    public static CompletableFuture<Void> delete(long id) {
+        return AsyncDao.run(() -> TransportDao.delete(id));
+    }
+}
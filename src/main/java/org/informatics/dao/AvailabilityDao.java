@@ -0,0 +1,153 @@
+package org.informatics.dao;
+
+import jakarta.persistence.LockModeType;
+import org.hibernate.Session;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.entity.Transport;
+import org.informatics.exception.InvalidTimeWindowException;
+import org.informatics.exception.SchedulingConflictException;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Data Access Object for the availability of drivers and vehicles.
+ *
+ * A transport with a time window books its driver and vehicle from departureAt (inclusive) to arrivalAt (exclusive);
+ * transports without a time window book nothing. The bookings of one driver or vehicle never overlap, so the only
+ * booking that can collide with a new window is the last one departing before the window ends. That booking is
+ * found with one descending step in the (driver_id, departureAt, arrivalAt) or (vehicle_id, departureAt, arrivalAt)
+ * index, in O(log n) however many transports the driver or vehicle has.
+ *
+ * TransportDao calls reserve() inside its transactions. It locks the driver and vehicle rows first, so
+ * transactions booking the same driver or vehicle check and insert one after the other (also across JVMs),
+ * and two overlapping bookings cannot both succeed.
+ */
+public class AvailabilityDao {
+
+    /**
+     * Returns whether the driver has no booking overlapping the given time window.
+     *
+     * @param driverId the driver ID
+     * @param from start of the window (inclusive)
+     * @param to end of the window (exclusive)
+     * @return true if the driver is free for the whole window
+     * @throws InvalidTimeWindowException if the window is empty
+     */
+    public static boolean isDriverAvailable(long driverId, LocalDateTime from, LocalDateTime to) {
+        return findOverlap(Resource.DRIVER, driverId, from, to) == null;
+    }
+
+    /**
+     * Returns whether the vehicle has no booking overlapping the given time window.
+     *
+     * @param vehicleId the vehicle ID
+     * @param from start of the window (inclusive)
+     * @param to end of the window (exclusive)
+     * @return true if the vehicle is free for the whole window
+     * @throws InvalidTimeWindowException if the window is empty
+     */
+    public static boolean isVehicleAvailable(long vehicleId, LocalDateTime from, LocalDateTime to) {
+        return findOverlap(Resource.VEHICLE, vehicleId, from, to) == null;
+    }
+
+    // ===================== PACKAGE-PRIVATE HOOKS (called inside DAO transactions) =====================
+
+    /**
+     * Books the drivers and vehicles of the given (not yet persisted) transports in the session's transaction.
+     * Locks the driver and vehicle rows in ID order, then checks every time window against the stored bookings
+     * and against the other transports of the list.
+     *
+     * @throws SchedulingConflictException if a driver or vehicle is already booked for an overlapping window
+     */
+    static void reserve(Session session, List<? extends Transport> transports) {
+        List<Transport> timed = new ArrayList<>();
+        for (Transport transport : transports) {
+            if (transport.getDepartureAt() != null) {
+                timed.add(transport);
+            }
+        }
+        if (timed.isEmpty()) {
+            return;
+        }
+
+        // Drivers before vehicles, each in ID order: concurrent bookings always lock in the same order
+        for (Resource resource : Resource.values()) {
+            session.createQuery("SELECT e.id FROM " + resource.entity + " e WHERE e.id IN :ids ORDER BY e.id",
+                            Long.class)
+                    .setParameter("ids", new TreeSet<>(timed.stream().map(resource.id).toList()))
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+        }
+
+        for (Resource resource : Resource.values()) {
+            Map<Long, TreeMap<LocalDateTime, LocalDateTime>> booked = new HashMap<>();
+            for (Transport transport : timed) {
+                long id = resource.id.apply(transport);
+                LocalDateTime from = transport.getDepartureAt();
+                LocalDateTime to = transport.getArrivalAt();
+
+                LocalDateTime[] stored = findOverlap(session, resource, id, from, to);
+                if (stored != null) {
+                    throw new SchedulingConflictException(resource.entity, id, stored[0], stored[1]);
+                }
+                TreeMap<LocalDateTime, LocalDateTime> inList = booked.computeIfAbsent(id, k -> new TreeMap<>());
+                Map.Entry<LocalDateTime, LocalDateTime> previous = inList.lowerEntry(to);
+                if (previous != null && previous.getValue().isAfter(from)) {
+                    throw new SchedulingConflictException(resource.entity, id, previous.getKey(), previous.getValue());
+                }
+                inList.put(from, to);
+            }
+        }
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private static LocalDateTime[] findOverlap(Resource resource, long id, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new InvalidTimeWindowException("A time window must end after it starts.");
+        }
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return findOverlap(session, resource, id, from, to);
+        }
+    }
+
+    /**
+     * Returns [departure, arrival] of the stored booking overlapping the window, or null if there is none.
+     */
+    private static LocalDateTime[] findOverlap(Session session, Resource resource, long id,
+                                               LocalDateTime from, LocalDateTime to) {
+        List<Object[]> last = session.createQuery(
+                        "SELECT t.departureAt, t.arrivalAt FROM Transport t " +
+                                "WHERE t." + resource.association + ".id = :id AND t.departureAt < :to " +
+                                "ORDER BY t.departureAt DESC",
+                        Object[].class)
+                .setParameter("id", id)
+                .setParameter("to", to)
+                .setMaxResults(1)
+                .getResultList();
+        if (last.isEmpty() || !((LocalDateTime) last.get(0)[1]).isAfter(from)) {
+            return null;
+        }
+        return new LocalDateTime[]{(LocalDateTime) last.get(0)[0], (LocalDateTime) last.get(0)[1]};
+    }
+
+    /**
+     * The two kinds of bookable resources, in lock order.
+     */
+    private enum Resource {
+        DRIVER("Driver", "driver", t -> t.getDriver().getId()),
+        VEHICLE("Vehicle", "vehicle", t -> t.getVehicle().getId());
+
+        private final String entity;
+        private final String association;
+        private final Function<Transport, Long> id;
+
+        Resource(String entity, String association, Function<Transport, Long> id) {
+            this.entity = entity;
+            this.association = association;
+            this.id = id;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.informatics.dao;
 
 import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dto.PageDto;
 import org.informatics.entity.Client;
 import org.informatics.exception.EntityNotFoundException;
 import org.hibernate.Session;
@@ -39,6 +40,40 @@ public class ClientDao {
         }
     }
 
+    /**
+     * Counts all clients without loading them.
+     *
+     * @return number of clients
+     */
+    public static long count() {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(c) FROM Client c", Long.class)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Retrieves one page of clients ordered by ID.
+     * Uses keyset pagination on the primary key, so every page costs the same regardless of its depth.
+     *
+     * @param pageToken token from the previous page, or null for the first page
+     * @param pageSize maximum number of clients on the page (1..1000)
+     * @return the page and the token of the next page
+     * @throws org.informatics.exception.InvalidPageTokenException if the token is malformed
+     */
+    public static PageDto<Client> getPage(String pageToken, int pageSize) {
+        PageTokens.validatePageSize(pageSize);
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            long afterId = pageToken == null ? 0 : PageTokens.parseLong(pageToken, PageTokens.decode(pageToken, 1)[0]);
+            List<Client> clients = session.createQuery(
+                            "SELECT c FROM Client c WHERE c.id > :afterId ORDER BY c.id", Client.class)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(pageSize + 1)
+                    .getResultList();
+            return PageTokens.toPage(clients, pageSize, c -> PageTokens.encode(c.getId()));
+        }
+    }
+
     /**
      * Deletes a client by ID.
      *
@@ -0,0 +1,148 @@
+package org.informatics.dao;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.entity.CompanyRule;
+import org.informatics.entity.enums.CompanyRuleType;
+import org.informatics.exception.EntityNotFoundException;
+import org.informatics.exception.MissingRequiredDataException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Access Object for CompanyRule entity.
+ *
+ * Rules are read on every transport validation, so getByCompany() serves them from an in-memory copy of the
+ * (small) company_rules table. The copy is loaded with one query on first use and dropped once a transaction
+ * that creates or deletes a rule through this DAO commits; rules changed outside this JVM are only seen
+ * after a restart.
+ */
+public class CompanyRuleDao {
+
+    /**
+     * The loaded rules, or null. Loading and dropping happen under the class lock, so a load that overlaps
+     * a commit is always dropped after it.
+     */
+    private static volatile LoadedRules loaded;
+
+    /**
+     * Creates and persists a new company rule.
+     *
+     * @param rule the rule to create
+     * @throws MissingRequiredDataException if the company, the type or the value its type uses is missing
+     */
+    public static void create(CompanyRule rule) {
+        validate(rule);
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.persist(rule);
+            invalidateOnCommit(session);
+            transaction.commit();
+        }
+    }
+
+    /**
+     * Retrieves the rules of a company.
+     *
+     * @param companyId the company ID
+     * @return the company's rules (empty if it has none); the list must not be modified
+     */
+    public static List<CompanyRule> getByCompany(long companyId) {
+        SessionFactory factory = SessionFactoryUtil.getSessionFactory();
+        LoadedRules rules = loaded;
+        if (rules == null || rules.factory != factory) {
+            synchronized (CompanyRuleDao.class) {
+                rules = loaded;
+                if (rules == null || rules.factory != factory) {
+                    rules = new LoadedRules(factory, load(factory));
+                    loaded = rules;
+                }
+            }
+        }
+        return rules.byCompany.getOrDefault(companyId, List.of());
+    }
+
+    /**
+     * Deletes a company rule by ID.
+     *
+     * @param id the rule ID
+     * @throws EntityNotFoundException if the rule doesn't exist
+     */
+    public static void delete(long id) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            CompanyRule rule = session.find(CompanyRule.class, id);
+            if (rule == null) {
+                throw new EntityNotFoundException("CompanyRule", id);
+            }
+            session.remove(rule);
+            invalidateOnCommit(session);
+            transaction.commit();
+        }
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    /**
+     * Checks that the rule has the value its type uses (see CompanyRule); the company_rules table enforces
+     * the same with a CHECK constraint.
+     */
+    private static void validate(CompanyRule rule) {
+        if (rule.getCompany() == null || rule.getType() == null) {
+            throw new MissingRequiredDataException("Company and type are required for CompanyRule.");
+        }
+        if (rule.getType() == CompanyRuleType.FORBIDDEN_DESTINATION) {
+            if (rule.getTextValue() == null || rule.getTextValue().isBlank()) {
+                throw new MissingRequiredDataException("A textValue is required for " + rule.getType() + " rules.");
+            }
+        } else if (rule.getNumberValue() == null) {
+            throw new MissingRequiredDataException("A numberValue is required for " + rule.getType() + " rules.");
+        }
+    }
+
+    private static Map<Long, List<CompanyRule>> load(SessionFactory factory) {
+        Map<Long, List<CompanyRule>> rules = new HashMap<>();
+        try (Session session = factory.openSession()) {
+            for (CompanyRule rule : session.createQuery(
+                    "SELECT r FROM CompanyRule r JOIN FETCH r.company ORDER BY r.id", CompanyRule.class).getResultList()) {
+                rules.computeIfAbsent(rule.getCompany().getId(), id -> new ArrayList<>()).add(rule);
+            }
+        }
+        rules.replaceAll((id, list) -> List.copyOf(list));
+        return rules;
+    }
+
+    private static void invalidateOnCommit(Session session) {
+        session.getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    synchronized (CompanyRuleDao.class) {
+                        loaded = null;
+                    }
+                }
+            }
+        });
+    }
+
+    private static final class LoadedRules {
+        private final SessionFactory factory;
+        private final Map<Long, List<CompanyRule>> byCompany;
+
+        private LoadedRules(SessionFactory factory, Map<Long, List<CompanyRule>> byCompany) {
+            this.factory = factory;
+            this.byCompany = byCompany;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.informatics.dao;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.informatics.configuration.SessionFactoryUtil;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory Fenwick tree (binary indexed tree) over the paid revenue per day,
+ * so the revenue of any date range is answered in O(log days) without touching the database.
+ *
+ * The tree is loaded from the daily_revenue_totals rollup on first use and then kept in sync by
+ * the transport writes: RevenueAggregateDao registers each transaction's per-day deltas, which are
+ * applied once the transaction commits. Amounts are kept in cents (long) so range sums are exact and
+ * do not depend on summation order.
+ *
+ * Enabled with analytics.revenue_index=true in the Hibernate properties; otherwise the period revenue is
+ * summed over the rollup rows by the database. The index only sees writes made through this JVM, so it
+ * suits a single application instance; RevenueAggregateDao.rebuild() reloads it.
+ */
+final class DailyRevenueIndex {
+
+    /**
+     * Property that enables the index (default false).
+     */
+    static final String ENABLED_SETTING = "analytics.revenue_index";
+
+    /**
+     * Days reserved after the last known day (or today) so new transports rarely fall outside the tree.
+     */
+    private static final int FUTURE_DAYS = 366;
+
+    /**
+     * Writers hold the read lock from just before commit until their deltas are applied; loading takes
+     * the write lock. A commit is therefore either fully visible to the load query or applied afterwards,
+     * never both.
+     */
+    private static final ReadWriteLock COMMIT_LOCK = new ReentrantReadWriteLock();
+
+    private static SessionFactory loadedFor;
+    private static LocalDate firstDay;
+    private static long[] tree;
+
+    private DailyRevenueIndex() {
+    }
+
+    /**
+     * Returns whether the index is enabled for the current SessionFactory.
+     */
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(String.valueOf(
+                SessionFactoryUtil.getSessionFactory().getProperties().get(ENABLED_SETTING)));
+    }
+
+    /**
+     * Returns the paid revenue in cents of all transports dated between from and to (both inclusive).
+     */
+    static long paidRevenueCents(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        while (true) {
+            ensureLoaded();
+            synchronized (DailyRevenueIndex.class) {
+                // A concurrent commit outside the covered range may have discarded the tree again
+                if (tree != null) {
+                    return prefixSum(indexOf(to)) - prefixSum(indexOf(from.minusDays(1)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the given per-day paid revenue deltas (in cents) if and when the session's transaction commits.
+     */
+    static void applyOnCommit(Session session, Map<LocalDate, Long> centsByDay) {
+        if (centsByDay.isEmpty() || !isEnabled()) {
+            return;
+        }
+        session.getTransaction().registerSynchronization(new Synchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCompletion() {
+                COMMIT_LOCK.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == Status.STATUS_COMMITTED) {
+                        apply(centsByDay);
+                    }
+                } finally {
+                    if (locked) {
+                        COMMIT_LOCK.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Discards the tree; the next query reloads it from the rollup table.
+     */
+    static void invalidate() {
+        synchronized (DailyRevenueIndex.class) {
+            tree = null;
+        }
+    }
+
+    /**
+     * Converts an amount in BGN to whole cents.
+     */
+    static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private static void ensureLoaded() {
+        SessionFactory factory = SessionFactoryUtil.getSessionFactory();
+        synchronized (DailyRevenueIndex.class) {
+            if (tree != null && loadedFor == factory) {
+                return;
+            }
+        }
+        RevenueAggregateDao.ensureInitialized();
+        COMMIT_LOCK.writeLock().lock();
+        try {
+            synchronized (DailyRevenueIndex.class) {
+                if (tree != null && loadedFor == factory) {
+                    return;
+                }
+            }
+            load(factory);
+        } finally {
+            COMMIT_LOCK.writeLock().unlock();
+        }
+    }
+
+    private static void load(SessionFactory factory) {
+        List<Object[]> days;
+        try (Session session = factory.openSession()) {
+            days = session.createQuery(
+                            "SELECT d.revenueDate, SUM(d.paidRevenue) FROM DailyRevenueTotal d " +
+                                    "GROUP BY d.revenueDate ORDER BY d.revenueDate",
+                            Object[].class)
+                    .getResultList();
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate first = days.isEmpty() ? today : min((LocalDate) days.get(0)[0], today);
+        LocalDate last = days.isEmpty() ? today : max((LocalDate) days.get(days.size() - 1)[0], today);
+        long[] loaded = new long[(int) ChronoUnit.DAYS.between(first, last) + FUTURE_DAYS + 2];
+
+        // Linear-time construction: place each value, then push it to its parent
+        for (Object[] day : days) {
+            loaded[(int) ChronoUnit.DAYS.between(first, (LocalDate) day[0]) + 1] += toCents(((Number) day[1]).doubleValue());
+        }
+        for (int i = 1; i < loaded.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < loaded.length) {
+                loaded[parent] += loaded[i];
+            }
+        }
+
+        synchronized (DailyRevenueIndex.class) {
+            firstDay = first;
+            tree = loaded;
+            loadedFor = factory;
+        }
+    }
+
+    private static void apply(Map<LocalDate, Long> centsByDay) {
+        synchronized (DailyRevenueIndex.class) {
+            if (tree == null) {
+                return;
+            }
+            for (Map.Entry<LocalDate, Long> delta : centsByDay.entrySet()) {
+                long offset = ChronoUnit.DAYS.between(firstDay, delta.getKey());
+                if (offset < 0 || offset >= tree.length - 1) {
+                    // Outside the tree: reload from the (already committed) rollup on the next query
+                    tree = null;
+                    return;
+                }
+            }
+            for (Map.Entry<LocalDate, Long> delta : centsByDay.entrySet()) {
+                for (int i = (int) ChronoUnit.DAYS.between(firstDay, delta.getKey()) + 1; i < tree.length; i += i & -i) {
+                    tree[i] += delta.getValue();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tree position of a day, clamped to the covered range (0 = before the first day).
+     * Clamping keeps prefix sums correct, since no revenue exists outside the covered range.
+     */
+    private static int indexOf(LocalDate day) {
+        long offset = ChronoUnit.DAYS.between(firstDay, day) + 1;
+        return (int) Math.max(0, Math.min(offset, tree.length - 1));
+    }
+
+    private static long prefixSum(int index) {
+        long sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
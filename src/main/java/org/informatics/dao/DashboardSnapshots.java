@@ -0,0 +1,201 @@
+package org.informatics.dao;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dto.CompanyRevenueDto;
+import org.informatics.dto.DashboardSnapshotDto;
+import org.informatics.dto.DriverRevenueDto;
+import org.informatics.entity.enums.AggregateScope;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Short-lived cache of the dashboard snapshot behind ReportDao.getDashboardSnapshot().
+ *
+ * A snapshot is computed by one caller while every concurrent caller waits for that same computation, and it is
+ * then served until analytics.dashboard_ttl_millis have passed, so any number of dashboard viewers cost one
+ * computation per TTL. The headline metrics are one aggregate query over the revenue aggregates (run by the
+ * computing caller); the driver and company rankings run at the same time on a small fixed pool.
+ * A failed computation is not cached. RevenueAggregateDao.rebuild() discards the snapshot.
+ */
+final class DashboardSnapshots {
+
+    /**
+     * Property with the time a snapshot is served after it was computed (default 5000; 0 disables caching,
+     * concurrent callers still share one computation).
+     */
+    static final String TTL_SETTING = "analytics.dashboard_ttl_millis";
+
+    /**
+     * Property with the length of the period covered by the period revenue and the rankings (default 30):
+     * the period ends today and starts that many days earlier.
+     */
+    static final String PERIOD_SETTING = "analytics.dashboard_period_days";
+
+    private static final long DEFAULT_TTL_MILLIS = 5000;
+    private static final long DEFAULT_PERIOD_DAYS = 30;
+
+    /**
+     * Totals from the global aggregate row and the period revenue from the daily rollup, in one statement.
+     */
+    private static final String HEADLINE_QUERY =
+            "SELECT g.transportCount, g.paidCount, g.totalValue, g.paidRevenue, " +
+                    "(SELECT COALESCE(SUM(d.paidRevenue), 0) FROM DailyRevenueTotal d " +
+                    "WHERE d.revenueDate BETWEEN :from AND :to) " +
+                    "FROM RevenueTotal g WHERE g.scope = :scope AND g.ownerId = 0";
+
+    /**
+     * Runs the rankings. Computations are single-flight, so two threads suffice; the queue only bounds bursts
+     * across SessionFactories, and a full queue runs the ranking on the caller.
+     */
+    private static final ExecutorService RANKINGS = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), daemonThreads(), new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private static volatile Entry current;
+
+    private DashboardSnapshots() {
+    }
+
+    /**
+     * Returns the cached snapshot, computing it if it is missing or expired.
+     */
+    static DashboardSnapshotDto get() {
+        SessionFactory factory = SessionFactoryUtil.getSessionFactory();
+        Entry entry = current;
+        boolean computing = false;
+        if (!isFresh(entry, factory)) {
+            synchronized (DashboardSnapshots.class) {
+                entry = current;
+                if (!isFresh(entry, factory)) {
+                    entry = new Entry(factory, ttlNanos(factory));
+                    current = entry;
+                    computing = true;
+                }
+            }
+        }
+        if (computing) {
+            compute(entry);
+        }
+        return join(entry.snapshot);
+    }
+
+    /**
+     * Discards the cached snapshot; a computation in progress still completes for the callers waiting on it.
+     */
+    static void invalidate() {
+        current = null;
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private static boolean isFresh(Entry entry, SessionFactory factory) {
+        return entry != null && entry.factory == factory
+                && (!entry.snapshot.isDone() || System.nanoTime() - entry.computedAt < entry.ttlNanos);
+    }
+
+    /**
+     * Completes the entry. On any failure, errors included, the entry is dropped so that the next caller
+     * computes again, and the waiting callers get the failure.
+     */
+    private static void compute(Entry entry) {
+        try {
+            DashboardSnapshotDto snapshot = load(entry.factory);
+            entry.computedAt = System.nanoTime();
+            entry.snapshot.complete(snapshot);
+        } catch (Throwable e) {
+            synchronized (DashboardSnapshots.class) {
+                if (current == entry) {
+                    current = null;
+                }
+            }
+            entry.snapshot.completeExceptionally(e);
+        }
+    }
+
+    private static DashboardSnapshotDto load(SessionFactory factory) {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(setting(factory, PERIOD_SETTING, DEFAULT_PERIOD_DAYS));
+        RevenueAggregateDao.ensureInitialized();
+
+        CompletableFuture<List<DriverRevenueDto>> drivers =
+                CompletableFuture.supplyAsync(() -> ReportDao.getRevenueByDriverForPeriod(from, to), RANKINGS);
+        CompletableFuture<List<CompanyRevenueDto>> companies =
+                CompletableFuture.supplyAsync(() -> ReportDao.getRevenueByCompanyForPeriod(from, to), RANKINGS);
+
+        List<Object[]> rows;
+        try (Session session = factory.openSession()) {
+            rows = session.createQuery(HEADLINE_QUERY, Object[].class)
+                    .setParameter("scope", AggregateScope.GLOBAL)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .getResultList();
+        }
+        Object[] totals = rows.isEmpty() ? new Object[]{0L, 0L, 0.0, 0.0, 0.0} : rows.get(0);
+
+        return new DashboardSnapshotDto(Instant.now(),
+                (Long) totals[0], (Long) totals[1], (Double) totals[2], (Double) totals[3],
+                from, to, ((Number) totals[4]).doubleValue(),
+                join(drivers), join(companies));
+    }
+
+    /**
+     * Waits for the future and throws its failure as it was thrown, not wrapped in a CompletionException.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static long ttlNanos(SessionFactory factory) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, setting(factory, TTL_SETTING, DEFAULT_TTL_MILLIS)));
+    }
+
+    private static long setting(SessionFactory factory, String name, long defaultValue) {
+        Object value = factory.getProperties().get(name);
+        return value == null ? defaultValue : Long.parseLong(value.toString().trim());
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-rankings-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One computation: pending until the snapshot future completes, fresh for ttlNanos after computedAt.
+     */
+    private static final class Entry {
+        final SessionFactory factory;
+        final long ttlNanos;
+        final CompletableFuture<DashboardSnapshotDto> snapshot = new CompletableFuture<>();
+        volatile long computedAt;
+
+        Entry(SessionFactory factory, long ttlNanos) {
+            this.factory = factory;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+}
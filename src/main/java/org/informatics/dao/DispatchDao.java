@@ -0,0 +1,211 @@
+package org.informatics.dao;
+
+import org.hibernate.Session;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.DriverQualification;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Data Access Object that assigns drivers and vehicles to transport requests.
+ *
+ * A request is a PassengerTransport or CargoTransport with company and transport date set. It gets a vehicle
+ * of its company that fits it (a Bus with enough seats; a Tanker with enough liters for liquid cargo, otherwise
+ * a Truck with enough maximum load) and a driver of its company with the required qualifications
+ * (PASSENGERS_OVER_12 for more than 12 passengers, SPECIAL_CARGO for a flammable Tanker). Both must be free
+ * that day, i.e. have no transport of the company on the transport date.
+ *
+ * Drivers and vehicles are matched in memory against FleetIndex; the database is only asked for the drivers
+ * and vehicles that are busy on the day and for the entities finally assigned. The smallest fitting free
+ * vehicle is chosen, and the driver with the fewest qualifications that suffices.
+ * Nothing is booked until the transport is created, so concurrent dispatches may pick the same driver.
+ */
+public class DispatchDao {
+
+    private static final int PASSENGERS_OVER_12 = 1 << DriverQualification.PASSENGERS_OVER_12.ordinal();
+    private static final int SPECIAL_CARGO = 1 << DriverQualification.SPECIAL_CARGO.ordinal();
+
+    /**
+     * Assigns a free, qualified driver and a fitting vehicle to the request.
+     * A driver and vehicle already set on the request are replaced.
+     *
+     * @param request the transport to assign (not persisted)
+     * @return true if a driver and vehicle were assigned, false if the company has none free that fit
+     */
+    public static boolean assign(Transport request) {
+        return assignAll(List.of(request)).isEmpty();
+    }
+
+    /**
+     * Assigns drivers and vehicles to many requests at once, typically a whole day's requests.
+     * The busy drivers and vehicles are loaded once per company and day, and a driver or vehicle is used by
+     * at most one request of that day. Requests needing a qualified driver go first, then larger ones,
+     * so they are not left without a driver or vehicle by smaller requests.
+     *
+     * @param requests the transports to assign (not persisted)
+     * @return the requests that could not be assigned, in their original order
+     */
+    public static <T extends Transport> List<T> assignAll(List<T> requests) {
+        Map<Long, Map<LocalDate, List<T>>> byCompanyAndDay = new HashMap<>();
+        Set<T> unassigned = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (T request : requests) {
+            if (request.getCompany() == null || request.getTransportDate() == null) {
+                unassigned.add(request);
+            } else {
+                byCompanyAndDay.computeIfAbsent(request.getCompany().getId(), c -> new HashMap<>())
+                        .computeIfAbsent(request.getTransportDate(), d -> new ArrayList<>())
+                        .add(request);
+            }
+        }
+
+        Map<T, long[]> matches = new IdentityHashMap<>();
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            for (Map.Entry<Long, Map<LocalDate, List<T>>> company : byCompanyAndDay.entrySet()) {
+                FleetIndex.Fleet fleet = FleetIndex.get(company.getKey());
+                for (Map.Entry<LocalDate, List<T>> day : company.getValue().entrySet()) {
+                    Set<Long> busyDrivers = new HashSet<>();
+                    Set<Long> busyVehicles = new HashSet<>();
+                    loadBusy(session, company.getKey(), day.getKey(), busyDrivers, busyVehicles);
+
+                    List<T> ordered = new ArrayList<>(day.getValue());
+                    ordered.sort(Comparator.comparingInt((Transport t) -> Integer.bitCount(requiredMask(t)))
+                            .thenComparingDouble(DispatchDao::requiredCapacity)
+                            .reversed());
+                    for (T request : ordered) {
+                        long[] match = match(fleet, request, busyDrivers, busyVehicles);
+                        if (match == null) {
+                            unassigned.add(request);
+                        } else {
+                            busyDrivers.add(match[0]);
+                            busyVehicles.add(match[1]);
+                            matches.put(request, match);
+                        }
+                    }
+                }
+            }
+
+            if (!matches.isEmpty()) {
+                setAssigned(session, matches);
+            }
+        }
+
+        List<T> result = new ArrayList<>();
+        for (T request : requests) {
+            if (unassigned.contains(request)) {
+                result.add(request);
+            }
+        }
+        return result;
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private static void loadBusy(Session session, long companyId, LocalDate date,
+                                 Set<Long> busyDrivers, Set<Long> busyVehicles) {
+        for (Object[] row : session.createQuery(
+                        "SELECT t.driver.id, t.vehicle.id FROM Transport t " +
+                                "WHERE t.company.id = :company AND t.transportDate = :date",
+                        Object[].class)
+                .setParameter("company", companyId)
+                .setParameter("date", date)
+                .getResultList()) {
+            busyDrivers.add((Long) row[0]);
+            busyVehicles.add((Long) row[1]);
+        }
+    }
+
+    /**
+     * Returns {driverId, vehicleId} for the request, or null if no free driver and vehicle fit it.
+     */
+    private static long[] match(FleetIndex.Fleet fleet, Transport request, Set<Long> busyDrivers, Set<Long> busyVehicles) {
+        FleetIndex.Shelf shelf = shelfFor(fleet, request);
+        if (shelf == null) {
+            return null;
+        }
+        int requiredMask = requiredMask(request);
+
+        // The driver only depends on whether the vehicle is flammable: look each case up once
+        long[] drivers = {Long.MIN_VALUE, Long.MIN_VALUE};
+        for (int position = shelf.firstFitting(requiredCapacity(request)); position < shelf.size(); position++) {
+            if (busyVehicles.contains(shelf.id(position))) {
+                continue;
+            }
+            int flammable = shelf.isFlammable(position) ? 1 : 0;
+            if (drivers[flammable] == Long.MIN_VALUE) {
+                drivers[flammable] = fleet.findDriver(requiredMask | (flammable * SPECIAL_CARGO), busyDrivers);
+            }
+            if (drivers[flammable] >= 0) {
+                return new long[]{drivers[flammable], shelf.id(position)};
+            }
+            if (drivers[0] == -1 && drivers[1] == -1) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static FleetIndex.Shelf shelfFor(FleetIndex.Fleet fleet, Transport request) {
+        if (request instanceof PassengerTransport) {
+            return fleet.buses;
+        }
+        if (request instanceof CargoTransport cargo) {
+            return cargo.getCargoVolumeLiters() != null ? fleet.tankers : fleet.trucks;
+        }
+        return null;
+    }
+
+    /**
+     * Qualifications the driver needs whatever vehicle is chosen.
+     */
+    private static int requiredMask(Transport request) {
+        return request instanceof PassengerTransport pt && pt.getPassengerCount() > 12 ? PASSENGERS_OVER_12 : 0;
+    }
+
+    /**
+     * Seats, kilograms or liters the vehicle must provide.
+     */
+    private static double requiredCapacity(Transport request) {
+        if (request instanceof PassengerTransport pt) {
+            return pt.getPassengerCount();
+        }
+        if (request instanceof CargoTransport cargo) {
+            return cargo.getCargoVolumeLiters() != null ? cargo.getCargoVolumeLiters() : cargo.getCargoWeightKg();
+        }
+        return 0;
+    }
+
+    /**
+     * Loads the matched drivers (with qualifications) and vehicles in one query each and sets them on the requests.
+     */
+    private static <T extends Transport> void setAssigned(Session session, Map<T, long[]> matches) {
+        Set<Long> driverIds = new HashSet<>();
+        Set<Long> vehicleIds = new HashSet<>();
+        for (long[] match : matches.values()) {
+            driverIds.add(match[0]);
+            vehicleIds.add(match[1]);
+        }
+
+        Map<Long, Driver> drivers = new HashMap<>();
+        for (Driver driver : session.createQuery(
+                        "SELECT d FROM Driver d JOIN FETCH d.company LEFT JOIN FETCH d.qualifications " +
+                                "WHERE d.id IN :ids", Driver.class)
+                .setParameter("ids", driverIds)
+                .getResultList()) {
+            drivers.put(driver.getId(), driver);
+        }
+        Map<Long, Vehicle> vehicles = new HashMap<>();
+        for (Vehicle vehicle : session.createQuery(
+                        "SELECT v FROM Vehicle v JOIN FETCH v.company WHERE v.id IN :ids", Vehicle.class)
+                .setParameter("ids", vehicleIds)
+                .getResultList()) {
+            vehicles.put(vehicle.getId(), vehicle);
+        }
+
+        for (Map.Entry<T, long[]> match : matches.entrySet()) {
+            match.getKey().setDriver(drivers.get(match.getValue()[0]));
+            match.getKey().setVehicle(vehicles.get(match.getValue()[1]));
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package org.informatics.dao;
 
 import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dto.PageDto;
 import org.informatics.entity.Driver;
 import org.informatics.entity.enums.DriverQualification;
 import org.hibernate.Session;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,6 +15,12 @@ import java.util.List;
  */
 public class DriverDao {
 
+    /**
+     * Loads drivers together with their company and qualifications in one statement.
+     */
+    private static final String FETCH_DRIVERS =
+            "SELECT d FROM Driver d JOIN FETCH d.company LEFT JOIN FETCH d.qualifications ";
+
     /**
      * Retrieves all drivers from the database.
      *
@@ -20,11 +28,37 @@ public class DriverDao {
      */
     public static List<Driver> getAllDrivers() {
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            return session.createQuery("SELECT d FROM Driver d", Driver.class)
+            return session.createQuery(FETCH_DRIVERS, Driver.class)
                     .getResultList();
         }
     }
 
+    /**
+     * Counts all drivers without loading them.
+     *
+     * @return number of drivers
+     */
+    public static long count() {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(d) FROM Driver d", Long.class)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Counts the drivers of one company.
+     *
+     * @param companyId the company ID
+     * @return number of drivers of the company
+     */
+    public static long countByCompany(long companyId) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(d) FROM Driver d WHERE d.company.id = :companyId", Long.class)
+                    .setParameter("companyId", companyId)
+                    .getSingleResult();
+        }
+    }
+
     /**
      * Retrieves all drivers sorted by salary in ascending order.
      *
@@ -32,23 +66,82 @@ public class DriverDao {
      */
     public static List<Driver> getDriversSortedBySalaryAsc() {
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            return session.createQuery("SELECT d FROM Driver d ORDER BY d.salary ASC", Driver.class)
+            return session.createQuery(FETCH_DRIVERS + "ORDER BY d.salary ASC", Driver.class)
                     .getResultList();
         }
     }
 
+    /**
+     * Retrieves one page of drivers sorted by salary in ascending order (ties broken by ID).
+     * Uses keyset pagination on (salary, id), backed by the matching index on the employees table.
+     * The "salary >= :salary" bound is redundant but gives the planner an index range to start from.
+     *
+     * @param pageToken token from the previous page, or null for the first page
+     * @param pageSize maximum number of drivers on the page (1..1000)
+     * @return the page and the token of the next page
+     * @throws org.informatics.exception.InvalidPageTokenException if the token is malformed
+     */
+    public static PageDto<Driver> getDriversSortedBySalaryAscPage(String pageToken, int pageSize) {
+        PageTokens.validatePageSize(pageSize);
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            List<Object[]> keys;
+            if (pageToken == null) {
+                keys = session.createQuery("SELECT d.salary, d.id FROM Driver d ORDER BY d.salary, d.id", Object[].class)
+                        .setMaxResults(pageSize + 1)
+                        .getResultList();
+            } else {
+                String[] key = PageTokens.decode(pageToken, 2);
+                keys = session.createQuery(
+                                "SELECT d.salary, d.id FROM Driver d " +
+                                        "WHERE d.salary >= :salary AND (d.salary > :salary OR d.id > :id) " +
+                                        "ORDER BY d.salary, d.id",
+                                Object[].class)
+                        .setParameter("salary", PageTokens.parseDouble(pageToken, key[0]))
+                        .setParameter("id", PageTokens.parseLong(pageToken, key[1]))
+                        .setMaxResults(pageSize + 1)
+                        .getResultList();
+            }
+
+            PageDto<Object[]> keyPage = PageTokens.toPage(keys, pageSize, k -> PageTokens.encode(k[0], k[1]));
+            List<Long> ids = keyPage.getItems().stream().map(k -> (Long) k[1]).toList();
+            List<Driver> drivers = ids.isEmpty() ? List.of() : session.createQuery(
+                            FETCH_DRIVERS + "WHERE d.id IN :ids ORDER BY d.salary, d.id", Driver.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+            return new PageDto<>(drivers, keyPage.getNextPageToken());
+        }
+    }
+
     /**
      * Retrieves all drivers who possess a specific qualification.
+     * The result is kept in the query cache and invalidated whenever drivers change.
      *
      * @param qualification the qualification to filter by
      * @return list of drivers with the specified qualification
      */
     public static List<Driver> getDriversWithQualification(DriverQualification qualification) {
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            return session.createQuery(
-                            "SELECT DISTINCT d FROM Driver d JOIN d.qualifications q WHERE q = :q",
-                            Driver.class)
+            return session.createQuery(FETCH_DRIVERS + "WHERE :q MEMBER OF d.qualifications", Driver.class)
                     .setParameter("q", qualification)
+                    .setCacheable(true)
+                    .getResultList();
+        }
+    }
+
+    /**
+     * Retrieves the drivers with the given IDs (with company and qualifications) in one statement.
+     * IDs without a driver are missing from the result.
+     *
+     * @param ids the driver IDs
+     * @return list of the drivers found, in no particular order
+     */
+    public static List<Driver> getByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery(FETCH_DRIVERS + "WHERE d.id IN :ids", Driver.class)
+                    .setParameter("ids", ids)
                     .getResultList();
         }
     }
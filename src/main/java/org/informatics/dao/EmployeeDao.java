@@ -1,7 +1,9 @@
 package org.informatics.dao;
 
 import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.entity.Driver;
 import org.informatics.entity.Employee;
+import org.informatics.entity.enums.AggregateScope;
 import org.informatics.exception.EntityNotFoundException;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
@@ -20,9 +22,14 @@ public class EmployeeDao {
      * @param employee the employee to create
      */
     public static void create(Employee employee) {
+        RevenueAggregateDao.ensureInitialized();
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
             Transaction transaction = session.beginTransaction();
             session.persist(employee);
+            if (employee instanceof Driver) {
+                RevenueAggregateDao.recordOwnerCreated(session, AggregateScope.DRIVER, employee.getId());
+                FleetIndex.invalidateOnCommit(session, employee.getCompany().getId());
+            }
             transaction.commit();
         }
     }
@@ -39,6 +46,32 @@ public class EmployeeDao {
         }
     }
 
+    /**
+     * Counts all employees (including drivers) without loading them.
+     *
+     * @return number of employees
+     */
+    public static long count() {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(e) FROM Employee e", Long.class)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Counts the employees (including drivers) of one company.
+     *
+     * @param companyId the company ID
+     * @return number of employees of the company
+     */
+    public static long countByCompany(long companyId) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(e) FROM Employee e WHERE e.company.id = :companyId", Long.class)
+                    .setParameter("companyId", companyId)
+                    .getSingleResult();
+        }
+    }
+
     /**
      * Deletes an employee by ID.
      *
@@ -53,6 +86,10 @@ public class EmployeeDao {
                 throw new EntityNotFoundException("Employee", id);
             }
             session.remove(employee);
+            if (employee instanceof Driver) {
+                RevenueAggregateDao.recordOwnerDeleted(session, AggregateScope.DRIVER, id);
+                FleetIndex.invalidateOnCommit(session, employee.getCompany().getId());
+            }
             transaction.commit();
         }
     }
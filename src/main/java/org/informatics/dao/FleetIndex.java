@@ -0,0 +1,216 @@
+package org.informatics.dao;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.entity.Bus;
+import org.informatics.entity.Tanker;
+import org.informatics.entity.Truck;
+import org.informatics.entity.Vehicle;
+import org.informatics.entity.enums.DriverQualification;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the drivers and vehicles of each company, so DispatchDao can match transport requests
+ * without querying the fleet.
+ *
+ * Per company, drivers are grouped by the bitmask of their qualifications (bit i = DriverQualification with
+ * ordinal i), and the vehicles of each type are sorted by capacity (seats, maximum load or liters), so the
+ * smallest vehicle that fits is found by binary search. A company is loaded on first use and dropped once a
+ * transaction that creates or deletes one of its drivers or vehicles through the DAOs commits.
+ *
+ * The index only sees writes made through this JVM.
+ */
+final class FleetIndex {
+
+    private static final Map<Long, Fleet> FLEETS = new ConcurrentHashMap<>();
+
+    private static SessionFactory loadedFor;
+
+    private FleetIndex() {
+    }
+
+    /**
+     * Returns the fleet of a company, loading it if it is not indexed yet.
+     */
+    static Fleet get(long companyId) {
+        SessionFactory factory = SessionFactoryUtil.getSessionFactory();
+        synchronized (FleetIndex.class) {
+            if (loadedFor != factory) {
+                FLEETS.clear();
+                loadedFor = factory;
+            }
+        }
+        // A drop for the same company waits until the load has finished, so a stale load is always dropped
+        return FLEETS.computeIfAbsent(companyId, id -> load(factory, id));
+    }
+
+    /**
+     * Drops the company's fleet if and when the session's transaction commits.
+     */
+    static void invalidateOnCommit(Session session, long companyId) {
+        session.getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    FLEETS.remove(companyId);
+                }
+            }
+        });
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private static Fleet load(SessionFactory factory, long companyId) {
+        try (Session session = factory.openSession()) {
+            Map<Long, Integer> masks = new HashMap<>();
+            for (Object[] row : session.createQuery(
+                            "SELECT d.id, q FROM Driver d LEFT JOIN d.qualifications q WHERE d.company.id = :company",
+                            Object[].class)
+                    .setParameter("company", companyId)
+                    .getResultList()) {
+                int bit = row[1] == null ? 0 : 1 << ((DriverQualification) row[1]).ordinal();
+                masks.merge((Long) row[0], bit, (a, b) -> a | b);
+            }
+
+            List<Vehicle> vehicles = session.createQuery(
+                            "SELECT v FROM Vehicle v WHERE v.company.id = :company", Vehicle.class)
+                    .setParameter("company", companyId)
+                    .getResultList();
+            return new Fleet(masks, vehicles);
+        }
+    }
+
+    /**
+     * Drivers and vehicles of one company. Immutable once built.
+     */
+    static final class Fleet {
+        /**
+         * Distinct qualification masks, fewest qualifications first.
+         */
+        private final int[] masks;
+        private final long[][] driversByMask;
+        final Shelf buses;
+        final Shelf trucks;
+        final Shelf tankers;
+
+        private Fleet(Map<Long, Integer> driverMasks, List<Vehicle> vehicles) {
+            Map<Integer, List<Long>> groups = new TreeMap<>(
+                    Comparator.comparingInt(Integer::bitCount).thenComparingInt(Integer::intValue));
+            for (Map.Entry<Long, Integer> driver : driverMasks.entrySet()) {
+                groups.computeIfAbsent(driver.getValue(), m -> new ArrayList<>()).add(driver.getKey());
+            }
+            masks = new int[groups.size()];
+            driversByMask = new long[groups.size()][];
+            int group = 0;
+            for (Map.Entry<Integer, List<Long>> entry : groups.entrySet()) {
+                masks[group] = entry.getKey();
+                driversByMask[group] = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+                group++;
+            }
+
+            List<Vehicle> buses = new ArrayList<>();
+            List<Vehicle> trucks = new ArrayList<>();
+            List<Vehicle> tankers = new ArrayList<>();
+            for (Vehicle vehicle : vehicles) {
+                if (vehicle instanceof Bus) {
+                    buses.add(vehicle);
+                } else if (vehicle instanceof Truck) {
+                    trucks.add(vehicle);
+                } else if (vehicle instanceof Tanker) {
+                    tankers.add(vehicle);
+                }
+            }
+            this.buses = new Shelf(buses);
+            this.trucks = new Shelf(trucks);
+            this.tankers = new Shelf(tankers);
+        }
+
+        /**
+         * Returns a driver having at least the required qualifications who is not in busy, or -1.
+         * Drivers with the fewest qualifications come first, keeping the qualified ones for the requests
+         * that need them.
+         */
+        long findDriver(int requiredMask, Set<Long> busy) {
+            for (int group = 0; group < masks.length; group++) {
+                if ((masks[group] & requiredMask) != requiredMask) {
+                    continue;
+                }
+                for (long driverId : driversByMask[group]) {
+                    if (!busy.contains(driverId)) {
+                        return driverId;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Vehicles of one type sorted by capacity (ties by ID).
+     */
+    static final class Shelf {
+        private final double[] capacities;
+        private final long[] ids;
+        private final boolean[] flammable;
+
+        private Shelf(List<Vehicle> vehicles) {
+            vehicles.sort(Comparator.comparingDouble(Shelf::capacityOf).thenComparingLong(Vehicle::getId));
+            capacities = new double[vehicles.size()];
+            ids = new long[vehicles.size()];
+            flammable = new boolean[vehicles.size()];
+            for (int i = 0; i < vehicles.size(); i++) {
+                capacities[i] = capacityOf(vehicles.get(i));
+                ids[i] = vehicles.get(i).getId();
+                flammable[i] = vehicles.get(i) instanceof Tanker tanker && tanker.isFlammable();
+            }
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * Returns the position of the smallest vehicle with at least the given capacity (size() if none).
+         */
+        int firstFitting(double capacity) {
+            int low = 0;
+            int high = capacities.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (capacities[middle] < capacity) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        long id(int position) {
+            return ids[position];
+        }
+
+        boolean isFlammable(int position) {
+            return flammable[position];
+        }
+
+        private static double capacityOf(Vehicle vehicle) {
+            if (vehicle instanceof Bus bus) {
+                return bus.getSeats();
+            }
+            if (vehicle instanceof Truck truck) {
+                return truck.getMaxLoadKg();
+            }
+            return ((Tanker) vehicle).getMaxLiters();
+        }
+    }
+}
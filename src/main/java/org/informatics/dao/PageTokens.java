@@ -0,0 +1,94 @@
+package org.informatics.dao;
+
+import org.informatics.dto.PageDto;
+import org.informatics.exception.InvalidPageTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers shared by the keyset-paginated DAO methods.
+ * A page token holds the sort key of the last row of the previous page, so the next page can be read
+ * with an indexed range condition (e.g. {@code destination > :d OR (destination = :d AND id > :id)})
+ * instead of an OFFSET that gets slower with every page.
+ */
+final class PageTokens {
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private PageTokens() {
+    }
+
+    /**
+     * Encodes the sort key of a row as an opaque, URL-safe token.
+     */
+    static String encode(Object... keys) {
+        StringBuilder token = new StringBuilder();
+        for (Object key : keys) {
+            if (!token.isEmpty()) {
+                token.append('.');
+            }
+            token.append(Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(String.valueOf(key).getBytes(StandardCharsets.UTF_8)));
+        }
+        return token.toString();
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode(Object...)} into its key parts.
+     *
+     * @throws InvalidPageTokenException if the token is malformed or has the wrong number of parts
+     */
+    static String[] decode(String token, int expectedParts) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != expectedParts) {
+            throw new InvalidPageTokenException(token);
+        }
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = new String(Base64.getUrlDecoder().decode(parts[i]), StandardCharsets.UTF_8);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageTokenException(token);
+        }
+        return parts;
+    }
+
+    static long parseLong(String token, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidPageTokenException(token);
+        }
+    }
+
+    static double parseDouble(String token, String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidPageTokenException(token);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if pageSize is outside 1..MAX_PAGE_SIZE
+     */
+    static void validatePageSize(int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of pageSize + 1.
+     * The extra row only signals that another page exists and is not returned.
+     */
+    static <T> PageDto<T> toPage(List<T> rows, int pageSize, Function<T, String> tokenOf) {
+        if (rows.size() <= pageSize) {
+            return new PageDto<>(rows, null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, pageSize));
+        return new PageDto<>(items, tokenOf.apply(items.get(pageSize - 1)));
+    }
+}
@@ -1,60 +1,124 @@
 package org.informatics.dao;
 
 import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dto.CompanyRevenueDto;
+import org.informatics.dto.DashboardSnapshotDto;
 import org.informatics.dto.DriverPaidTransportCountDto;
 import org.informatics.dto.DriverRevenueDto;
 import org.informatics.dto.DriverTransportCountDto;
+import org.informatics.dto.EntityCountsDto;
+import org.informatics.entity.enums.AggregateScope;
 import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.jfr.ReportEvent;
 import org.hibernate.Session;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for generating various business reports.
  * Provides statistical queries about transports, revenue, and driver performance.
+ * Totals and per-driver figures are read from the aggregates maintained by RevenueAggregateDao.
  */
 public class ReportDao {
 
+    /**
+     * Every driver joined to its per-driver aggregate row (bind :scope to AggregateScope.DRIVER).
+     */
+    private static final String DRIVER_AGGREGATES =
+            "FROM Driver d LEFT JOIN RevenueTotal r ON r.scope = :scope AND r.ownerId = d.id ";
+
+    /**
+     * One scalar subquery per count of EntityCountsDto, in constructor order.
+     */
+    private static final String ENTITY_COUNTS =
+            "SELECT (SELECT COUNT(c) FROM TransportCompany c), " +
+                    "(SELECT COUNT(c) FROM Client c), " +
+                    "(SELECT COUNT(e) FROM Employee e), " +
+                    "(SELECT COUNT(d) FROM Driver d), " +
+                    "(SELECT COUNT(v) FROM Vehicle v), " +
+                    "(SELECT COUNT(v) FROM Vehicle v WHERE TYPE(v) = Bus), " +
+                    "(SELECT COUNT(v) FROM Vehicle v WHERE TYPE(v) = Truck), " +
+                    "(SELECT COUNT(v) FROM Vehicle v WHERE TYPE(v) = Tanker), " +
+                    "(SELECT COUNT(t) FROM Transport t), " +
+                    "(SELECT COUNT(t) FROM Transport t WHERE TYPE(t) = PassengerTransport), " +
+                    "(SELECT COUNT(t) FROM Transport t WHERE TYPE(t) = CargoTransport)";
+
+    /**
+     * Join condition restricting t to PAID transports between :from and :to (bind :paid to PaymentStatus.PAID).
+     */
+    private static final String PERIOD_PAID_TRANSPORTS =
+            "AND t.paymentStatus = :paid AND t.transportDate BETWEEN :from AND :to ";
+
     /**
      * Returns the total number of all transports in the system.
+     * Read from the global revenue aggregate.
      *
      * @return total count of transports
      */
     public static long getTotalTransportsCount() {
-        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            return session.createQuery("SELECT COUNT(t) FROM Transport t", Long.class)
-                    .getSingleResult();
-        }
+        ReportEvent event = ReportEvent.start("getTotalTransportsCount");
+        return event.finishCount(RevenueAggregateDao.getGlobalTotals().getTransportCount());
     }
 
     /**
      * Calculates total revenue from PAID transports only.
      * Unpaid transports are not included in the calculation.
+     * Read from the global revenue aggregate.
      *
      * @return total revenue in BGN from paid transports
      */
     public static double getTotalTransportsRevenue() {
-        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            Double result = session.createQuery(
-                            "SELECT SUM(t.price) FROM Transport t WHERE t.paymentStatus = :paid",
-                            Double.class)
-                    .setParameter("paid", PaymentStatus.PAID)
-                    .getSingleResult();
-            return result == null ? 0.0 : result;
-        }
+        ReportEvent event = ReportEvent.start("getTotalTransportsRevenue");
+        return event.finish(RevenueAggregateDao.getGlobalTotals().getPaidRevenue());
     }
 
     /**
      * Calculates total value of ALL transports (both PAID and UNPAID).
+     * Read from the global revenue aggregate.
      *
      * @return total value in BGN of all transports
      */
     public static double getTotalTransportsValue() {
+        ReportEvent event = ReportEvent.start("getTotalTransportsValue");
+        return event.finish(RevenueAggregateDao.getGlobalTotals().getTotalValue());
+    }
+
+    /**
+     * Returns the dashboard's headline metrics (transport count, paid count, total value, total revenue and
+     * the revenue of the last analytics.dashboard_period_days days) together with the driver and company
+     * revenue rankings of that period.
+     * The headline metrics come from one aggregate query and the rankings are fetched concurrently.
+     * The snapshot is cached for analytics.dashboard_ttl_millis and concurrent callers share one computation,
+     * so the figures may be that much behind the latest writes.
+     *
+     * @return the current dashboard snapshot
+     */
+    public static DashboardSnapshotDto getDashboardSnapshot() {
+        ReportEvent event = ReportEvent.start("getDashboardSnapshot");
+        DashboardSnapshotDto snapshot = DashboardSnapshots.get();
+        return event.finish(snapshot, snapshot.getDriverRanking().size() + snapshot.getCompanyRanking().size());
+    }
+
+    /**
+     * Counts the companies, clients, employees, drivers, vehicles (by type) and transports (by type)
+     * in one statement, without loading any entity.
+     *
+     * @return the current entity counts
+     */
+    public static EntityCountsDto getEntityCounts() {
+        ReportEvent event = ReportEvent.start("getEntityCounts");
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            Double result = session.createQuery("SELECT SUM(t.price) FROM Transport t", Double.class)
-                    .getSingleResult();
-            return result == null ? 0.0 : result;
+            Object[] row = session.createQuery(ENTITY_COUNTS, Object[].class).getSingleResult();
+            long[] counts = new long[row.length];
+            for (int i = 0; i < row.length; i++) {
+                counts[i] = ((Number) row[i]).longValue();
+            }
+            event.finishCount(1);
+            return new EntityCountsDto(counts[0], counts[1], counts[2], counts[3], counts[4], counts[5],
+                    counts[6], counts[7], counts[8], counts[9], counts[10]);
         }
     }
 
@@ -65,14 +129,17 @@ public class ReportDao {
      * @return list of DTOs containing driver info and transport count
      */
     public static List<DriverTransportCountDto> getDriversWithTransportsCount() {
+        ReportEvent event = ReportEvent.start("getDriversWithTransportsCount");
+        RevenueAggregateDao.ensureInitialized();
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            return session.createQuery(
-                            "SELECT new org.informatics.dto.DriverTransportCountDto(d.id, d.firstName, d.lastName, COUNT(t)) " +
-                                    "FROM Driver d LEFT JOIN Transport t ON t.driver.id = d.id " +
-                                    "GROUP BY d.id, d.firstName, d.lastName " +
-                                    "ORDER BY COUNT(t) DESC",
+            return event.finish(session.createQuery(
+                            "SELECT new org.informatics.dto.DriverTransportCountDto(d.id, d.firstName, d.lastName, " +
+                                    "COALESCE(r.transportCount, 0)) " +
+                                    DRIVER_AGGREGATES +
+                                    "ORDER BY COALESCE(r.transportCount, 0) DESC",
                             DriverTransportCountDto.class)
-                    .getResultList();
+                    .setParameter("scope", AggregateScope.DRIVER)
+                    .getResultList());
         }
     }
 
@@ -83,39 +150,129 @@ public class ReportDao {
      * @return list of DTOs containing driver info and paid transport count
      */
     public static List<DriverPaidTransportCountDto> getDriversWithPaidTransportsCount() {
+        ReportEvent event = ReportEvent.start("getDriversWithPaidTransportsCount");
+        RevenueAggregateDao.ensureInitialized();
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            return session.createQuery(
+            return event.finish(session.createQuery(
                             "SELECT new org.informatics.dto.DriverPaidTransportCountDto(d.id, d.firstName, d.lastName, " +
-                                    "COALESCE(SUM(CASE WHEN t.paymentStatus = :paid THEN 1 ELSE 0 END), 0)) " +
-                                    "FROM Driver d LEFT JOIN Transport t ON t.driver.id = d.id " +
-                                    "GROUP BY d.id, d.firstName, d.lastName " +
-                                    "ORDER BY COALESCE(SUM(CASE WHEN t.paymentStatus = :paid THEN 1 ELSE 0 END), 0) DESC",
+                                    "COALESCE(r.paidCount, 0)) " +
+                                    DRIVER_AGGREGATES +
+                                    "ORDER BY COALESCE(r.paidCount, 0) DESC",
                             DriverPaidTransportCountDto.class)
-                    .setParameter("paid", PaymentStatus.PAID)
-                    .getResultList();
+                    .setParameter("scope", AggregateScope.DRIVER)
+                    .getResultList());
         }
     }
 
     /**
      * Calculates revenue for a specific time period (PAID transports only).
      * Both start and end dates are inclusive.
+     * Summed over the daily revenue rollup, or answered in O(log days) from an in-memory index over it
+     * if analytics.revenue_index is enabled. The index holds whole cents (each day's total when it is loaded,
+     * each price when a transport changes), so its result is rounded to cents; the database sum is returned
+     * as summed. The two differ only for prices with more than two decimals or by floating-point noise.
      *
      * @param from start date (inclusive)
      * @param to end date (inclusive)
      * @return total revenue in BGN for the specified period
      */
     public static double getRevenueForPeriod(LocalDate from, LocalDate to) {
+        ReportEvent event = ReportEvent.start("getRevenueForPeriod");
+        return event.finish(RevenueAggregateDao.getPaidRevenueForPeriod(from, to));
+    }
+
+    /**
+     * Calculates revenue of one company for a specific time period (PAID transports only).
+     * Both start and end dates are inclusive.
+     *
+     * @param companyId the company ID
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @return the company's revenue in BGN for the specified period
+     */
+    public static double getCompanyRevenueForPeriod(long companyId, LocalDate from, LocalDate to) {
+        ReportEvent event = ReportEvent.start("getCompanyRevenueForPeriod", companyId);
+        return event.finish(RevenueAggregateDao.getCompanyPaidRevenueForPeriod(companyId, from, to));
+    }
+
+    /**
+     * Returns revenue generated by each driver in a specific time period (PAID transports only).
+     * Both start and end dates are inclusive. Results are sorted by revenue in descending order, ties by driver ID;
+     * drivers without revenue in the period are included with 0.
+     * Computed from the in-memory columnar snapshot if analytics.columnar_snapshot is enabled,
+     * otherwise with a GROUP BY over the transports table.
+     *
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @return list of DTOs containing driver info and their revenue in the period
+     */
+    public static List<DriverRevenueDto> getRevenueByDriverForPeriod(LocalDate from, LocalDate to) {
+        ReportEvent event = ReportEvent.start("getRevenueByDriverForPeriod");
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            if (!TransportColumnStore.isEnabled()) {
+                return event.finish(session.createQuery(
+                                "SELECT new org.informatics.dto.DriverRevenueDto(d.id, d.firstName, d.lastName, " +
+                                        "COALESCE(SUM(t.price), 0)) " +
+                                        "FROM Driver d LEFT JOIN Transport t ON t.driver.id = d.id " +
+                                        PERIOD_PAID_TRANSPORTS +
+                                        "GROUP BY d.id, d.firstName, d.lastName " +
+                                        "ORDER BY COALESCE(SUM(t.price), 0) DESC, d.id",
+                                DriverRevenueDto.class)
+                        .setParameter("paid", PaymentStatus.PAID)
+                        .setParameter("from", from)
+                        .setParameter("to", to)
+                        .getResultList());
+            }
+
+            Map<Long, Long> cents = TransportColumnStore.paidRevenueCentsByDriver(from, to);
+            return event.finish(session.createQuery("SELECT d.id, d.firstName, d.lastName FROM Driver d", Object[].class)
+                    .getResultList()
+                    .stream()
+                    .map(row -> new DriverRevenueDto((Long) row[0], (String) row[1], (String) row[2],
+                            cents.getOrDefault((Long) row[0], 0L) / 100.0))
+                    .sorted(Comparator.comparingDouble(DriverRevenueDto::getRevenue).reversed()
+                            .thenComparingLong(DriverRevenueDto::getDriverId))
+                    .toList());
+        }
+    }
+
+    /**
+     * Returns revenue generated by each company in a specific time period (PAID transports only).
+     * Both start and end dates are inclusive. Results are sorted by revenue in descending order, ties by company ID;
+     * companies without revenue in the period are included with 0.
+     * Computed from the in-memory columnar snapshot if analytics.columnar_snapshot is enabled,
+     * otherwise with a GROUP BY over the transports table.
+     *
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @return list of DTOs containing company info and their revenue in the period
+     */
+    public static List<CompanyRevenueDto> getRevenueByCompanyForPeriod(LocalDate from, LocalDate to) {
+        ReportEvent event = ReportEvent.start("getRevenueByCompanyForPeriod");
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            Double result = session.createQuery(
-                            "SELECT SUM(t.price) FROM Transport t " +
-                                    "WHERE t.transportDate BETWEEN :from AND :to " +
-                                    "AND t.paymentStatus = :paid",
-                            Double.class)
-                    .setParameter("from", from)
-                    .setParameter("to", to)
-                    .setParameter("paid", PaymentStatus.PAID)
-                    .getSingleResult();
-            return result == null ? 0.0 : result;
+            if (!TransportColumnStore.isEnabled()) {
+                return event.finish(session.createQuery(
+                                "SELECT new org.informatics.dto.CompanyRevenueDto(c.id, c.name, COALESCE(SUM(t.price), 0)) " +
+                                        "FROM TransportCompany c LEFT JOIN Transport t ON t.company.id = c.id " +
+                                        PERIOD_PAID_TRANSPORTS +
+                                        "GROUP BY c.id, c.name " +
+                                        "ORDER BY COALESCE(SUM(t.price), 0) DESC, c.id",
+                                CompanyRevenueDto.class)
+                        .setParameter("paid", PaymentStatus.PAID)
+                        .setParameter("from", from)
+                        .setParameter("to", to)
+                        .getResultList());
+            }
+
+            Map<Long, Long> cents = TransportColumnStore.paidRevenueCentsByCompany(from, to);
+            return event.finish(session.createQuery("SELECT c.id, c.name FROM TransportCompany c", Object[].class)
+                    .getResultList()
+                    .stream()
+                    .map(row -> new CompanyRevenueDto((Long) row[0], (String) row[1],
+                            cents.getOrDefault((Long) row[0], 0L) / 100.0))
+                    .sorted(Comparator.comparingDouble(CompanyRevenueDto::getRevenue).reversed()
+                            .thenComparingLong(CompanyRevenueDto::getCompanyId))
+                    .toList());
         }
     }
 
@@ -126,16 +283,17 @@ public class ReportDao {
      * @return list of DTOs containing driver info and their total revenue
      */
     public static List<DriverRevenueDto> getRevenueByDriver() {
+        ReportEvent event = ReportEvent.start("getRevenueByDriver");
+        RevenueAggregateDao.ensureInitialized();
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            return session.createQuery(
+            return event.finish(session.createQuery(
                             "SELECT new org.informatics.dto.DriverRevenueDto(d.id, d.firstName, d.lastName, " +
-                                    "COALESCE(SUM(CASE WHEN t.paymentStatus = :paid THEN t.price ELSE 0 END), 0)) " +
-                                    "FROM Driver d LEFT JOIN Transport t ON t.driver.id = d.id " +
-                                    "GROUP BY d.id, d.firstName, d.lastName " +
-                                    "ORDER BY COALESCE(SUM(CASE WHEN t.paymentStatus = :paid THEN t.price ELSE 0 END), 0) DESC",
+                                    "COALESCE(r.paidRevenue, 0)) " +
+                                    DRIVER_AGGREGATES +
+                                    "ORDER BY COALESCE(r.paidRevenue, 0) DESC",
                             DriverRevenueDto.class)
-                    .setParameter("paid", PaymentStatus.PAID)
-                    .getResultList();
+                    .setParameter("scope", AggregateScope.DRIVER)
+                    .getResultList());
         }
     }
 }
@@ -0,0 +1,473 @@
+package org.informatics.dao;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dto.AggregateDriftDto;
+import org.informatics.entity.DailyRevenueTotal;
+import org.informatics.entity.RevenueTotal;
+import org.informatics.entity.Transport;
+import org.informatics.entity.enums.AggregateScope;
+import org.informatics.entity.enums.PaymentStatus;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Data Access Object for the incrementally maintained revenue aggregates.
+ *
+ * TransportDao calls the record* methods inside its own transactions, so the per-company, per-driver,
+ * per-company-per-day and global totals always commit or roll back together with the transport rows.
+ * Report queries can then read one row (or one row per driver/company/day) instead of summing the whole
+ * transports table. Aggregate rows are updated with atomic increments and locked in key order
+ * (RevenueTotal rows first, then DailyRevenueTotal rows) to avoid deadlocks.
+ * The in-memory DailyRevenueIndex and TransportColumnStore (when enabled) are fed from the same hooks.
+ */
+public class RevenueAggregateDao {
+
+    /**
+     * Key of the row holding the system-wide totals.
+     */
+    static final RevenueTotal.Key GLOBAL_KEY = new RevenueTotal.Key(AggregateScope.GLOBAL, 0);
+
+    /**
+     * SET clause shared by the RevenueTotal and DailyRevenueTotal increments.
+     */
+    private static final String INCREMENTS =
+            "r.transportCount = r.transportCount + :count, " +
+                    "r.paidCount = r.paidCount + :paidCount, " +
+                    "r.totalValue = r.totalValue + :value, " +
+                    "r.paidRevenue = r.paidRevenue + :revenue ";
+
+    /**
+     * Select list computing count, paid count, value and paid revenue of the transports joined as t.
+     */
+    private static final String TOTALS = "COUNT(t), " +
+            "COALESCE(SUM(CASE WHEN t.paymentStatus = :paid THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(t.price), 0), " +
+            "COALESCE(SUM(CASE WHEN t.paymentStatus = :paid THEN t.price ELSE 0 END), 0)";
+
+    /**
+     * Amounts that differ by less than this are treated as equal when verifying (floating-point rounding).
+     */
+    static final double AMOUNT_TOLERANCE = 0.005;
+
+    /**
+     * SessionFactory whose database is known to contain the aggregates.
+     */
+    private static volatile SessionFactory initializedFor;
+
+    /**
+     * Returns the system-wide totals.
+     *
+     * @return the global aggregate row
+     */
+    public static RevenueTotal getGlobalTotals() {
+        ensureInitialized();
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            RevenueTotal total = session.find(RevenueTotal.class, GLOBAL_KEY);
+            return total != null ? total : emptyTotal(GLOBAL_KEY);
+        }
+    }
+
+    /**
+     * Recomputes all aggregates from the transports table and compares them to the stored rows.
+     *
+     * @return one entry per aggregate whose stored value differs from the recomputed one (empty if consistent)
+     */
+    public static List<AggregateDriftDto> verify() {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return findDrift(session);
+        }
+    }
+
+    /**
+     * Returns the paid revenue of all transports dated in the given period, summed over the daily rollup rows
+     * of the period, unrounded. If analytics.revenue_index is enabled it is answered in O(log days) from the
+     * in-memory DailyRevenueIndex instead, which keeps whole cents (day totals and price changes rounded with
+     * DailyRevenueIndex.toCents), so the result is in cents.
+     *
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @return paid revenue in BGN
+     */
+    public static double getPaidRevenueForPeriod(LocalDate from, LocalDate to) {
+        if (DailyRevenueIndex.isEnabled()) {
+            return DailyRevenueIndex.paidRevenueCents(from, to) / 100.0;
+        }
+        ensureInitialized();
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            Double result = session.createQuery(
+                            "SELECT SUM(d.paidRevenue) FROM DailyRevenueTotal d WHERE d.revenueDate BETWEEN :from AND :to",
+                            Double.class)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .getSingleResult();
+            return result == null ? 0.0 : result;
+        }
+    }
+
+    /**
+     * Returns the paid revenue of one company's transports dated in the given period,
+     * summed over the company's daily rollup rows (a primary key range).
+     *
+     * @param companyId the company ID
+     * @param from start date (inclusive)
+     * @param to end date (inclusive)
+     * @return paid revenue in BGN
+     */
+    public static double getCompanyPaidRevenueForPeriod(long companyId, LocalDate from, LocalDate to) {
+        ensureInitialized();
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            Double result = session.createQuery(
+                            "SELECT SUM(d.paidRevenue) FROM DailyRevenueTotal d " +
+                                    "WHERE d.companyId = :companyId AND d.revenueDate BETWEEN :from AND :to",
+                            Double.class)
+                    .setParameter("companyId", companyId)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .getSingleResult();
+            return result == null ? 0.0 : result;
+        }
+    }
+
+    /**
+     * Replaces all stored aggregates with values recomputed from the transports table.
+     * Intended as a maintenance operation, e.g. after data was changed outside the DAOs.
+     *
+     * @return the drift that existed before the rebuild (empty if the aggregates were already consistent)
+     */
+    public static List<AggregateDriftDto> rebuild() {
+        List<AggregateDriftDto> drift;
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            Map<RevenueTotal.Key, RevenueTotal> actual = recompute(session);
+            Map<DailyRevenueTotal.Key, DailyRevenueTotal> actualDaily = recomputeDaily(session);
+            drift = compare(loadStored(session), actual);
+            drift.addAll(compareDaily(loadStoredDaily(session), actualDaily));
+
+            session.createMutationQuery("DELETE FROM RevenueTotal").executeUpdate();
+            session.createMutationQuery("DELETE FROM DailyRevenueTotal").executeUpdate();
+            session.clear();
+            for (RevenueTotal total : actual.values()) {
+                session.persist(total);
+            }
+            for (DailyRevenueTotal total : actualDaily.values()) {
+                session.persist(total);
+            }
+            transaction.commit();
+        }
+        DailyRevenueIndex.invalidate();
+        TransportColumnStore.invalidate();
+        DashboardSnapshots.invalidate();
+        return drift;
+    }
+
+    // ===================== PACKAGE-PRIVATE HOOKS (called inside DAO transactions) =====================
+
+    /**
+     * Makes sure the aggregate table has been populated for the current database.
+     * On first use against a database that has transports but no aggregates (e.g. created before the
+     * aggregates or the daily rollup existed), the aggregates are rebuilt once.
+     */
+    static void ensureInitialized() {
+        SessionFactory factory = SessionFactoryUtil.getSessionFactory();
+        if (initializedFor == factory) {
+            return;
+        }
+        synchronized (RevenueAggregateDao.class) {
+            if (initializedFor != factory) {
+                boolean present;
+                try (Session session = factory.openSession()) {
+                    RevenueTotal global = session.find(RevenueTotal.class, GLOBAL_KEY);
+                    present = global != null && (global.getTransportCount() == 0
+                            || !session.createQuery("SELECT 1 FROM DailyRevenueTotal d", Integer.class)
+                            .setMaxResults(1)
+                            .getResultList()
+                            .isEmpty());
+                }
+                if (!present) {
+                    rebuild();
+                }
+                initializedFor = factory;
+            }
+        }
+    }
+
+    /**
+     * Creates the empty aggregate row of a new company or driver.
+     */
+    static void recordOwnerCreated(Session session, AggregateScope scope, long ownerId) {
+        session.persist(emptyTotal(new RevenueTotal.Key(scope, ownerId)));
+    }
+
+    /**
+     * Removes the aggregate row of a deleted company or driver.
+     */
+    static void recordOwnerDeleted(Session session, AggregateScope scope, long ownerId) {
+        session.createMutationQuery("DELETE FROM RevenueTotal r WHERE r.scope = :scope AND r.ownerId = :ownerId")
+                .setParameter("scope", scope)
+                .setParameter("ownerId", ownerId)
+                .executeUpdate();
+    }
+
+    /**
+     * Adds newly persisted transports to the aggregates.
+     */
+    static void recordCreated(Session session, Collection<? extends Transport> transports) {
+        Deltas deltas = new Deltas();
+        for (Transport transport : transports) {
+            deltas.add(transport, 1, transport.getPaymentStatus() == PaymentStatus.PAID ? 1 : 0);
+        }
+        applyDeltas(session, deltas);
+        TransportColumnStore.upsertOnCommit(session, transports);
+    }
+
+    /**
+     * Removes a transport that is being deleted from the aggregates.
+     */
+    static void recordDeleted(Session session, Transport transport) {
+        Deltas deltas = new Deltas();
+        deltas.add(transport, -1, transport.getPaymentStatus() == PaymentStatus.PAID ? -1 : 0);
+        applyDeltas(session, deltas);
+        TransportColumnStore.deleteOnCommit(session, transport.getId());
+    }
+
+    /**
+     * Moves the prices of transports changed by a bulk payment status update between the paid and unpaid totals.
+     *
+     * @param changed the changed transports as rows of [company ID, driver ID, transport date, price, ID]
+     * @param newStatus the status that was set (all rows previously had the other status)
+     */
+    static void recordPaymentStatusChanged(Session session, List<Object[]> changed, PaymentStatus newStatus) {
+        int paidDelta = newStatus == PaymentStatus.PAID ? 1 : -1;
+        Deltas deltas = new Deltas();
+        for (Object[] row : changed) {
+            deltas.add(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), (LocalDate) row[2],
+                    ((Number) row[3]).doubleValue(), 0, paidDelta);
+        }
+        applyDeltas(session, deltas);
+        TransportColumnStore.setPaymentStatusOnCommit(session,
+                changed.stream().map(row -> ((Number) row[4]).longValue()).toList(), newStatus);
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    /**
+     * Applies deltas as atomic increments, in key order. Missing rows are inserted.
+     * The daily paid revenue changes are handed to the in-memory index, which applies them on commit.
+     */
+    private static void applyDeltas(Session session, Deltas deltas) {
+        for (RevenueTotal delta : deltas.totals.values()) {
+            int updated = session.createMutationQuery(
+                            "UPDATE RevenueTotal r SET " + INCREMENTS +
+                                    "WHERE r.scope = :scope AND r.ownerId = :ownerId")
+                    .setParameter("count", delta.getTransportCount())
+                    .setParameter("paidCount", delta.getPaidCount())
+                    .setParameter("value", delta.getTotalValue())
+                    .setParameter("revenue", delta.getPaidRevenue())
+                    .setParameter("scope", delta.getScope())
+                    .setParameter("ownerId", delta.getOwnerId())
+                    .executeUpdate();
+            if (updated == 0) {
+                session.persist(delta);
+            }
+        }
+        for (DailyRevenueTotal delta : deltas.daily.values()) {
+            int updated = session.createMutationQuery(
+                            "UPDATE DailyRevenueTotal r SET " + INCREMENTS +
+                                    "WHERE r.companyId = :companyId AND r.revenueDate = :revenueDate")
+                    .setParameter("count", delta.getTransportCount())
+                    .setParameter("paidCount", delta.getPaidCount())
+                    .setParameter("value", delta.getTotalValue())
+                    .setParameter("revenue", delta.getPaidRevenue())
+                    .setParameter("companyId", delta.getCompanyId())
+                    .setParameter("revenueDate", delta.getRevenueDate())
+                    .executeUpdate();
+            if (updated == 0) {
+                session.persist(delta);
+            }
+        }
+        DailyRevenueIndex.applyOnCommit(session, deltas.paidCentsByDay);
+    }
+
+    /**
+     * Computes the aggregates from scratch: global, every company and every driver (zero rows included).
+     */
+    private static Map<RevenueTotal.Key, RevenueTotal> recompute(Session session) {
+        Map<RevenueTotal.Key, RevenueTotal> result = new TreeMap<>();
+
+        Object[] global = session.createQuery("SELECT 0, " + TOTALS + " FROM Transport t", Object[].class)
+                .setParameter("paid", PaymentStatus.PAID)
+                .getSingleResult();
+        addRow(result, AggregateScope.GLOBAL, global);
+
+        session.createQuery("SELECT c.id, " + TOTALS + " FROM TransportCompany c " +
+                                "LEFT JOIN Transport t ON t.company.id = c.id GROUP BY c.id",
+                        Object[].class)
+                .setParameter("paid", PaymentStatus.PAID)
+                .getResultList()
+                .forEach(row -> addRow(result, AggregateScope.COMPANY, row));
+
+        session.createQuery("SELECT d.id, " + TOTALS + " FROM Driver d " +
+                                "LEFT JOIN Transport t ON t.driver.id = d.id GROUP BY d.id",
+                        Object[].class)
+                .setParameter("paid", PaymentStatus.PAID)
+                .getResultList()
+                .forEach(row -> addRow(result, AggregateScope.DRIVER, row));
+
+        return result;
+    }
+
+    /**
+     * Computes the per-company daily totals from scratch (only days that have transports).
+     */
+    private static Map<DailyRevenueTotal.Key, DailyRevenueTotal> recomputeDaily(Session session) {
+        Map<DailyRevenueTotal.Key, DailyRevenueTotal> result = new TreeMap<>();
+        session.createQuery("SELECT t.company.id, t.transportDate, " + TOTALS + " FROM Transport t " +
+                                "GROUP BY t.company.id, t.transportDate",
+                        Object[].class)
+                .setParameter("paid", PaymentStatus.PAID)
+                .getResultList()
+                .forEach(row -> {
+                    DailyRevenueTotal total = new DailyRevenueTotal(((Number) row[0]).longValue(), (LocalDate) row[1],
+                            ((Number) row[2]).longValue(), ((Number) row[3]).longValue(),
+                            ((Number) row[4]).doubleValue(), ((Number) row[5]).doubleValue());
+                    result.put(new DailyRevenueTotal.Key(total.getCompanyId(), total.getRevenueDate()), total);
+                });
+        return result;
+    }
+
+    private static void addRow(Map<RevenueTotal.Key, RevenueTotal> result, AggregateScope scope, Object[] row) {
+        RevenueTotal total = new RevenueTotal(scope, ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue(), ((Number) row[2]).longValue(),
+                ((Number) row[3]).doubleValue(), ((Number) row[4]).doubleValue());
+        result.put(new RevenueTotal.Key(scope, total.getOwnerId()), total);
+    }
+
+    private static Map<RevenueTotal.Key, RevenueTotal> loadStored(Session session) {
+        Map<RevenueTotal.Key, RevenueTotal> result = new TreeMap<>();
+        session.createQuery("SELECT r FROM RevenueTotal r", RevenueTotal.class)
+                .getResultList()
+                .forEach(r -> result.put(new RevenueTotal.Key(r.getScope(), r.getOwnerId()), r));
+        return result;
+    }
+
+    private static Map<DailyRevenueTotal.Key, DailyRevenueTotal> loadStoredDaily(Session session) {
+        Map<DailyRevenueTotal.Key, DailyRevenueTotal> result = new TreeMap<>();
+        session.createQuery("SELECT r FROM DailyRevenueTotal r", DailyRevenueTotal.class)
+                .getResultList()
+                .forEach(r -> result.put(new DailyRevenueTotal.Key(r.getCompanyId(), r.getRevenueDate()), r));
+        return result;
+    }
+
+    private static List<AggregateDriftDto> findDrift(Session session) {
+        List<AggregateDriftDto> drift = compare(loadStored(session), recompute(session));
+        drift.addAll(compareDaily(loadStoredDaily(session), recomputeDaily(session)));
+        return drift;
+    }
+
+    /**
+     * Lists every key whose stored totals differ from the actual ones. A missing row counts as all zeros.
+     */
+    private static List<AggregateDriftDto> compare(Map<RevenueTotal.Key, RevenueTotal> stored,
+                                                   Map<RevenueTotal.Key, RevenueTotal> actual) {
+        Set<RevenueTotal.Key> keys = new TreeSet<>(stored.keySet());
+        keys.addAll(actual.keySet());
+
+        List<AggregateDriftDto> drift = new ArrayList<>();
+        for (RevenueTotal.Key key : keys) {
+            RevenueTotal s = stored.getOrDefault(key, emptyTotal(key));
+            RevenueTotal a = actual.getOrDefault(key, emptyTotal(key));
+            if (differ(s.getTransportCount(), a.getTransportCount(), s.getPaidCount(), a.getPaidCount(),
+                    s.getTotalValue(), a.getTotalValue(), s.getPaidRevenue(), a.getPaidRevenue())) {
+                drift.add(new AggregateDriftDto(key.getScope(), key.getOwnerId(), null,
+                        s.getTransportCount(), a.getTransportCount(), s.getPaidCount(), a.getPaidCount(),
+                        s.getTotalValue(), a.getTotalValue(), s.getPaidRevenue(), a.getPaidRevenue()));
+            }
+        }
+        return drift;
+    }
+
+    /**
+     * Same as compare(), for the per-company daily rows (reported with scope COMPANY_DAY).
+     */
+    private static List<AggregateDriftDto> compareDaily(Map<DailyRevenueTotal.Key, DailyRevenueTotal> stored,
+                                                        Map<DailyRevenueTotal.Key, DailyRevenueTotal> actual) {
+        Set<DailyRevenueTotal.Key> keys = new TreeSet<>(stored.keySet());
+        keys.addAll(actual.keySet());
+
+        List<AggregateDriftDto> drift = new ArrayList<>();
+        for (DailyRevenueTotal.Key key : keys) {
+            DailyRevenueTotal s = stored.getOrDefault(key, emptyDailyTotal(key));
+            DailyRevenueTotal a = actual.getOrDefault(key, emptyDailyTotal(key));
+            if (differ(s.getTransportCount(), a.getTransportCount(), s.getPaidCount(), a.getPaidCount(),
+                    s.getTotalValue(), a.getTotalValue(), s.getPaidRevenue(), a.getPaidRevenue())) {
+                drift.add(new AggregateDriftDto(AggregateScope.COMPANY_DAY, key.getCompanyId(), key.getRevenueDate(),
+                        s.getTransportCount(), a.getTransportCount(), s.getPaidCount(), a.getPaidCount(),
+                        s.getTotalValue(), a.getTotalValue(), s.getPaidRevenue(), a.getPaidRevenue()));
+            }
+        }
+        return drift;
+    }
+
+    private static boolean differ(long storedCount, long actualCount, long storedPaid, long actualPaid,
+                                  double storedValue, double actualValue, double storedRevenue, double actualRevenue) {
+        return storedCount != actualCount
+                || storedPaid != actualPaid
+                || Math.abs(storedValue - actualValue) > AMOUNT_TOLERANCE
+                || Math.abs(storedRevenue - actualRevenue) > AMOUNT_TOLERANCE;
+    }
+
+    private static RevenueTotal emptyTotal(RevenueTotal.Key key) {
+        return new RevenueTotal(key.getScope(), key.getOwnerId(), 0, 0, 0.0, 0.0);
+    }
+
+    private static DailyRevenueTotal emptyDailyTotal(DailyRevenueTotal.Key key) {
+        return new DailyRevenueTotal(key.getCompanyId(), key.getRevenueDate(), 0, 0, 0.0, 0.0);
+    }
+
+    /**
+     * Changes caused by one write, accumulated per aggregate row. TreeMaps keep the rows in lock order.
+     */
+    private static class Deltas {
+        private final Map<RevenueTotal.Key, RevenueTotal> totals = new TreeMap<>();
+        private final Map<DailyRevenueTotal.Key, DailyRevenueTotal> daily = new TreeMap<>();
+        private final Map<LocalDate, Long> paidCentsByDay = new HashMap<>();
+
+        /**
+         * Adds the change caused by one transport to the global, company, driver and daily deltas.
+         */
+        void add(Transport transport, int countDelta, int paidDelta) {
+            add(transport.getCompany().getId(), transport.getDriver().getId(), transport.getTransportDate(),
+                    transport.getPrice(), countDelta, paidDelta);
+        }
+
+        void add(long companyId, long driverId, LocalDate transportDate, double price, int countDelta, int paidDelta) {
+            List<RevenueTotal.Key> keys = List.of(
+                    GLOBAL_KEY,
+                    new RevenueTotal.Key(AggregateScope.COMPANY, companyId),
+                    new RevenueTotal.Key(AggregateScope.DRIVER, driverId));
+            for (RevenueTotal.Key key : keys) {
+                RevenueTotal delta = totals.computeIfAbsent(key, RevenueAggregateDao::emptyTotal);
+                delta.setTransportCount(delta.getTransportCount() + countDelta);
+                delta.setPaidCount(delta.getPaidCount() + paidDelta);
+                delta.setTotalValue(delta.getTotalValue() + countDelta * price);
+                delta.setPaidRevenue(delta.getPaidRevenue() + paidDelta * price);
+            }
+
+            DailyRevenueTotal day = daily.computeIfAbsent(
+                    new DailyRevenueTotal.Key(companyId, transportDate),
+                    RevenueAggregateDao::emptyDailyTotal);
+            day.setTransportCount(day.getTransportCount() + countDelta);
+            day.setPaidCount(day.getPaidCount() + paidDelta);
+            day.setTotalValue(day.getTotalValue() + countDelta * price);
+            day.setPaidRevenue(day.getPaidRevenue() + paidDelta * price);
+
+            if (paidDelta != 0) {
+                paidCentsByDay.merge(transportDate, paidDelta * DailyRevenueIndex.toCents(price), Long::sum);
+            }
+        }
+    }
+}
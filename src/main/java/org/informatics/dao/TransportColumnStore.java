@@ -0,0 +1,580 @@
+package org.informatics.dao;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.entity.Transport;
+import org.informatics.entity.enums.AggregateScope;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.InvalidSnapshotFileException;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory columnar snapshot of the transports table for ad-hoc analytics (e.g. revenue rankings of any period).
+ *
+ * Each transport is one position in a set of primitive arrays, sorted by ID: price in cents, date as epoch day,
+ * payment status as a bit, and driver and company as dictionary codes (about 30 bytes per transport).
+ * Queries are branch-free loops over these arrays, split into chunks that run in parallel on the common
+ * fork-join pool, so even tens of millions of transports are scanned in milliseconds.
+ *
+ * Enabled with analytics.columnar_snapshot=true in the Hibernate properties. The snapshot is loaded on first
+ * use and then kept in sync by the transport writes (see RevenueAggregateDao), which are applied once their
+ * transaction commits. Like DailyRevenueIndex it only sees writes made through this JVM;
+ * RevenueAggregateDao.rebuild() discards it.
+ *
+ * If analytics.snapshot_file names a TransportSnapshotFile, the snapshot is loaded from that file instead of
+ * the database: transports above its high-water mark are caught up with one query, and the result is checked
+ * against the revenue aggregates (per driver and per company and day). A missing, damaged or outdated file
+ * falls back to loading everything from the database.
+ */
+final class TransportColumnStore {
+
+    /**
+     * Property that enables the snapshot (default false).
+     */
+    static final String ENABLED_SETTING = "analytics.columnar_snapshot";
+
+    private static final int LOAD_FETCH_SIZE = 10_000;
+
+    /**
+     * Rows per parallel task of a scan.
+     */
+    private static final int SCAN_CHUNK = 1 << 16;
+
+    /**
+     * Queries hold the read lock while scanning; applying writes and installing a snapshot take the write lock.
+     */
+    private static final ReadWriteLock LOCK = new ReentrantReadWriteLock();
+
+    private static SessionFactory loadedFor;
+    private static Columns columns;
+
+    /**
+     * Changes committed while a snapshot is being loaded; replayed onto it afterwards (non-null only while loading).
+     * Every change sets absolute values, so replaying one the load has already seen is harmless.
+     */
+    private static List<Consumer<Columns>> pending;
+
+    /**
+     * Incremented by invalidate(), so a load that was running at that moment is discarded.
+     */
+    private static long generation;
+
+    private TransportColumnStore() {
+    }
+
+    /**
+     * Returns whether the snapshot is enabled for the current SessionFactory.
+     */
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(String.valueOf(
+                SessionFactoryUtil.getSessionFactory().getProperties().get(ENABLED_SETTING)));
+    }
+
+    /**
+     * Returns the paid revenue in cents of every driver with paid transports dated between from and to (inclusive).
+     */
+    static Map<Long, Long> paidRevenueCentsByDriver(LocalDate from, LocalDate to) {
+        return query(c -> c.sumPaidCents(c.driverCodes, c.drivers, from, to));
+    }
+
+    /**
+     * Returns the paid revenue in cents of every company with paid transports dated between from and to (inclusive).
+     */
+    static Map<Long, Long> paidRevenueCentsByCompany(LocalDate from, LocalDate to) {
+        return query(c -> c.sumPaidCents(c.companyCodes, c.companies, from, to));
+    }
+
+    /**
+     * Adds (or overwrites) the given transports if and when the session's transaction commits.
+     */
+    static void upsertOnCommit(Session session, Collection<? extends Transport> transports) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(transports.size());
+        for (Transport t : transports) {
+            rows.add(new Object[]{t.getId(), DailyRevenueIndex.toCents(t.getPrice()), t.getTransportDate(),
+                    t.getPaymentStatus() == PaymentStatus.PAID, t.getDriver().getId(), t.getCompany().getId()});
+        }
+        onCommit(session, c -> {
+            for (Object[] row : rows) {
+                c.upsert((Long) row[0], (Long) row[1], (int) ((LocalDate) row[2]).toEpochDay(), (Boolean) row[3],
+                        (Long) row[4], (Long) row[5]);
+            }
+        });
+    }
+
+    /**
+     * Removes the transport if and when the session's transaction commits.
+     */
+    static void deleteOnCommit(Session session, long transportId) {
+        if (isEnabled()) {
+            onCommit(session, c -> c.delete(transportId));
+        }
+    }
+
+    /**
+     * Sets the payment status of the given transports if and when the session's transaction commits.
+     */
+    static void setPaymentStatusOnCommit(Session session, List<Long> transportIds, PaymentStatus status) {
+        if (isEnabled()) {
+            boolean paid = status == PaymentStatus.PAID;
+            onCommit(session, c -> transportIds.forEach(id -> c.setPaid(id, paid)));
+        }
+    }
+
+    /**
+     * Discards the snapshot; the next query reloads it from the database.
+     */
+    static void invalidate() {
+        LOCK.writeLock().lock();
+        try {
+            columns = null;
+            generation++;
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private static <T> T query(Function<Columns, T> scan) {
+        while (true) {
+            SessionFactory factory = SessionFactoryUtil.getSessionFactory();
+            LOCK.readLock().lock();
+            try {
+                if (columns != null && loadedFor == factory) {
+                    return scan.apply(columns);
+                }
+            } finally {
+                LOCK.readLock().unlock();
+            }
+            // Not loaded yet, or discarded by a concurrent invalidate(): load and try again
+            load(factory);
+        }
+    }
+
+    private static void onCommit(Session session, Consumer<Columns> change) {
+        session.getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != Status.STATUS_COMMITTED) {
+                    return;
+                }
+                LOCK.writeLock().lock();
+                try {
+                    if (pending != null) {
+                        pending.add(change);
+                    } else if (columns != null) {
+                        change.accept(columns);
+                    }
+                } finally {
+                    LOCK.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads the snapshot if needed. Writes keep committing meanwhile: they are queued and replayed at the end.
+     */
+    private static synchronized void load(SessionFactory factory) {
+        long loadGeneration;
+        LOCK.writeLock().lock();
+        try {
+            if (columns != null && loadedFor == factory) {
+                return;
+            }
+            columns = null;
+            pending = new ArrayList<>();
+            loadGeneration = generation;
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+
+        Columns loaded = null;
+        try {
+            loaded = read(factory);
+        } finally {
+            LOCK.writeLock().lock();
+            try {
+                if (loaded != null && generation == loadGeneration) {
+                    for (Consumer<Columns> change : pending) {
+                        change.accept(loaded);
+                    }
+                    columns = loaded;
+                    loadedFor = factory;
+                }
+                pending = null;
+            } finally {
+                LOCK.writeLock().unlock();
+            }
+        }
+    }
+
+    private static Columns read(SessionFactory factory) {
+        Path file = TransportSnapshotFile.configuredFile();
+        if (file != null && Files.isRegularFile(file)) {
+            Columns loaded = readSnapshotFile(factory, file);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+        Columns loaded = new Columns(0);
+        readTransportsAfter(factory, 0, loaded);
+        return loaded;
+    }
+
+    /**
+     * Loads the snapshot from the file and catches up from the database.
+     * Returns null if the file is unusable or no longer matches the database.
+     */
+    private static Columns readSnapshotFile(SessionFactory factory, Path file) {
+        TransportSnapshotFile snapshot;
+        try {
+            snapshot = TransportSnapshotFile.open(file);
+        } catch (InvalidSnapshotFileException | UncheckedIOException e) {
+            return null;
+        }
+        Columns loaded = new Columns(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            loaded.upsert(snapshot.id(i), snapshot.priceCents(i), snapshot.epochDay(i), snapshot.isPaid(i),
+                    snapshot.driverId(i), snapshot.companyId(i));
+        }
+        readTransportsAfter(factory, snapshot.highWaterMark(), loaded);
+        return matchesAggregates(factory, loaded) ? loaded : null;
+    }
+
+    /**
+     * Adds all transports with an ID above afterId.
+     */
+    private static void readTransportsAfter(SessionFactory factory, long afterId, Columns loaded) {
+        try (StatelessSession session = factory.openStatelessSession();
+             ScrollableResults<Object[]> rows = session.createQuery(
+                             "SELECT t.id, t.price, t.transportDate, t.paymentStatus, t.driver.id, t.company.id " +
+                                     "FROM Transport t WHERE t.id > :afterId ORDER BY t.id",
+                             Object[].class)
+                     .setParameter("afterId", afterId)
+                     .setFetchSize(LOAD_FETCH_SIZE)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                loaded.upsert((Long) row[0], DailyRevenueIndex.toCents((Double) row[1]),
+                        (int) ((LocalDate) row[2]).toEpochDay(), row[3] == PaymentStatus.PAID,
+                        (Long) row[4], (Long) row[5]);
+            }
+        }
+    }
+
+    /**
+     * Compares count, paid count and paid revenue per driver and per company and day with the revenue aggregates.
+     * This catches what the high-water mark cannot: deletes and payment status changes after the export,
+     * and transports with a lower ID that committed after it.
+     */
+    private static boolean matchesAggregates(SessionFactory factory, Columns loaded) {
+        RevenueAggregateDao.ensureInitialized();
+        try (StatelessSession session = factory.openStatelessSession()) {
+            List<Object[]> drivers = session.createQuery(
+                            "SELECT r.ownerId, r.transportCount, r.paidCount, r.paidRevenue FROM RevenueTotal r " +
+                                    "WHERE r.scope = :scope",
+                            Object[].class)
+                    .setParameter("scope", AggregateScope.DRIVER)
+                    .getResultList();
+            if (!matches(loaded.totals(i -> loaded.drivers.idOf(loaded.driverCodes[i])), drivers)) {
+                return false;
+            }
+            List<Object[]> days = session.createQuery(
+                            "SELECT d.companyId, d.revenueDate, d.transportCount, d.paidCount, d.paidRevenue " +
+                                    "FROM DailyRevenueTotal d",
+                            Object[].class)
+                    .getResultList()
+                    .stream()
+                    .map(row -> new Object[]{companyDayKey((Long) row[0], ((LocalDate) row[1]).toEpochDay()),
+                            row[2], row[3], row[4]})
+                    .toList();
+            return matches(loaded.totals(i -> companyDayKey(loaded.companies.idOf(loaded.companyCodes[i]),
+                    loaded.epochDays[i])), days);
+        }
+    }
+
+    /**
+     * Compares totals computed from the snapshot with aggregate rows of [key, count, paid count, paid revenue].
+     * A key missing on either side counts as all zeros.
+     */
+    private static boolean matches(Map<Long, long[]> actual, List<Object[]> stored) {
+        for (Object[] row : stored) {
+            long[] totals = actual.remove((Long) row[0]);
+            long count = totals == null ? 0 : totals[0];
+            long paidCount = totals == null ? 0 : totals[1];
+            long paidCents = totals == null ? 0 : totals[2];
+            if (count != ((Number) row[1]).longValue() || paidCount != ((Number) row[2]).longValue()
+                    || Math.abs(paidCents / 100.0 - ((Number) row[3]).doubleValue())
+                    > RevenueAggregateDao.AMOUNT_TOLERANCE) {
+                return false;
+            }
+        }
+        return actual.isEmpty();
+    }
+
+    /**
+     * Packs a company ID and an epoch day into one map key.
+     */
+    private static long companyDayKey(long companyId, long epochDay) {
+        return companyId << 32 | (epochDay & 0xFFFFFFFFL);
+    }
+
+    /**
+     * The snapshot arrays. Not thread-safe: guarded by LOCK.
+     */
+    private static final class Columns {
+        private long[] ids;
+        private long[] priceCents;
+        private int[] epochDays;
+        private int[] driverCodes;
+        private int[] companyCodes;
+        private long[] paidBits;
+        private long[] liveBits;
+        private int size;
+        private int deletedCount;
+
+        private final Dictionary drivers = new Dictionary();
+        private final Dictionary companies = new Dictionary();
+
+        /**
+         * Creates empty columns with room for at least the given number of transports.
+         */
+        private Columns(int expectedSize) {
+            // a multiple of 64, so the bitsets cover the arrays exactly
+            int capacity = Math.max(1024, (expectedSize + 63) & ~63);
+            ids = new long[capacity];
+            priceCents = new long[capacity];
+            epochDays = new int[capacity];
+            driverCodes = new int[capacity];
+            companyCodes = new int[capacity];
+            paidBits = new long[capacity / 64];
+            liveBits = new long[capacity / 64];
+        }
+
+        private void upsert(long id, long cents, int epochDay, boolean paid, long driverId, long companyId) {
+            int position = find(id);
+            if (position < 0) {
+                position = -position - 1;
+                insertAt(position, id);
+            } else if (!isSet(liveBits, position)) {
+                deletedCount--;
+            }
+            priceCents[position] = cents;
+            epochDays[position] = epochDay;
+            driverCodes[position] = drivers.codeOf(driverId);
+            companyCodes[position] = companies.codeOf(companyId);
+            assign(paidBits, position, paid);
+            assign(liveBits, position, true);
+        }
+
+        private void delete(long id) {
+            int position = find(id);
+            if (position >= 0 && isSet(liveBits, position)) {
+                assign(liveBits, position, false);
+                // Deleted rows stay as tombstones until they make up an eighth of the snapshot
+                if (++deletedCount > size / 8) {
+                    compact();
+                }
+            }
+        }
+
+        private void setPaid(long id, boolean paid) {
+            int position = find(id);
+            if (position >= 0) {
+                assign(paidBits, position, paid);
+            }
+        }
+
+        /**
+         * Sums the paid revenue per dictionary code in parallel chunks, then maps the codes back to IDs.
+         */
+        private Map<Long, Long> sumPaidCents(int[] codes, Dictionary dictionary, LocalDate from, LocalDate to) {
+            int fromDay = (int) Math.max(Integer.MIN_VALUE, from.toEpochDay());
+            int toDay = (int) Math.min(Integer.MAX_VALUE, to.toEpochDay());
+            int owners = dictionary.size();
+            int chunks = (size + SCAN_CHUNK - 1) / SCAN_CHUNK;
+
+            long[] sums = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> {
+                        long[] partial = new long[owners];
+                        int end = Math.min(size, (chunk + 1) * SCAN_CHUNK);
+                        for (int i = chunk * SCAN_CHUNK; i < end; i++) {
+                            int day = epochDays[i];
+                            // 1 if the row counts, 0 otherwise; turned into an all-ones or all-zeros mask
+                            long selected = (paidBits[i >>> 6] & liveBits[i >>> 6]) >>> i & 1
+                                    & (day >= fromDay ? 1 : 0) & (day <= toDay ? 1 : 0);
+                            partial[codes[i]] += priceCents[i] & -selected;
+                        }
+                        return partial;
+                    })
+                    .reduce((a, b) -> {
+                        for (int i = 0; i < owners; i++) {
+                            a[i] += b[i];
+                        }
+                        return a;
+                    })
+                    .orElseGet(() -> new long[owners]);
+
+            Map<Long, Long> result = new HashMap<>();
+            for (int code = 0; code < owners; code++) {
+                if (sums[code] != 0) {
+                    result.put(dictionary.idOf(code), sums[code]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns [count, paid count, paid cents] of the live transports, grouped by the key of each position.
+         */
+        private Map<Long, long[]> totals(IntToLongFunction key) {
+            Map<Long, long[]> result = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                if (isSet(liveBits, i)) {
+                    long[] totals = result.computeIfAbsent(key.applyAsLong(i), k -> new long[3]);
+                    totals[0]++;
+                    if (isSet(paidBits, i)) {
+                        totals[1]++;
+                        totals[2] += priceCents[i];
+                    }
+                }
+            }
+            return result;
+        }
+
+        private int find(long id) {
+            // Transports arrive in ID order nearly always, so check the end first
+            if (size == 0 || ids[size - 1] < id) {
+                return -size - 1;
+            }
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+
+        /**
+         * Opens a slot for the ID at the given position. Out-of-order IDs (from transactions committing in a
+         * different order than they allocated IDs) land close to the end, so few rows have to move.
+         */
+        private void insertAt(int position, long id) {
+            if (size == ids.length) {
+                grow();
+            }
+            int moved = size - position;
+            if (moved > 0) {
+                System.arraycopy(ids, position, ids, position + 1, moved);
+                System.arraycopy(priceCents, position, priceCents, position + 1, moved);
+                System.arraycopy(epochDays, position, epochDays, position + 1, moved);
+                System.arraycopy(driverCodes, position, driverCodes, position + 1, moved);
+                System.arraycopy(companyCodes, position, companyCodes, position + 1, moved);
+                for (int i = size; i > position; i--) {
+                    assign(paidBits, i, isSet(paidBits, i - 1));
+                    assign(liveBits, i, isSet(liveBits, i - 1));
+                }
+            }
+            ids[position] = id;
+            size++;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            driverCodes = Arrays.copyOf(driverCodes, capacity);
+            companyCodes = Arrays.copyOf(companyCodes, capacity);
+            paidBits = Arrays.copyOf(paidBits, capacity / 64);
+            liveBits = Arrays.copyOf(liveBits, capacity / 64);
+        }
+
+        /**
+         * Removes the tombstones of deleted rows.
+         */
+        private void compact() {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (isSet(liveBits, i)) {
+                    ids[kept] = ids[i];
+                    priceCents[kept] = priceCents[i];
+                    epochDays[kept] = epochDays[i];
+                    driverCodes[kept] = driverCodes[i];
+                    companyCodes[kept] = companyCodes[i];
+                    assign(paidBits, kept, isSet(paidBits, i));
+                    assign(liveBits, kept, true);
+                    kept++;
+                }
+            }
+            for (int i = kept; i < size; i++) {
+                assign(paidBits, i, false);
+                assign(liveBits, i, false);
+            }
+            size = kept;
+            deletedCount = 0;
+        }
+
+        private static boolean isSet(long[] bits, int position) {
+            return (bits[position >>> 6] & 1L << position) != 0;
+        }
+
+        private static void assign(long[] bits, int position, boolean value) {
+            if (value) {
+                bits[position >>> 6] |= 1L << position;
+            } else {
+                bits[position >>> 6] &= ~(1L << position);
+            }
+        }
+    }
+
+    /**
+     * Dense codes (0, 1, 2, ...) for the IDs of a dimension such as driver or company.
+     */
+    private static final class Dictionary {
+        private final Map<Long, Integer> codes = new HashMap<>();
+        private long[] ids = new long[64];
+
+        private int codeOf(long id) {
+            Integer code = codes.get(id);
+            if (code == null) {
+                code = codes.size();
+                if (code == ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+                ids[code] = id;
+                codes.put(id, code);
+            }
+            return code;
+        }
+
+        private long idOf(int code) {
+            return ids[code];
+        }
+
+        private int size() {
+            return codes.size();
+        }
+    }
+}
@@ -2,8 +2,9 @@ package org.informatics.dao;
 
 import org.informatics.configuration.SessionFactoryUtil;
 import org.informatics.dto.CompanyRevenueDto;
+import org.informatics.dto.PageDto;
 import org.informatics.entity.TransportCompany;
-import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.entity.enums.AggregateScope;
 import org.informatics.exception.EntityNotFoundException;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
@@ -22,9 +23,11 @@ public class TransportCompanyDao {
      * @param transportCompany the company to create
      */
     public static void create(TransportCompany transportCompany) {
+        RevenueAggregateDao.ensureInitialized();
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
             Transaction transaction = session.beginTransaction();
             session.persist(transportCompany);
+            RevenueAggregateDao.recordOwnerCreated(session, AggregateScope.COMPANY, transportCompany.getId());
             transaction.commit();
         }
     }
@@ -53,6 +56,18 @@ public class TransportCompanyDao {
         }
     }
 
+    /**
+     * Counts all transport companies without loading them.
+     *
+     * @return number of companies
+     */
+    public static long count() {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(c) FROM TransportCompany c", Long.class)
+                    .getSingleResult();
+        }
+    }
+
     /**
      * Updates the name of a transport company.
      *
@@ -83,37 +98,70 @@ public class TransportCompanyDao {
                 throw new EntityNotFoundException("TransportCompany", id);
             }
             session.remove(transportCompany);
+            RevenueAggregateDao.recordOwnerDeleted(session, AggregateScope.COMPANY, id);
             transaction.commit();
         }
     }
 
     /**
      * Retrieves all companies sorted by name alphabetically.
+     * The result is kept in the query cache and invalidated whenever companies change.
      *
      * @return list of companies sorted by name
      */
     public static List<TransportCompany> getAllSortedByName() {
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
             return session.createQuery("SELECT c FROM TransportCompany c ORDER BY c.name", TransportCompany.class)
+                    .setCacheable(true)
                     .getResultList();
         }
     }
 
+    /**
+     * Retrieves one page of companies sorted by name alphabetically.
+     * Uses keyset pagination on the unique company name, backed by its unique index.
+     *
+     * @param pageToken token from the previous page, or null for the first page
+     * @param pageSize maximum number of companies on the page (1..1000)
+     * @return the page and the token of the next page
+     * @throws org.informatics.exception.InvalidPageTokenException if the token is malformed
+     */
+    public static PageDto<TransportCompany> getAllSortedByNamePage(String pageToken, int pageSize) {
+        PageTokens.validatePageSize(pageSize);
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            List<TransportCompany> companies;
+            if (pageToken == null) {
+                companies = session.createQuery("SELECT c FROM TransportCompany c ORDER BY c.name", TransportCompany.class)
+                        .setMaxResults(pageSize + 1)
+                        .getResultList();
+            } else {
+                companies = session.createQuery(
+                                "SELECT c FROM TransportCompany c WHERE c.name > :afterName ORDER BY c.name",
+                                TransportCompany.class)
+                        .setParameter("afterName", PageTokens.decode(pageToken, 1)[0])
+                        .setMaxResults(pageSize + 1)
+                        .getResultList();
+            }
+            return PageTokens.toPage(companies, pageSize, c -> PageTokens.encode(c.getName()));
+        }
+    }
+
     /**
      * Retrieves all companies with their revenue (from PAID transports only), sorted descending.
+     * Reads the per-company revenue aggregates instead of grouping all transports.
      *
      * @return list of DTOs containing company ID, name, and revenue
      */
     public static List<CompanyRevenueDto> getAllSortedByRevenueDesc() {
+        RevenueAggregateDao.ensureInitialized();
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
             return session.createQuery(
-                            "SELECT new org.informatics.dto.CompanyRevenueDto(c.id, c.name, " +
-                                    "COALESCE(SUM(CASE WHEN t.paymentStatus = :paid THEN t.price ELSE 0 END), 0)) " +
-                                    "FROM TransportCompany c LEFT JOIN Transport t ON t.company.id = c.id " +
-                                    "GROUP BY c.id, c.name " +
-                                    "ORDER BY COALESCE(SUM(CASE WHEN t.paymentStatus = :paid THEN t.price ELSE 0 END), 0) DESC",
+                            "SELECT new org.informatics.dto.CompanyRevenueDto(c.id, c.name, COALESCE(r.paidRevenue, 0)) " +
+                                    "FROM TransportCompany c " +
+                                    "LEFT JOIN RevenueTotal r ON r.scope = :scope AND r.ownerId = c.id " +
+                                    "ORDER BY COALESCE(r.paidRevenue, 0) DESC",
                             CompanyRevenueDto.class)
-                    .setParameter("paid", PaymentStatus.PAID)
+                    .setParameter("scope", AggregateScope.COMPANY)
                     .getResultList();
         }
     }
@@ -1,13 +1,28 @@
 package org.informatics.dao;
 
 import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dto.BulkInsertReportDto;
+import org.informatics.dto.ChunkFailureDto;
+import org.informatics.dto.PageDto;
+import org.informatics.dto.TransportJsonDto;
+import org.informatics.dto.TransportListingDto;
 import org.informatics.entity.Transport;
 import org.informatics.entity.enums.PaymentStatus;
 import org.informatics.exception.EntityNotFoundException;
+import org.informatics.exception.SchedulingConflictException;
+import jakarta.persistence.LockModeType;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object for Transport entity.
@@ -15,19 +30,99 @@ import java.util.List;
  */
 public class TransportDao {
 
+    /**
+     * Number of rows the JDBC driver fetches per round-trip when streaming.
+     */
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * Maximum number of transport IDs changed per payment status UPDATE (and per transaction).
+     */
+    private static final int PAYMENT_UPDATE_BATCH_SIZE = 1000;
+
+    /**
+     * Fetches every EAGER association of Transport (including the driver's qualifications and the
+     * companies of driver and vehicle) in the same statement, instead of one extra select per row.
+     */
+    private static final String FETCH_ALL_ASSOCIATIONS =
+            "SELECT t FROM Transport t " +
+                    "JOIN FETCH t.company " +
+                    "JOIN FETCH t.client " +
+                    "JOIN FETCH t.driver d JOIN FETCH d.company LEFT JOIN FETCH d.qualifications " +
+                    "JOIN FETCH t.vehicle v JOIN FETCH v.company ";
+
     /**
      * Creates and persists a new transport.
+     * A time window books the driver and vehicle (see AvailabilityDao); the revenue aggregates are updated
+     * in the same transaction.
      *
      * @param transport the transport to create
+     * @throws SchedulingConflictException if the driver or vehicle is already booked for an overlapping window
      */
     public static void create(Transport transport) {
+        RevenueAggregateDao.ensureInitialized();
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
             Transaction transaction = session.beginTransaction();
+            AvailabilityDao.reserve(session, List.of(transport));
             session.persist(transport);
+            RevenueAggregateDao.recordCreated(session, List.of(transport));
             transaction.commit();
         }
     }
 
+    /**
+     * Persists many transports in chunks, one transaction per chunk.
+     * Inserts inside a chunk are sent as JDBC batches (see hibernate.jdbc.batch_size).
+     * A chunk that fails (e.g. with a SchedulingConflictException) is rolled back and reported;
+     * the remaining chunks are still processed. The transports of a failed chunk are left unsaved (id 0),
+     * so they can be corrected and passed to createAll again.
+     *
+     * @param transports the transports to create
+     * @param chunkSize number of transports committed per transaction
+     * @return report with persisted count and per-chunk failures
+     * @throws IllegalArgumentException if chunkSize is not positive
+     */
+    public static BulkInsertReportDto createAll(List<? extends Transport> transports, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+
+        long start = System.nanoTime();
+        List<ChunkFailureDto> failures = new ArrayList<>();
+        int persisted = 0;
+        int chunkIndex = 0;
+        RevenueAggregateDao.ensureInitialized();
+
+        for (int from = 0; from < transports.size(); from += chunkSize, chunkIndex++) {
+            int to = Math.min(from + chunkSize, transports.size());
+            List<? extends Transport> chunk = transports.subList(from, to);
+            try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+                Transaction transaction = session.beginTransaction();
+                try {
+                    AvailabilityDao.reserve(session, chunk);
+                    for (Transport transport : chunk) {
+                        session.persist(transport);
+                    }
+                    RevenueAggregateDao.recordCreated(session, chunk);
+                    transaction.commit();
+                    persisted += to - from;
+                } catch (RuntimeException e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+                    // ids assigned by persist were rolled back with the rows; clear them so the chunk can be retried
+                    for (Transport transport : chunk) {
+                        transport.setId(0);
+                    }
+                    failures.add(new ChunkFailureDto(chunkIndex, from, to, e.getMessage()));
+                }
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new BulkInsertReportDto(transports.size(), persisted, chunkIndex, elapsedMillis, failures);
+    }
+
     /**
      * Retrieves a transport by ID.
      *
@@ -47,53 +142,373 @@ public class TransportDao {
      */
     public static List<Transport> getAll() {
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            return session.createQuery("SELECT t FROM Transport t", Transport.class).getResultList();
+            return session.createQuery(FETCH_ALL_ASSOCIATIONS, Transport.class).getResultList();
+        }
+    }
+
+    /**
+     * Counts all transports without loading them.
+     *
+     * @return number of transports
+     */
+    public static long count() {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(t) FROM Transport t", Long.class)
+                    .getSingleResult();
         }
     }
 
     /**
-     * Retrieves all transports sorted by destination alphabetically.
+     * Counts the transports of one type (PassengerTransport or CargoTransport).
+     *
+     * @param type the transport class; only transports of exactly this class are counted
+     * @return number of transports of the type
+     */
+    public static long countByType(Class<? extends Transport> type) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(t) FROM Transport t WHERE TYPE(t) = :type", Long.class)
+                    .setParameter("type", type)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Counts the transports of one company.
+     *
+     * @param companyId the company ID
+     * @return number of transports of the company
+     */
+    public static long countByCompany(long companyId) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(t) FROM Transport t WHERE t.company.id = :companyId", Long.class)
+                    .setParameter("companyId", companyId)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Counts the transports of one type (PassengerTransport or CargoTransport) of one company.
+     *
+     * @param companyId the company ID
+     * @param type the transport class; only transports of exactly this class are counted
+     * @return number of transports of the type of the company
+     */
+    public static long countByCompanyAndType(long companyId, Class<? extends Transport> type) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                            "SELECT COUNT(t) FROM Transport t WHERE t.company.id = :companyId AND TYPE(t) = :type",
+                            Long.class)
+                    .setParameter("companyId", companyId)
+                    .setParameter("type", type)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Streams all transports, ordered by ID, as export DTOs.
+     * Rows are read through a forward-only cursor in a stateless session and handed to the consumer
+     * one at a time, so memory usage does not depend on the number of transports.
+     *
+     * @param consumer callback invoked for each transport
+     * @return number of transports streamed
+     */
+    public static long streamAllAsJsonDto(Consumer<TransportJsonDto> consumer) {
+        try (StatelessSession session = SessionFactoryUtil.getSessionFactory().openStatelessSession();
+             ScrollableResults<Object[]> rows = session.createQuery(
+                             "SELECT t.id, TYPE(t), t.transportDate, t.destination, t.price, t.paymentStatus, " +
+                                     "d.id, d.firstName, d.lastName, v.id, v.registrationNumber, " +
+                                     "c.id, c.firstName, c.lastName " +
+                                     "FROM Transport t JOIN t.driver d JOIN t.vehicle v JOIN t.client c " +
+                                     "ORDER BY t.id",
+                             Object[].class)
+                     .setFetchSize(STREAM_FETCH_SIZE)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            long count = 0;
+            while (rows.next()) {
+                consumer.accept(toJsonDto(rows.get()));
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Retrieves all transports sorted by destination alphabetically (ties by ID, as in the paginated variant).
      *
      * @return list of transports sorted by destination
      */
     public static List<Transport> getAllSortedByDestination() {
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            return session.createQuery("SELECT t FROM Transport t ORDER BY t.destination", Transport.class)
+            return session.createQuery(FETCH_ALL_ASSOCIATIONS + "ORDER BY t.destination, t.id", Transport.class)
+                    .getResultList();
+        }
+    }
+
+    /**
+     * Retrieves one page of transports ordered by ID.
+     * Uses keyset pagination on the primary key, so every page costs the same regardless of its depth.
+     *
+     * @param pageToken token from the previous page, or null for the first page
+     * @param pageSize maximum number of transports on the page (1..1000)
+     * @return the page and the token of the next page
+     * @throws org.informatics.exception.InvalidPageTokenException if the token is malformed
+     */
+    public static PageDto<Transport> getPage(String pageToken, int pageSize) {
+        PageTokens.validatePageSize(pageSize);
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            long afterId = pageToken == null ? 0 : PageTokens.parseLong(pageToken, PageTokens.decode(pageToken, 1)[0]);
+            List<Long> ids = session.createQuery(
+                            "SELECT t.id FROM Transport t WHERE t.id > :afterId ORDER BY t.id", Long.class)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(pageSize + 1)
                     .getResultList();
+
+            PageDto<Long> idPage = PageTokens.toPage(ids, pageSize, PageTokens::encode);
+            return new PageDto<>(fetchByIds(session, idPage.getItems(), "t.id"), idPage.getNextPageToken());
+        }
+    }
+
+    /**
+     * Retrieves one page of transports sorted by destination alphabetically (ties broken by ID).
+     * Uses keyset pagination on (destination, id), backed by the matching index on the transports table.
+     *
+     * @param pageToken token from the previous page, or null for the first page
+     * @param pageSize maximum number of transports on the page (1..1000)
+     * @return the page and the token of the next page
+     * @throws org.informatics.exception.InvalidPageTokenException if the token is malformed
+     */
+    public static PageDto<Transport> getPageSortedByDestination(String pageToken, int pageSize) {
+        PageTokens.validatePageSize(pageSize);
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            List<Object[]> keys;
+            if (pageToken == null) {
+                keys = session.createQuery(
+                                "SELECT t.destination, t.id FROM Transport t ORDER BY t.destination, t.id",
+                                Object[].class)
+                        .setMaxResults(pageSize + 1)
+                        .getResultList();
+            } else {
+                String[] key = PageTokens.decode(pageToken, 2);
+                keys = session.createQuery(
+                                "SELECT t.destination, t.id FROM Transport t " +
+                                        "WHERE t.destination > :destination " +
+                                        "OR (t.destination = :destination AND t.id > :id) " +
+                                        "ORDER BY t.destination, t.id",
+                                Object[].class)
+                        .setParameter("destination", key[0])
+                        .setParameter("id", PageTokens.parseLong(pageToken, key[1]))
+                        .setMaxResults(pageSize + 1)
+                        .getResultList();
+            }
+
+            PageDto<Object[]> keyPage = PageTokens.toPage(keys, pageSize, k -> PageTokens.encode(k[0], k[1]));
+            List<Long> ids = keyPage.getItems().stream().map(k -> (Long) k[1]).toList();
+            return new PageDto<>(fetchByIds(session, ids, "t.destination, t.id"), keyPage.getNextPageToken());
+        }
+    }
+
+    /**
+     * Retrieves a listing view of all transports sorted by destination alphabetically.
+     * Only the columns shown in listings are selected, in a single statement.
+     *
+     * @return list of listing DTOs sorted by destination
+     */
+    public static List<TransportListingDto> getListingSortedByDestination() {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                            "SELECT t.id, TYPE(t), t.destination, t.transportDate, t.price, t.paymentStatus, c.name " +
+                                    "FROM Transport t JOIN t.company c " +
+                                    "ORDER BY t.destination, t.id",
+                            Object[].class)
+                    .getResultStream()
+                    .map(TransportDao::toListingDto)
+                    .toList();
         }
     }
 
     /**
      * Updates the payment status of a transport.
+     * Runs as a single UPDATE without loading the transport; the revenue aggregates are updated
+     * in the same transaction.
      *
      * @param transportId the transport ID
      * @param status the new payment status
+     * @throws EntityNotFoundException if transport doesn't exist
      */
     public static void setPaymentStatus(long transportId, PaymentStatus status) {
-        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            Transaction transaction = session.beginTransaction();
-            Transport transport = session.find(Transport.class, transportId);
-            transport.setPaymentStatus(status);
-            session.merge(transport);
-            transaction.commit();
+        if (setPaymentStatus(List.of(transportId), status) == 0 && get(transportId) == null) {
+            throw new EntityNotFoundException("Transport", transportId);
+        }
+    }
+
+    /**
+     * Updates the payment status of many transports with set-based UPDATE statements,
+     * one transaction per batch of PAYMENT_UPDATE_BATCH_SIZE IDs.
+     * Transports that already have the status and unknown IDs are skipped.
+     * The revenue aggregates are updated in the same transaction as each batch.
+     *
+     * @param transportIds the transport IDs
+     * @param status the new payment status
+     * @return number of transports whose status was changed
+     */
+    public static int setPaymentStatus(Collection<Long> transportIds, PaymentStatus status) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(transportIds));
+        int affected = 0;
+        for (int from = 0; from < ids.size(); from += PAYMENT_UPDATE_BATCH_SIZE) {
+            affected += updatePaymentStatusBatch(ids.subList(from, Math.min(from + PAYMENT_UPDATE_BATCH_SIZE, ids.size())), status);
+        }
+        return affected;
+    }
+
+    /**
+     * Changes the payment status of a client's transports dated before the given date,
+     * e.g. marks all UNPAID transports of a client as PAID when reconciling a bank statement.
+     * Matching IDs are selected in batches and each batch is updated in its own transaction.
+     *
+     * @param clientId the client ID
+     * @param before only transports dated strictly before this date are changed
+     * @param currentStatus only transports with this status are changed
+     * @param newStatus the status to set
+     * @return number of transports whose status was changed
+     */
+    public static int setPaymentStatusForClient(long clientId, LocalDate before,
+                                                PaymentStatus currentStatus, PaymentStatus newStatus) {
+        if (currentStatus == newStatus) {
+            return 0;
+        }
+        int affected = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids;
+            try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+                ids = session.createQuery(
+                                "SELECT t.id FROM Transport t " +
+                                        "WHERE t.client.id = :clientId AND t.transportDate < :before " +
+                                        "AND t.paymentStatus = :currentStatus AND t.id > :afterId " +
+                                        "ORDER BY t.id",
+                                Long.class)
+                        .setParameter("clientId", clientId)
+                        .setParameter("before", before)
+                        .setParameter("currentStatus", currentStatus)
+                        .setParameter("afterId", afterId)
+                        .setMaxResults(PAYMENT_UPDATE_BATCH_SIZE)
+                        .getResultList();
+            }
+            if (ids.isEmpty()) {
+                return affected;
+            }
+            affected += updatePaymentStatusBatch(ids, newStatus);
+            afterId = ids.get(ids.size() - 1);
         }
     }
 
     /**
      * Deletes a transport by ID.
+     * The transport row is locked before the aggregates, in the same order as the payment status updates,
+     * so a concurrent status change either completes first (and its status is subtracted) or finds no row.
      *
      * @param id the transport ID
      * @throws EntityNotFoundException if transport doesn't exist
      */
     public static void delete(long id) {
+        RevenueAggregateDao.ensureInitialized();
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
             Transaction transaction = session.beginTransaction();
-            Transport transport = session.find(Transport.class, id);
+            Transport transport = session.find(Transport.class, id, LockModeType.PESSIMISTIC_WRITE);
             if (transport == null) {
                 throw new EntityNotFoundException("Transport", id);
             }
+            RevenueAggregateDao.recordDeleted(session, transport);
             session.remove(transport);
             transaction.commit();
         }
     }
-}
\ No newline at end of file
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    /**
+     * Sets the payment status of one batch of transports in a single transaction.
+     * The rows that will change are locked and read first (only the columns the aggregates need),
+     * then updated with one UPDATE statement.
+     * Transport has no second-level cache region; cached queries over transports are invalidated.
+     *
+     * @return number of transports whose status was changed
+     */
+    private static int updatePaymentStatusBatch(List<Long> ids, PaymentStatus status) {
+        RevenueAggregateDao.ensureInitialized();
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            Transaction transaction = session.beginTransaction();
+            List<Object[]> changed = session.createQuery(
+                            "SELECT t.company.id, t.driver.id, t.transportDate, t.price, t.id FROM Transport t " +
+                                    "WHERE t.id IN :ids AND t.paymentStatus <> :status",
+                            Object[].class)
+                    .setParameter("ids", ids)
+                    .setParameter("status", status)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            if (changed.isEmpty()) {
+                transaction.commit();
+                return 0;
+            }
+
+            // A single UPDATE statement: the hierarchy lives in one table, so no temporary ID table is needed
+            int updated = session.createMutationQuery("UPDATE Transport t SET t.paymentStatus = :status WHERE t.id IN :ids")
+                    .setParameter("status", status)
+                    .setParameter("ids", changed.stream().map(row -> (Long) row[4]).toList())
+                    .executeUpdate();
+            RevenueAggregateDao.recordPaymentStatusChanged(session, changed, status);
+            transaction.commit();
+            return updated;
+        }
+    }
+
+    /**
+     * Loads the given transports with all associations in one statement.
+     * Pages select IDs first and fetch afterwards, because limiting a query that fetch-joins
+     * a collection would make Hibernate paginate in memory.
+     */
+    private static List<Transport> fetchByIds(Session session, List<Long> ids, String orderBy) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return session.createQuery(FETCH_ALL_ASSOCIATIONS + "WHERE t.id IN :ids ORDER BY " + orderBy, Transport.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * Maps a projection row of {@link #getListingSortedByDestination()} to a TransportListingDto.
+     */
+    private static TransportListingDto toListingDto(Object[] row) {
+        return new TransportListingDto(
+                (Long) row[0],
+                ((Class<?>) row[1]).getSimpleName(),
+                (String) row[2],
+                (LocalDate) row[3],
+                (Double) row[4],
+                ((PaymentStatus) row[5]).name(),
+                (String) row[6]
+        );
+    }
+
+    /**
+     * Maps a projection row of {@link #streamAllAsJsonDto(Consumer)} to a TransportJsonDto.
+     */
+    private static TransportJsonDto toJsonDto(Object[] row) {
+        return new TransportJsonDto(
+                (Long) row[0],
+                ((Class<?>) row[1]).getSimpleName(),
+                (LocalDate) row[2],
+                (String) row[3],
+                (Double) row[4],
+                ((PaymentStatus) row[5]).name(),
+                (Long) row[6],
+                row[7] + " " + row[8],
+                (Long) row[9],
+                (String) row[10],
+                (Long) row[11],
+                row[12] + " " + row[13]
+        );
+    }
+}
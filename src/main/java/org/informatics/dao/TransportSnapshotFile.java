@@ -0,0 +1,386 @@
+package org.informatics.dao;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.entity.PassengerTransport;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.exception.InvalidSnapshotFileException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot of the transports table, written by an export job and memory-mapped when read.
+ *
+ * Layout (little-endian): a 64-byte header, one fixed-width 64-byte record per transport sorted by ID,
+ * then a string dictionary holding every destination once. Records are read straight from the mapping,
+ * so opening a file costs no more than verifying its checksum, however many transports it holds.
+ *
+ * The header stores a CRC32C of everything after it and the highest transport ID in the file
+ * (the high-water mark); transports created after the export are caught up by querying IDs above it.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class TransportSnapshotFile {
+
+    /**
+     * Property naming the snapshot file that TransportColumnStore loads from and the export job writes (optional).
+     */
+    public static final String FILE_SETTING = "analytics.snapshot_file";
+
+    private static final int MAGIC = 0x50534E54; // "TNSP"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 64;
+
+    // Record field offsets
+    private static final int ID = 0;
+    private static final int PRICE_CENTS = 8;
+    private static final int DRIVER_ID = 16;
+    private static final int COMPANY_ID = 24;
+    private static final int CLIENT_ID = 32;
+    private static final int VEHICLE_ID = 40;
+    private static final int EPOCH_DAY = 48;
+    private static final int DESTINATION = 52;
+    private static final int FLAGS = 56;
+
+    private static final byte PAID_FLAG = 1;
+    private static final byte PASSENGER_FLAG = 2;
+
+    /**
+     * Records per mapped segment (1 GiB); a single MappedByteBuffer cannot exceed 2 GiB.
+     */
+    private static final int SEGMENT_SHIFT = 24;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private static final int EXPORT_FETCH_SIZE = 10_000;
+    private static final int WRITE_BUFFER_RECORDS = 1024;
+
+    private final int size;
+    private final long highWaterMark;
+    private final long createdAtMillis;
+    private final MappedByteBuffer[] segments;
+    private final String[] destinations;
+
+    private TransportSnapshotFile(int size, long highWaterMark, long createdAtMillis,
+                                  MappedByteBuffer[] segments, String[] destinations) {
+        this.size = size;
+        this.highWaterMark = highWaterMark;
+        this.createdAtMillis = createdAtMillis;
+        this.segments = segments;
+        this.destinations = destinations;
+    }
+
+    /**
+     * Returns the snapshot file configured with analytics.snapshot_file, or null if none is configured.
+     */
+    public static Path configuredFile() {
+        Object file = SessionFactoryUtil.getSessionFactory().getProperties().get(FILE_SETTING);
+        return file == null || file.toString().isBlank() ? null : Path.of(file.toString().trim());
+    }
+
+    /**
+     * Writes all transports of the current database to the given file, replacing it atomically.
+     * The rows are streamed through a StatelessSession, so memory use does not depend on the table size.
+     *
+     * @param file the snapshot file to write
+     * @return the written snapshot, mapped
+     */
+    public static TransportSnapshotFile export(Path file) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                writeTo(channel);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return open(file);
+    }
+
+    /**
+     * Maps an existing snapshot file after checking its header and checksum.
+     *
+     * @param file the snapshot file
+     * @return the mapped snapshot
+     * @throws InvalidSnapshotFileException if the file is truncated, corrupted or of another format
+     */
+    public static TransportSnapshotFile open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE) {
+                throw new InvalidSnapshotFileException(file, "shorter than the header");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new InvalidSnapshotFileException(file, "not a transport snapshot");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new InvalidSnapshotFileException(file, "unsupported version " + header.getInt(4));
+            }
+            long count = header.getLong(8);
+            long dictionaryOffset = header.getLong(24);
+            if (count < 0 || count > Integer.MAX_VALUE
+                    || dictionaryOffset != HEADER_SIZE + count * RECORD_SIZE || dictionaryOffset + 4 > length) {
+                throw new InvalidSnapshotFileException(file, "truncated");
+            }
+            if (checksum(channel, length) != header.getLong(32)) {
+                throw new InvalidSnapshotFileException(file, "checksum mismatch");
+            }
+
+            int size = (int) count;
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + (long) SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int s = 0; s < segments.length; s++) {
+                long records = Math.min(SEGMENT_MASK + 1L, size - ((long) s << SEGMENT_SHIFT));
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + ((long) s << SEGMENT_SHIFT) * RECORD_SIZE, records * RECORD_SIZE);
+                segments[s].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            String[] destinations = readDictionary(file, channel.map(FileChannel.MapMode.READ_ONLY,
+                    dictionaryOffset, length - dictionaryOffset).order(ByteOrder.LITTLE_ENDIAN));
+            return new TransportSnapshotFile(size, header.getLong(16), header.getLong(40), segments, destinations);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the number of transports in the snapshot.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the highest transport ID in the snapshot (0 if it is empty).
+     */
+    public long highWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Returns when the snapshot was exported, in milliseconds since the epoch.
+     */
+    public long createdAtMillis() {
+        return createdAtMillis;
+    }
+
+    /**
+     * Returns the position of the transport with the given ID, or a negative value if it is not in the snapshot.
+     * Binary search over the mapped records.
+     */
+    public int indexOf(long transportId) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = id(middle);
+            if (id < transportId) {
+                low = middle + 1;
+            } else if (id > transportId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    public long id(int position) {
+        return segment(position).getLong(offset(position) + ID);
+    }
+
+    public long priceCents(int position) {
+        return segment(position).getLong(offset(position) + PRICE_CENTS);
+    }
+
+    public LocalDate transportDate(int position) {
+        return LocalDate.ofEpochDay(epochDay(position));
+    }
+
+    public int epochDay(int position) {
+        return segment(position).getInt(offset(position) + EPOCH_DAY);
+    }
+
+    public boolean isPaid(int position) {
+        return (segment(position).get(offset(position) + FLAGS) & PAID_FLAG) != 0;
+    }
+
+    public boolean isPassengerTransport(int position) {
+        return (segment(position).get(offset(position) + FLAGS) & PASSENGER_FLAG) != 0;
+    }
+
+    public long driverId(int position) {
+        return segment(position).getLong(offset(position) + DRIVER_ID);
+    }
+
+    public long companyId(int position) {
+        return segment(position).getLong(offset(position) + COMPANY_ID);
+    }
+
+    public long clientId(int position) {
+        return segment(position).getLong(offset(position) + CLIENT_ID);
+    }
+
+    public long vehicleId(int position) {
+        return segment(position).getLong(offset(position) + VEHICLE_ID);
+    }
+
+    public String destination(int position) {
+        return destinations[segment(position).getInt(offset(position) + DESTINATION)];
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private MappedByteBuffer segment(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        return segments[position >>> SEGMENT_SHIFT];
+    }
+
+    private static int offset(int position) {
+        return (position & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    /**
+     * Streams the transports into the channel: records first, then the dictionary, then the header
+     * (which needs the count, the high-water mark and the checksum of everything after it).
+     */
+    private static void writeTo(FileChannel channel) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> destinations = new ArrayList<>();
+        long count = 0;
+        long highWaterMark = 0;
+
+        channel.position(HEADER_SIZE);
+        try (StatelessSession session = SessionFactoryUtil.getSessionFactory().openStatelessSession();
+             ScrollableResults<Object[]> rows = session.createQuery(
+                             "SELECT t.id, t.price, t.transportDate, t.paymentStatus, TYPE(t), " +
+                                     "t.driver.id, t.company.id, t.client.id, t.vehicle.id, t.destination " +
+                                     "FROM Transport t ORDER BY t.id",
+                             Object[].class)
+                     .setFetchSize(EXPORT_FETCH_SIZE)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                if (!buffer.hasRemaining()) {
+                    flush(channel, buffer, crc);
+                }
+                String destination = (String) row[9];
+                Integer code = dictionary.get(destination);
+                if (code == null) {
+                    code = destinations.size();
+                    dictionary.put(destination, code);
+                    destinations.add(destination);
+                }
+                int start = buffer.position();
+                buffer.putLong(start + ID, (Long) row[0])
+                        .putLong(start + PRICE_CENTS, DailyRevenueIndex.toCents((Double) row[1]))
+                        .putLong(start + DRIVER_ID, (Long) row[5])
+                        .putLong(start + COMPANY_ID, (Long) row[6])
+                        .putLong(start + CLIENT_ID, (Long) row[7])
+                        .putLong(start + VEHICLE_ID, (Long) row[8])
+                        .putInt(start + EPOCH_DAY, (int) ((LocalDate) row[2]).toEpochDay())
+                        .putInt(start + DESTINATION, code)
+                        .put(start + FLAGS, (byte) ((row[3] == PaymentStatus.PAID ? PAID_FLAG : 0)
+                                | (row[4] == PassengerTransport.class ? PASSENGER_FLAG : 0)));
+                buffer.position(start + RECORD_SIZE);
+                highWaterMark = (Long) row[0];
+                count++;
+            }
+        }
+        flush(channel, buffer, crc);
+        long dictionaryOffset = HEADER_SIZE + count * RECORD_SIZE;
+
+        buffer.putInt(destinations.size());
+        for (String destination : destinations) {
+            byte[] bytes = destination.getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < 4 + bytes.length) {
+                flush(channel, buffer, crc);
+            }
+            if (buffer.remaining() < 4 + bytes.length) {
+                ByteBuffer large = ByteBuffer.allocate(4 + bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+                flush(channel, large.putInt(bytes.length).put(bytes), crc);
+            } else {
+                buffer.putInt(bytes.length).put(bytes);
+            }
+        }
+        flush(channel, buffer, crc);
+
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(count)
+                .putLong(highWaterMark)
+                .putLong(dictionaryOffset)
+                .putLong(crc.getValue())
+                .putLong(System.currentTimeMillis())
+                .position(HEADER_SIZE)
+                .flip();
+        channel.position(0);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(true);
+    }
+
+    /**
+     * Writes the buffered bytes, adds them to the checksum and clears the buffer.
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long checksum(FileChannel channel, long length) throws IOException {
+        CRC32C crc = new CRC32C();
+        long chunk = (long) (SEGMENT_MASK + 1) * RECORD_SIZE;
+        for (long position = HEADER_SIZE; position < length; position += chunk) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunk, length - position)));
+        }
+        return crc.getValue();
+    }
+
+    private static String[] readDictionary(Path file, ByteBuffer buffer) {
+        try {
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return strings;
+        } catch (RuntimeException e) {
+            throw new InvalidSnapshotFileException(file, "damaged dictionary");
+        }
+    }
+}
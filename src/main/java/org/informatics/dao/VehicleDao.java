@@ -1,11 +1,13 @@
 package org.informatics.dao;
 
 import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dto.PageDto;
 import org.informatics.entity.Vehicle;
 import org.informatics.exception.EntityNotFoundException;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,6 +25,7 @@ public class VehicleDao {
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
             Transaction transaction = session.beginTransaction();
             session.persist(vehicle);
+            FleetIndex.invalidateOnCommit(session, vehicle.getCompany().getId());
             transaction.commit();
         }
     }
@@ -46,7 +49,106 @@ public class VehicleDao {
      */
     public static List<Vehicle> getAll() {
         try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
-            return session.createQuery("SELECT v FROM Vehicle v", Vehicle.class).getResultList();
+            return session.createQuery("SELECT v FROM Vehicle v JOIN FETCH v.company", Vehicle.class).getResultList();
+        }
+    }
+
+    /**
+     * Counts all vehicles without loading them.
+     *
+     * @return number of vehicles
+     */
+    public static long count() {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(v) FROM Vehicle v", Long.class)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Counts the vehicles of one type (Bus, Truck or Tanker).
+     *
+     * @param type the vehicle class; only vehicles of exactly this class are counted
+     * @return number of vehicles of the type
+     */
+    public static long countByType(Class<? extends Vehicle> type) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(v) FROM Vehicle v WHERE TYPE(v) = :type", Long.class)
+                    .setParameter("type", type)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Counts the vehicles of one company.
+     *
+     * @param companyId the company ID
+     * @return number of vehicles of the company
+     */
+    public static long countByCompany(long companyId) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(v) FROM Vehicle v WHERE v.company.id = :companyId", Long.class)
+                    .setParameter("companyId", companyId)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Counts the vehicles of one type (Bus, Truck or Tanker) owned by one company.
+     *
+     * @param companyId the company ID
+     * @param type the vehicle class; only vehicles of exactly this class are counted
+     * @return number of vehicles of the type owned by the company
+     */
+    public static long countByCompanyAndType(long companyId, Class<? extends Vehicle> type) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                            "SELECT COUNT(v) FROM Vehicle v WHERE v.company.id = :companyId AND TYPE(v) = :type",
+                            Long.class)
+                    .setParameter("companyId", companyId)
+                    .setParameter("type", type)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Retrieves the vehicles with the given IDs (with company) in one statement.
+     * IDs without a vehicle are missing from the result.
+     *
+     * @param ids the vehicle IDs
+     * @return list of the vehicles found, in no particular order
+     */
+    public static List<Vehicle> getByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT v FROM Vehicle v JOIN FETCH v.company WHERE v.id IN :ids", Vehicle.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+        }
+    }
+
+    /**
+     * Retrieves one page of vehicles ordered by ID.
+     * Uses keyset pagination on the primary key, so every page costs the same regardless of its depth.
+     *
+     * @param pageToken token from the previous page, or null for the first page
+     * @param pageSize maximum number of vehicles on the page (1..1000)
+     * @return the page and the token of the next page
+     * @throws org.informatics.exception.InvalidPageTokenException if the token is malformed
+     */
+    public static PageDto<Vehicle> getPage(String pageToken, int pageSize) {
+        PageTokens.validatePageSize(pageSize);
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            long afterId = pageToken == null ? 0 : PageTokens.parseLong(pageToken, PageTokens.decode(pageToken, 1)[0]);
+            List<Vehicle> vehicles = session.createQuery(
+                            "SELECT v FROM Vehicle v JOIN FETCH v.company WHERE v.id > :afterId ORDER BY v.id",
+                            Vehicle.class)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(pageSize + 1)
+                    .getResultList();
+            return PageTokens.toPage(vehicles, pageSize, v -> PageTokens.encode(v.getId()));
         }
     }
 
@@ -64,6 +166,7 @@ public class VehicleDao {
                 throw new EntityNotFoundException("Vehicle", id);
             }
             session.remove(vehicle);
+            FleetIndex.invalidateOnCommit(session, vehicle.getCompany().getId());
             transaction.commit();
         }
     }
@@ -0,0 +1,35 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.informatics.entity.enums.AggregateScope;
+
+import java.time.LocalDate;
+
+/**
+ * Difference between a stored revenue aggregate and the value recomputed from the transports table.
+ * The day is only set for COMPANY_DAY aggregates, where the owner is the company.
+ */
+@Getter
+@AllArgsConstructor
+public class AggregateDriftDto {
+    private AggregateScope scope;
+    private long ownerId;
+    private LocalDate day;
+    private long storedTransportCount;
+    private long actualTransportCount;
+    private long storedPaidCount;
+    private long actualPaidCount;
+    private double storedTotalValue;
+    private double actualTotalValue;
+    private double storedPaidRevenue;
+    private double actualPaidRevenue;
+
+    @Override
+    public String toString() {
+        String owner = day == null ? scope + " " + ownerId : scope + " " + ownerId + " " + day;
+        return String.format("%s: count %d/%d, paid count %d/%d, value %.2f/%.2f, revenue %.2f/%.2f (stored/actual)",
+                owner, storedTransportCount, actualTransportCount, storedPaidCount, actualPaidCount,
+                storedTotalValue, actualTotalValue, storedPaidRevenue, actualPaidRevenue);
+    }
+}
@@ -0,0 +1,25 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Result of a chunked bulk insert.
+ * Every chunk is committed in its own transaction, so a failed chunk does not affect the others.
+ * The transports of a failed chunk are unsaved again afterwards and can be retried.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkInsertReportDto {
+    private int totalCount;
+    private int persistedCount;
+    private int chunkCount;
+    private long elapsedMillis;
+    private List<ChunkFailureDto> failures;
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+}
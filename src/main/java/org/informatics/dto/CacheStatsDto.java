@@ -0,0 +1,28 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Hit/miss counters of the second-level (entity and collection) cache and of the query cache.
+ */
+@Getter
+@AllArgsConstructor
+public class CacheStatsDto {
+    private long secondLevelCacheHits;
+    private long secondLevelCacheMisses;
+    private long secondLevelCachePuts;
+    private long queryCacheHits;
+    private long queryCacheMisses;
+    private long queryCachePuts;
+
+    public double getSecondLevelCacheHitRatio() {
+        long lookups = secondLevelCacheHits + secondLevelCacheMisses;
+        return lookups == 0 ? 0.0 : (double) secondLevelCacheHits / lookups;
+    }
+
+    public double getQueryCacheHitRatio() {
+        long lookups = queryCacheHits + queryCacheMisses;
+        return lookups == 0 ? 0.0 : (double) queryCacheHits / lookups;
+    }
+}
@@ -0,0 +1,17 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Describes a chunk of a bulk insert that was rolled back.
+ * Indexes refer to positions in the submitted collection (from inclusive, to exclusive).
+ */
+@Getter
+@AllArgsConstructor
+public class ChunkFailureDto {
+    private int chunkIndex;
+    private int fromIndex;
+    private int toIndex;
+    private String errorMessage;
+}
@@ -0,0 +1,21 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Point-in-time view of the JDBC connection pool, used to size the pool under load.
+ */
+@Getter
+@AllArgsConstructor
+public class ConnectionPoolStatsDto {
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int maxConnections;
+    private int threadsAwaitingConnection;
+    private long acquireCount;
+    private double averageWaitMillis;
+    private double maxWaitMillis;
+    private long timeoutCount;
+}
@@ -0,0 +1,35 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Latency, SQL statement, entity and transaction counters of one DAO method since startup (or the last reset).
+ * A call is measured from opening its Hibernate session to closing it.
+ */
+@Getter
+@AllArgsConstructor
+public class DaoMethodStatsDto {
+    private String method;
+    private long calls;
+    private double p50Millis;
+    private double p99Millis;
+    private double maxMillis;
+    private double totalMillis;
+    private long statements;
+    private long entitiesLoaded;
+    private long transactions;
+    private double totalTransactionMillis;
+
+    public double getStatementsPerCall() {
+        return calls == 0 ? 0.0 : (double) statements / calls;
+    }
+
+    public double getEntitiesPerCall() {
+        return calls == 0 ? 0.0 : (double) entitiesLoaded / calls;
+    }
+
+    public double getAverageTransactionMillis() {
+        return transactions == 0 ? 0.0 : totalTransactionMillis / transactions;
+    }
+}
@@ -0,0 +1,35 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Headline metrics and revenue rankings for the dashboard, computed together at computedAt.
+ * Totals cover all transports; the period figures and rankings cover PAID transports between periodFrom and
+ * periodTo (inclusive).
+ */
+@Getter
+@AllArgsConstructor
+public class DashboardSnapshotDto {
+    private Instant computedAt;
+    private long transportCount;
+    private long paidTransportCount;
+    private double totalValue;
+    private double totalRevenue;
+    private LocalDate periodFrom;
+    private LocalDate periodTo;
+    private double periodRevenue;
+    private List<DriverRevenueDto> driverRanking;
+    private List<CompanyRevenueDto> companyRanking;
+
+    /**
+     * Returns the share of the total value that has been paid, in percent.
+     */
+    public double getPaymentRate() {
+        return totalValue == 0 ? 0.0 : totalRevenue / totalValue * 100;
+    }
+}
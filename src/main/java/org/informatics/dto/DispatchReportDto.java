@@ -0,0 +1,21 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.informatics.entity.Transport;
+
+import java.util.List;
+
+/**
+ * Result of dispatching a batch of transport requests.
+ * The assigned requests were created through the chunked bulk insert described by insertReport.
+ */
+@Getter
+@AllArgsConstructor
+public class DispatchReportDto {
+    private int requestedCount;
+    private int assignedCount;
+    private long assignMillis;
+    private List<Transport> unassigned;
+    private BulkInsertReportDto insertReport;
+}
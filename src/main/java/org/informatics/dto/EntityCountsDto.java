@@ -0,0 +1,23 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Number of rows of every entity, with vehicles and transports also broken down by type, read in one statement.
+ */
+@Getter
+@AllArgsConstructor
+public class EntityCountsDto {
+    private long companies;
+    private long clients;
+    private long employees;
+    private long drivers;
+    private long vehicles;
+    private long buses;
+    private long trucks;
+    private long tankers;
+    private long transports;
+    private long passengerTransports;
+    private long cargoTransports;
+}
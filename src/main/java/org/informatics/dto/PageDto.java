@@ -0,0 +1,21 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * Pass {@code nextPageToken} to the same DAO method to get the following page; it is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class PageDto<T> {
+    private List<T> items;
+    private String nextPageToken;
+
+    public boolean hasNextPage() {
+        return nextPageToken != null;
+    }
+}
@@ -0,0 +1,20 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evaluation counters of one transport validation rule since startup (or the last reset).
+ */
+@Getter
+@AllArgsConstructor
+public class RuleStatsDto {
+    private String rule;
+    private long evaluations;
+    private long failures;
+    private long totalNanos;
+
+    public double getAverageNanos() {
+        return evaluations == 0 ? 0.0 : (double) totalNanos / evaluations;
+    }
+}
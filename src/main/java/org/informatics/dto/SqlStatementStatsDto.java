@@ -0,0 +1,21 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Execution counters of one SQL statement shape issued by one DAO method (see SqlDiagnostics).
+ * maxRepetitionsPerSession above 1 for a select means the method ran it in a loop (the N+1 pattern).
+ */
+@Getter
+@AllArgsConstructor
+public class SqlStatementStatsDto {
+    private String method;
+    private String sql;
+    private long executions;
+    private double totalMillis;
+    private double maxMillis;
+    private long slowExecutions;
+    private int maxRepetitionsPerSession;
+    private long nPlusOneSessions;
+}
@@ -0,0 +1,21 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight view of a transport used by listing screens.
+ */
+@Getter
+@AllArgsConstructor
+public class TransportListingDto {
+    private long id;
+    private String type;
+    private String destination;
+    private LocalDate date;
+    private double price;
+    private String paymentStatus;
+    private String companyName;
+}
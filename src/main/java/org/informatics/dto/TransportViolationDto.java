@@ -0,0 +1,17 @@
+package org.informatics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A business rule broken by a candidate transport.
+ * The index refers to the position in the validated collection; rule is the name of the broken rule
+ * (see TransportRuleEngine).
+ */
+@Getter
+@AllArgsConstructor
+public class TransportViolationDto {
+    private int index;
+    private String rule;
+    private String errorMessage;
+}
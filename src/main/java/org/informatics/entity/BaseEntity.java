@@ -4,12 +4,17 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * Common superclass for all entities.
+ * Uses a sequence-style generator with the pooled optimizer (one sequence per entity hierarchy,
+ * emulated with a table on MySQL) so Hibernate can assign ids in memory and batch JDBC inserts.
+ */
 @Getter
 @Setter
 @MappedSuperclass
 public abstract class BaseEntity {
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private long id;
 }
\ No newline at end of file
@@ -1,8 +1,7 @@
 package org.informatics.entity;
 
-import jakarta.persistence.Column;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,8 +12,12 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "cargo_transports")
+@DiscriminatorValue("CARGO")
 public class CargoTransport extends Transport{
-    @Column(nullable = false)
     private double cargoWeightKg;
+
+    /**
+     * Volume of liquid cargo, carried by a Tanker; null for cargo that is not liquid.
+     */
+    private Double cargoVolumeLiters;
 }
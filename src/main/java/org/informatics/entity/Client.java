@@ -5,16 +5,20 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a client who requests transport services.
  * Clients can have multiple transports associated with them.
+ * Rarely changes, so it is kept in the second-level cache.
  */
 @Entity
 @NoArgsConstructor
 @Getter
 @Setter
 @ToString
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "clients")
 public class Client extends BaseEntity {
     @Column(nullable = false)
@@ -0,0 +1,31 @@
+package org.informatics.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.informatics.entity.enums.CompanyRuleType;
+
+/**
+ * A validation rule that applies to the transports of one company only.
+ * MAX_CARGO_WEIGHT_KG, MIN_DRIVER_SALARY and MAX_DRIVER_SALARY use numberValue;
+ * FORBIDDEN_DESTINATION uses textValue (compared ignoring case).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "company_rules")
+public class CompanyRule extends BaseEntity {
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "company_id")
+    private TransportCompany company;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private CompanyRuleType type;
+
+    private Double numberValue;
+
+    private String textValue;
+}
@@ -0,0 +1,64 @@
+package org.informatics.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Transport totals of one company on one transport date.
+ * Maintained together with RevenueTotal (see RevenueAggregateDao); period revenue reports
+ * read these rows instead of scanning the transports table by date.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(DailyRevenueTotal.Key.class)
+@Table(name = "daily_revenue_totals")
+public class DailyRevenueTotal {
+    @Id
+    @Column(name = "company_id")
+    private long companyId;
+
+    @Id
+    @Column(name = "revenue_date")
+    private LocalDate revenueDate;
+
+    @Column(nullable = false)
+    private long transportCount;
+
+    @Column(nullable = false)
+    private long paidCount;
+
+    @Column(nullable = false)
+    private double totalValue;
+
+    @Column(nullable = false)
+    private double paidRevenue;
+
+    /**
+     * Composite primary key. Ordered by company and date so rows can always be locked in the same order.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class Key implements Serializable, Comparable<Key> {
+        private static final Comparator<Key> ORDER =
+                Comparator.comparingLong(Key::getCompanyId).thenComparing(Key::getRevenueDate);
+
+        private long companyId;
+        private LocalDate revenueDate;
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
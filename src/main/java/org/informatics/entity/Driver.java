@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.informatics.entity.enums.DriverQualification;
 
 import java.util.HashSet;
@@ -22,6 +24,7 @@ import java.util.Set;
 @Table(name = "drivers")
 public class Driver extends Employee{
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "driver_qualifications", joinColumns = @JoinColumn(name = "driver_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "qualification")
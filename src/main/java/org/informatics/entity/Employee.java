@@ -5,10 +5,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Base class for all employees working in a transport company.
  * Uses JOINED inheritance strategy - each subclass has its own table.
+ * The whole hierarchy (including drivers) shares one second-level cache region.
  */
 @Getter
 @Setter
@@ -16,7 +19,11 @@ import lombok.ToString;
 @Entity
 @ToString(exclude = {"company"})
 @Inheritance(strategy = InheritanceType.JOINED)
-@Table(name = "employees")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "employees", indexes = {
+        // keyset pagination by salary (DriverDao.getDriversSortedBySalaryAscPage)
+        @Index(name = "idx_employees_salary_id", columnList = "salary, id")
+})
 public class Employee extends BaseEntity {
     @Column(nullable = false)
     private String firstName;
@@ -1,8 +1,7 @@
 package org.informatics.entity;
 
-import jakarta.persistence.Column;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,8 +12,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "passenger_transports")
+@DiscriminatorValue("PASSENGER")
 public class PassengerTransport extends Transport{
-    @Column(nullable = false)
     private int passengerCount;
 }
@@ -0,0 +1,66 @@
+package org.informatics.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.informatics.entity.enums.AggregateScope;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Incrementally maintained transport totals for the whole system, one company or one driver.
+ * Rows are updated in the same transaction as the transport writes (see RevenueAggregateDao),
+ * so revenue reports can read them instead of scanning and grouping the transports table.
+ * The GLOBAL row uses owner ID 0.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(RevenueTotal.Key.class)
+@Table(name = "revenue_totals")
+public class RevenueTotal {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private AggregateScope scope;
+
+    @Id
+    @Column(name = "owner_id")
+    private long ownerId;
+
+    @Column(nullable = false)
+    private long transportCount;
+
+    @Column(nullable = false)
+    private long paidCount;
+
+    @Column(nullable = false)
+    private double totalValue;
+
+    @Column(nullable = false)
+    private double paidRevenue;
+
+    /**
+     * Composite primary key. Ordered by scope and owner so rows can always be locked in the same order.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class Key implements Serializable, Comparable<Key> {
+        private static final Comparator<Key> ORDER =
+                Comparator.comparing(Key::getScope).thenComparingLong(Key::getOwnerId);
+
+        private AggregateScope scope;
+        private long ownerId;
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package org.informatics.entity;
 
-import jakarta.persistence.Column;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,15 +11,13 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "tankers")
+@DiscriminatorValue("TANKER")
 public class Tanker extends Vehicle{
-    @Column(nullable = false)
     private double maxLiters;
 
     /**
      * Indicates whether the tanker transports flammable cargo.
      * If true, the driver must have SPECIAL_CARGO qualification.
      */
-    @Column(nullable = false)
     private boolean flammable;
 }
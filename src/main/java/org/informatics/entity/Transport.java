@@ -7,18 +7,40 @@ import lombok.Setter;
 import org.informatics.entity.enums.PaymentStatus;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Base class for all transport operations.
- * Uses JOINED inheritance strategy - each transport type has its own table.
+ * Uses SINGLE_TABLE inheritance strategy - all transport types share the transports table and are told apart
+ * by the transport_type column, so polymorphic reads need no joins and an insert writes a single row.
+ * The columns of the subclasses are nullable in the table; the migrations add per-type NOT NULL checks.
  * Transport represents a single service performed by the company.
+ * A transport may have a time window (departureAt to arrivalAt) during which its driver and vehicle are booked;
+ * transports with a time window must not overlap for the same driver or vehicle (see AvailabilityDao).
  */
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
-@Inheritance(strategy = InheritanceType.JOINED)
-@Table(name = "transports")
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "transport_type", length = 16)
+@DiscriminatorValue("TRANSPORT")
+@Table(name = "transports", indexes = {
+        // keyset pagination by destination (TransportDao.getPageSortedByDestination)
+        @Index(name = "idx_transports_destination_id", columnList = "destination, id"),
+        // paid revenue by period and the global totals (covering: no table access needed)
+        @Index(name = "idx_transports_status_date_price", columnList = "paymentStatus, transportDate, price"),
+        // per-driver totals (RevenueAggregateDao rebuild and verify)
+        @Index(name = "idx_transports_driver_status_price", columnList = "driver_id, paymentStatus, price"),
+        // per-company and per-company-day totals (RevenueAggregateDao rebuild and verify)
+        @Index(name = "idx_transports_company_date_status_price",
+                columnList = "company_id, transportDate, paymentStatus, price"),
+        // bulk payment status updates of a client (TransportDao.setPaymentStatusForClient)
+        @Index(name = "idx_transports_client_status_date", columnList = "client_id, paymentStatus, transportDate"),
+        // double-booking checks: the last booking of a driver or vehicle departing before a given time (AvailabilityDao)
+        @Index(name = "idx_transports_driver_departure", columnList = "driver_id, departureAt, arrivalAt"),
+        @Index(name = "idx_transports_vehicle_departure", columnList = "vehicle_id, departureAt, arrivalAt")
+})
 public class Transport extends BaseEntity {
     @ManyToOne(optional = false)
     @JoinColumn(name = "company_id")
@@ -48,4 +70,14 @@ public class Transport extends BaseEntity {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private PaymentStatus paymentStatus = PaymentStatus.UNPAID;
+
+    /**
+     * Start of the time window (optional, on transportDate); set together with arrivalAt.
+     */
+    private LocalDateTime departureAt;
+
+    /**
+     * End of the time window (exclusive, optional); may fall on a later day than transportDate.
+     */
+    private LocalDateTime arrivalAt;
 }
@@ -4,15 +4,19 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a transport company that owns vehicles and employs drivers.
  * A company can have multiple employees, vehicles, and transports.
+ * Rarely changes, so it is kept in the second-level cache.
  */
 @Entity
 @NoArgsConstructor
 @Getter
 @Setter
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "transport_companies")
 public class TransportCompany extends BaseEntity {
     @Column(nullable = false, unique = true)
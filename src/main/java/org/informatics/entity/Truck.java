@@ -1,8 +1,7 @@
 package org.informatics.entity;
 
-import jakarta.persistence.Column;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,8 +11,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "trucks")
+@DiscriminatorValue("TRUCK")
 public class Truck extends Vehicle{
-    @Column(nullable = false)
     private double maxLoadKg;
 }
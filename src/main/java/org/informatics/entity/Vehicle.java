@@ -5,17 +5,24 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Base class for all vehicles owned by a transport company.
- * Uses JOINED inheritance strategy - each vehicle type has its own table.
+ * Uses SINGLE_TABLE inheritance strategy - all vehicle types share the vehicles table and are told apart
+ * by the vehicle_type column (subclass columns are nullable, as for Transport).
+ * The whole hierarchy shares one second-level cache region.
  */
 @Getter
 @Setter
 @Entity
 @NoArgsConstructor
 @ToString(exclude = {"company"})
-@Inheritance(strategy = InheritanceType.JOINED)
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "vehicle_type", length = 16)
+@DiscriminatorValue("VEHICLE")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "vehicles")
 public class Vehicle extends BaseEntity {
     @Column(nullable = false, unique = true)
@@ -0,0 +1,5 @@
+package org.informatics.entity.enums;
+
+public enum AggregateScope {
+    GLOBAL, COMPANY, DRIVER, COMPANY_DAY
+}
@@ -0,0 +1,5 @@
+package org.informatics.entity.enums;
+
+public enum CompanyRuleType {
+    MAX_CARGO_WEIGHT_KG, FORBIDDEN_DESTINATION, MIN_DRIVER_SALARY, MAX_DRIVER_SALARY
+}
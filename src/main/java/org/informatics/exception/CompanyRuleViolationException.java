@@ -0,0 +1,11 @@
+package org.informatics.exception;
+
+/**
+ * Thrown when a transport breaks a rule configured for its company (see CompanyRule).
+ * Example: a destination the company does not serve.
+ */
+public class CompanyRuleViolationException extends AppException {
+    public CompanyRuleViolationException(String message) {
+        super(message);
+    }
+}
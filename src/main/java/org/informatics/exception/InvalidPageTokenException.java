@@ -0,0 +1,10 @@
+package org.informatics.exception;
+
+/**
+ * Thrown when a page token passed to a paginated listing is malformed or belongs to another listing.
+ */
+public class InvalidPageTokenException extends AppException {
+    public InvalidPageTokenException(String token) {
+        super(String.format("Invalid page token: %s", token));
+    }
+}
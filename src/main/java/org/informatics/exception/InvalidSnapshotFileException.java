@@ -0,0 +1,12 @@
+package org.informatics.exception;
+
+import java.nio.file.Path;
+
+/**
+ * Thrown when a transport snapshot file is truncated, corrupted or was written in an unknown format.
+ */
+public class InvalidSnapshotFileException extends AppException {
+    public InvalidSnapshotFileException(Path file, String reason) {
+        super(String.format("Invalid transport snapshot file %s: %s", file, reason));
+    }
+}
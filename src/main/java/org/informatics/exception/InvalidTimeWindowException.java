@@ -0,0 +1,10 @@
+package org.informatics.exception;
+
+/**
+ * Thrown when the time window of a transport is incomplete, empty or does not start on the transport date.
+ */
+public class InvalidTimeWindowException extends AppException {
+    public InvalidTimeWindowException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,7 @@
 package org.informatics.exception;
 
 /**
- * Thrown when required fields are missing when creating transport.
+ * Thrown when required fields are missing when creating a transport or a company rule.
  */
 public class MissingRequiredDataException extends AppException {
     public MissingRequiredDataException(String message) {
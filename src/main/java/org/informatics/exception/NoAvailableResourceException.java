@@ -0,0 +1,12 @@
+package org.informatics.exception;
+
+import java.time.LocalDate;
+
+/**
+ * Thrown when a company has no free qualified driver and fitting vehicle for a transport request.
+ */
+public class NoAvailableResourceException extends AppException {
+    public NoAvailableResourceException(long companyId, LocalDate date) {
+        super(String.format("Company with ID %d has no free qualified driver and fitting vehicle on %s.", companyId, date));
+    }
+}
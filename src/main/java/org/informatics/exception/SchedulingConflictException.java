@@ -0,0 +1,12 @@
+package org.informatics.exception;
+
+import java.time.LocalDateTime;
+
+/**
+ * Thrown when a transport would book a driver or vehicle that is already booked for an overlapping time window.
+ */
+public class SchedulingConflictException extends AppException {
+    public SchedulingConflictException(String resource, long resourceId, LocalDateTime bookedFrom, LocalDateTime bookedTo) {
+        super(String.format("%s with ID %d is already booked from %s to %s.", resource, resourceId, bookedFrom, bookedTo));
+    }
+}
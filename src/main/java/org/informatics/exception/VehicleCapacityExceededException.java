@@ -0,0 +1,11 @@
+package org.informatics.exception;
+
+/**
+ * Thrown when a transport does not fit its vehicle.
+ * Example: 80 passengers on a Bus with 50 seats.
+ */
+public class VehicleCapacityExceededException extends AppException {
+    public VehicleCapacityExceededException(String message) {
+        super(message);
+    }
+}
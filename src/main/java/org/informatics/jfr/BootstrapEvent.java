@@ -0,0 +1,93 @@
+package org.informatics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for the SessionFactoryUtil bootstrap, with the connection pool, schema migration and
+ * SessionFactory build phases timed separately.
+ */
+@Name("org.informatics.Bootstrap")
+@Label("SessionFactory Bootstrap")
+@Category({"Transport Company", "Persistence"})
+@Description("Creation of the connection pool and the Hibernate SessionFactory")
+@Enabled(false)
+@StackTrace(false)
+public final class BootstrapEvent extends Event {
+
+    @Label("Pool Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long poolTime;
+
+    @Label("Migration Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long migrationTime;
+
+    @Label("Build Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long buildTime;
+
+    @Label("Migrations Executed")
+    private int migrationsExecuted;
+
+    @Label("Entity Count")
+    private int entityCount;
+
+    private transient long phaseStart;
+
+    /**
+     * Creates and begins the event; the connection pool phase starts.
+     */
+    public static BootstrapEvent start() {
+        BootstrapEvent event = new BootstrapEvent();
+        event.begin();
+        event.phaseStart = System.nanoTime();
+        return event;
+    }
+
+    /**
+     * Ends the connection pool phase; the migration phase starts.
+     */
+    public void poolCreated() {
+        poolTime = lap();
+    }
+
+    /**
+     * Ends the migration phase; the SessionFactory build phase starts.
+     *
+     * @param migrations number of migrations applied, 0 if Flyway is not configured
+     */
+    public void migrated(int migrations) {
+        migrationTime = lap();
+        migrationsExecuted = migrations;
+    }
+
+    /**
+     * Ends the build phase and commits the event.
+     *
+     * @param entities number of mapped entities
+     */
+    public void finish(int entities) {
+        buildTime = lap();
+        entityCount = entities;
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - phaseStart;
+        phaseStart = now;
+        return elapsed;
+    }
+}
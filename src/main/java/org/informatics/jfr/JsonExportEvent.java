@@ -0,0 +1,92 @@
+package org.informatics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * JFR event for TransportJsonService.exportToJson: the transports exported and the amount of JSON written.
+ */
+@Name("org.informatics.JsonExport")
+@Label("JSON Export")
+@Category({"Transport Company", "Export"})
+@Description("Export of all transports to JSON")
+@Enabled(false)
+@StackTrace(false)
+public final class JsonExportEvent extends Event {
+
+    @Label("File")
+    @Description("Target file, or null for an export to a Writer")
+    private String file;
+
+    @Label("Rows")
+    private long rows;
+
+    @Label("Characters Written")
+    private long charactersWritten;
+
+    @Label("Bytes Written")
+    @Description("Size of the target file, 0 for an export to a Writer")
+    @DataAmount
+    private long bytesWritten;
+
+    /**
+     * Creates and begins the event.
+     *
+     * @param file the target file, or null for an export to a Writer
+     */
+    public static JsonExportEvent start(String file) {
+        JsonExportEvent event = new JsonExportEvent();
+        event.file = file;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Adds to the number of characters written so far.
+     */
+    public void written(int characters) {
+        charactersWritten += characters;
+    }
+
+    /**
+     * Ends and commits the event of an export to a Writer.
+     *
+     * @param exported number of exported transports
+     */
+    public void finish(long exported) {
+        end();
+        if (shouldCommit()) {
+            rows = exported;
+            commit();
+        }
+    }
+
+    /**
+     * Ends and commits the event of an export to a file; the file must be closed.
+     *
+     * @param exported number of exported transports
+     * @param path the written file
+     */
+    public void finish(long exported, Path path) {
+        end();
+        if (shouldCommit()) {
+            rows = exported;
+            try {
+                bytesWritten = Files.size(path);
+            } catch (IOException e) {
+                bytesWritten = 0;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.informatics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+
+/**
+ * JFR event for one ReportDao call: the report (method) name, the company it is restricted to and the rows returned.
+ */
+@Name("org.informatics.Report")
+@Label("Report")
+@Category({"Transport Company", "Reports"})
+@Description("One ReportDao call")
+@Enabled(false)
+@StackTrace(false)
+public final class ReportEvent extends Event {
+
+    @Label("Report")
+    private String report;
+
+    @Label("Company ID")
+    @Description("0 for reports over all companies")
+    private long companyId;
+
+    @Label("Rows")
+    private long rows;
+
+    /**
+     * Creates and begins the event for a report over all companies.
+     *
+     * @param report the ReportDao method name
+     */
+    public static ReportEvent start(String report) {
+        return start(report, 0);
+    }
+
+    /**
+     * Creates and begins the event for a report restricted to one company.
+     *
+     * @param report the ReportDao method name
+     * @param companyId the company ID
+     */
+    public static ReportEvent start(String report, long companyId) {
+        ReportEvent event = new ReportEvent();
+        event.report = report;
+        event.companyId = companyId;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits the event for a report that returns rows.
+     *
+     * @return the result, unchanged
+     */
+    public <T extends Collection<?>> T finish(T result) {
+        commitRows(result.size());
+        return result;
+    }
+
+    /**
+     * Ends and commits the event for a report that returns a single figure.
+     *
+     * @return the result, unchanged
+     */
+    public double finish(double result) {
+        commitRows(1);
+        return result;
+    }
+
+    /**
+     * Ends and commits the event for a report that returns one object made up of rows (e.g. rankings).
+     *
+     * @param rowCount number of rows in the result
+     * @return the result, unchanged
+     */
+    public <T> T finish(T result, long rowCount) {
+        commitRows(rowCount);
+        return result;
+    }
+
+    /**
+     * Ends and commits the event for a report that returns a count (one row).
+     *
+     * @return the result, unchanged
+     */
+    public long finishCount(long result) {
+        commitRows(1);
+        return result;
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private void commitRows(long rowCount) {
+        end();
+        if (shouldCommit()) {
+            rows = rowCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.informatics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.informatics.entity.Transport;
+
+/**
+ * JFR event for TransportService.createTransport, with the validation and persist phases timed separately.
+ * A transport that broke a business rule is recorded with persisted=false and no persist time.
+ */
+@Name("org.informatics.TransportCreate")
+@Label("Transport Create")
+@Category({"Transport Company", "Transports"})
+@Description("Validation and persisting of one transport")
+@Enabled(false)
+@StackTrace(false)
+public final class TransportCreateEvent extends Event {
+
+    @Label("Transport Type")
+    private String transportType;
+
+    @Label("Company ID")
+    private long companyId;
+
+    @Label("Transport ID")
+    private long transportId;
+
+    @Label("Persisted")
+    private boolean persisted;
+
+    @Label("Validation Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long validationTime;
+
+    @Label("Persist Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long persistTime;
+
+    private transient long phaseStart;
+    private transient boolean validationDone;
+
+    /**
+     * Creates and begins the event.
+     */
+    public static TransportCreateEvent start() {
+        TransportCreateEvent event = new TransportCreateEvent();
+        event.begin();
+        if (event.isEnabled()) {
+            event.phaseStart = System.nanoTime();
+        }
+        return event;
+    }
+
+    /**
+     * Ends the validation phase; the persist phase starts.
+     */
+    public void validated() {
+        if (isEnabled()) {
+            long now = System.nanoTime();
+            validationTime = now - phaseStart;
+            validationDone = true;
+            phaseStart = now;
+        }
+    }
+
+    /**
+     * Ends the event and commits it if it is enabled and over its threshold.
+     *
+     * @param transport the transport
+     * @param persisted whether the transport was stored
+     */
+    public void finish(Transport transport, boolean persisted) {
+        end();
+        if (shouldCommit()) {
+            long elapsed = System.nanoTime() - phaseStart;
+            transportType = transport.getClass().getSimpleName();
+            companyId = transport.getCompany() == null ? 0 : transport.getCompany().getId();
+            transportId = transport.getId();
+            this.persisted = persisted;
+            if (validationDone) {
+                persistTime = elapsed;
+            } else {
+                validationTime = elapsed;
+            }
+            commit();
+        }
+    }
+}
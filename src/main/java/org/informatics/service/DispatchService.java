@@ -0,0 +1,68 @@
+package org.informatics.service;
+
+import org.informatics.dao.DispatchDao;
+import org.informatics.dto.BulkInsertReportDto;
+import org.informatics.dto.DispatchReportDto;
+import org.informatics.entity.Transport;
+import org.informatics.exception.MissingRequiredDataException;
+import org.informatics.exception.NoAvailableResourceException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Service class that creates transports with automatically chosen drivers and vehicles.
+ * The choice is made by DispatchDao; the transports are then validated and created by TransportService.
+ */
+public class DispatchService {
+
+    /**
+     * Assigns a free, qualified driver and a fitting vehicle of the request's company, then creates the transport.
+     *
+     * @param request a PassengerTransport or CargoTransport with company, client and transport date set
+     * @throws MissingRequiredDataException if company, client or transport date is null
+     * @throws NoAvailableResourceException if no free driver and vehicle of the company fit the request
+     */
+    public static void dispatch(Transport request) {
+        validateRequest(request);
+        if (!DispatchDao.assign(request)) {
+            throw new NoAvailableResourceException(request.getCompany().getId(), request.getTransportDate());
+        }
+        TransportService.createTransport(request);
+    }
+
+    /**
+     * Assigns drivers and vehicles to many requests at once (typically a whole day's requests) and creates
+     * the assigned transports with {@link TransportService#createTransports(Collection)}.
+     * Requests that cannot be assigned are returned in the report instead of failing the batch.
+     *
+     * @param requests PassengerTransports or CargoTransports with company, client and transport date set
+     * @return report with the assigned count, the unassigned requests and the bulk insert result
+     * @throws MissingRequiredDataException if company, client or transport date is null for any request
+     */
+    public static DispatchReportDto dispatchAll(Collection<? extends Transport> requests) {
+        List<Transport> batch = new ArrayList<>(requests);
+        for (Transport request : batch) {
+            validateRequest(request);
+        }
+
+        long start = System.nanoTime();
+        List<Transport> unassigned = DispatchDao.assignAll(batch);
+        long assignMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<Transport> assigned = new ArrayList<>(batch);
+        assigned.removeAll(new HashSet<>(unassigned));
+        BulkInsertReportDto insertReport = TransportService.createTransports(assigned);
+        return new DispatchReportDto(batch.size(), assigned.size(), assignMillis, unassigned, insertReport);
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    private static void validateRequest(Transport request) {
+        if (request.getCompany() == null || request.getClient() == null || request.getTransportDate() == null) {
+            throw new MissingRequiredDataException("Company, Client and transport date are required for dispatch.");
+        }
+    }
+}
@@ -2,13 +2,14 @@ package org.informatics.service;
 
 import org.informatics.dao.TransportDao;
 import org.informatics.dto.TransportJsonDto;
-import org.informatics.entity.Transport;
+import org.informatics.jfr.JsonExportEvent;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Service for exporting and reading transport data in JSON format.
@@ -17,26 +18,40 @@ public class TransportJsonService {
 
     /**
      * Exports all transports from the database to a JSON file.
+     * Transports are streamed from the database and written one by one, see {@link #exportToJson(Writer)}.
      *
      * @param filePath path where the JSON file will be created
+     * @return number of exported transports
      * @throws RuntimeException if file writing fails
      */
-    public static void exportToJson(String filePath) {
-        // Fetch all transports and convert to DTOs
-        List<TransportJsonDto> dtos = TransportDao.getAll()
-                .stream()
-                .map(TransportJsonService::toDto)
-                .collect(Collectors.toList());
-
-        // Convert to JSON string
-        String json = toJsonArray(dtos);
-
-        // Write to file
-        try {
-            Files.writeString(Path.of(filePath), json);
+    public static long exportToJson(String filePath) {
+        JsonExportEvent event = JsonExportEvent.start(filePath);
+        Path path = Path.of(filePath);
+        long count;
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            count = export(writer, event);
         } catch (IOException e) {
             throw new RuntimeException("JSON export failed", e);
         }
+        event.finish(count, path);
+        return count;
+    }
+
+    /**
+     * Streams all transports from the database to the given writer as a JSON array.
+     * Each transport is read through a forward-only cursor and written as soon as it arrives,
+     * so peak memory stays constant regardless of the number of transports.
+     * The writer is not closed; wrap it in a buffered writer for best throughput.
+     *
+     * @param writer destination of the JSON array
+     * @return number of exported transports
+     * @throws UncheckedIOException if writing fails
+     */
+    public static long exportToJson(Writer writer) {
+        JsonExportEvent event = JsonExportEvent.start(null);
+        long count = export(writer, event);
+        event.finish(count);
+        return count;
     }
 
     /**
@@ -57,32 +72,38 @@ public class TransportJsonService {
     // ===================== PRIVATE HELPER METHODS =====================
 
     /**
-     * Converts a Transport entity to a TransportJsonDto.
+     * Writes the JSON array, adding the written characters to the event.
      */
-    private static TransportJsonDto toDto(Transport t) {
-        return new TransportJsonDto(
-                t.getId(),
-                t.getClass().getSimpleName(),
-                t.getTransportDate(),
-                t.getDestination(),
-                t.getPrice(),
-                t.getPaymentStatus().name(),
-                t.getDriver().getId(),
-                t.getDriver().getFirstName() + " " + t.getDriver().getLastName(),
-                t.getVehicle().getId(),
-                t.getVehicle().getRegistrationNumber(),
-                t.getClient().getId(),
-                t.getClient().getFirstName() + " " + t.getClient().getLastName()
-        );
-    }
+    private static long export(Writer writer, JsonExportEvent event) {
+        try {
+            writer.write("[\n");
+            event.written(2);
+            long count = TransportDao.streamAllAsJsonDto(new Consumer<>() {
+                private boolean first = true;
 
-    /**
-     * Converts a list of DTOs to a JSON array string.
-     */
-    private static String toJsonArray(List<TransportJsonDto> list) {
-        return list.stream()
-                .map(TransportJsonService::toJsonObject)
-                .collect(Collectors.joining(",\n", "[\n", "\n]"));
+                @Override
+                public void accept(TransportJsonDto dto) {
+                    try {
+                        if (!first) {
+                            writer.write(",\n");
+                            event.written(2);
+                        }
+                        String json = toJsonObject(dto);
+                        writer.write(json);
+                        event.written(json.length());
+                        first = false;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            writer.write("\n]");
+            event.written(2);
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
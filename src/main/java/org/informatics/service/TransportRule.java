@@ -0,0 +1,28 @@
+package org.informatics.service;
+
+import org.informatics.entity.Driver;
+import org.informatics.entity.Transport;
+import org.informatics.entity.Vehicle;
+import org.informatics.exception.AppException;
+
+/**
+ * A business rule checked before a transport is persisted, see {@link TransportRuleEngine}.
+ * Rules are called concurrently during batch validation, so they must not keep mutable state.
+ *
+ * @param <T> the transport types the rule applies to
+ * @param <V> the vehicle types the rule applies to
+ */
+@FunctionalInterface
+public interface TransportRule<T extends Transport, V extends Vehicle> {
+
+    /**
+     * Checks the transport carried out by the given driver and vehicle.
+     *
+     * @param transport the transport
+     * @param driver its driver
+     * @param vehicle its vehicle
+     * @param qualifications bitmask of the driver's qualifications, see {@link TransportRuleEngine#bit}
+     * @throws AppException (a subclass of it) if the transport breaks the rule
+     */
+    void check(T transport, Driver driver, V vehicle, int qualifications);
+}
@@ -0,0 +1,369 @@
+package org.informatics.service;
+
+import org.informatics.dao.CompanyRuleDao;
+import org.informatics.dto.RuleStatsDto;
+import org.informatics.dto.TransportViolationDto;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.CompanyRuleType;
+import org.informatics.entity.enums.DriverQualification;
+import org.informatics.exception.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry and evaluator of the business rules checked before transports are persisted.
+ *
+ * Every rule is registered for a transport type and a vehicle type and applies to all transports and vehicles
+ * of those types (or subtypes). The first validation of a concrete (transport class, vehicle class) pair compiles
+ * the applicable rules into a flat array in registration order, so later validations of the pair run exactly
+ * the rules that apply, without any instanceof checks. Passenger transports must use a Bus and cargo transports
+ * a Truck or Tanker; for any other vehicle the array starts with the "vehicle-type" rule.
+ *
+ * Besides the built-in rules below, each company can configure its own limits (see CompanyRule), which are
+ * read by the "company-*" rules, so they change without code changes. Further rules can be registered at runtime.
+ *
+ * Every rule evaluation is counted and timed; see {@link #getRuleStats()}.
+ */
+public final class TransportRuleEngine {
+
+    /**
+     * Registered rules in evaluation order. Written only under the class lock.
+     */
+    private static final List<Registration> RULES = new ArrayList<>();
+
+    /**
+     * Vehicle types a transport type may use; transport types without an entry may use any vehicle.
+     */
+    private static final Map<Class<?>, List<Class<? extends Vehicle>>> ALLOWED_VEHICLES = Map.of(
+            PassengerTransport.class, List.of(Bus.class),
+            CargoTransport.class, List.of(Truck.class, Tanker.class));
+
+    private static final Registration REQUIRED_DATA = new Registration("required-data", Transport.class,
+            Vehicle.class, (transport, driver, vehicle, qualifications) -> {
+        throw new MissingRequiredDataException("Company, Client, Driver and Vehicle are required for Transport.");
+    });
+
+    private static final RuleStats VEHICLE_TYPE_STATS = new RuleStats("vehicle-type");
+
+    /**
+     * Compiled rules per transport class and vehicle class. Replaced whenever the registered rules change.
+     */
+    private static volatile Map<Class<?>, Map<Class<?>, Registration[]>> table = new ConcurrentHashMap<>();
+
+    static {
+        register("passengers-over-12", PassengerTransport.class, Vehicle.class, (pt, driver, vehicle, qualifications) -> {
+            if (pt.getPassengerCount() > 12 && !has(qualifications, DriverQualification.PASSENGERS_OVER_12)) {
+                throw new DriverQualificationException("Driver must have PASSENGERS_OVER_12 qualification for more than 12 passengers.");
+            }
+        });
+        register("bus-seats", PassengerTransport.class, Bus.class, (pt, driver, bus, qualifications) -> {
+            if (pt.getPassengerCount() > bus.getSeats()) {
+                throw new VehicleCapacityExceededException(String.format(
+                        "Bus has %d seats, but the transport has %d passengers.", bus.getSeats(), pt.getPassengerCount()));
+            }
+        });
+        register("flammable-special-cargo", CargoTransport.class, Tanker.class, (ct, driver, tanker, qualifications) -> {
+            if (tanker.isFlammable() && !has(qualifications, DriverQualification.SPECIAL_CARGO)) {
+                throw new DriverQualificationException("Driver must have SPECIAL_CARGO qualification for flammable/special cargo.");
+            }
+        });
+        register("truck-max-load", CargoTransport.class, Truck.class, (ct, driver, truck, qualifications) -> {
+            if (ct.getCargoWeightKg() > truck.getMaxLoadKg()) {
+                throw new VehicleCapacityExceededException(String.format(
+                        "Truck carries at most %.0f kg, but the cargo weighs %.0f kg.",
+                        truck.getMaxLoadKg(), ct.getCargoWeightKg()));
+            }
+        });
+        register("tanker-max-liters", CargoTransport.class, Tanker.class, (ct, driver, tanker, qualifications) -> {
+            if (ct.getCargoVolumeLiters() != null && ct.getCargoVolumeLiters() > tanker.getMaxLiters()) {
+                throw new VehicleCapacityExceededException(String.format(
+                        "Tanker holds at most %.0f liters, but the cargo has %.0f liters.",
+                        tanker.getMaxLiters(), ct.getCargoVolumeLiters()));
+            }
+        });
+        register("time-window", Transport.class, Vehicle.class, (transport, driver, vehicle, qualifications) -> {
+            if (transport.getDepartureAt() == null && transport.getArrivalAt() == null) {
+                return;
+            }
+            if (transport.getDepartureAt() == null || transport.getArrivalAt() == null) {
+                throw new InvalidTimeWindowException("A time window needs both departure and arrival.");
+            }
+            if (!transport.getDepartureAt().toLocalDate().equals(transport.getTransportDate())) {
+                throw new InvalidTimeWindowException("The time window must start on the transport date.");
+            }
+            if (!transport.getArrivalAt().isAfter(transport.getDepartureAt())) {
+                throw new InvalidTimeWindowException("A time window must end after it starts.");
+            }
+        });
+        register("company-max-cargo-weight", CargoTransport.class, Vehicle.class, (ct, driver, vehicle, qualifications) -> {
+            for (CompanyRule rule : companyRules(ct)) {
+                if (rule.getType() == CompanyRuleType.MAX_CARGO_WEIGHT_KG
+                        && ct.getCargoWeightKg() > rule.getNumberValue()) {
+                    throw new CompanyRuleViolationException(String.format(
+                            "The company accepts cargo of at most %.0f kg, but the cargo weighs %.0f kg.",
+                            rule.getNumberValue(), ct.getCargoWeightKg()));
+                }
+            }
+        });
+        register("company-forbidden-destination", Transport.class, Vehicle.class, (transport, driver, vehicle, qualifications) -> {
+            for (CompanyRule rule : companyRules(transport)) {
+                if (rule.getType() == CompanyRuleType.FORBIDDEN_DESTINATION
+                        && rule.getTextValue().equalsIgnoreCase(transport.getDestination())) {
+                    throw new CompanyRuleViolationException(String.format(
+                            "The company does not serve the destination %s.", transport.getDestination()));
+                }
+            }
+        });
+        register("company-driver-salary", Transport.class, Vehicle.class, (transport, driver, vehicle, qualifications) -> {
+            for (CompanyRule rule : companyRules(transport)) {
+                boolean tooLow = rule.getType() == CompanyRuleType.MIN_DRIVER_SALARY
+                        && driver.getSalary() < rule.getNumberValue();
+                boolean tooHigh = rule.getType() == CompanyRuleType.MAX_DRIVER_SALARY
+                        && driver.getSalary() > rule.getNumberValue();
+                if (tooLow || tooHigh) {
+                    throw new CompanyRuleViolationException(String.format(
+                            "The company requires a driver salary %s %.2f, but the driver earns %.2f.",
+                            tooLow ? "of at least" : "of at most", rule.getNumberValue(), driver.getSalary()));
+                }
+            }
+        });
+    }
+
+    private TransportRuleEngine() {
+    }
+
+    /**
+     * Registers a rule, evaluated after all rules registered before it.
+     *
+     * @param name unique name of the rule, used in violations and statistics
+     * @param transportType the transport type (and subtypes) the rule applies to
+     * @param vehicleType the vehicle type (and subtypes) the rule applies to
+     * @param rule the check
+     * @throws IllegalArgumentException if a rule with that name is already registered
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Transport, V extends Vehicle> void register(String name, Class<T> transportType,
+                                                                         Class<V> vehicleType,
+                                                                         TransportRule<? super T, ? super V> rule) {
+        synchronized (TransportRuleEngine.class) {
+            if (RULES.stream().anyMatch(r -> r.stats.name.equals(name)) || name.equals(REQUIRED_DATA.stats.name)
+                    || name.equals(VEHICLE_TYPE_STATS.name)) {
+                throw new IllegalArgumentException("A rule named " + name + " is already registered.");
+            }
+            RULES.add(new Registration(name, transportType, vehicleType, (TransportRule<Transport, Vehicle>) rule));
+            table = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Removes a registered rule.
+     *
+     * @param name the rule name
+     * @return true if the rule was registered
+     */
+    public static boolean unregister(String name) {
+        synchronized (TransportRuleEngine.class) {
+            boolean removed = RULES.removeIf(r -> r.stats.name.equals(name));
+            table = new ConcurrentHashMap<>();
+            return removed;
+        }
+    }
+
+    /**
+     * Returns the qualification bit of the given qualification in the bitmask passed to the rules.
+     */
+    public static int bit(DriverQualification qualification) {
+        return 1 << qualification.ordinal();
+    }
+
+    /**
+     * Returns the qualification bitmask of a driver.
+     */
+    public static int qualificationsOf(Driver driver) {
+        int mask = 0;
+        for (DriverQualification qualification : driver.getQualifications()) {
+            mask |= bit(qualification);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the evaluation counters of every rule, in evaluation order.
+     *
+     * @return one entry per rule, including "required-data" and "vehicle-type"
+     */
+    public static List<RuleStatsDto> getRuleStats() {
+        List<RuleStats> stats = new ArrayList<>();
+        stats.add(REQUIRED_DATA.stats);
+        stats.add(VEHICLE_TYPE_STATS);
+        synchronized (TransportRuleEngine.class) {
+            for (Registration registration : RULES) {
+                stats.add(registration.stats);
+            }
+        }
+        return stats.stream().map(RuleStats::toDto).toList();
+    }
+
+    /**
+     * Resets the evaluation counters of every rule.
+     */
+    public static void resetRuleStats() {
+        REQUIRED_DATA.stats.reset();
+        VEHICLE_TYPE_STATS.reset();
+        synchronized (TransportRuleEngine.class) {
+            for (Registration registration : RULES) {
+                registration.stats.reset();
+            }
+        }
+    }
+
+    // ===================== PACKAGE-PRIVATE (called by TransportService) =====================
+
+    /**
+     * Checks the transport carried out by the given driver and vehicle, stopping at the first broken rule.
+     *
+     * @throws AppException (a subclass of it) of the first broken rule
+     */
+    static void check(Transport transport, Driver driver, Vehicle vehicle) {
+        evaluate(transport, driver, vehicle, driver == null ? 0 : qualificationsOf(driver), -1, null);
+    }
+
+    /**
+     * Checks the transport carried out by the given driver and vehicle, adding every broken rule to violations.
+     * Missing required data is the only violation reported for a transport that lacks it.
+     */
+    static void collect(Transport transport, Driver driver, Vehicle vehicle, int qualifications, int index,
+                        List<TransportViolationDto> violations) {
+        evaluate(transport, driver, vehicle, qualifications, index, violations);
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    /**
+     * Runs the rules; throws the first violation if violations is null, otherwise collects all of them.
+     */
+    private static void evaluate(Transport transport, Driver driver, Vehicle vehicle, int qualifications,
+                                 int index, List<TransportViolationDto> violations) {
+        if (transport.getCompany() == null || transport.getClient() == null || driver == null || vehicle == null) {
+            run(REQUIRED_DATA, transport, driver, vehicle, qualifications, index, violations);
+            return;
+        }
+        for (Registration registration : compiled(transport.getClass(), vehicle.getClass())) {
+            run(registration, transport, driver, vehicle, qualifications, index, violations);
+        }
+    }
+
+    private static void run(Registration registration, Transport transport, Driver driver, Vehicle vehicle,
+                            int qualifications, int index, List<TransportViolationDto> violations) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            registration.rule.check(transport, driver, vehicle, qualifications);
+            failed = false;
+        } catch (AppException e) {
+            if (violations == null) {
+                throw e;
+            }
+            violations.add(new TransportViolationDto(index, registration.stats.name, e.getMessage()));
+        } finally {
+            registration.stats.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    private static Registration[] compiled(Class<?> transportType, Class<?> vehicleType) {
+        Map<Class<?>, Map<Class<?>, Registration[]>> current = table;
+        return current.computeIfAbsent(transportType, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(vehicleType, v -> compile(transportType, vehicleType));
+    }
+
+    private static Registration[] compile(Class<?> transportType, Class<?> vehicleType) {
+        List<Registration> rules = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<Class<? extends Vehicle>>> allowed : ALLOWED_VEHICLES.entrySet()) {
+            if (allowed.getKey().isAssignableFrom(transportType)
+                    && allowed.getValue().stream().noneMatch(type -> type.isAssignableFrom(vehicleType))) {
+                rules.add(vehicleTypeRule(allowed.getKey(), allowed.getValue()));
+            }
+        }
+        synchronized (TransportRuleEngine.class) {
+            for (Registration registration : RULES) {
+                if (registration.transportType.isAssignableFrom(transportType)
+                        && registration.vehicleType.isAssignableFrom(vehicleType)) {
+                    rules.add(registration);
+                }
+            }
+        }
+        return rules.toArray(new Registration[0]);
+    }
+
+    private static Registration vehicleTypeRule(Class<?> transportType, List<Class<? extends Vehicle>> allowed) {
+        String message = String.format("%s must use a %s.", transportType.getSimpleName(),
+                String.join(" or a ", allowed.stream().map(Class::getSimpleName).toList()));
+        return new Registration(VEHICLE_TYPE_STATS, Transport.class, Vehicle.class,
+                (transport, driver, vehicle, qualifications) -> {
+                    throw new InvalidVehicleForTransportException(message);
+                });
+    }
+
+    private static boolean has(int qualifications, DriverQualification qualification) {
+        return (qualifications & bit(qualification)) != 0;
+    }
+
+    /**
+     * Rules of the transport's company; a company that is not persisted yet has none.
+     */
+    private static List<CompanyRule> companyRules(Transport transport) {
+        long companyId = transport.getCompany().getId();
+        return companyId == 0 ? List.of() : CompanyRuleDao.getByCompany(companyId);
+    }
+
+    private static final class Registration {
+        private final RuleStats stats;
+        private final Class<?> transportType;
+        private final Class<?> vehicleType;
+        private final TransportRule<Transport, Vehicle> rule;
+
+        private Registration(String name, Class<?> transportType, Class<?> vehicleType,
+                             TransportRule<Transport, Vehicle> rule) {
+            this(new RuleStats(name), transportType, vehicleType, rule);
+        }
+
+        private Registration(RuleStats stats, Class<?> transportType, Class<?> vehicleType,
+                             TransportRule<Transport, Vehicle> rule) {
+            this.stats = stats;
+            this.transportType = transportType;
+            this.vehicleType = vehicleType;
+            this.rule = rule;
+        }
+    }
+
+    private static final class RuleStats {
+        private final String name;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private RuleStats(String name) {
+            this.name = name;
+        }
+
+        private void record(long elapsedNanos, boolean failed) {
+            evaluations.increment();
+            nanos.add(elapsedNanos);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        private void reset() {
+            evaluations.reset();
+            failures.reset();
+            nanos.reset();
+        }
+
+        private RuleStatsDto toDto() {
+            return new RuleStatsDto(name, evaluations.sum(), failures.sum(), nanos.sum());
+        }
+    }
+}
@@ -1,78 +1,211 @@
 package org.informatics.service;
 
+import org.informatics.dao.DriverDao;
 import org.informatics.dao.TransportDao;
+import org.informatics.dao.VehicleDao;
+import org.informatics.dto.BulkInsertReportDto;
+import org.informatics.dto.TransportViolationDto;
 import org.informatics.entity.*;
-import org.informatics.entity.enums.DriverQualification;
+import org.informatics.exception.CompanyRuleViolationException;
 import org.informatics.exception.DriverQualificationException;
+import org.informatics.exception.EntityNotFoundException;
+import org.informatics.exception.InvalidTimeWindowException;
 import org.informatics.exception.InvalidVehicleForTransportException;
 import org.informatics.exception.MissingRequiredDataException;
+import org.informatics.exception.SchedulingConflictException;
+import org.informatics.exception.VehicleCapacityExceededException;
+import org.informatics.jfr.TransportCreateEvent;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 /**
  * Service class for managing transport operations.
  * Handles business logic validation before persisting transports to the database.
  */
 public class TransportService {
+    /**
+     * Default number of transports committed per transaction by {@link #createTransports(Collection)}.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * Smallest batch that {@link #validateTransports(Collection)} checks in parallel.
+     */
+    public static final int PARALLEL_VALIDATION_THRESHOLD = 1000;
+
     /**
      * Creates and persists new transport after validating business rules.
      *
      * Business rules:
      * - PassengerTransport must use a Bus
      * - PassengerTransport with > 12 passengers requires PASSENGERS_OVER_12 qualification
+     * - PassengerTransport has no more passengers than the Bus has seats
      * - CargoTransport must use a Truck or Tanker
      * - CargoTransport with flammable Tanker requires SPECIAL_CARGO qualification
+     * - CargoTransport weighs no more than the Truck's maximum load, and its volume (if set)
+     *   is no more than the Tanker's maximum liters
+     * - A time window starts on the transport date and ends after it starts
+     * - The rules configured for the company (CompanyRule) hold
+     * - Driver and vehicle are not booked for an overlapping time window
+     * The rules are evaluated by {@link TransportRuleEngine}, where further rules can be registered.
      *
      * @param transport the transport to create
      * @throws MissingRequiredDataException if required fields are null
      * @throws InvalidVehicleForTransportException if wrong vehicle type is used
      * @throws DriverQualificationException if driver lacks required qualification
+     * @throws VehicleCapacityExceededException if the transport does not fit the vehicle
+     * @throws InvalidTimeWindowException if the time window is incomplete or invalid
+     * @throws CompanyRuleViolationException if a rule configured for the company is broken
+     * @throws SchedulingConflictException if driver or vehicle is already booked for an overlapping window
      */
     public static void createTransport(Transport transport) {
-        validateTransport(transport);
-        TransportDao.create(transport);
+        TransportCreateEvent event = TransportCreateEvent.start();
+        boolean persisted = false;
+        try {
+            validateTransport(transport);
+            event.validated();
+            TransportDao.create(transport);
+            persisted = true;
+        } finally {
+            event.finish(transport, persisted);
+        }
     }
 
     /**
-     * Validates transport against business rules.
+     * Creates many transports at once using the default chunk size.
      *
-     * @param transport the transport to validate
+     * @param transports the transports to create
+     * @return report with persisted count and per-chunk failures
+     * @see #createTransports(Collection, int)
+     */
+    public static BulkInsertReportDto createTransports(Collection<? extends Transport> transports) {
+        return createTransports(transports, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates many transports at once.
+     * The whole batch is validated first (including overlapping time windows within the batch), so nothing
+     * is persisted if any transport breaks a business rule. Valid batches are then persisted in chunked
+     * transactions with JDBC insert batching; a chunk that collides with bookings stored meanwhile is reported
+     * as a failed chunk.
+     *
+     * @param transports the transports to create
+     * @param chunkSize number of transports committed per transaction
+     * @return report with persisted count and per-chunk failures
      * @throws MissingRequiredDataException if required fields are null
      * @throws InvalidVehicleForTransportException if wrong vehicle type is used
      * @throws DriverQualificationException if driver lacks required qualification
+     * @throws VehicleCapacityExceededException if a transport does not fit its vehicle
+     * @throws InvalidTimeWindowException if a time window is incomplete or invalid
+     * @throws CompanyRuleViolationException if a rule configured for the company is broken
+     * @throws SchedulingConflictException if two transports of the batch book a driver or vehicle at the same time
      */
-    private static void validateTransport(Transport transport) {
-        // Validate required fields
-        if (transport.getCompany() == null ||
-                transport.getClient() == null ||
-                transport.getDriver() == null ||
-                transport.getVehicle() == null) {
-            throw new MissingRequiredDataException("Company, Client, Driver and Vehicle are required for Transport.");
+    public static BulkInsertReportDto createTransports(Collection<? extends Transport> transports, int chunkSize) {
+        List<Transport> batch = new ArrayList<>(transports);
+        for (Transport transport : batch) {
+            validateTransport(transport);
         }
+        validateNoOverlaps(batch, "Driver", t -> t.getDriver().getId());
+        validateNoOverlaps(batch, "Vehicle", t -> t.getVehicle().getId());
+        return TransportDao.createAll(batch, chunkSize);
+    }
 
-        // Validate passenger transport
-        if (transport instanceof PassengerTransport pt) {
-            // Rule 1: PassengerTransport must use a Bus
-            if (!(transport.getVehicle() instanceof Bus)) {
-                throw new InvalidVehicleForTransportException("PassengerTransport must use a Bus.");
-            }
+    /**
+     * Validates transport against business rules without persisting it.
+     *
+     * @param transport the transport to validate
+     * @throws MissingRequiredDataException if required fields are null
+     * @throws InvalidVehicleForTransportException if wrong vehicle type is used
+     * @throws DriverQualificationException if driver lacks required qualification
+     * @throws VehicleCapacityExceededException if the transport does not fit the vehicle
+     * @throws InvalidTimeWindowException if the time window is incomplete or invalid
+     * @throws CompanyRuleViolationException if a rule configured for the company is broken
+     */
+    public static void validateTransport(Transport transport) {
+        TransportRuleEngine.check(transport, transport.getDriver(), transport.getVehicle());
+    }
 
-            // Rule 2: Transporting > 12 passengers requires PASSENGERS_OVER_12 qualification
-            if (pt.getPassengerCount() > 12 &&
-                    !transport.getDriver().getQualifications().contains(DriverQualification.PASSENGERS_OVER_12)) {
-                throw new DriverQualificationException("Driver must have PASSENGERS_OVER_12 qualification for more than 12 passengers.");
+    /**
+     * Validates many candidate transports against business rules without persisting them, e.g. before a bulk import.
+     * The rules are checked against the stored drivers and vehicles, not against the driver and vehicle objects
+     * of the transports (which only need their IDs): all referenced drivers and all referenced vehicles are
+     * loaded with one query each, instead of one lookup per transport.
+     * Every rule is checked for every transport, so the result lists all broken rules at once. Batches of at
+     * least {@value #PARALLEL_VALIDATION_THRESHOLD} transports are checked in parallel.
+     *
+     * @param transports the transports to validate
+     * @return the broken rules, ordered by transport index; empty if all transports are valid
+     */
+    public static List<TransportViolationDto> validateTransports(Collection<? extends Transport> transports) {
+        List<Transport> batch = new ArrayList<>(transports);
+        Set<Long> driverIds = new HashSet<>();
+        Set<Long> vehicleIds = new HashSet<>();
+        for (Transport transport : batch) {
+            if (transport.getDriver() != null) {
+                driverIds.add(transport.getDriver().getId());
+            }
+            if (transport.getVehicle() != null) {
+                vehicleIds.add(transport.getVehicle().getId());
             }
         }
+        Map<Long, Driver> drivers = new HashMap<>();
+        Map<Long, Integer> qualifications = new HashMap<>();
+        for (Driver driver : DriverDao.getByIds(driverIds)) {
+            drivers.put(driver.getId(), driver);
+            qualifications.put(driver.getId(), TransportRuleEngine.qualificationsOf(driver));
+        }
+        Map<Long, Vehicle> vehicles = new HashMap<>();
+        for (Vehicle vehicle : VehicleDao.getByIds(vehicleIds)) {
+            vehicles.put(vehicle.getId(), vehicle);
+        }
 
-        // Validate cargo transport
-        if (transport instanceof CargoTransport) {
-            // Rule 3: CargoTransport must use a Truck or Tanker
-            if (!(transport.getVehicle() instanceof Truck) && !(transport.getVehicle() instanceof Tanker)) {
-                throw new InvalidVehicleForTransportException("CargoTransport must use a Truck or a Tanker.");
+        IntStream indexes = IntStream.range(0, batch.size());
+        if (batch.size() >= PARALLEL_VALIDATION_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        return indexes.mapToObj(i -> {
+            Transport transport = batch.get(i);
+            List<TransportViolationDto> violations = new ArrayList<>(0);
+            Driver driver = transport.getDriver() == null ? null : drivers.get(transport.getDriver().getId());
+            Vehicle vehicle = transport.getVehicle() == null ? null : vehicles.get(transport.getVehicle().getId());
+            if (transport.getDriver() != null && driver == null) {
+                violations.add(new TransportViolationDto(i, "required-data",
+                        new EntityNotFoundException("Driver", transport.getDriver().getId()).getMessage()));
+            } else if (transport.getVehicle() != null && vehicle == null) {
+                violations.add(new TransportViolationDto(i, "required-data",
+                        new EntityNotFoundException("Vehicle", transport.getVehicle().getId()).getMessage()));
+            } else {
+                TransportRuleEngine.collect(transport, driver, vehicle,
+                        driver == null ? 0 : qualifications.get(driver.getId()), i, violations);
             }
+            return violations;
+        }).flatMap(List::stream).toList();
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
 
-            // Rule 4: Flammable cargo requires SPECIAL_CARGO qualification
-            if (transport.getVehicle() instanceof Tanker tanker && tanker.isFlammable() &&
-                    !transport.getDriver().getQualifications().contains(DriverQualification.SPECIAL_CARGO)) {
-                throw new DriverQualificationException("Driver must have SPECIAL_CARGO qualification for flammable/special cargo.");
+    /**
+     * Checks that no two transports of the batch book the same driver or vehicle for overlapping time windows.
+     * Windows are sorted per driver or vehicle, so only neighbours have to be compared.
+     */
+    private static void validateNoOverlaps(List<Transport> batch, String resource, Function<Transport, Long> resourceId) {
+        Map<Long, List<Transport>> byResource = new HashMap<>();
+        for (Transport transport : batch) {
+            if (transport.getDepartureAt() != null) {
+                byResource.computeIfAbsent(resourceId.apply(transport), id -> new ArrayList<>()).add(transport);
+            }
+        }
+        for (Map.Entry<Long, List<Transport>> entry : byResource.entrySet()) {
+            List<Transport> bookings = entry.getValue();
+            bookings.sort(Comparator.comparing(Transport::getDepartureAt));
+            for (int i = 1; i < bookings.size(); i++) {
+                Transport previous = bookings.get(i - 1);
+                if (previous.getArrivalAt().isAfter(bookings.get(i).getDepartureAt())) {
+                    throw new SchedulingConflictException(resource, entry.getKey(),
+                            previous.getDepartureAt(), previous.getArrivalAt());
+                }
             }
         }
     }
@@ -0,0 +1,378 @@
+package org.informatics.tools;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.RevenueAggregateDao;
+import org.informatics.entity.*;
+import org.informatics.entity.enums.DriverQualification;
+import org.informatics.entity.enums.PaymentStatus;
+import org.informatics.service.TransportService;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Generates a reproducible synthetic dataset of any size for load and scale testing.
+ *
+ * The same seed, sizes and end date always produce the same data. Every transport satisfies the rules of
+ * TransportService.validateTransport (checked for each row), and drivers and vehicles always belong
+ * to the transport's company. Clients and transports are bulk-loaded through a StatelessSession
+ * with large JDBC batches; the revenue aggregates are rebuilt at the end.
+ *
+ * Run with: gradle generateDataset -Pseed=42 -Ptransports=1000000 [-PendDate=2025-12-31] [-Plabel=run1]
+ * [-PhibernateProps=hibernate-h2.properties]
+ * Company names and registration numbers contain the label (the seed by default), so use a new label
+ * (or an empty database) for each run.
+ */
+public class DatasetGenerator {
+
+    /**
+     * Rows inserted per transaction.
+     */
+    private static final int ROWS_PER_TRANSACTION = 10_000;
+
+    /**
+     * JDBC batch size used for the bulk inserts (overrides hibernate.jdbc.batch_size).
+     */
+    private static final int JDBC_BATCH_SIZE = 1_000;
+
+    /**
+     * Progress is printed every this many transports.
+     */
+    private static final int PROGRESS_INTERVAL = 1_000_000;
+
+    /**
+     * Transports are dated within this many days before the end date.
+     */
+    private static final int DATE_RANGE_DAYS = 3 * 365;
+
+    /**
+     * Date of the latest possible transport unless --endDate is given. Fixed rather than today,
+     * so that a seed produces the same transport dates whenever it is run.
+     */
+    public static final LocalDate DEFAULT_END_DATE = LocalDate.of(2025, 12, 31);
+
+    private static final String[] FIRST_NAMES = {
+            "Ivan", "Maria", "Georgi", "Elena", "Dimitar", "Petya", "Nikolay", "Desislava", "Stoyan", "Ralitsa"};
+    private static final String[] LAST_NAMES = {
+            "Ivanov", "Petrova", "Georgiev", "Dimitrova", "Nikolov", "Stoyanova", "Kolev", "Todorova", "Marinov", "Hristova"};
+    private static final String[] DESTINATIONS = {
+            "Sofia", "Plovdiv", "Varna", "Burgas", "Ruse", "Stara Zagora", "Pleven", "Sliven", "Dobrich", "Shumen",
+            "Pernik", "Haskovo", "Yambol", "Pazardzhik", "Blagoevgrad", "Veliko Tarnovo", "Vratsa", "Gabrovo"};
+    private static final String[] BUS_MODELS = {"Setra S 515", "Mercedes Tourismo", "MAN Lion's Coach", "Iveco Crossway"};
+    private static final String[] TRUCK_MODELS = {"Scania R 450", "Volvo FH", "DAF XF", "MAN TGX", "Iveco S-Way"};
+
+    /**
+     * Target number of rows per entity.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Sizes {
+        private int companies;
+        private int drivers;
+        private int vehicles;
+        private int clients;
+        private long transports;
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Sizes sizes = new Sizes(
+                Integer.parseInt(options.getOrDefault("companies", "10")),
+                Integer.parseInt(options.getOrDefault("drivers", "200")),
+                Integer.parseInt(options.getOrDefault("vehicles", "100")),
+                Integer.parseInt(options.getOrDefault("clients", "10000")),
+                Long.parseLong(options.getOrDefault("transports", "100000")));
+        String label = options.getOrDefault("label", String.valueOf(seed));
+        LocalDate endDate = options.containsKey("endDate")
+                ? LocalDate.parse(options.get("endDate")) : DEFAULT_END_DATE;
+        try {
+            generate(seed, sizes, label, endDate);
+        } finally {
+            SessionFactoryUtil.closeSessionFactory();
+        }
+    }
+
+    /**
+     * Generates and loads a dataset labelled with the seed and ending at DEFAULT_END_DATE.
+     *
+     * @param seed seed of the random generator
+     * @param sizes number of rows to create per entity
+     * @throws IllegalArgumentException if there are fewer than one driver and two vehicles per company
+     */
+    public static void generate(long seed, Sizes sizes) {
+        generate(seed, sizes, String.valueOf(seed), DEFAULT_END_DATE);
+    }
+
+    /**
+     * Generates and loads a dataset into the database configured for SessionFactoryUtil.
+     *
+     * @param seed seed of the random generator
+     * @param sizes number of rows to create per entity
+     * @param label text put into company names and registration numbers to keep them unique across runs
+     * @param endDate date of the latest possible transport
+     * @throws IllegalArgumentException if there are fewer than one driver and two vehicles per company
+     */
+    public static void generate(long seed, Sizes sizes, String label, LocalDate endDate) {
+        if (sizes.getCompanies() <= 0 || sizes.getClients() <= 0
+                || sizes.getDrivers() < sizes.getCompanies() || sizes.getVehicles() < 2 * sizes.getCompanies()) {
+            throw new IllegalArgumentException(
+                    "Need at least one company and one client, one driver and two vehicles per company.");
+        }
+
+        Random random = new Random(seed);
+        long start = System.nanoTime();
+
+        List<CompanyPool> companies = createCompanies(label, sizes.getCompanies());
+        createDrivers(random, companies, sizes.getDrivers());
+        createVehicles(label, random, companies, sizes.getVehicles());
+        long[] clientIds = createClients(random, sizes.getClients());
+        System.out.printf("Reference data created in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+        long transportsStart = System.nanoTime();
+        createTransports(random, companies, clientIds, sizes.getTransports(), endDate);
+        double seconds = (System.nanoTime() - transportsStart) / 1e9;
+        System.out.printf("%d transports created in %.1f s (%.0f rows/s)%n",
+                sizes.getTransports(), seconds, sizes.getTransports() / Math.max(seconds, 1e-9));
+
+        RevenueAggregateDao.rebuild();
+        System.out.printf("Dataset (seed %d) generated in %.1f s%n", seed, (System.nanoTime() - start) / 1e9);
+    }
+
+    // ===================== PRIVATE HELPER METHODS =====================
+
+    /**
+     * Companies with their drivers and vehicles grouped by what they can be used for.
+     */
+    private static class CompanyPool {
+        private final TransportCompany company;
+        private final List<Driver> drivers = new ArrayList<>();
+        private final List<Driver> passengerDrivers = new ArrayList<>();
+        private final List<Driver> specialCargoDrivers = new ArrayList<>();
+        private final List<Bus> buses = new ArrayList<>();
+        private final List<Vehicle> cargoVehicles = new ArrayList<>();
+
+        private CompanyPool(TransportCompany company) {
+            this.company = company;
+        }
+    }
+
+    private static List<CompanyPool> createCompanies(String label, int count) {
+        List<CompanyPool> companies = new ArrayList<>();
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < count; i++) {
+                TransportCompany company = new TransportCompany();
+                company.setName(String.format("Generated Logistics %s-%05d", label, i));
+                session.persist(company);
+                companies.add(new CompanyPool(company));
+            }
+            transaction.commit();
+        }
+        return companies;
+    }
+
+    /**
+     * Creates drivers round-robin over the companies. The first driver of each company has every
+     * qualification, so each company can perform every kind of transport; the rest get a random set.
+     */
+    private static void createDrivers(Random random, List<CompanyPool> companies, int count) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < count; i++) {
+                CompanyPool pool = companies.get(i % companies.size());
+                Driver driver = new Driver();
+                driver.setFirstName(pick(random, FIRST_NAMES));
+                driver.setLastName(pick(random, LAST_NAMES));
+                driver.setSalary(1200 + random.nextInt(2800));
+                driver.setCompany(pool.company);
+                if (i < companies.size() || random.nextInt(4) == 0) {
+                    driver.getQualifications().addAll(EnumSet.allOf(DriverQualification.class));
+                } else if (random.nextBoolean()) {
+                    driver.getQualifications().add(random.nextBoolean()
+                            ? DriverQualification.PASSENGERS_OVER_12 : DriverQualification.SPECIAL_CARGO);
+                }
+                session.persist(driver);
+
+                pool.drivers.add(driver);
+                if (driver.getQualifications().contains(DriverQualification.PASSENGERS_OVER_12)) {
+                    pool.passengerDrivers.add(driver);
+                }
+                if (driver.getQualifications().contains(DriverQualification.SPECIAL_CARGO)) {
+                    pool.specialCargoDrivers.add(driver);
+                }
+                if ((i + 1) % ROWS_PER_TRANSACTION == 0) {
+                    transaction.commit();
+                    session.clear();
+                    transaction = session.beginTransaction();
+                }
+            }
+            transaction.commit();
+        }
+    }
+
+    /**
+     * Creates vehicles round-robin over the companies. Each company gets a bus first and a truck second;
+     * the rest are buses, trucks and (flammable or not) tankers at random.
+     */
+    private static void createVehicles(String label, Random random, List<CompanyPool> companies, int count) {
+        try (Session session = SessionFactoryUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < count; i++) {
+                CompanyPool pool = companies.get(i % companies.size());
+                int kind = i < companies.size() ? 0 : i < 2 * companies.size() ? 1 : random.nextInt(3);
+                Vehicle vehicle;
+                if (kind == 0) {
+                    Bus bus = new Bus();
+                    bus.setSeats(20 + random.nextInt(50));
+                    String[] model = pick(random, BUS_MODELS).split(" ", 2);
+                    bus.setBrand(model[0]);
+                    bus.setModel(model[1]);
+                    pool.buses.add(bus);
+                    vehicle = bus;
+                } else if (kind == 1) {
+                    Truck truck = new Truck();
+                    truck.setMaxLoadKg(8000 + random.nextInt(22000));
+                    String[] model = pick(random, TRUCK_MODELS).split(" ", 2);
+                    truck.setBrand(model[0]);
+                    truck.setModel(model[1]);
+                    pool.cargoVehicles.add(truck);
+                    vehicle = truck;
+                } else {
+                    Tanker tanker = new Tanker();
+                    tanker.setMaxLiters(10000 + random.nextInt(30000));
+                    tanker.setFlammable(random.nextBoolean());
+                    String[] model = pick(random, TRUCK_MODELS).split(" ", 2);
+                    tanker.setBrand(model[0]);
+                    tanker.setModel(model[1]);
+                    pool.cargoVehicles.add(tanker);
+                    vehicle = tanker;
+                }
+                vehicle.setRegistrationNumber(String.format("G%s-%07d", label, i));
+                vehicle.setCompany(pool.company);
+                session.persist(vehicle);
+
+                if ((i + 1) % ROWS_PER_TRANSACTION == 0) {
+                    transaction.commit();
+                    session.clear();
+                    transaction = session.beginTransaction();
+                }
+            }
+            transaction.commit();
+        }
+    }
+
+    /**
+     * Inserts clients and returns their IDs (kept as primitives, there may be millions).
+     */
+    private static long[] createClients(Random random, int count) {
+        long[] ids = new long[count];
+        try (StatelessSession session = SessionFactoryUtil.getSessionFactory().openStatelessSession()) {
+            session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < count; i++) {
+                Client client = new Client();
+                client.setFirstName(pick(random, FIRST_NAMES));
+                client.setLastName(pick(random, LAST_NAMES));
+                client.setPhone(String.format("08%d%07d", 7 + random.nextInt(3), random.nextInt(10_000_000)));
+                session.insert(client);
+                ids[i] = client.getId();
+
+                if ((i + 1) % ROWS_PER_TRANSACTION == 0) {
+                    transaction.commit();
+                    transaction = session.beginTransaction();
+                }
+            }
+            transaction.commit();
+        }
+        return ids;
+    }
+
+    private static void createTransports(Random random, List<CompanyPool> companies, long[] clientIds, long count,
+                                         LocalDate endDate) {
+        try (StatelessSession session = SessionFactoryUtil.getSessionFactory().openStatelessSession()) {
+            session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+            Transaction transaction = session.beginTransaction();
+            for (long i = 0; i < count; i++) {
+                Transport transport = newTransport(random, companies.get(random.nextInt(companies.size())));
+                Client client = new Client();
+                client.setId(clientIds[random.nextInt(clientIds.length)]);
+                transport.setClient(client);
+                transport.setDestination(pick(random, DESTINATIONS));
+                transport.setTransportDate(endDate.minusDays(random.nextInt(DATE_RANGE_DAYS)));
+                transport.setPrice((2_000 + random.nextInt(500_000)) / 100.0);
+                transport.setPaymentStatus(random.nextInt(10) < 7 ? PaymentStatus.PAID : PaymentStatus.UNPAID);
+                TransportService.validateTransport(transport);
+                session.insert(transport);
+
+                if ((i + 1) % ROWS_PER_TRANSACTION == 0) {
+                    transaction.commit();
+                    transaction = session.beginTransaction();
+                }
+                if ((i + 1) % PROGRESS_INTERVAL == 0) {
+                    System.out.printf("  %,d / %,d transports%n", i + 1, count);
+                }
+            }
+            transaction.commit();
+        }
+    }
+
+    /**
+     * Creates a passenger or cargo transport with a vehicle and a driver of the company that satisfy the business rules.
+     */
+    private static Transport newTransport(Random random, CompanyPool pool) {
+        Transport transport;
+        if (random.nextBoolean()) {
+            PassengerTransport pt = new PassengerTransport();
+            Bus bus = pick(random, pool.buses);
+            pt.setPassengerCount(1 + random.nextInt(bus.getSeats()));
+            pt.setVehicle(bus);
+            pt.setDriver(pick(random, pt.getPassengerCount() > 12 ? pool.passengerDrivers : pool.drivers));
+            transport = pt;
+        } else {
+            CargoTransport ct = new CargoTransport();
+            Vehicle vehicle = pick(random, pool.cargoVehicles);
+            double capacity = vehicle instanceof Truck truck ? truck.getMaxLoadKg() : ((Tanker) vehicle).getMaxLiters();
+            ct.setCargoWeightKg(Math.round(capacity * (0.1 + 0.9 * random.nextDouble())));
+            if (vehicle instanceof Tanker) {
+                ct.setCargoVolumeLiters(ct.getCargoWeightKg());
+            }
+            ct.setVehicle(vehicle);
+            boolean special = vehicle instanceof Tanker tanker && tanker.isFlammable();
+            ct.setDriver(pick(random, special ? pool.specialCargoDrivers : pool.drivers));
+            transport = ct;
+        }
+        transport.setCompany(pool.company);
+        return transport;
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Parses arguments of the form --name=value.
+     */
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
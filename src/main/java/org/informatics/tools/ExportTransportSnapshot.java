@@ -0,0 +1,37 @@
+package org.informatics.tools;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.TransportSnapshotFile;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Export job that writes all transports to a TransportSnapshotFile, from which the columnar
+ * analytics snapshot is loaded after a restart instead of reading the whole transports table.
+ *
+ * Run with: gradle exportSnapshot [-Pfile=path] [-PhibernateProps=hibernate-h2.properties]
+ * Without -Pfile the file configured with analytics.snapshot_file is written.
+ */
+public class ExportTransportSnapshot {
+
+    public static void main(String[] args) {
+        int exitCode = 0;
+        try {
+            Path file = args.length > 0 ? Path.of(args[0]) : TransportSnapshotFile.configuredFile();
+            if (file == null) {
+                System.out.println("No snapshot file: pass -Pfile=<path> or set " + TransportSnapshotFile.FILE_SETTING + ".");
+                exitCode = 1;
+            } else {
+                long start = System.nanoTime();
+                TransportSnapshotFile snapshot = TransportSnapshotFile.export(file);
+                System.out.printf("Exported %d transports (up to ID %d) to %s in %d ms, at %s.%n",
+                        snapshot.size(), snapshot.highWaterMark(), file.toAbsolutePath(),
+                        (System.nanoTime() - start) / 1_000_000, Instant.ofEpochMilli(snapshot.createdAtMillis()));
+            }
+        } finally {
+            SessionFactoryUtil.closeSessionFactory();
+        }
+        System.exit(exitCode);
+    }
+}
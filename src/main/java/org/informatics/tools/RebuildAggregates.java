@@ -0,0 +1,40 @@
+package org.informatics.tools;
+
+import org.informatics.configuration.SessionFactoryUtil;
+import org.informatics.dao.RevenueAggregateDao;
+import org.informatics.dto.AggregateDriftDto;
+
+import java.util.List;
+
+/**
+ * Maintenance command that checks the revenue aggregates against the transports table
+ * and, unless run with --verify-only, rebuilds them.
+ *
+ * Run with: gradle rebuildAggregates [-PverifyOnly]
+ * Exits with status 1 when drift was found in verify-only mode.
+ */
+public class RebuildAggregates {
+
+    public static void main(String[] args) {
+        boolean verifyOnly = List.of(args).contains("--verify-only");
+        int exitCode = 0;
+        try {
+            List<AggregateDriftDto> drift = verifyOnly ? RevenueAggregateDao.verify() : RevenueAggregateDao.rebuild();
+
+            if (drift.isEmpty()) {
+                System.out.println("Revenue aggregates are consistent.");
+            } else {
+                System.out.println("Revenue aggregates differ from the transports table in " + drift.size() + " row(s):");
+                drift.forEach(d -> System.out.println("  " + d));
+                if (verifyOnly) {
+                    exitCode = 1;
+                } else {
+                    System.out.println("Aggregates rebuilt.");
+                }
+            }
+        } finally {
+            SessionFactoryUtil.closeSessionFactory();
+        }
+        System.exit(exitCode);
+    }
+}
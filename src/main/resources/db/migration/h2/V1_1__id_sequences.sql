@@ -0,0 +1,14 @@
+-- Ids are assigned from one sequence per entity hierarchy (pooled optimizer, see BaseEntity)
+-- instead of identity columns, so inserts can be batched.
+-- Each sequence starts one allocation (50) above the highest id of its table, so on a baselined database
+-- the first block handed out (next value - 49 .. next value) lies above the existing rows.
+
+create sequence clients_SEQ start with (select coalesce(max(id), 0) + 50 from clients) increment by 50;
+
+create sequence employees_SEQ start with (select coalesce(max(id), 0) + 50 from employees) increment by 50;
+
+create sequence transport_companies_SEQ start with (select coalesce(max(id), 0) + 50 from transport_companies) increment by 50;
+
+create sequence transports_SEQ start with (select coalesce(max(id), 0) + 50 from transports) increment by 50;
+
+create sequence vehicles_SEQ start with (select coalesce(max(id), 0) + 50 from vehicles) increment by 50;
@@ -0,0 +1,153 @@
+-- Baseline: the schema as created by hbm2ddl before migrations were introduced.
+-- Existing databases without a flyway_schema_history table are baselined at this version.
+
+create table buses (
+    seats integer not null,
+    id bigint not null,
+    primary key (id)
+);
+
+create table cargo_transports (
+    cargoWeightKg float(53) not null,
+    id bigint not null,
+    primary key (id)
+);
+
+create table clients (
+    id bigint generated by default as identity,
+    firstName varchar(255) not null,
+    lastName varchar(255) not null,
+    phone varchar(255) not null,
+    primary key (id)
+);
+
+create table driver_qualifications (
+    driver_id bigint not null,
+    qualification enum ('PASSENGERS_OVER_12','SPECIAL_CARGO')
+);
+
+create table drivers (
+    id bigint not null,
+    primary key (id)
+);
+
+create table employees (
+    id bigint generated by default as identity,
+    firstName varchar(255) not null,
+    lastName varchar(255) not null,
+    salary float(53) not null,
+    company_id bigint not null,
+    primary key (id)
+);
+
+create table passenger_transports (
+    passengerCount integer not null,
+    id bigint not null,
+    primary key (id)
+);
+
+create table tankers (
+    flammable boolean not null,
+    maxLiters float(53) not null,
+    id bigint not null,
+    primary key (id)
+);
+
+create table transport_companies (
+    id bigint generated by default as identity,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table transports (
+    id bigint generated by default as identity,
+    destination varchar(255) not null,
+    paymentStatus enum ('PAID','UNPAID') not null,
+    price float(53) not null,
+    transportDate date not null,
+    client_id bigint not null,
+    company_id bigint not null,
+    driver_id bigint not null,
+    vehicle_id bigint not null,
+    primary key (id)
+);
+
+create table trucks (
+    maxLoadKg float(53) not null,
+    id bigint not null,
+    primary key (id)
+);
+
+create table vehicles (
+    id bigint generated by default as identity,
+    brand varchar(255) not null,
+    model varchar(255) not null,
+    registrationNumber varchar(255) not null unique,
+    company_id bigint not null,
+    primary key (id)
+);
+
+alter table buses
+   add constraint FKfavrsd2c9o18vrcakep0j1awv
+   foreign key (id)
+   references vehicles;
+
+alter table cargo_transports
+   add constraint FKtbqrjg2kukh8pphv6e4fn3ou3
+   foreign key (id)
+   references transports;
+
+alter table driver_qualifications
+   add constraint FK6pc9f4okylg6oa9dtnhdddbme
+   foreign key (driver_id)
+   references drivers;
+
+alter table drivers
+   add constraint FKmah3eidw9hwvw4q4wuxsoef11
+   foreign key (id)
+   references employees;
+
+alter table employees
+   add constraint FKf0jp3p245t9ttfih2y7reeesw
+   foreign key (company_id)
+   references transport_companies;
+
+alter table passenger_transports
+   add constraint FKabjwes6n37j0sod5c3692m98b
+   foreign key (id)
+   references transports;
+
+alter table tankers
+   add constraint FKc9c814aabexg8svaffvty9jyr
+   foreign key (id)
+   references vehicles;
+
+alter table transports
+   add constraint FK6h9oks3s4iscdb7xl15gmi4ci
+   foreign key (client_id)
+   references clients;
+
+alter table transports
+   add constraint FK3m30t31hvsgden4olqn7bqtpc
+   foreign key (company_id)
+   references transport_companies;
+
+alter table transports
+   add constraint FKi82vj9n4pe2k5fbgdmj8mc8tr
+   foreign key (driver_id)
+   references drivers;
+
+alter table transports
+   add constraint FKseft20lm6wn4wx463gra3v7d5
+   foreign key (vehicle_id)
+   references vehicles;
+
+alter table trucks
+   add constraint FKjh6ghnjn1yc09ti1qnf2mn9en
+   foreign key (id)
+   references vehicles;
+
+alter table vehicles
+   add constraint FKo6sx69r59m4rojfw3ktk92n80
+   foreign key (company_id)
+   references transport_companies;
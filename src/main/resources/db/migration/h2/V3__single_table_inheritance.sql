@@ -0,0 +1,75 @@
+-- Transport and Vehicle hierarchies move from JOINED to SINGLE_TABLE inheritance: the subclass columns are
+-- added to transports and vehicles, filled from the subclass tables, and the subclass tables are dropped.
+-- Subclass columns are nullable; the checks keep them required for their own type.
+
+alter table transports add column transport_type varchar(16) default 'TRANSPORT' not null;
+alter table transports add column cargoWeightKg float(53);
+alter table transports add column passengerCount integer;
+
+update transports t
+   set transport_type = 'CARGO',
+       cargoWeightKg = (select c.cargoWeightKg from cargo_transports c where c.id = t.id)
+ where t.id in (select c.id from cargo_transports c);
+
+update transports t
+   set transport_type = 'PASSENGER',
+       passengerCount = (select p.passengerCount from passenger_transports p where p.id = t.id)
+ where t.id in (select p.id from passenger_transports p);
+
+alter table transports alter column transport_type drop default;
+
+alter table transports
+   add constraint chk_transports_type check (transport_type in ('TRANSPORT','CARGO','PASSENGER'));
+
+alter table transports
+   add constraint chk_transports_cargo check (transport_type <> 'CARGO' or cargoWeightKg is not null);
+
+alter table transports
+   add constraint chk_transports_passenger check (transport_type <> 'PASSENGER' or passengerCount is not null);
+
+drop table cargo_transports;
+
+drop table passenger_transports;
+
+alter table vehicles add column vehicle_type varchar(16) default 'VEHICLE' not null;
+alter table vehicles add column seats integer;
+alter table vehicles add column maxLoadKg float(53);
+alter table vehicles add column maxLiters float(53);
+alter table vehicles add column flammable boolean;
+
+update vehicles v
+   set vehicle_type = 'BUS',
+       seats = (select b.seats from buses b where b.id = v.id)
+ where v.id in (select b.id from buses b);
+
+update vehicles v
+   set vehicle_type = 'TRUCK',
+       maxLoadKg = (select t.maxLoadKg from trucks t where t.id = v.id)
+ where v.id in (select t.id from trucks t);
+
+update vehicles v
+   set vehicle_type = 'TANKER',
+       maxLiters = (select t.maxLiters from tankers t where t.id = v.id),
+       flammable = (select t.flammable from tankers t where t.id = v.id)
+ where v.id in (select t.id from tankers t);
+
+alter table vehicles alter column vehicle_type drop default;
+
+alter table vehicles
+   add constraint chk_vehicles_type check (vehicle_type in ('VEHICLE','BUS','TRUCK','TANKER'));
+
+alter table vehicles
+   add constraint chk_vehicles_bus check (vehicle_type <> 'BUS' or seats is not null);
+
+alter table vehicles
+   add constraint chk_vehicles_truck check (vehicle_type <> 'TRUCK' or maxLoadKg is not null);
+
+alter table vehicles
+   add constraint chk_vehicles_tanker
+   check (vehicle_type <> 'TANKER' or (maxLiters is not null and flammable is not null));
+
+drop table buses;
+
+drop table trucks;
+
+drop table tankers;
@@ -0,0 +1,21 @@
+-- Validation rules configured per company (see TransportRuleEngine).
+-- Every rule must have the value its type uses: textValue for FORBIDDEN_DESTINATION, numberValue otherwise.
+
+create sequence company_rules_SEQ start with 1 increment by 50;
+
+create table company_rules (
+    id bigint not null,
+    numberValue float(53),
+    textValue varchar(255),
+    type enum ('FORBIDDEN_DESTINATION','MAX_CARGO_WEIGHT_KG','MAX_DRIVER_SALARY','MIN_DRIVER_SALARY') not null,
+    company_id bigint not null,
+    primary key (id),
+    constraint chk_company_rules_value check (
+        (type = 'FORBIDDEN_DESTINATION' and textValue is not null and trim(textValue) <> '')
+        or (type <> 'FORBIDDEN_DESTINATION' and numberValue is not null))
+);
+
+alter table company_rules
+   add constraint FKfsognmkima876vdij7bjvq7u6
+   foreign key (company_id)
+   references transport_companies;
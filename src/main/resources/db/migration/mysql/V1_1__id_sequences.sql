@@ -0,0 +1,35 @@
+-- Ids are assigned from one sequence per entity hierarchy (pooled optimizer, see BaseEntity)
+-- instead of identity columns, so inserts can be batched. MySQL has no sequences; Hibernate emulates
+-- each with a one-row table.
+-- Each next_val starts one allocation (50) above the highest id of its table, so on a baselined database
+-- the first block handed out (next_val - 49 .. next_val) lies above the existing rows.
+
+create table clients_SEQ (
+    next_val bigint
+) engine=InnoDB;
+
+insert into clients_SEQ select coalesce(max(id), 0) + 50 from clients;
+
+create table employees_SEQ (
+    next_val bigint
+) engine=InnoDB;
+
+insert into employees_SEQ select coalesce(max(id), 0) + 50 from employees;
+
+create table transport_companies_SEQ (
+    next_val bigint
+) engine=InnoDB;
+
+insert into transport_companies_SEQ select coalesce(max(id), 0) + 50 from transport_companies;
+
+create table transports_SEQ (
+    next_val bigint
+) engine=InnoDB;
+
+insert into transports_SEQ select coalesce(max(id), 0) + 50 from transports;
+
+create table vehicles_SEQ (
+    next_val bigint
+) engine=InnoDB;
+
+insert into vehicles_SEQ select coalesce(max(id), 0) + 50 from vehicles;
@@ -0,0 +1,7 @@
+-- Indexes backing the keyset-paginated listings (drivers by salary, transports by destination).
+
+create index idx_employees_salary_id
+   on employees (salary, id);
+
+create index idx_transports_destination_id
+   on transports (destination, id);
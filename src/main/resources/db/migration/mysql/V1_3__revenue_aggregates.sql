@@ -0,0 +1,22 @@
+-- Incrementally maintained revenue totals (per company, driver and globally) and their daily rollup per company.
+-- Both start empty; RevenueAggregateDao fills them from the transports table on first use.
+
+create table revenue_totals (
+    owner_id bigint not null,
+    scope enum ('COMPANY','COMPANY_DAY','DRIVER','GLOBAL') not null,
+    paidCount bigint not null,
+    paidRevenue float(53) not null,
+    totalValue float(53) not null,
+    transportCount bigint not null,
+    primary key (owner_id, scope)
+) engine=InnoDB;
+
+create table daily_revenue_totals (
+    company_id bigint not null,
+    revenue_date date not null,
+    paidCount bigint not null,
+    paidRevenue float(53) not null,
+    totalValue float(53) not null,
+    transportCount bigint not null,
+    primary key (company_id, revenue_date)
+) engine=InnoDB;
@@ -0,0 +1,159 @@
+-- Baseline: the schema as created by hbm2ddl before migrations were introduced.
+-- Existing databases without a flyway_schema_history table are baselined at this version.
+
+create table buses (
+    seats integer not null,
+    id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table cargo_transports (
+    cargoWeightKg float(53) not null,
+    id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table clients (
+    id bigint not null auto_increment,
+    firstName varchar(255) not null,
+    lastName varchar(255) not null,
+    phone varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table driver_qualifications (
+    driver_id bigint not null,
+    qualification enum ('PASSENGERS_OVER_12','SPECIAL_CARGO')
+) engine=InnoDB;
+
+create table drivers (
+    id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table employees (
+    id bigint not null auto_increment,
+    firstName varchar(255) not null,
+    lastName varchar(255) not null,
+    salary float(53) not null,
+    company_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table passenger_transports (
+    passengerCount integer not null,
+    id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table tankers (
+    flammable bit not null,
+    maxLiters float(53) not null,
+    id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table transport_companies (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table transports (
+    id bigint not null auto_increment,
+    destination varchar(255) not null,
+    paymentStatus enum ('PAID','UNPAID') not null,
+    price float(53) not null,
+    transportDate date not null,
+    client_id bigint not null,
+    company_id bigint not null,
+    driver_id bigint not null,
+    vehicle_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table trucks (
+    maxLoadKg float(53) not null,
+    id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table vehicles (
+    id bigint not null auto_increment,
+    brand varchar(255) not null,
+    model varchar(255) not null,
+    registrationNumber varchar(255) not null,
+    company_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table transport_companies
+   add constraint UKqmoi7exvy5ispefh6y9mhjvh5 unique (name);
+
+alter table vehicles
+   add constraint UK84f455yk88s4yurawvikcs8hc unique (registrationNumber);
+
+alter table buses
+   add constraint FKfavrsd2c9o18vrcakep0j1awv
+   foreign key (id)
+   references vehicles (id);
+
+alter table cargo_transports
+   add constraint FKtbqrjg2kukh8pphv6e4fn3ou3
+   foreign key (id)
+   references transports (id);
+
+alter table driver_qualifications
+   add constraint FK6pc9f4okylg6oa9dtnhdddbme
+   foreign key (driver_id)
+   references drivers (id);
+
+alter table drivers
+   add constraint FKmah3eidw9hwvw4q4wuxsoef11
+   foreign key (id)
+   references employees (id);
+
+alter table employees
+   add constraint FKf0jp3p245t9ttfih2y7reeesw
+   foreign key (company_id)
+   references transport_companies (id);
+
+alter table passenger_transports
+   add constraint FKabjwes6n37j0sod5c3692m98b
+   foreign key (id)
+   references transports (id);
+
+alter table tankers
+   add constraint FKc9c814aabexg8svaffvty9jyr
+   foreign key (id)
+   references vehicles (id);
+
+alter table transports
+   add constraint FK6h9oks3s4iscdb7xl15gmi4ci
+   foreign key (client_id)
+   references clients (id);
+
+alter table transports
+   add constraint FK3m30t31hvsgden4olqn7bqtpc
+   foreign key (company_id)
+   references transport_companies (id);
+
+alter table transports
+   add constraint FKi82vj9n4pe2k5fbgdmj8mc8tr
+   foreign key (driver_id)
+   references drivers (id);
+
+alter table transports
+   add constraint FKseft20lm6wn4wx463gra3v7d5
+   foreign key (vehicle_id)
+   references vehicles (id);
+
+alter table trucks
+   add constraint FKjh6ghnjn1yc09ti1qnf2mn9en
+   foreign key (id)
+   references vehicles (id);
+
+alter table vehicles
+   add constraint FKo6sx69r59m4rojfw3ktk92n80
+   foreign key (company_id)
+   references transport_companies (id);
@@ -0,0 +1,14 @@
+-- Indexes for the columns that drive the revenue aggregates, period revenue and bulk payment updates.
+-- The composite indexes end with price so the aggregate queries are answered from the index alone.
+
+create index idx_transports_status_date_price
+   on transports (paymentStatus, transportDate, price);
+
+create index idx_transports_driver_status_price
+   on transports (driver_id, paymentStatus, price);
+
+create index idx_transports_company_date_status_price
+   on transports (company_id, transportDate, paymentStatus, price);
+
+create index idx_transports_client_status_date
+   on transports (client_id, paymentStatus, transportDate);
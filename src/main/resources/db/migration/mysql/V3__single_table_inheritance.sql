@@ -0,0 +1,65 @@
+-- Transport and Vehicle hierarchies move from JOINED to SINGLE_TABLE inheritance: the subclass columns are
+-- added to transports and vehicles, filled from the subclass tables, and the subclass tables are dropped.
+-- Subclass columns are nullable; the checks keep them required for their own type.
+
+alter table transports
+   add column transport_type varchar(16) not null default 'TRANSPORT',
+   add column cargoWeightKg float(53),
+   add column passengerCount integer;
+
+update transports t
+  join cargo_transports c on c.id = t.id
+   set t.transport_type = 'CARGO',
+       t.cargoWeightKg = c.cargoWeightKg;
+
+update transports t
+  join passenger_transports p on p.id = t.id
+   set t.transport_type = 'PASSENGER',
+       t.passengerCount = p.passengerCount;
+
+alter table transports
+   alter column transport_type drop default,
+   add constraint chk_transports_type check (transport_type in ('TRANSPORT','CARGO','PASSENGER')),
+   add constraint chk_transports_cargo check (transport_type <> 'CARGO' or cargoWeightKg is not null),
+   add constraint chk_transports_passenger check (transport_type <> 'PASSENGER' or passengerCount is not null);
+
+drop table cargo_transports;
+
+drop table passenger_transports;
+
+alter table vehicles
+   add column vehicle_type varchar(16) not null default 'VEHICLE',
+   add column seats integer,
+   add column maxLoadKg float(53),
+   add column maxLiters float(53),
+   add column flammable bit;
+
+update vehicles v
+  join buses b on b.id = v.id
+   set v.vehicle_type = 'BUS',
+       v.seats = b.seats;
+
+update vehicles v
+  join trucks t on t.id = v.id
+   set v.vehicle_type = 'TRUCK',
+       v.maxLoadKg = t.maxLoadKg;
+
+update vehicles v
+  join tankers t on t.id = v.id
+   set v.vehicle_type = 'TANKER',
+       v.maxLiters = t.maxLiters,
+       v.flammable = t.flammable;
+
+alter table vehicles
+   alter column vehicle_type drop default,
+   add constraint chk_vehicles_type check (vehicle_type in ('VEHICLE','BUS','TRUCK','TANKER')),
+   add constraint chk_vehicles_bus check (vehicle_type <> 'BUS' or seats is not null),
+   add constraint chk_vehicles_truck check (vehicle_type <> 'TRUCK' or maxLoadKg is not null),
+   add constraint chk_vehicles_tanker
+       check (vehicle_type <> 'TANKER' or (maxLiters is not null and flammable is not null));
+
+drop table buses;
+
+drop table trucks;
+
+drop table tankers;
@@ -0,0 +1,15 @@
+-- Optional time window of a transport, during which its driver and vehicle are booked.
+-- The indexes let AvailabilityDao find the last booking of a driver or vehicle before a given time.
+
+alter table transports add column departureAt datetime(6);
+alter table transports add column arrivalAt datetime(6);
+
+alter table transports
+   add constraint chk_transports_time_window check ((departureAt is null and arrivalAt is null)
+       or (departureAt is not null and arrivalAt is not null and arrivalAt > departureAt));
+
+create index idx_transports_driver_departure
+   on transports (driver_id, departureAt, arrivalAt);
+
+create index idx_transports_vehicle_departure
+   on transports (vehicle_id, departureAt, arrivalAt);
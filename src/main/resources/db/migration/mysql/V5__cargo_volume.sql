@@ -0,0 +1,3 @@
+-- Optional volume of liquid cargo, matched against Tanker.maxLiters by the dispatcher.
+
+alter table transports add column cargoVolumeLiters float(53);
@@ -4,6 +4,8 @@ import org.informatics.entity.enums.PaymentStatus;
 import org.informatics.exception.DriverQualificationException;
 import org.informatics.exception.InvalidVehicleForTransportException;
 import org.informatics.exception.MissingRequiredDataException;
+import org.informatics.exception.VehicleCapacityExceededException;
+import org.informatics.service.TransportService;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
@@ -377,6 +379,64 @@ class TransportServiceUnitTest {
                 () -> validateRequiredFields(pt));
     }
 
+    // ========== CAPACITY TESTS ==========
+
+    @Test
+    void validateTransport_passengersOverBusSeats_shouldThrow() {
+        // Arrange
+        Driver driver = mock(Driver.class);
+        Bus bus = mock(Bus.class);
+        when(driver.getQualifications()).thenReturn(Set.of(DriverQualification.PASSENGERS_OVER_12));
+        when(bus.getSeats()).thenReturn(50);
+
+        PassengerTransport pt = new PassengerTransport();
+        fillRequiredFields(pt, driver, bus);
+        pt.setPassengerCount(80);
+
+        // Act & Assert
+        assertThrows(VehicleCapacityExceededException.class, () -> TransportService.validateTransport(pt));
+        pt.setPassengerCount(50);
+        assertDoesNotThrow(() -> TransportService.validateTransport(pt));
+    }
+
+    @Test
+    void validateTransport_cargoOverTruckMaxLoad_shouldThrow() {
+        // Arrange
+        Driver driver = mock(Driver.class);
+        Truck truck = mock(Truck.class);
+        when(driver.getQualifications()).thenReturn(new HashSet<>());
+        when(truck.getMaxLoadKg()).thenReturn(18000.0);
+
+        CargoTransport ct = new CargoTransport();
+        fillRequiredFields(ct, driver, truck);
+        ct.setCargoWeightKg(18500);
+
+        // Act & Assert
+        assertThrows(VehicleCapacityExceededException.class, () -> TransportService.validateTransport(ct));
+        ct.setCargoWeightKg(18000);
+        assertDoesNotThrow(() -> TransportService.validateTransport(ct));
+    }
+
+    @Test
+    void validateTransport_cargoOverTankerMaxLiters_shouldThrow() {
+        // Arrange
+        Driver driver = mock(Driver.class);
+        Tanker tanker = mock(Tanker.class);
+        when(driver.getQualifications()).thenReturn(new HashSet<>());
+        when(tanker.getMaxLiters()).thenReturn(24000.0);
+        when(tanker.isFlammable()).thenReturn(false);
+
+        CargoTransport ct = new CargoTransport();
+        fillRequiredFields(ct, driver, tanker);
+        ct.setCargoWeightKg(30000);
+        ct.setCargoVolumeLiters(25000.0);
+
+        // Act & Assert
+        assertThrows(VehicleCapacityExceededException.class, () -> TransportService.validateTransport(ct));
+        ct.setCargoVolumeLiters(24000.0);
+        assertDoesNotThrow(() -> TransportService.validateTransport(ct)); // Weight is not limited for tankers
+    }
+
     // ========== HELPER METHODS (extracted from TransportService for testability) ==========
 
     private void validateRequiredFields(Transport transport) {
@@ -411,4 +471,15 @@ class TransportServiceUnitTest {
             throw new DriverQualificationException("Driver must have SPECIAL_CARGO qualification for flammable/special cargo.");
         }
     }
+
+    private void fillRequiredFields(Transport transport, Driver driver, Vehicle vehicle) {
+        transport.setCompany(mock(TransportCompany.class));
+        transport.setClient(mock(Client.class));
+        transport.setDriver(driver);
+        transport.setVehicle(vehicle);
+        transport.setDestination("Sofia");
+        transport.setTransportDate(LocalDate.now());
+        transport.setPrice(100);
+        transport.setPaymentStatus(PaymentStatus.UNPAID);
+    }
 }